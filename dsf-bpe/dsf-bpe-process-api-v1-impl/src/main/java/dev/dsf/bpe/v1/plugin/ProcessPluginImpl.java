@@ -532,8 +532,7 @@ public class ProcessPluginImpl extends AbstractProcessPlugin<TaskListener> imple
 	{
 		try
 		{
-			Class<?> targetImplClass = getProcessPluginClassLoader().loadClass(className);
-			Object target = getApplicationContext().getBean(targetImplClass);
+			Object target = getDelegateBean(className);
 			ClassDelegateUtil.applyFieldDeclaration(fieldDeclarations, target);
 
 			return targetInterface.cast(target);
@@ -18,7 +18,9 @@ package dev.dsf.bpe.v2.plugin;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -28,6 +30,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -113,6 +117,12 @@ public class ProcessPluginImpl extends AbstractProcessPlugin<UserTaskListener> i
 {
 	private static final Logger logger = LoggerFactory.getLogger(ProcessPluginImpl.class);
 
+	private static final MethodType SET_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static record SetMethodKey(Class<?> targetClass, String name, Class<?> valueClass)
+	{
+	}
+
 	private final ProcessPluginDefinition processPluginDefinition;
 
 	private final Function<DelegateExecution, Variables> variablesFactory;
@@ -122,6 +132,8 @@ public class ProcessPluginImpl extends AbstractProcessPlugin<UserTaskListener> i
 	private final AtomicReference<FhirContext> fhirContext = new AtomicReference<>();
 	private final AtomicReference<ObjectMapper> objectMapper = new AtomicReference<>();
 
+	private final ConcurrentMap<SetMethodKey, Optional<MethodHandle>> setMethodsByKey = new ConcurrentHashMap<>();
+
 	public ProcessPluginImpl(ProcessPluginDefinition processPluginDefinition, int processPluginApiVersion,
 			boolean draft, Path jarFile, ClassLoader classLoader, ConfigurableEnvironment environment,
 			ApplicationContext apiApplicationContext, String serverBaseUrl)
@@ -461,8 +473,7 @@ public class ProcessPluginImpl extends AbstractProcessPlugin<UserTaskListener> i
 	{
 		try
 		{
-			Class<?> targetImplClass = getProcessPluginClassLoader().loadClass(className);
-			Object targetObject = getApplicationContext().getBean(targetImplClass);
+			Object targetObject = getDelegateBean(className);
 
 			return targetInterface.cast(targetObject);
 		}
@@ -561,29 +572,51 @@ public class ProcessPluginImpl extends AbstractProcessPlugin<UserTaskListener> i
 					+ (name.length() > 1 ? name.substring(1) : "");
 			Object value = getValue(fd, variableScope);
 
-			Optional<Method> setMethod = Arrays.stream(target.getClass().getMethods())
-					.filter(m -> setMethodName.equals(m.getName())).filter(m -> m.getParameterCount() == 1)
-					.filter(m -> ClassUtils.isAssignable(value.getClass(), m.getParameters()[0].getType(), true))
-					.findFirst();
+			Optional<MethodHandle> setMethod = setMethodsByKey.computeIfAbsent(
+					new SetMethodKey(target.getClass(), setMethodName, value.getClass()), this::findSetMethod);
+
+			if (setMethod.isEmpty())
+				throw new RuntimeException(
+						"Field inject set-method with name '" + setMethodName + "' and single parameter of type '"
+								+ value.getClass().getName() + "' missing in class " + target.getClass().getName());
 
 			try
 			{
-				if (setMethod.isEmpty())
-					throw new RuntimeException(
-							"Field inject set-method with name '" + setMethodName + "' and single parameter of type '"
-									+ value.getClass().getName() + "' missing in class " + target.getClass().getName());
-				else
-					setMethod.get().invoke(target, value);
+				setMethod.get().invokeExact((Object) target, value);
+			}
+			catch (RuntimeException | Error e)
+			{
+				throw e;
 			}
-			catch (IllegalAccessException | InvocationTargetException e)
+			catch (Throwable e)
 			{
 				throw new RuntimeException(
 						"Unable to inject field using '" + setMethodName + "' with single parameter of type '"
-								+ value.getClass().getName() + "' on class " + target.getClass().getName());
+								+ value.getClass().getName() + "' on class " + target.getClass().getName(),
+						e);
 			}
 		});
 	}
 
+	private Optional<MethodHandle> findSetMethod(SetMethodKey key)
+	{
+		Optional<Method> setMethod = Arrays.stream(key.targetClass().getMethods())
+				.filter(m -> key.name().equals(m.getName())).filter(m -> m.getParameterCount() == 1)
+				.filter(m -> ClassUtils.isAssignable(key.valueClass(), m.getParameters()[0].getType(), true))
+				.findFirst();
+
+		try
+		{
+			return setMethod.isEmpty() ? Optional.empty()
+					: Optional.of(MethodHandles.publicLookup().unreflect(setMethod.get()).asType(SET_METHOD_TYPE));
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new RuntimeException("Unable to access set-method '" + key.name() + "' with single parameter of type '"
+					+ key.valueClass().getName() + "' on class " + key.targetClass().getName(), e);
+		}
+	}
+
 	private Optional<SendTaskValues> getSendTaskValues(List<FieldDeclaration> fieldDeclarations,
 			VariableScope variableScope)
 	{
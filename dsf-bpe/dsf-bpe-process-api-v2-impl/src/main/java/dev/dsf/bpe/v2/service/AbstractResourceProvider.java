@@ -17,6 +17,7 @@ package dev.dsf.bpe.v2.service;
 
 import static org.hl7.fhir.instance.model.api.IBaseBundle.LINK_NEXT;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -41,11 +42,27 @@ public abstract class AbstractResourceProvider implements InitializingBean
 {
 	protected final Supplier<DsfClient> localDsfClient;
 	protected final String localEndpointAddress;
+	protected final LocalResourceCache cache;
 
 	public AbstractResourceProvider(Supplier<DsfClient> localDsfClient, String localEndpointAddress)
+	{
+		this(localDsfClient, localEndpointAddress, new LocalResourceCache(localDsfClient, Duration.ZERO));
+	}
+
+	/**
+	 * @param localDsfClient
+	 *            not <code>null</code>
+	 * @param localEndpointAddress
+	 *            not <code>null</code>
+	 * @param cache
+	 *            not <code>null</code>, shared by all providers
+	 */
+	public AbstractResourceProvider(Supplier<DsfClient> localDsfClient, String localEndpointAddress,
+			LocalResourceCache cache)
 	{
 		this.localDsfClient = localDsfClient;
 		this.localEndpointAddress = localEndpointAddress;
+		this.cache = cache;
 	}
 
 	@Override
@@ -53,6 +70,7 @@ public abstract class AbstractResourceProvider implements InitializingBean
 	{
 		Objects.requireNonNull(localDsfClient, "localDsfClient");
 		Objects.requireNonNull(localEndpointAddress, "localEndpointAddress");
+		Objects.requireNonNull(cache, "cache");
 	}
 
 	protected final String toSearchParameter(Identifier identifier)
@@ -20,14 +20,18 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream.BlockSize;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream.Parameters;
 import org.tukaani.xz.LZMA2Options;
 import org.tukaani.xz.XZInputStream;
 import org.tukaani.xz.XZOutputStream;
@@ -36,6 +40,9 @@ public class CompressionServiceImpl implements CompressionService
 {
 	private static final int BUFFER_SIZE = 8192;
 
+	private static final ExecutorService PUMP_EXECUTOR = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("dsf-compression-", 0).factory());
+
 	@FunctionalInterface
 	private static interface Compressor
 	{
@@ -86,37 +93,147 @@ public class CompressionServiceImpl implements CompressionService
 		return to(in, out -> new XZOutputStream(out, new LZMA2Options(preset)));
 	}
 
+	@Override
+	public InputStream toLz4(InputStream in) throws IOException
+	{
+		Objects.requireNonNull(in, "in");
+
+		return toLz4(in, 4096);
+	}
+
+	@Override
+	public InputStream toLz4(InputStream in, int blockSizeKiB) throws IOException
+	{
+		Objects.requireNonNull(in, "in");
+		BlockSize blockSize = switch (blockSizeKiB)
+		{
+			case 64 -> BlockSize.K64;
+			case 256 -> BlockSize.K256;
+			case 1024 -> BlockSize.M1;
+			case 4096 -> BlockSize.M4;
+			default -> throw new IllegalArgumentException("blockSizeKiB not 64, 256, 1024 or 4096");
+		};
+
+		return to(in, out -> new FramedLZ4CompressorOutputStream(out, new Parameters(blockSize)));
+	}
+
 	private InputStream to(InputStream in, Compressor compressor) throws IOException
 	{
-		PipedOutputStream pipedOut = new PipedOutputStream();
-		PipedInputStream pipedIn = new PipedInputStream(pipedOut, BUFFER_SIZE);
+		PumpInputStream pipedIn = new PumpInputStream();
+		PipedOutputStream pipedOut = new PipedOutputStream(pipedIn);
 
-		List<IOException> capturedExceptions = new ArrayList<>();
-		Thread worker = new Thread(() ->
+		PUMP_EXECUTOR.execute(() ->
 		{
-			try (in; OutputStream out = compressor.withCompression(pipedOut))
+			try
 			{
+				OutputStream out = compressor.withCompression(pipedOut);
+
 				byte[] buffer = new byte[BUFFER_SIZE];
 				int bytesRead;
 				while ((bytesRead = in.read(buffer)) != -1)
 					out.write(buffer, 0, bytesRead);
+
+				// writes trailer, only on success
+				out.close();
 			}
-			catch (IOException e)
+			catch (IOException | RuntimeException e)
 			{
-				capturedExceptions.add(e);
+				// recorded before the pipe is closed, reported to the reader unless the reader closed the stream early
+				pipedIn.fail(e);
+			}
+			finally
+			{
+				closeQuietly(in);
+				closeQuietly(pipedOut);
 			}
 		});
-		worker.setDaemon(true);
-		worker.start();
 
-		if (!capturedExceptions.isEmpty())
+		return pipedIn;
+	}
+
+	private static void closeQuietly(AutoCloseable closeable)
+	{
+		try
+		{
+			closeable.close();
+		}
+		catch (Exception e)
+		{
+			// source failed or pipe already closed by reader
+		}
+	}
+
+	/**
+	 * Rethrows exceptions from the compressing thread to the reader instead of signaling a truncated end of stream.
+	 */
+	private static final class PumpInputStream extends PipedInputStream
+	{
+		private volatile Exception failure;
+
+		PumpInputStream()
 		{
-			IOException e = capturedExceptions.removeFirst();
-			capturedExceptions.stream().forEach(e::addSuppressed);
-			throw e;
+			super(BUFFER_SIZE);
 		}
 
-		return pipedIn;
+		void fail(Exception e)
+		{
+			failure = e;
+		}
+
+		private void checkFailure(IOException suppressed) throws IOException
+		{
+			Exception e = failure;
+			if (e != null)
+			{
+				IOException wrapped = new IOException("Compression failed: " + e.getMessage(), e);
+				if (suppressed != null)
+					wrapped.addSuppressed(suppressed);
+
+				throw wrapped;
+			}
+			else if (suppressed != null)
+				throw suppressed;
+		}
+
+		@Override
+		public synchronized int read() throws IOException
+		{
+			int b;
+			try
+			{
+				b = super.read();
+			}
+			catch (IOException e)
+			{
+				checkFailure(e);
+				throw e;
+			}
+
+			if (b == -1)
+				checkFailure(null);
+
+			return b;
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) throws IOException
+		{
+			int n;
+			try
+			{
+				n = super.read(b, off, len);
+			}
+			catch (IOException e)
+			{
+				checkFailure(e);
+				throw e;
+			}
+
+			if (n == -1)
+				checkFailure(null);
+
+			return n;
+		}
 	}
 
 	@Override
@@ -138,4 +255,12 @@ public class CompressionServiceImpl implements CompressionService
 	{
 		return new XZInputStream(in);
 	}
+
+	@Override
+	public InputStream fromLz4(InputStream in) throws IOException
+	{
+		Objects.requireNonNull(in, "in");
+
+		return new FramedLZ4CompressorInputStream(in, true);
+	}
 }
@@ -43,8 +43,19 @@ public class EndpointProviderImpl extends AbstractResourceProvider implements En
 		super(localDsfClient, localEndpointAddress);
 	}
 
+	public EndpointProviderImpl(Supplier<DsfClient> localDsfClient, String localEndpointAddress,
+			LocalResourceCache cache)
+	{
+		super(localDsfClient, localEndpointAddress, cache);
+	}
+
 	@Override
 	public Optional<Endpoint> getLocalEndpoint()
+	{
+		return cache.getOptional(List.of("local-endpoint"), this::readLocalEndpoint);
+	}
+
+	private Optional<Endpoint> readLocalEndpoint()
 	{
 		Bundle resultBundle = localDsfClient.get().searchWithStrictHandling(Endpoint.class,
 				Map.of("status", List.of("active"), "address", List.of(localEndpointAddress)));
@@ -77,6 +88,11 @@ public class EndpointProviderImpl extends AbstractResourceProvider implements En
 
 		String endpointIdSp = toSearchParameter(endpointIdentifier);
 
+		return cache.getOptional(List.of("endpoint", endpointIdSp), () -> readEndpoint(endpointIdSp));
+	}
+
+	private Optional<Endpoint> readEndpoint(String endpointIdSp)
+	{
 		Bundle resultBundle = localDsfClient.get().searchWithStrictHandling(Endpoint.class,
 				Map.of("status", List.of("active"), "identifier", List.of(endpointIdSp)));
 
@@ -115,6 +131,14 @@ public class EndpointProviderImpl extends AbstractResourceProvider implements En
 		String memberOrganizationIdSp = toSearchParameter(memberOrganizationIdentifier);
 		String memberOrganizationRoleSp = toSearchParameter(memberOrganizationRole);
 
+		return cache.getOptional(
+				List.of("member-endpoint", parentOrganizationIdSp, memberOrganizationIdSp, memberOrganizationRoleSp),
+				() -> readEndpoint(parentOrganizationIdSp, memberOrganizationIdSp, memberOrganizationRoleSp));
+	}
+
+	private Optional<Endpoint> readEndpoint(String parentOrganizationIdSp, String memberOrganizationIdSp,
+			String memberOrganizationRoleSp)
+	{
 		Bundle resultBundle = localDsfClient.get().searchWithStrictHandling(OrganizationAffiliation.class,
 				Map.of("active", List.of("true"), "primary-organization:identifier", List.of(parentOrganizationIdSp),
 						"participating-organization:identifier", List.of(memberOrganizationIdSp), "role",
@@ -170,7 +194,8 @@ public class EndpointProviderImpl extends AbstractResourceProvider implements En
 				List.of(parentOrganizationIdSp), "role", List.of(memberOrganizationRoleSp), "_include",
 				List.of("OrganizationAffiliation:endpoint"));
 
-		return search(OrganizationAffiliation.class, parameters, SearchEntryMode.INCLUDE, Endpoint.class,
-				e -> EndpointStatus.ACTIVE.equals(e.getStatus()));
+		return cache.getList(List.of("member-endpoints", parentOrganizationIdSp, memberOrganizationRoleSp),
+				() -> search(OrganizationAffiliation.class, parameters, SearchEntryMode.INCLUDE, Endpoint.class,
+						e -> EndpointStatus.ACTIVE.equals(e.getStatus())));
 	}
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Endpoint;
+import org.hl7.fhir.r4.model.Organization;
+import org.hl7.fhir.r4.model.OrganizationAffiliation;
+import org.hl7.fhir.r4.model.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+
+import dev.dsf.bpe.v2.client.dsf.DsfClient;
+
+/**
+ * Caches Organization, OrganizationAffiliation and Endpoint search results of the local DSF FHIR server for all
+ * process plugins. At most once per check interval the latest last updated value and total number of each resource
+ * type is read from the local server, all cached results are discarded if one of them changed. Cached resources are
+ * copied before they are returned, callers may modify returned resources.
+ */
+public class LocalResourceCache implements InitializingBean
+{
+	private static final Logger logger = LoggerFactory.getLogger(LocalResourceCache.class);
+
+	private static final List<Class<? extends Resource>> TRACKED_TYPES = List.of(Organization.class,
+			OrganizationAffiliation.class, Endpoint.class);
+
+	private record TypeState(int total, String lastUpdated, String id)
+	{
+	}
+
+	private final Supplier<DsfClient> localDsfClient;
+	private final Duration checkInterval;
+
+	private final ConcurrentMap<List<Object>, Object> values = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+	private final Lock checkLock = new ReentrantLock();
+	private volatile long nextCheckNanos = System.nanoTime();
+	private List<TypeState> typeStates;
+
+	/**
+	 * @param localDsfClient
+	 *            not <code>null</code>
+	 * @param checkInterval
+	 *            not <code>null</code>, {@link Duration#ZERO} or negative to disable the cache
+	 */
+	public LocalResourceCache(Supplier<DsfClient> localDsfClient, Duration checkInterval)
+	{
+		this.localDsfClient = localDsfClient;
+		this.checkInterval = checkInterval;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		Objects.requireNonNull(localDsfClient, "localDsfClient");
+		Objects.requireNonNull(checkInterval, "checkInterval");
+	}
+
+	public boolean isEnabled()
+	{
+		return checkInterval.isPositive();
+	}
+
+	/**
+	 * @param key
+	 *            not <code>null</code>, elements must implement equals and hashCode
+	 * @param loader
+	 *            not <code>null</code>
+	 * @return copy of the cached or loaded resource
+	 */
+	public <R extends Resource> Optional<R> getOptional(List<Object> key, Supplier<Optional<R>> loader)
+	{
+		return get(key, loader).map(LocalResourceCache::copy);
+	}
+
+	/**
+	 * @param key
+	 *            not <code>null</code>, elements must implement equals and hashCode
+	 * @param loader
+	 *            not <code>null</code>
+	 * @return copies of the cached or loaded resources
+	 */
+	public <R extends Resource> List<R> getList(List<Object> key, Supplier<List<R>> loader)
+	{
+		return get(key, loader).stream().map(LocalResourceCache::copy).toList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <R extends Resource> R copy(R resource)
+	{
+		return (R) resource.copy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T get(List<Object> key, Supplier<T> loader)
+	{
+		if (!isEnabled())
+			return loader.get();
+
+		checkForChanges();
+
+		Object cached = values.get(key);
+		if (cached != null)
+		{
+			logger.trace("Cache hit for {}", key);
+			return (T) cached;
+		}
+
+		long loadGeneration = generation.get();
+		T loaded = loader.get();
+
+		// not caching values loaded while the cache was cleared, they may be outdated
+		if (loaded != null && loadGeneration == generation.get())
+			values.put(key, loaded);
+
+		return loaded;
+	}
+
+	private void checkForChanges()
+	{
+		if (System.nanoTime() - nextCheckNanos < 0)
+			return;
+
+		// one thread checks, others continue with the current cache content
+		if (!checkLock.tryLock())
+			return;
+
+		try
+		{
+			if (System.nanoTime() - nextCheckNanos < 0)
+				return;
+
+			List<TypeState> current = TRACKED_TYPES.stream().map(this::readTypeState).toList();
+
+			if (!current.equals(typeStates))
+			{
+				if (typeStates != null)
+					logger.debug("Organization, OrganizationAffiliation or Endpoint resources changed, clearing cache");
+
+				clear();
+				typeStates = current;
+			}
+
+			nextCheckNanos = System.nanoTime() + checkInterval.toNanos();
+		}
+		catch (Exception e)
+		{
+			logger.debug("Unable to check local resources for changes, clearing cache", e);
+			logger.warn("Unable to check local resources for changes, clearing cache: {} - {}",
+					e.getClass().getName(), e.getMessage());
+
+			clear();
+			typeStates = null;
+		}
+		finally
+		{
+			checkLock.unlock();
+		}
+	}
+
+	private void clear()
+	{
+		generation.incrementAndGet();
+		values.clear();
+	}
+
+	private TypeState readTypeState(Class<? extends Resource> type)
+	{
+		Bundle resultBundle = localDsfClient.get().searchWithStrictHandling(type,
+				Map.of("_count", List.of("1"), "_sort", List.of("-_lastUpdated")));
+
+		if (resultBundle.hasEntry() && resultBundle.getEntryFirstRep().hasResource())
+		{
+			Resource latest = resultBundle.getEntryFirstRep().getResource();
+			return new TypeState(resultBundle.getTotal(), latest.getMeta().getLastUpdatedElement().getValueAsString(),
+					latest.getIdElement().getIdPart());
+		}
+		else
+			return new TypeState(resultBundle.getTotal(), null, null);
+	}
+}
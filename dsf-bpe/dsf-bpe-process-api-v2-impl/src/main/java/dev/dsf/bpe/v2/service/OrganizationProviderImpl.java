@@ -43,8 +43,19 @@ public class OrganizationProviderImpl extends AbstractResourceProvider implement
 		super(localDsfClient, localEndpointAddress);
 	}
 
+	public OrganizationProviderImpl(Supplier<DsfClient> localDsfClient, String localEndpointAddress,
+			LocalResourceCache cache)
+	{
+		super(localDsfClient, localEndpointAddress, cache);
+	}
+
 	@Override
 	public Optional<Organization> getLocalOrganization()
+	{
+		return cache.getOptional(List.of("local-organization"), this::readLocalOrganization);
+	}
+
+	private Optional<Organization> readLocalOrganization()
 	{
 		Bundle resultBundle = localDsfClient.get().searchWithStrictHandling(Endpoint.class,
 				Map.of("status", List.of("active"), "address", List.of(localEndpointAddress), "_include",
@@ -88,6 +99,11 @@ public class OrganizationProviderImpl extends AbstractResourceProvider implement
 
 		String organizationIdSp = toSearchParameter(organizationIdentifier);
 
+		return cache.getOptional(List.of("organization", organizationIdSp), () -> readOrganization(organizationIdSp));
+	}
+
+	private Optional<Organization> readOrganization(String organizationIdSp)
+	{
 		Bundle resultBundle = localDsfClient.get().searchWithStrictHandling(Organization.class,
 				Map.of("active", List.of("true"), "identifier", List.of(organizationIdSp)));
 
@@ -117,8 +133,9 @@ public class OrganizationProviderImpl extends AbstractResourceProvider implement
 				List.of(parentOrganizationIdSp), "_include",
 				List.of("OrganizationAffiliation:participating-organization"));
 
-		return search(OrganizationAffiliation.class, parameters, SearchEntryMode.INCLUDE, Organization.class,
-				Organization::getActive);
+		return cache.getList(List.of("member-organizations", parentOrganizationIdSp),
+				() -> search(OrganizationAffiliation.class, parameters, SearchEntryMode.INCLUDE, Organization.class,
+						Organization::getActive));
 	}
 
 	@Override
@@ -142,8 +159,9 @@ public class OrganizationProviderImpl extends AbstractResourceProvider implement
 				List.of(parentOrganizationIdSp), "role", List.of(memberOrganizationRoleSp), "_include",
 				List.of("OrganizationAffiliation:participating-organization"));
 
-		return search(OrganizationAffiliation.class, parameters, SearchEntryMode.INCLUDE, Organization.class,
-				Organization::getActive);
+		return cache.getList(List.of("member-organizations", parentOrganizationIdSp, memberOrganizationRoleSp),
+				() -> search(OrganizationAffiliation.class, parameters, SearchEntryMode.INCLUDE, Organization.class,
+						Organization::getActive));
 	}
 
 	@Override
@@ -160,7 +178,9 @@ public class OrganizationProviderImpl extends AbstractResourceProvider implement
 		Map<String, List<String>> searchParameters = Map.of("active", List.of("true"), "identifier:not",
 				List.of(toSearchParameter(localOrganizationIdentifier.get())), "_profile",
 				List.of("http://dsf.dev/fhir/StructureDefinition/organization"));
-		return search(Organization.class, searchParameters, SearchEntryMode.MATCH, Organization.class, _ -> true);
+		return cache.getList(List.of("remote-organizations", toSearchParameter(localOrganizationIdentifier.get())),
+				() -> search(Organization.class, searchParameters, SearchEntryMode.MATCH, Organization.class,
+						_ -> true));
 	}
 
 	@Override
@@ -168,6 +188,7 @@ public class OrganizationProviderImpl extends AbstractResourceProvider implement
 	{
 		Map<String, List<String>> searchParameters = Map.of("active", List.of("true"), "_profile",
 				List.of("http://dsf.dev/fhir/StructureDefinition/organization-parent"));
-		return search(Organization.class, searchParameters, SearchEntryMode.MATCH, Organization.class, _ -> true);
+		return cache.getList(List.of("parent-organizations"), () -> search(Organization.class, searchParameters,
+				SearchEntryMode.MATCH, Organization.class, _ -> true));
 	}
 }
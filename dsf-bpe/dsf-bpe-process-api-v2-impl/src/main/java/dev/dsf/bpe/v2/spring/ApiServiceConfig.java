@@ -39,6 +39,7 @@ import dev.dsf.bpe.api.listener.ListenerFactory;
 import dev.dsf.bpe.api.listener.ListenerFactoryImpl;
 import dev.dsf.bpe.api.service.BpeMailService;
 import dev.dsf.bpe.api.service.BpeOidcClientProvider;
+import dev.dsf.bpe.api.service.BpeVariableStore;
 import dev.dsf.bpe.api.service.BuildInfoProvider;
 import dev.dsf.bpe.v2.client.dsf.DsfClient;
 import dev.dsf.bpe.v2.client.dsf.ReferenceCleaner;
@@ -69,6 +70,7 @@ import dev.dsf.bpe.v2.service.EndpointProvider;
 import dev.dsf.bpe.v2.service.EndpointProviderImpl;
 import dev.dsf.bpe.v2.service.FhirClientProvider;
 import dev.dsf.bpe.v2.service.FhirClientProviderImpl;
+import dev.dsf.bpe.v2.service.LocalResourceCache;
 import dev.dsf.bpe.v2.service.MailService;
 import dev.dsf.bpe.v2.service.MailServiceDelegate;
 import dev.dsf.bpe.v2.service.MimeTypeService;
@@ -123,6 +125,9 @@ public class ApiServiceConfig
 	@Autowired
 	private BpeOidcClientProvider bpeOidcClientProvider;
 
+	@Autowired
+	private BpeVariableStore bpeVariableStore;
+
 	@Bean
 	public ProxyConfig proxyConfigDelegate()
 	{
@@ -132,7 +137,14 @@ public class ApiServiceConfig
 	@Bean
 	public EndpointProvider endpointProvider()
 	{
-		return new EndpointProviderImpl(getLocal(), dsfClientConfig.getLocalConfig().getBaseUrl());
+		return new EndpointProviderImpl(getLocal(), dsfClientConfig.getLocalConfig().getBaseUrl(),
+				localResourceCache());
+	}
+
+	@Bean
+	public LocalResourceCache localResourceCache()
+	{
+		return new LocalResourceCache(getLocal(), dsfClientConfig.getLocalConfig().getResourceCacheCheckInterval());
 	}
 
 	@Bean
@@ -208,7 +220,8 @@ public class ApiServiceConfig
 	@Bean
 	public OrganizationProvider organizationProvider()
 	{
-		return new OrganizationProviderImpl(getLocal(), dsfClientConfig.getLocalConfig().getBaseUrl());
+		return new OrganizationProviderImpl(getLocal(), dsfClientConfig.getLocalConfig().getBaseUrl(),
+				localResourceCache());
 	}
 
 	@Bean
@@ -256,13 +269,13 @@ public class ApiServiceConfig
 	@Bean
 	public FhirResourceSerializer fhirResourceSerializer()
 	{
-		return new FhirResourceSerializer(fhirContext());
+		return new FhirResourceSerializer(fhirContext(), bpeVariableStore);
 	}
 
 	@Bean
 	public FhirResourcesListSerializer fhirResourcesListSerializer()
 	{
-		return new FhirResourcesListSerializer(objectMapper());
+		return new FhirResourcesListSerializer(objectMapper(), bpeVariableStore);
 	}
 
 	@Bean
@@ -32,6 +32,7 @@ import org.springframework.beans.factory.InitializingBean;
 
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.parser.IParser;
+import dev.dsf.bpe.api.service.BpeVariableStore;
 import dev.dsf.bpe.v2.variables.FhirResourceValues.FhirResourceValue;
 
 public class FhirResourceSerializer extends PrimitiveValueSerializer<FhirResourceValue> implements InitializingBean
@@ -39,18 +40,21 @@ public class FhirResourceSerializer extends PrimitiveValueSerializer<FhirResourc
 	private static final Logger logger = LoggerFactory.getLogger(FhirResourceSerializer.class);
 
 	private final FhirContext fhirContext;
+	private final BpeVariableStore variableStore;
 
-	public FhirResourceSerializer(FhirContext fhirContext)
+	public FhirResourceSerializer(FhirContext fhirContext, BpeVariableStore variableStore)
 	{
 		super(FhirResourceValues.VALUE_TYPE);
 
 		this.fhirContext = fhirContext;
+		this.variableStore = variableStore;
 	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception
 	{
 		Objects.requireNonNull(fhirContext, "fhirContext");
+		Objects.requireNonNull(variableStore, "variableStore");
 	}
 
 	@Override
@@ -80,7 +84,18 @@ public class FhirResourceSerializer extends PrimitiveValueSerializer<FhirResourc
 				newJsonParser().encodeResourceToWriter(resource, writer);
 
 				valueFields.setTextValue(resource.getClass().getName());
-				valueFields.setByteArrayValue(out.toByteArray());
+
+				byte[] bytes = VariableEncoding.encode(out.toByteArray());
+				if (variableStore.isStoreExternal(bytes.length))
+				{
+					valueFields.setTextValue2(variableStore.store(bytes));
+					valueFields.setByteArrayValue(null);
+				}
+				else
+				{
+					valueFields.setTextValue2(null);
+					valueFields.setByteArrayValue(bytes);
+				}
 			}
 		}
 		catch (IOException e)
@@ -107,7 +122,9 @@ public class FhirResourceSerializer extends PrimitiveValueSerializer<FhirResourc
 	public FhirResourceValue readValue(ValueFields valueFields, boolean asTransientValue)
 	{
 		String className = valueFields.getTextValue();
-		byte[] bytes = valueFields.getByteArrayValue();
+		byte[] bytes = VariableEncoding.decode(variableStore.isReference(valueFields.getTextValue2())
+				? variableStore.load(valueFields.getTextValue2())
+				: valueFields.getByteArrayValue());
 
 		try
 		{
@@ -26,24 +26,28 @@ import org.springframework.beans.factory.InitializingBean;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import dev.dsf.bpe.api.service.BpeVariableStore;
 import dev.dsf.bpe.v2.variables.FhirResourcesListValues.FhirResourcesListValue;
 
 public class FhirResourcesListSerializer extends PrimitiveValueSerializer<FhirResourcesListValue>
 		implements InitializingBean
 {
 	private final ObjectMapper objectMapper;
+	private final BpeVariableStore variableStore;
 
-	public FhirResourcesListSerializer(ObjectMapper objectMapper)
+	public FhirResourcesListSerializer(ObjectMapper objectMapper, BpeVariableStore variableStore)
 	{
 		super(FhirResourcesListValues.VALUE_TYPE);
 
 		this.objectMapper = objectMapper;
+		this.variableStore = variableStore;
 	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception
 	{
 		Objects.requireNonNull(objectMapper, "objectMapper");
+		Objects.requireNonNull(variableStore, "variableStore");
 	}
 
 	@Override
@@ -58,7 +62,18 @@ public class FhirResourcesListSerializer extends PrimitiveValueSerializer<FhirRe
 				objectMapper.writeValue(out, resource);
 
 				valueFields.setTextValue(resource.getClass().getName());
-				valueFields.setByteArrayValue(out.toByteArray());
+
+				byte[] bytes = VariableEncoding.encode(out.toByteArray());
+				if (variableStore.isStoreExternal(bytes.length))
+				{
+					valueFields.setTextValue2(variableStore.store(bytes));
+					valueFields.setByteArrayValue(null);
+				}
+				else
+				{
+					valueFields.setTextValue2(null);
+					valueFields.setByteArrayValue(bytes);
+				}
 			}
 		}
 		catch (IOException e)
@@ -77,7 +92,9 @@ public class FhirResourcesListSerializer extends PrimitiveValueSerializer<FhirRe
 	public FhirResourcesListValue readValue(ValueFields valueFields, boolean asTransientValue)
 	{
 		String className = valueFields.getTextValue();
-		byte[] bytes = valueFields.getByteArrayValue();
+		byte[] bytes = VariableEncoding.decode(variableStore.isReference(valueFields.getTextValue2())
+				? variableStore.load(valueFields.getTextValue2())
+				: valueFields.getByteArrayValue());
 
 		try
 		{
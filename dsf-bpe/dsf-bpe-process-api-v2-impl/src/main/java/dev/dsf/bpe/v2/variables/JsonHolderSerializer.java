@@ -36,7 +36,7 @@ public class JsonHolderSerializer extends PrimitiveValueSerializer<JsonHolderVal
 		if (jsonHolder != null)
 		{
 			valueFields.setTextValue(jsonHolder.getDataClassName());
-			valueFields.setByteArrayValue(jsonHolder.getData());
+			valueFields.setByteArrayValue(VariableEncoding.encode(jsonHolder.getData()));
 		}
 	}
 
@@ -50,7 +50,7 @@ public class JsonHolderSerializer extends PrimitiveValueSerializer<JsonHolderVal
 	public JsonHolderValue readValue(ValueFields valueFields, boolean asTransientValue)
 	{
 		String dataClassName = valueFields.getTextValue();
-		byte[] data = valueFields.getByteArrayValue();
+		byte[] data = VariableEncoding.decode(valueFields.getByteArrayValue());
 
 		return JsonHolderValues.create(new JsonHolder(dataClassName, data));
 	}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.variables;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+
+/**
+ * Versioned byte format for serialized process variables. Encoded values start with a four byte marker followed by a
+ * format byte, the remaining bytes are either the plain or the LZ4 frame compressed serialized value. Values written
+ * before this format was introduced have no header and are returned unchanged by {@link #decode(byte[])}.
+ * <p>
+ * Json serialized values never start with the marker's leading zero byte, values of {@link org.hl7.fhir.r4.model.Binary}
+ * resources are prefixed with raw data and could in theory start with the marker if written by an older version.
+ */
+final class VariableEncoding
+{
+	private static final byte[] MARKER = { 0, 'D', 'S', 'F' };
+
+	static final byte FORMAT_PLAIN = 1;
+	static final byte FORMAT_LZ4 = 2;
+
+	static final int HEADER_LENGTH = MARKER.length + 1;
+
+	/**
+	 * Values smaller than this are not compressed, LZ4 frame overhead outweighs the savings
+	 */
+	static final int COMPRESSION_MIN_LENGTH = 512;
+
+	private VariableEncoding()
+	{
+	}
+
+	/**
+	 * @param value
+	 *            not <code>null</code>
+	 * @return header followed by the LZ4 compressed value, or by the plain value if smaller than
+	 *         {@value #COMPRESSION_MIN_LENGTH} bytes or not compressible
+	 */
+	static byte[] encode(byte[] value)
+	{
+		if (value.length >= COMPRESSION_MIN_LENGTH)
+		{
+			byte[] compressed = compress(value);
+			if (compressed.length < value.length)
+				return withHeader(FORMAT_LZ4, compressed);
+		}
+
+		return withHeader(FORMAT_PLAIN, value);
+	}
+
+	private static byte[] compress(byte[] value)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(value.length / 2);
+		try (OutputStream lz4 = new FramedLZ4CompressorOutputStream(out))
+		{
+			lz4.write(value);
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException(e);
+		}
+
+		return out.toByteArray();
+	}
+
+	private static byte[] withHeader(byte format, byte[] value)
+	{
+		byte[] encoded = new byte[HEADER_LENGTH + value.length];
+		System.arraycopy(MARKER, 0, encoded, 0, MARKER.length);
+		encoded[MARKER.length] = format;
+		System.arraycopy(value, 0, encoded, HEADER_LENGTH, value.length);
+
+		return encoded;
+	}
+
+	/**
+	 * @param encoded
+	 *            may be <code>null</code>
+	 * @return <code>true</code> if the given bytes start with the format header
+	 */
+	static boolean isEncoded(byte[] encoded)
+	{
+		return encoded != null && encoded.length >= HEADER_LENGTH
+				&& Arrays.equals(encoded, 0, MARKER.length, MARKER, 0, MARKER.length);
+	}
+
+	/**
+	 * @param encoded
+	 *            may be <code>null</code>
+	 * @return serialized value, <code>encoded</code> if not starting with the format header
+	 * @throws IllegalStateException
+	 *             if the format byte is not supported
+	 */
+	static byte[] decode(byte[] encoded)
+	{
+		if (!isEncoded(encoded))
+			return encoded;
+
+		byte format = encoded[MARKER.length];
+		return switch (format)
+		{
+			case FORMAT_PLAIN -> Arrays.copyOfRange(encoded, HEADER_LENGTH, encoded.length);
+			case FORMAT_LZ4 -> decompress(encoded);
+			default -> throw new IllegalStateException("Variable format " + format + " not supported");
+		};
+	}
+
+	private static byte[] decompress(byte[] encoded)
+	{
+		try (InputStream in = new FramedLZ4CompressorInputStream(
+				new ByteArrayInputStream(encoded, HEADER_LENGTH, encoded.length - HEADER_LENGTH)))
+		{
+			return in.readAllBytes();
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -84,9 +86,16 @@ public class VariablesImpl implements Variables, ListenerVariables
 		}
 	}
 
+	private record DecodedJsonValue(JsonHolder holder, Object value)
+	{
+	}
+
 	private final DelegateExecution execution;
 	private final ObjectMapper objectMapper;
 
+	// engine returns the same JsonHolder instance until the variable is set again
+	private final Map<String, DecodedJsonValue> decodedJsonValues = new HashMap<>();
+
 	private final StartTaskUpdater startTaskUpdater;
 
 	/**
@@ -121,14 +130,21 @@ public class VariablesImpl implements Variables, ListenerVariables
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T> T fromJsonHolder(JsonHolder holder)
+	private <T> T fromJsonHolder(String variableName, JsonHolder holder)
 	{
+		DecodedJsonValue decoded = decodedJsonValues.get(variableName);
+		if (decoded != null && decoded.holder() == holder)
+			return (T) decoded.value();
+
 		try
 		{
 			byte[] data = holder.getData();
 			Class<?> dataClass = getClassLoader().loadClass(holder.getDataClassName());
 
-			return (T) objectMapper.readValue(data, dataClass);
+			Object value = objectMapper.readValue(data, dataClass);
+			decodedJsonValues.put(variableName, new DecodedJsonValue(holder, value));
+
+			return (T) value;
 		}
 		catch (ClassNotFoundException | IOException e)
 		{
@@ -482,7 +498,7 @@ public class VariablesImpl implements Variables, ListenerVariables
 		Object variable = execution.getVariable(variableName);
 
 		if (variable instanceof JsonHolder jsonVariable)
-			return (T) fromJsonHolder(jsonVariable);
+			return (T) fromJsonHolder(variableName, jsonVariable);
 		else
 			return (T) variable;
 	}
@@ -578,7 +594,7 @@ public class VariablesImpl implements Variables, ListenerVariables
 		Object variable = execution.getVariable(variableName);
 
 		if (variable instanceof JsonHolder jsonHolder)
-			return (T) fromJsonHolder(jsonHolder);
+			return (T) fromJsonHolder(variableName, jsonHolder);
 		else
 			return (T) variable;
 	}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.activity.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Test;
+
+import dev.dsf.bpe.v2.ProcessPluginApi;
+import dev.dsf.bpe.v2.activity.task.TaskSendException.FailedTarget;
+import dev.dsf.bpe.v2.activity.values.SendTaskValues;
+import dev.dsf.bpe.v2.variables.Target;
+import dev.dsf.bpe.v2.variables.TargetImpl;
+import dev.dsf.bpe.v2.variables.TargetsImpl;
+import dev.dsf.bpe.v2.variables.Variables;
+
+public class ConcurrentTaskSenderTest
+{
+	private static final SendTaskValues SEND_TASK_VALUES = new SendTaskValues(
+			"http://dsf.dev/bpe/Process/test|2.0", "test-message", "http://dsf.dev/fhir/StructureDefinition/task-test");
+
+	private static final String INVALID_ENDPOINT = "invalid.endpoint";
+
+	private final ProcessPluginApi api = mock(ProcessPluginApi.class);
+	private final Variables variables = mock(Variables.class);
+	private final Set<String> sentTo = ConcurrentHashMap.newKeySet();
+
+	private class TestTaskSender extends ConcurrentTaskSender
+	{
+		private final Function<String, IdType> send;
+
+		TestTaskSender(Duration timeout, Function<String, IdType> send)
+		{
+			super(api, variables, SEND_TASK_VALUES, mock(BusinessKeyStrategy.class), _ -> List.of(), timeout);
+
+			this.send = send;
+		}
+
+		@Override
+		protected TaskAndConfig createTaskAndConfig(BusinessKeyStrategy businessKeyStrategy, Target target)
+		{
+			if (INVALID_ENDPOINT.equals(target.getEndpointIdentifierValue()))
+				throw new IllegalStateException("invalid target");
+
+			return new TaskAndConfig(new Task(), SEND_TASK_VALUES.instantiatesCanonical(),
+					target.getOrganizationIdentifierValue(), target.getEndpointIdentifierValue(),
+					target.getEndpointUrl(), "business-key", null, SEND_TASK_VALUES.messageName());
+		}
+
+		@Override
+		protected IdType doSend(Task task, String targetEndpointUrl)
+		{
+			IdType created = send.apply(targetEndpointUrl);
+			sentTo.add(targetEndpointUrl);
+			return created;
+		}
+	}
+
+	private static TargetImpl target(String name)
+	{
+		return new TargetImpl(name + ".org", name + ".endpoint", "https://" + name + "/fhir", null);
+	}
+
+	private static IdType created(String url)
+	{
+		return new IdType(url, "Task", UUID.randomUUID().toString(), "1");
+	}
+
+	private static Set<String> failedEndpoints(TaskSendException e)
+	{
+		return e.getFailedTargets().stream().map(FailedTarget::target).map(Target::getEndpointIdentifierValue)
+				.collect(Collectors.toSet());
+	}
+
+	@Test
+	public void testSendAllSuccessful() throws Exception
+	{
+		when(variables.getTargets()).thenReturn(new TargetsImpl(List.of(target("a"), target("b"), target("c"))));
+
+		new TestTaskSender(Duration.ofSeconds(5), ConcurrentTaskSenderTest::created).send();
+
+		assertEquals(Set.of("https://a/fhir", "https://b/fhir", "https://c/fhir"), sentTo);
+	}
+
+	@Test
+	public void testSendWithoutTargets() throws Exception
+	{
+		when(variables.getTarget()).thenReturn(target("a"));
+
+		new TestTaskSender(Duration.ofSeconds(5), ConcurrentTaskSenderTest::created).send();
+
+		assertEquals(Set.of("https://a/fhir"), sentTo);
+	}
+
+	@Test
+	public void testSendPartialFailure() throws Exception
+	{
+		when(variables.getTargets()).thenReturn(new TargetsImpl(List.of(target("a"), target("b"), target("c"),
+				new TargetImpl("invalid.org", INVALID_ENDPOINT, "https://invalid/fhir", null))));
+
+		try
+		{
+			new TestTaskSender(Duration.ofSeconds(5), url ->
+			{
+				if (url.equals("https://b/fhir"))
+					throw new RuntimeException("b failed");
+				return created(url);
+			}).send();
+
+			fail("TaskSendException expected");
+		}
+		catch (TaskSendException e)
+		{
+			assertEquals(4, e.getTargetCount());
+			assertFalse(e.isAllFailed());
+			assertEquals(Set.of("b.endpoint", INVALID_ENDPOINT), failedEndpoints(e));
+			assertEquals(Set.of("https://a/fhir", "https://c/fhir"), sentTo);
+		}
+	}
+
+	@Test
+	public void testSendTimeoutCancelsRequest() throws Exception
+	{
+		when(variables.getTargets()).thenReturn(new TargetsImpl(List.of(target("a"), target("slow"))));
+
+		CountDownLatch neverReleased = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		try
+		{
+			new TestTaskSender(Duration.ofMillis(200), url ->
+			{
+				if (url.equals("https://slow/fhir"))
+				{
+					try
+					{
+						neverReleased.await();
+					}
+					catch (InterruptedException e)
+					{
+						interrupted.countDown();
+						throw new RuntimeException(e);
+					}
+				}
+
+				return created(url);
+			}).send();
+
+			fail("TaskSendException expected");
+		}
+		catch (TaskSendException e)
+		{
+			assertEquals(Set.of("slow.endpoint"), failedEndpoints(e));
+			assertTrue(e.getFailedTargets().get(0).exception() instanceof TimeoutException);
+			assertTrue("slow request not canceled", interrupted.await(5, TimeUnit.SECONDS));
+			assertEquals(Set.of("https://a/fhir"), sentTo);
+		}
+	}
+}
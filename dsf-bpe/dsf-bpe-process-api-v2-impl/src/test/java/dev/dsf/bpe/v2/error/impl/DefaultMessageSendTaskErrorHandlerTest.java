@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.error.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import dev.dsf.bpe.v2.ProcessPluginApi;
+import dev.dsf.bpe.v2.activity.task.TaskSendException;
+import dev.dsf.bpe.v2.activity.task.TaskSendException.FailedTarget;
+import dev.dsf.bpe.v2.activity.values.SendTaskValues;
+import dev.dsf.bpe.v2.service.TaskHelper;
+import dev.dsf.bpe.v2.variables.Target;
+import dev.dsf.bpe.v2.variables.TargetImpl;
+import dev.dsf.bpe.v2.variables.Targets;
+import dev.dsf.bpe.v2.variables.TargetsImpl;
+import dev.dsf.bpe.v2.variables.Variables;
+
+public class DefaultMessageSendTaskErrorHandlerTest
+{
+	private static final SendTaskValues SEND_TASK_VALUES = new SendTaskValues(
+			"http://dsf.dev/bpe/Process/test|2.0", "test-message", "http://dsf.dev/fhir/StructureDefinition/task-test");
+
+	private static final TargetImpl TARGET_A = target("a");
+	private static final TargetImpl TARGET_B = target("b");
+	private static final TargetImpl TARGET_C = target("c");
+
+	private final ProcessPluginApi api = mock(ProcessPluginApi.class);
+	private final Variables variables = mock(Variables.class);
+	private final DefaultMessageSendTaskErrorHandler handler = new DefaultMessageSendTaskErrorHandler();
+
+	private static TargetImpl target(String name)
+	{
+		return new TargetImpl(name + ".org", name + ".endpoint", "https://" + name + "/fhir", null);
+	}
+
+	private List<String> setTargetsEndpoints()
+	{
+		ArgumentCaptor<Targets> targets = ArgumentCaptor.forClass(Targets.class);
+		verify(variables).setTargets(targets.capture());
+
+		return targets.getValue().getEntries().stream().map(Target::getEndpointIdentifierValue).toList();
+	}
+
+	@Test
+	public void testConcurrentRemovesFailedTargets() throws Exception
+	{
+		when(variables.getTargets()).thenReturn(new TargetsImpl(List.of(TARGET_A, TARGET_B, TARGET_C)));
+		when(variables.getTasks()).thenReturn(List.of());
+
+		TaskSendException exception = new TaskSendException(List.of(new FailedTarget(TARGET_A,
+				new RuntimeException("a failed")), new FailedTarget(TARGET_C, new RuntimeException("c failed"))), 3);
+
+		assertNull(handler.handleException(api, variables, SEND_TASK_VALUES, exception));
+		assertEquals(List.of("b.endpoint"), setTargetsEndpoints());
+	}
+
+	@Test
+	public void testMultiInstanceRemovesCurrentTarget() throws Exception
+	{
+		when(variables.getTargets()).thenReturn(new TargetsImpl(List.of(TARGET_A, TARGET_B, TARGET_C)));
+		when(variables.getTarget()).thenReturn(TARGET_B);
+		when(variables.getTasks()).thenReturn(List.of());
+
+		assertNull(handler.handleException(api, variables, SEND_TASK_VALUES, new RuntimeException("b failed")));
+		assertEquals(List.of("a.endpoint", "c.endpoint"), setTargetsEndpoints());
+	}
+
+	@Test
+	public void testTargetsWithoutCurrentTargetHandledAsSingleInstance() throws Exception
+	{
+		when(variables.getTargets()).thenReturn(new TargetsImpl(List.of(TARGET_A, TARGET_B)));
+		when(variables.getTasks()).thenReturn(List.of());
+		when(api.getTaskHelper()).thenReturn(mock(TaskHelper.class));
+
+		RuntimeException exception = new RuntimeException("failed before sending");
+		assertSame(exception, handler.handleException(api, variables, SEND_TASK_VALUES, exception));
+		verify(variables, never()).setTargets(any());
+	}
+}
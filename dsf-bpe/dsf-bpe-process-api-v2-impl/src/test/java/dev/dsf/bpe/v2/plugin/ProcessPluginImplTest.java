@@ -0,0 +1,460 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.operaton.bpm.engine.delegate.VariableScope;
+import org.operaton.bpm.engine.impl.bpmn.parser.FieldDeclaration;
+import org.operaton.bpm.engine.impl.el.FixedValue;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+
+import dev.dsf.bpe.v2.ProcessPluginApi;
+import dev.dsf.bpe.v2.ProcessPluginDefinition;
+import dev.dsf.bpe.v2.activity.ServiceTask;
+import dev.dsf.bpe.v2.variables.Variables;
+
+public class ProcessPluginImplTest
+{
+	private static final class TestProcessPluginDefinition implements ProcessPluginDefinition
+	{
+		@Override
+		public String getName()
+		{
+			return "test";
+		}
+
+		@Override
+		public String getVersion()
+		{
+			return "2.0.0.0";
+		}
+
+		@Override
+		public LocalDate getReleaseDate()
+		{
+			return LocalDate.now();
+		}
+
+		@Override
+		public List<String> getProcessModels()
+		{
+			return List.of();
+		}
+
+		@Override
+		public Map<String, List<String>> getFhirResourcesByProcessId()
+		{
+			return Map.of();
+		}
+
+		@Override
+		public List<Class<?>> getSpringConfigurations()
+		{
+			return List.of();
+		}
+	}
+
+	private static final class CountingClassLoader extends ClassLoader
+	{
+		final Map<String, AtomicInteger> loadCounts = new ConcurrentHashMap<>();
+
+		CountingClassLoader(ClassLoader parent)
+		{
+			super(parent);
+		}
+
+		@Override
+		public Class<?> loadClass(String name) throws ClassNotFoundException
+		{
+			loadCounts.computeIfAbsent(name, _ -> new AtomicInteger()).incrementAndGet();
+			return super.loadClass(name);
+		}
+
+		int getLoadCount(Class<?> c)
+		{
+			AtomicInteger count = loadCounts.get(c.getName());
+			return count == null ? 0 : count.get();
+		}
+	}
+
+	private static final class CountingApplicationContext extends AnnotationConfigApplicationContext
+	{
+		final Map<Object, AtomicInteger> lookupCounts = new ConcurrentHashMap<>();
+
+		int getLookupCount(Object key)
+		{
+			AtomicInteger count = lookupCounts.get(key);
+			return count == null ? 0 : count.get();
+		}
+
+		private void count(Object key)
+		{
+			lookupCounts.computeIfAbsent(key, _ -> new AtomicInteger()).incrementAndGet();
+		}
+
+		@Override
+		public String[] getBeanNamesForType(Class<?> type)
+		{
+			count("names:" + type.getName());
+			return super.getBeanNamesForType(type);
+		}
+
+		@Override
+		public Object getBean(String name) throws BeansException
+		{
+			count("name:" + name);
+			return super.getBean(name);
+		}
+
+		@Override
+		public <T> T getBean(Class<T> requiredType) throws BeansException
+		{
+			count("type:" + requiredType.getName());
+			return super.getBean(requiredType);
+		}
+	}
+
+	private static final class TestProcessPlugin extends ProcessPluginImpl
+	{
+		final ApplicationContext context;
+
+		TestProcessPlugin(ClassLoader classLoader, ApplicationContext context)
+		{
+			super(new TestProcessPluginDefinition(), ProcessPluginFactoryImpl.API_VERSION, false,
+					Paths.get("test.jar"), classLoader, new StandardEnvironment(), mock(ApplicationContext.class),
+					"https://localhost/fhir");
+
+			this.context = context;
+		}
+
+		@Override
+		public ApplicationContext getApplicationContext()
+		{
+			return context;
+		}
+
+		Object getBean(Class<?> delegateClass) throws ClassNotFoundException
+		{
+			return getDelegateBean(delegateClass.getName());
+		}
+	}
+
+	public static abstract class AbstractTestServiceTask implements ServiceTask
+	{
+		@Override
+		public void execute(ProcessPluginApi api, Variables variables) throws Exception
+		{
+			// test: do nothing
+		}
+	}
+
+	public static class TestServiceTask extends AbstractTestServiceTask
+	{
+	}
+
+	public static class PrimaryServiceTask extends AbstractTestServiceTask
+	{
+	}
+
+	public static class AmbiguousServiceTask extends AbstractTestServiceTask
+	{
+	}
+
+	public static class NoBeanServiceTask extends AbstractTestServiceTask
+	{
+	}
+
+	public static class FieldInjectionServiceTask extends AbstractTestServiceTask
+	{
+		String text;
+		int number;
+		String fluent;
+		int textCalls;
+
+		public void setText(String text)
+		{
+			this.text = text;
+			textCalls++;
+		}
+
+		public void setNumber(int number)
+		{
+			this.number = number;
+		}
+
+		public FieldInjectionServiceTask setFluent(String fluent)
+		{
+			this.fluent = fluent;
+			return this;
+		}
+
+		public void setUnchecked(String value)
+		{
+			throw new IllegalArgumentException(value);
+		}
+
+		public void setChecked(String value) throws IOException
+		{
+			throw new IOException(value);
+		}
+	}
+
+	private final ProcessPluginApi api = mock(ProcessPluginApi.class);
+	private final VariableScope variableScope = mock(VariableScope.class);
+
+	private CountingClassLoader classLoader;
+	private CountingApplicationContext context;
+	private TestProcessPlugin plugin;
+
+	@Before
+	public void before() throws Exception
+	{
+		classLoader = new CountingClassLoader(getClass().getClassLoader());
+
+		context = new CountingApplicationContext();
+		context.registerBean("testServiceTask", TestServiceTask.class, TestServiceTask::new,
+				bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+		context.registerBean("primaryServiceTask1", PrimaryServiceTask.class, PrimaryServiceTask::new,
+				bd -> bd.setPrimary(true));
+		context.registerBean("primaryServiceTask2", PrimaryServiceTask.class, PrimaryServiceTask::new);
+		context.registerBean("ambiguousServiceTask1", AmbiguousServiceTask.class, AmbiguousServiceTask::new);
+		context.registerBean("ambiguousServiceTask2", AmbiguousServiceTask.class, AmbiguousServiceTask::new);
+		context.registerBean("fieldInjectionServiceTask", FieldInjectionServiceTask.class,
+				FieldInjectionServiceTask::new);
+		context.registerBean("api", ProcessPluginApi.class, () -> api);
+		context.refresh();
+
+		plugin = new TestProcessPlugin(classLoader, context);
+	}
+
+	@After
+	public void after() throws Exception
+	{
+		context.close();
+	}
+
+	@Test
+	public void testDelegateClassCached() throws Exception
+	{
+		plugin.prepareDelegate(TestServiceTask.class.getName());
+		plugin.getBean(TestServiceTask.class);
+		plugin.getBean(TestServiceTask.class);
+		plugin.isDefaultUserTaskListenerOrSuperClassOf(TestServiceTask.class.getName());
+
+		assertEquals(1, classLoader.getLoadCount(TestServiceTask.class));
+	}
+
+	@Test
+	public void testDelegateBeanByNamePrototype() throws Exception
+	{
+		plugin.prepareDelegate(TestServiceTask.class.getName());
+		Object bean1 = plugin.getBean(TestServiceTask.class);
+		Object bean2 = plugin.getBean(TestServiceTask.class);
+
+		assertNotNull(bean1);
+		assertNotNull(bean2);
+		assertSame(TestServiceTask.class, bean1.getClass());
+		assertSame(TestServiceTask.class, bean2.getClass());
+		assertNotSame(bean1, bean2);
+
+		assertEquals(1, context.getLookupCount("names:" + TestServiceTask.class.getName()));
+		assertEquals(2, context.getLookupCount("name:testServiceTask"));
+		assertEquals(0, context.getLookupCount("type:" + TestServiceTask.class.getName()));
+	}
+
+	@Test
+	public void testDelegateBeanDuplicateFallsBackToPrimary() throws Exception
+	{
+		Object bean1 = plugin.getBean(PrimaryServiceTask.class);
+		Object bean2 = plugin.getBean(PrimaryServiceTask.class);
+
+		assertSame(context.getBean("primaryServiceTask1"), bean1);
+		assertSame(bean1, bean2);
+
+		assertEquals(1, context.getLookupCount("names:" + PrimaryServiceTask.class.getName()));
+		assertEquals(2, context.getLookupCount("type:" + PrimaryServiceTask.class.getName()));
+	}
+
+	@Test
+	public void testDelegateBeanDuplicateWithoutPrimary() throws Exception
+	{
+		for (int i = 0; i < 2; i++)
+		{
+			try
+			{
+				plugin.getBean(AmbiguousServiceTask.class);
+				fail("NoUniqueBeanDefinitionException expected");
+			}
+			catch (NoUniqueBeanDefinitionException e)
+			{
+			}
+		}
+	}
+
+	@Test
+	public void testDelegateBeanMissing() throws Exception
+	{
+		plugin.prepareDelegate(NoBeanServiceTask.class.getName());
+
+		for (int i = 0; i < 2; i++)
+		{
+			try
+			{
+				plugin.getBean(NoBeanServiceTask.class);
+				fail("NoSuchBeanDefinitionException expected");
+			}
+			catch (NoSuchBeanDefinitionException e)
+			{
+			}
+		}
+
+		assertEquals(2, context.getLookupCount("type:" + NoBeanServiceTask.class.getName()));
+	}
+
+	@Test
+	public void testDelegateClassMissing() throws Exception
+	{
+		plugin.prepareDelegate("dev.dsf.bpe.v2.plugin.DoesNotExist");
+
+		try
+		{
+			plugin.getServiceTask("dev.dsf.bpe.v2.plugin.DoesNotExist", List.of(), variableScope);
+			fail("RuntimeException expected");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue(e.getCause() instanceof ClassNotFoundException);
+		}
+	}
+
+	private FieldInjectionServiceTask injectField(String name, Object value)
+	{
+		plugin.getServiceTask(FieldInjectionServiceTask.class.getName(),
+				List.of(new FieldDeclaration(name, FixedValue.class.getName(), new FixedValue(value))), variableScope);
+
+		return context.getBean(FieldInjectionServiceTask.class);
+	}
+
+	@Test
+	public void testInjectFieldVoidSetter() throws Exception
+	{
+		FieldInjectionServiceTask task = injectField("text", "value1");
+		assertEquals("value1", task.text);
+
+		injectField("text", "value2");
+		assertEquals("value2", task.text);
+		assertEquals(2, task.textCalls);
+	}
+
+	@Test
+	public void testInjectFieldPrimitiveSetter() throws Exception
+	{
+		FieldInjectionServiceTask task = injectField("number", 42);
+		assertEquals(42, task.number);
+	}
+
+	@Test
+	public void testInjectFieldNonVoidSetter() throws Exception
+	{
+		FieldInjectionServiceTask task = injectField("fluent", "value");
+		assertEquals("value", task.fluent);
+	}
+
+	@Test
+	public void testInjectFieldSetterMissing() throws Exception
+	{
+		for (int i = 0; i < 2; i++)
+		{
+			try
+			{
+				injectField("missing", "value");
+				fail("RuntimeException expected");
+			}
+			catch (RuntimeException e)
+			{
+				assertTrue(e.getMessage().contains("setMissing"));
+				assertTrue(e.getMessage().contains("missing in class"));
+			}
+		}
+	}
+
+	@Test
+	public void testInjectFieldSetterWrongType() throws Exception
+	{
+		try
+		{
+			injectField("text", 42);
+			fail("RuntimeException expected");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue(e.getMessage().contains("missing in class"));
+		}
+	}
+
+	@Test
+	public void testInjectFieldSetterThrowsUnchecked() throws Exception
+	{
+		try
+		{
+			injectField("unchecked", "value");
+			fail("IllegalArgumentException expected");
+		}
+		catch (IllegalArgumentException e)
+		{
+			assertEquals("value", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testInjectFieldSetterThrowsChecked() throws Exception
+	{
+		try
+		{
+			injectField("checked", "value");
+			fail("RuntimeException expected");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue(e.getCause() instanceof IOException);
+			assertEquals("value", e.getCause().getMessage());
+		}
+	}
+}
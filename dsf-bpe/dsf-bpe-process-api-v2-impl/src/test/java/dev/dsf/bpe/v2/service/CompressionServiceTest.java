@@ -18,6 +18,7 @@ package dev.dsf.bpe.v2.service;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -71,6 +72,87 @@ public class CompressionServiceTest
 		test(compressionService::toLzma2, 1228, compressionService::fromLzma2, TEST_DATA_3);
 	}
 
+	@Test
+	public void testLz4() throws Exception
+	{
+		test(compressionService::toLz4, compressionService::fromLz4, TEST_DATA_1);
+		test(compressionService::toLz4, compressionService::fromLz4, TEST_DATA_2);
+		test(compressionService::toLz4, compressionService::fromLz4, TEST_DATA_3);
+		test(in -> compressionService.toLz4(in, 64), compressionService::fromLz4, TEST_DATA_2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLz4InvalidBlockSize() throws Exception
+	{
+		compressionService.toLz4(new ByteArrayInputStream(TEST_DATA_1), 128);
+	}
+
+	@Test(expected = IOException.class)
+	public void testSourceErrorPropagated() throws Exception
+	{
+		InputStream failing = new InputStream()
+		{
+			private int count;
+
+			@Override
+			public int read() throws IOException
+			{
+				if (count++ > 100_000)
+					throw new IOException("test");
+
+				return 'a';
+			}
+		};
+
+		try (InputStream in = compressionService.toGzip(failing))
+		{
+			in.readAllBytes();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testSourceRuntimeExceptionPropagated() throws Exception
+	{
+		InputStream failing = new InputStream()
+		{
+			private int count;
+
+			@Override
+			public int read() throws IOException
+			{
+				if (count++ > 100_000)
+					throw new IllegalStateException("test");
+
+				return 'a';
+			}
+		};
+
+		try (InputStream in = compressionService.toBzip2(failing))
+		{
+			in.readAllBytes();
+		}
+	}
+
+	private void test(Converter compressor, Converter decompressor, byte[] testData) throws IOException
+	{
+		byte[] compressed;
+		try (InputStream in = compressor.convert(new ByteArrayInputStream(testData)))
+		{
+			compressed = in.readAllBytes();
+		}
+
+		assertNotNull(compressed);
+		assertTrue(compressed.length < testData.length || testData.length < 100);
+
+		byte[] uncompressed;
+		try (InputStream in = decompressor.convert(new ByteArrayInputStream(compressed)))
+		{
+			uncompressed = in.readAllBytes();
+		}
+
+		assertArrayEquals(testData, uncompressed);
+	}
+
 	private void test(Converter compressor, int compressedSize, Converter decompressor, byte[] testData)
 			throws IOException
 	{
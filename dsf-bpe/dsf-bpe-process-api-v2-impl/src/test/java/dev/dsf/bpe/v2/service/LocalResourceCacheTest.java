@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Endpoint;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Organization;
+import org.hl7.fhir.r4.model.OrganizationAffiliation;
+import org.junit.Test;
+
+import dev.dsf.bpe.v2.client.dsf.DsfClient;
+
+public class LocalResourceCacheTest
+{
+	private static Bundle latest(int total, String id, Date lastUpdated)
+	{
+		Bundle bundle = new Bundle().setTotal(total);
+		Organization organization = new Organization();
+		organization.setIdElement(new IdType("Organization", id, "1"));
+		organization.getMeta().setLastUpdated(lastUpdated);
+		bundle.addEntry().setResource(organization);
+		return bundle;
+	}
+
+	@Test
+	public void testCachedUntilChanged() throws Exception
+	{
+		DsfClient client = mock(DsfClient.class);
+		Date lastUpdated = new Date(1_000_000L);
+		when(client.searchWithStrictHandling(eq(Organization.class), any()))
+				.thenReturn(latest(1, "a", lastUpdated), latest(2, "b", new Date(2_000_000L)));
+		when(client.searchWithStrictHandling(eq(OrganizationAffiliation.class), any())).thenReturn(new Bundle());
+		when(client.searchWithStrictHandling(eq(Endpoint.class), any())).thenReturn(new Bundle());
+
+		// check interval of one nanosecond, every lookup checks for changes
+		LocalResourceCache cache = new LocalResourceCache(() -> client, Duration.ofNanos(1));
+		AtomicInteger loads = new AtomicInteger();
+		Organization organization = new Organization().setName("Test");
+
+		Optional<Organization> first = cache.getOptional(List.of("organization", "test"), () ->
+		{
+			loads.incrementAndGet();
+			return Optional.of(organization);
+		});
+		assertEquals(1, loads.get());
+		assertEquals("Test", first.get().getName());
+		assertNotSame(organization, first.get());
+
+		Optional<Organization> second = cache.getOptional(List.of("organization", "test"), () ->
+		{
+			loads.incrementAndGet();
+			return Optional.of(organization);
+		});
+		assertEquals(2, loads.get()); // Organization total changed
+		assertEquals("Test", second.get().getName());
+
+		Optional<Organization> third = cache.getOptional(List.of("organization", "test"), () ->
+		{
+			loads.incrementAndGet();
+			return Optional.of(organization);
+		});
+		assertEquals(2, loads.get()); // no further change, last mocked bundle returned again
+		assertEquals("Test", third.get().getName());
+	}
+
+	@Test
+	public void testDisabled() throws Exception
+	{
+		LocalResourceCache cache = new LocalResourceCache(() -> null, Duration.ZERO);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++)
+			cache.getList(List.of("parent-organizations"), () ->
+			{
+				loads.incrementAndGet();
+				return List.of(new Organization());
+			});
+
+		assertEquals(3, loads.get());
+	}
+}
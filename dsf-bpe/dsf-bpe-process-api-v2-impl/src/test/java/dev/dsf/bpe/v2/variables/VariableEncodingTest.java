@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class VariableEncodingTest
+{
+	private static final byte[] SMALL_JSON = "{\"resourceType\":\"Task\"}".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] LARGE_JSON = ("{\"resourceType\":\"Bundle\",\"entry\":["
+			+ "{\"resource\":{\"resourceType\":\"Task\",\"status\":\"requested\"}},".repeat(100)
+			+ "{\"resource\":{\"resourceType\":\"Task\",\"status\":\"requested\"}}]}").getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void testSmallValueNotCompressed() throws Exception
+	{
+		byte[] encoded = VariableEncoding.encode(SMALL_JSON);
+
+		assertTrue(VariableEncoding.isEncoded(encoded));
+		assertEquals(VariableEncoding.FORMAT_PLAIN, encoded[VariableEncoding.HEADER_LENGTH - 1]);
+		assertEquals(SMALL_JSON.length + VariableEncoding.HEADER_LENGTH, encoded.length);
+		assertArrayEquals(SMALL_JSON, VariableEncoding.decode(encoded));
+	}
+
+	@Test
+	public void testLargeValueCompressed() throws Exception
+	{
+		byte[] encoded = VariableEncoding.encode(LARGE_JSON);
+
+		assertTrue(VariableEncoding.isEncoded(encoded));
+		assertEquals(VariableEncoding.FORMAT_LZ4, encoded[VariableEncoding.HEADER_LENGTH - 1]);
+		assertTrue(encoded.length < LARGE_JSON.length / 4);
+		assertArrayEquals(LARGE_JSON, VariableEncoding.decode(encoded));
+	}
+
+	@Test
+	public void testIncompressibleValueNotCompressed() throws Exception
+	{
+		byte[] random = new byte[4096];
+		new Random(42).nextBytes(random);
+		random[0] = '{';
+
+		byte[] encoded = VariableEncoding.encode(random);
+
+		assertEquals(VariableEncoding.FORMAT_PLAIN, encoded[VariableEncoding.HEADER_LENGTH - 1]);
+		assertArrayEquals(random, VariableEncoding.decode(encoded));
+	}
+
+	@Test
+	public void testLegacyValueUnchanged() throws Exception
+	{
+		assertFalse(VariableEncoding.isEncoded(LARGE_JSON));
+		assertSame(LARGE_JSON, VariableEncoding.decode(LARGE_JSON));
+		assertNull(VariableEncoding.decode(null));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnknownFormat() throws Exception
+	{
+		byte[] encoded = VariableEncoding.encode(SMALL_JSON);
+		encoded[VariableEncoding.HEADER_LENGTH - 1] = 99;
+
+		VariableEncoding.decode(encoded);
+	}
+}
@@ -15,6 +15,7 @@
  */
 package dev.dsf.bpe.v2.activity;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.hl7.fhir.r4.model.Task;
@@ -23,10 +24,12 @@ import org.hl7.fhir.r4.model.Task.ParameterComponent;
 import dev.dsf.bpe.v2.ProcessPluginApi;
 import dev.dsf.bpe.v2.activity.task.BusinessKeyStrategies;
 import dev.dsf.bpe.v2.activity.task.BusinessKeyStrategy;
+import dev.dsf.bpe.v2.activity.task.ConcurrentTaskSender;
 import dev.dsf.bpe.v2.activity.task.DefaultTaskSender;
 import dev.dsf.bpe.v2.activity.task.TaskSender;
 import dev.dsf.bpe.v2.activity.values.SendTaskValues;
 import dev.dsf.bpe.v2.variables.Target;
+import dev.dsf.bpe.v2.variables.Targets;
 import dev.dsf.bpe.v2.variables.Variables;
 
 public interface MessageActivity extends Activity
@@ -57,12 +60,38 @@ public interface MessageActivity extends Activity
 	 *            not <code>null</code>
 	 * @param sendTaskValues
 	 *            not <code>null</code>
-	 * @return {@link TaskSender} implementation to send {@link Task} resources
+	 * @return {@link TaskSender} implementation to send {@link Task} resources, a {@link ConcurrentTaskSender} if
+	 *         {@link #isConcurrentSendToTargets()} returns <code>true</code>
 	 */
 	default TaskSender getTaskSender(ProcessPluginApi api, Variables variables, SendTaskValues sendTaskValues)
 	{
-		return new DefaultTaskSender(api, variables, sendTaskValues, getBusinessKeyStrategy(),
-				target -> getAdditionalInputParameters(api, variables, sendTaskValues, target));
+		if (isConcurrentSendToTargets())
+			return new ConcurrentTaskSender(api, variables, sendTaskValues, getBusinessKeyStrategy(),
+					target -> getAdditionalInputParameters(api, variables, sendTaskValues, target),
+					getConcurrentSendTimeout());
+		else
+			return new DefaultTaskSender(api, variables, sendTaskValues, getBusinessKeyStrategy(),
+					target -> getAdditionalInputParameters(api, variables, sendTaskValues, target));
+	}
+
+	/**
+	 * Override to send {@link Task} resources to all entries of the {@link Targets} variable concurrently from this
+	 * activity, instead of modeling the activity as a multi-instance activity with one send per target.
+	 *
+	 * @return <code>true</code> to use a {@link ConcurrentTaskSender}, default <code>false</code>
+	 */
+	default boolean isConcurrentSendToTargets()
+	{
+		return false;
+	}
+
+	/**
+	 * @return maximum time to wait for responses of all targets if {@link #isConcurrentSendToTargets()}, not
+	 *         <code>null</code>
+	 */
+	default Duration getConcurrentSendTimeout()
+	{
+		return ConcurrentTaskSender.DEFAULT_TIMEOUT;
 	}
 
 	/**
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.activity.task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Task;
+import org.hl7.fhir.r4.model.Task.ParameterComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.dsf.bpe.v2.ProcessPluginApi;
+import dev.dsf.bpe.v2.activity.task.TaskSendException.FailedTarget;
+import dev.dsf.bpe.v2.activity.values.SendTaskValues;
+import dev.dsf.bpe.v2.variables.Target;
+import dev.dsf.bpe.v2.variables.Targets;
+import dev.dsf.bpe.v2.variables.Variables;
+
+/**
+ * Sends {@link Task} resources to all entries of the {@link Targets} variable from a single, not multi-instance,
+ * activity. Tasks are created on the calling thread, create requests are executed concurrently on virtual threads and
+ * awaited for at most the configured timeout. The timeout is a single deadline for all targets, starting after all
+ * create requests have been submitted; requests still running at the deadline are canceled.
+ * <p>
+ * If creating or sending the {@link Task} fails for some targets, a {@link TaskSendException} listing the failed
+ * targets is thrown after all other sends completed. Falls back to sending a single {@link Task} to the {@link Target} variable if the {@link Targets}
+ * variable is not set or empty.
+ * <p>
+ * Use with {@link BusinessKeyStrategies#SAME} or {@link BusinessKeyStrategies#NEW}, the alternative business-key set by
+ * {@link BusinessKeyStrategies#ALTERNATIVE} can only be stored for one target.
+ */
+public class ConcurrentTaskSender extends DefaultTaskSender
+{
+	private static final Logger logger = LoggerFactory.getLogger(ConcurrentTaskSender.class);
+
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+	protected final Duration timeout;
+
+	public ConcurrentTaskSender(ProcessPluginApi api, Variables variables, SendTaskValues sendTaskValues,
+			BusinessKeyStrategy businessKeyStrategy)
+	{
+		this(api, variables, sendTaskValues, businessKeyStrategy, _ -> List.of(), DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * @param api
+	 *            not <code>null</code>
+	 * @param variables
+	 *            not <code>null</code>
+	 * @param sendTaskValues
+	 *            not <code>null</code>
+	 * @param businessKeyStrategy
+	 *            not <code>null</code>
+	 * @param additionalInputParameters
+	 *            not <code>null</code>
+	 * @param timeout
+	 *            not <code>null</code>, not negative, shared deadline for all targets
+	 */
+	public ConcurrentTaskSender(ProcessPluginApi api, Variables variables, SendTaskValues sendTaskValues,
+			BusinessKeyStrategy businessKeyStrategy,
+			Function<Target, List<ParameterComponent>> additionalInputParameters, Duration timeout)
+	{
+		super(api, variables, sendTaskValues, businessKeyStrategy, additionalInputParameters);
+
+		this.timeout = Objects.requireNonNull(timeout, "timeout");
+
+		if (timeout.isNegative())
+			throw new IllegalArgumentException("timeout negative");
+	}
+
+	/**
+	 * @throws TaskSendException
+	 *             if {@link Task} resources could not be sent to one or more targets
+	 */
+	@Override
+	public void send() throws TaskSendException
+	{
+		Targets targets = variables.getTargets();
+		if (targets == null || targets.isEmpty())
+		{
+			super.send();
+			return;
+		}
+
+		List<Target> entries = targets.getEntries();
+		List<Target> sendTargets = new ArrayList<>(entries.size());
+		List<TaskAndConfig> tcs = new ArrayList<>(entries.size());
+
+		List<FailedTarget> failed = new ArrayList<>();
+
+		for (Target target : entries)
+		{
+			try
+			{
+				tcs.add(createTaskAndConfig(businessKeyStrategy, target));
+				sendTargets.add(target);
+			}
+			catch (RuntimeException e)
+			{
+				failed.add(new FailedTarget(target, e));
+			}
+		}
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try
+		{
+			List<Future<IdType>> futures = tcs.stream().map(tc ->
+			{
+				logSending(tc);
+				return executor.submit(() -> doSend(tc.task(), tc.endpointUrl()));
+			}).toList();
+
+			long deadline = System.nanoTime() + timeout.toNanos();
+
+			for (int i = 0; i < futures.size(); i++)
+			{
+				TaskAndConfig tc = tcs.get(i);
+				Future<IdType> future = futures.get(i);
+
+				try
+				{
+					IdType created = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					logSent(tc, created);
+				}
+				catch (ExecutionException e)
+				{
+					failed.add(new FailedTarget(sendTargets.get(i),
+							e.getCause() instanceof Exception cause ? cause : new RuntimeException(e.getCause())));
+				}
+				catch (TimeoutException e)
+				{
+					future.cancel(true);
+					failed.add(new FailedTarget(sendTargets.get(i), new TimeoutException(
+							"No response from " + tc.endpointUrl() + " within " + timeout.toString())));
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while sending Task " + sendTaskValues.instantiatesCanonical(), e);
+		}
+		finally
+		{
+			// not waiting for canceled requests
+			executor.shutdownNow();
+		}
+
+		if (!failed.isEmpty())
+		{
+			logger.debug("Task {} send failed for {} of {} targets", sendTaskValues.instantiatesCanonical(),
+					failed.size(), entries.size());
+
+			throw new TaskSendException(failed, entries.size());
+		}
+	}
+}
@@ -78,6 +78,15 @@ public class DefaultTaskSender implements TaskSender
 	{
 		TaskAndConfig tc = createTaskAndConfig(businessKeyStrategy);
 
+		logSending(tc);
+
+		IdType created = doSend(tc.task(), tc.endpointUrl());
+
+		logSent(tc, created);
+	}
+
+	protected void logSending(TaskAndConfig tc)
+	{
 		if (tc.correlationKey() != null)
 			logger.info(
 					"Sending task {} [recipient: {}, endpoint: {}, businessKey: {}, correlationKey: {}, message: {}] ...",
@@ -87,9 +96,10 @@ public class DefaultTaskSender implements TaskSender
 			logger.info("Sending task {} [recipient: {}, endpoint: {}, businessKey: {}, message: {}] ...",
 					tc.instantiatesCanonical(), tc.organizationIdentifierValue(), tc.endpointIdentifierValue(),
 					tc.businessKey(), tc.messageName());
+	}
 
-		IdType created = doSend(tc.task(), tc.endpointUrl());
-
+	protected void logSent(TaskAndConfig tc, IdType created)
+	{
 		logger.info("Task {} sent [task: {}]", tc.instantiatesCanonical(), created.toVersionless().getValue());
 	}
 
@@ -100,8 +110,18 @@ public class DefaultTaskSender implements TaskSender
 
 	protected TaskAndConfig createTaskAndConfig(BusinessKeyStrategy businessKeyStrategy)
 	{
-		Target target = getTarget();
+		return createTaskAndConfig(businessKeyStrategy, getTarget());
+	}
 
+	/**
+	 * @param businessKeyStrategy
+	 *            not <code>null</code>
+	 * @param target
+	 *            not <code>null</code>
+	 * @return not <code>null</code>
+	 */
+	protected TaskAndConfig createTaskAndConfig(BusinessKeyStrategy businessKeyStrategy, Target target)
+	{
 		String profile = getProfile(target);
 		Reference requester = getRequester(target);
 		Reference recipient = getRecipient(target);
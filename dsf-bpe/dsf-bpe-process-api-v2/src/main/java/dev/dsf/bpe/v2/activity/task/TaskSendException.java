@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.v2.activity.task;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.hl7.fhir.r4.model.Task;
+
+import dev.dsf.bpe.v2.variables.Target;
+
+/**
+ * Thrown by {@link ConcurrentTaskSender} if {@link Task} resources could not be sent to one or more {@link Target}s.
+ * Targets not listed in {@link #getFailedTargets()} received their {@link Task}.
+ */
+public class TaskSendException extends RuntimeException
+{
+	private static final long serialVersionUID = -4512081236458014975L;
+
+	public static record FailedTarget(Target target, Exception exception)
+	{
+		public FailedTarget
+		{
+			Objects.requireNonNull(target, "target");
+			Objects.requireNonNull(exception, "exception");
+		}
+	}
+
+	private final transient List<FailedTarget> failedTargets;
+	private final int targetCount;
+
+	/**
+	 * @param failedTargets
+	 *            not <code>null</code>, not empty
+	 * @param targetCount
+	 *            number of targets including successful sends
+	 */
+	public TaskSendException(List<FailedTarget> failedTargets, int targetCount)
+	{
+		super("Task send failed for " + Objects.requireNonNull(failedTargets, "failedTargets").size() + " of "
+				+ targetCount + " targets", failedTargets.isEmpty() ? null : failedTargets.get(0).exception());
+
+		if (failedTargets.isEmpty())
+			throw new IllegalArgumentException("failedTargets empty");
+
+		this.failedTargets = List.copyOf(failedTargets);
+		this.targetCount = targetCount;
+
+		failedTargets.stream().skip(1).map(FailedTarget::exception).forEach(this::addSuppressed);
+	}
+
+	/**
+	 * @return not <code>null</code>, not empty
+	 */
+	public List<FailedTarget> getFailedTargets()
+	{
+		return failedTargets;
+	}
+
+	public int getTargetCount()
+	{
+		return targetCount;
+	}
+
+	/**
+	 * @return <code>true</code> if no {@link Task} could be sent
+	 */
+	public boolean isAllFailed()
+	{
+		return failedTargets.size() >= targetCount;
+	}
+}
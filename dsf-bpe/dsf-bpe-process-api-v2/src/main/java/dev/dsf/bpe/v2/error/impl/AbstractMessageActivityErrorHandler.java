@@ -16,8 +16,10 @@
 package dev.dsf.bpe.v2.error.impl;
 
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import dev.dsf.bpe.v2.ProcessPluginApi;
+import dev.dsf.bpe.v2.activity.task.TaskSendException;
 import dev.dsf.bpe.v2.activity.values.SendTaskValues;
 import dev.dsf.bpe.v2.variables.Target;
 import dev.dsf.bpe.v2.variables.Variables;
@@ -29,12 +31,25 @@ public class AbstractMessageActivityErrorHandler extends AbstractErrorHandler
 	protected String createErrorMessage(ProcessPluginApi api, Variables variables, Exception exception,
 			SendTaskValues sendTaskValues, Function<Exception, String> getExceptionMessage)
 	{
-		Target target = variables.getTarget();
+		if (exception instanceof TaskSendException e)
+			return e.getFailedTargets().stream().map(f -> createErrorMessage(api, variables, f.target(),
+					f.exception(), sendTaskValues, getExceptionMessage)).collect(Collectors.joining("; "));
+		else
+			return createErrorMessage(api, variables, variables.getTarget(), exception, sendTaskValues,
+					getExceptionMessage);
+	}
 
-		return "Task " + sendTaskValues.instantiatesCanonical() + " send failed [recipient: "
-				+ target.getOrganizationIdentifierValue() + ", endpoint: " + target.getEndpointIdentifierValue()
-				+ ", businessKey: " + variables.getBusinessKey()
-				+ (target.getCorrelationKey() == null ? "" : ", correlationKey: " + target.getCorrelationKey())
+	protected String createErrorMessage(ProcessPluginApi api, Variables variables, Target target, Exception exception,
+			SendTaskValues sendTaskValues, Function<Exception, String> getExceptionMessage)
+	{
+		// target null if the exception was thrown before a target was selected
+		return "Task " + sendTaskValues.instantiatesCanonical() + " send failed ["
+				+ (target == null ? ""
+						: "recipient: " + target.getOrganizationIdentifierValue() + ", endpoint: "
+								+ target.getEndpointIdentifierValue() + ", ")
+				+ "businessKey: " + variables.getBusinessKey()
+				+ (target == null || target.getCorrelationKey() == null ? ""
+						: ", correlationKey: " + target.getCorrelationKey())
 				+ ", message: " + sendTaskValues.messageName() + ", error: " + exception.getClass().getName() + " - "
 				+ getExceptionMessage.apply(exception) + "]";
 	}
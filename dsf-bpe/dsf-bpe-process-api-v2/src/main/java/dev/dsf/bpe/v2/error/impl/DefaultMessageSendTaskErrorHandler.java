@@ -24,6 +24,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import dev.dsf.bpe.v2.ProcessPluginApi;
+import dev.dsf.bpe.v2.activity.task.ConcurrentTaskSender;
+import dev.dsf.bpe.v2.activity.task.TaskSendException;
+import dev.dsf.bpe.v2.activity.task.TaskSendException.FailedTarget;
 import dev.dsf.bpe.v2.activity.values.SendTaskValues;
 import dev.dsf.bpe.v2.constants.CodeSystems.BpmnMessage;
 import dev.dsf.bpe.v2.error.MessageSendTaskErrorHandler;
@@ -49,6 +52,12 @@ public class DefaultMessageSendTaskErrorHandler extends AbstractMessageActivityE
 	 * <p>
 	 * Removes the current {@link Target} from the {@link Targets} variable and logs the error. Returns
 	 * <code>null</code> resulting in a continuing process instance.
+	 * <p>
+	 * <b>Concurrent message send task</b> ({@link TaskSendException} from a {@link ConcurrentTaskSender}):
+	 * <p>
+	 * Removes all failed {@link Target}s from the {@link Targets} variable and logs the errors. Returns
+	 * <code>null</code> resulting in a continuing process instance. Other exceptions with {@link Targets} set but no
+	 * current {@link Target} are handled like single instance errors.
 	 */
 	@Override
 	public Exception handleException(ProcessPluginApi api, Variables variables, SendTaskValues sendTaskValues,
@@ -56,8 +65,12 @@ public class DefaultMessageSendTaskErrorHandler extends AbstractMessageActivityE
 	{
 		Targets targets = variables.getTargets();
 
+		// if we are a concurrent message send task, remove failed targets
+		if (exception instanceof TaskSendException e && targets != null && !targets.isEmpty())
+			return handleConcurrent(api, variables, sendTaskValues, e, targets);
+
 		// if we are a multi instance message send task, remove target
-		if (targets != null && !targets.isEmpty())
+		else if (targets != null && !targets.isEmpty() && variables.getTarget() != null)
 			return handleMultiInstance(api, variables, sendTaskValues, exception, targets);
 
 		// if we are a single instance message send task
@@ -83,6 +96,27 @@ public class DefaultMessageSendTaskErrorHandler extends AbstractMessageActivityE
 		return null;
 	}
 
+	protected Exception handleConcurrent(ProcessPluginApi api, Variables variables, SendTaskValues sendTaskValues,
+			TaskSendException exception, Targets targets)
+	{
+		List<String> failedEndpointIdentifierValues = exception.getFailedTargets().stream().map(FailedTarget::target)
+				.map(Target::getEndpointIdentifierValue).toList();
+		targets = targets.removeAllByEndpointIdentifierValue(failedEndpointIdentifierValues);
+		variables.setTargets(targets);
+
+		String errorMessage = createErrorMessage(api, variables, exception, sendTaskValues, super::getExceptionMessage);
+		List<Task> tasks = getTasks(api, variables, exception);
+
+		updateFailedIfInprogress(api, variables, errorMessage, tasks);
+
+		exception.getFailedTargets().forEach(f -> logger.debug(
+				"Target organization {}, endpoint {} with error {} removed from target list",
+				f.target().getOrganizationIdentifierValue(), f.target().getEndpointIdentifierValue(),
+				f.exception().getMessage()));
+
+		return null;
+	}
+
 	protected Exception handleSingleInstance(ProcessPluginApi api, Variables variables, SendTaskValues sendTaskValues,
 			Exception exception)
 	{
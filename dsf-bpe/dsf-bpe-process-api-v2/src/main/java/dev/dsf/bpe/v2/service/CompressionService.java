@@ -18,6 +18,11 @@ package dev.dsf.bpe.v2.service;
 import java.io.IOException;
 import java.io.InputStream;
 
+/**
+ * Compressed streams returned by the <code>to...</code> methods are produced on a separate virtual thread while being
+ * read. Errors reading the given stream or compressing its content are rethrown as {@link IOException} by the read
+ * methods of the returned stream.
+ */
 public interface CompressionService
 {
 	/**
@@ -78,6 +83,28 @@ public interface CompressionService
 	 */
 	InputStream toLzma2(InputStream in, int preset) throws IOException;
 
+	/**
+	 * Uses block size 4096 KiB.
+	 *
+	 * @param in
+	 *            stream to compress, not <code>null</code>
+	 * @return lz4 frame format compressed stream
+	 * @see #toLz4(InputStream, int)
+	 */
+	InputStream toLz4(InputStream in) throws IOException;
+
+	/**
+	 * LZ4 is considerably faster than gzip at a lower compression ratio, use for large payloads where compression time
+	 * dominates transfer time.
+	 *
+	 * @param in
+	 *            stream to compress, not <code>null</code>
+	 * @param blockSizeKiB
+	 *            64, 256, 1024 or 4096
+	 * @return lz4 frame format compressed stream
+	 */
+	InputStream toLz4(InputStream in, int blockSizeKiB) throws IOException;
+
 	/**
 	 * @param in
 	 *            gzip compressed stream, not <code>null</code>
@@ -99,4 +126,11 @@ public interface CompressionService
 	 * @throws IOException
 	 */
 	InputStream fromLzma2(InputStream in) throws IOException;
+
+	/**
+	 * @param in
+	 *            lz4 frame format compressed stream, not <code>null</code>, may contain multiple concatenated frames
+	 * @return uncompressed stream
+	 */
+	InputStream fromLz4(InputStream in) throws IOException;
 }
@@ -327,6 +327,9 @@ public interface Variables
 
 	/**
 	 * Retrieves execution variable with the given <b>variableName</b>
+	 * <p>
+	 * Json variables set via {@link #setJsonVariable(String, Object)} are deserialized once per activity, repeated
+	 * calls return the same instance until the variable is set again.
 	 *
 	 * @param <T>
 	 *            target variable type
@@ -32,6 +32,12 @@ public interface DsfClientConfig
 	interface LocalConfig extends BaseConfig
 	{
 		String getBaseUrl();
+
+		/**
+		 * @return interval between checks for changed Organization, OrganizationAffiliation and Endpoint resources
+		 *         cached by the process API, {@link Duration#ZERO} if caching is disabled
+		 */
+		Duration getResourceCacheCheckInterval();
 	}
 
 	interface RemoteConfig extends BaseConfig
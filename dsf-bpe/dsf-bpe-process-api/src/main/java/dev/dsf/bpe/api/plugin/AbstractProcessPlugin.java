@@ -30,8 +30,11 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -162,6 +165,9 @@ public abstract class AbstractProcessPlugin<UTL> implements ProcessPlugin
 
 	private final ProcessPluginFhirConfig<?, ?, ?, ?, ?, ?, ?, ?, ?, ?> fhirConfig;
 
+	private final ConcurrentMap<String, Class<?>> delegateClassesByName = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Supplier<Object>> delegateBeanSuppliersByClassName = new ConcurrentHashMap<>();
+
 	private AnnotationConfigApplicationContext applicationContext;
 	private List<BpmnFileAndModel> processModels;
 	private Map<ProcessIdAndVersion, List<FileAndResource>> fhirResources;
@@ -238,7 +244,7 @@ public abstract class AbstractProcessPlugin<UTL> implements ProcessPlugin
 	{
 		try
 		{
-			Class<?> targetClass = getProcessPluginClassLoader().loadClass(className);
+			Class<?> targetClass = getDelegateClass(className);
 			return defaultUserTaskListenerClass.isAssignableFrom(targetClass);
 		}
 		catch (BeansException | ClassNotFoundException | ClassCastException e)
@@ -252,6 +258,84 @@ public abstract class AbstractProcessPlugin<UTL> implements ProcessPlugin
 		}
 	}
 
+	@Override
+	public void prepareDelegate(String className)
+	{
+		try
+		{
+			getDelegateBeanSupplier(className);
+		}
+		catch (BeansException | ClassNotFoundException | IllegalStateException e)
+		{
+			logger.debug("Unable to prepare delegate {}, resolving on execution", className, e);
+		}
+	}
+
+	/**
+	 * @param className
+	 *            not <code>null</code>
+	 * @return class loaded by the process plugin class loader, cached by name
+	 * @throws ClassNotFoundException
+	 *             if the class is not available
+	 */
+	protected final Class<?> getDelegateClass(String className) throws ClassNotFoundException
+	{
+		Class<?> delegateClass = delegateClassesByName.get(className);
+		if (delegateClass == null)
+		{
+			delegateClass = getProcessPluginClassLoader().loadClass(className);
+			delegateClassesByName.putIfAbsent(className, delegateClass);
+		}
+
+		return delegateClass;
+	}
+
+	/**
+	 * Bean names are resolved once per class, subsequent calls only ask the application context for a (new prototype)
+	 * bean instance by name.
+	 *
+	 * @param className
+	 *            not <code>null</code>
+	 * @return bean from the process plugin application context
+	 * @throws ClassNotFoundException
+	 *             if the class is not available
+	 * @throws BeansException
+	 *             if no unique bean for the class is available
+	 */
+	protected final Object getDelegateBean(String className) throws ClassNotFoundException, BeansException
+	{
+		return getDelegateBeanSupplier(className).get();
+	}
+
+	private Supplier<Object> getDelegateBeanSupplier(String className) throws ClassNotFoundException
+	{
+		Supplier<Object> supplier = delegateBeanSuppliersByClassName.get(className);
+		if (supplier == null)
+		{
+			supplier = createDelegateBeanSupplier(getDelegateClass(className));
+			delegateBeanSuppliersByClassName.putIfAbsent(className, supplier);
+		}
+
+		return supplier;
+	}
+
+	private Supplier<Object> createDelegateBeanSupplier(Class<?> delegateClass)
+	{
+		ApplicationContext context = getApplicationContext();
+		String[] beanNames = context.getBeanNamesForType(delegateClass);
+
+		if (beanNames.length == 1)
+		{
+			String beanName = beanNames[0];
+			return () -> context.getBean(beanName);
+		}
+		else
+		{
+			// no or multiple candidates: lookup by type on every call, reports errors or selects primary bean
+			return () -> context.getBean(delegateClass);
+		}
+	}
+
 	@Override
 	public boolean initializeAndValidateResources(String localOrganizationIdentifierValue)
 	{
@@ -66,6 +66,15 @@ public interface ProcessPlugin
 
 	boolean isDefaultUserTaskListenerOrSuperClassOf(String className);
 
+	/**
+	 * Loads the class and resolves the application context bean for the given delegate class name ahead of the first
+	 * activity execution. Failures are ignored and reported when the delegate is requested.
+	 *
+	 * @param className
+	 *            not <code>null</code>
+	 */
+	void prepareDelegate(String className);
+
 	JavaDelegate getMessageSendTask(String className, List<FieldDeclaration> fieldDeclarations,
 			VariableScope variableScope);
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.api.service;
+
+/**
+ * Stores large serialized process variable values outside of the process engine database. Values are content
+ * addressed, storing the same value twice returns the same reference. Values no longer referenced by runtime or history
+ * variables are removed by the BPE.
+ */
+public interface BpeVariableStore
+{
+	/**
+	 * @param size
+	 *            size of the serialized value in bytes
+	 * @return <code>true</code> if a value with the given size should be stored via {@link #store(byte[])}
+	 */
+	boolean isStoreExternal(int size);
+
+	/**
+	 * @param value
+	 *            not <code>null</code>
+	 * @return reference to be persisted instead of the value, not <code>null</code>
+	 */
+	String store(byte[] value);
+
+	/**
+	 * @param reference
+	 *            may be <code>null</code>
+	 * @return <code>true</code> if the given value was returned by {@link #store(byte[])}
+	 */
+	boolean isReference(String reference);
+
+	/**
+	 * @param reference
+	 *            not <code>null</code>, returned by {@link #store(byte[])}
+	 * @return stored value
+	 * @throws IllegalStateException
+	 *             if the referenced value is not available
+	 */
+	byte[] load(String reference);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.dao;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+public interface VariableStoreReferenceDao
+{
+	/**
+	 * @param prefix
+	 *            not <code>null</code>, only letters, digits and <code>:</code>
+	 * @return references with the given prefix used by runtime and history process variables
+	 * @throws SQLException
+	 *             if a database access error occurs
+	 */
+	Set<String> readReferences(String prefix) throws SQLException;
+}
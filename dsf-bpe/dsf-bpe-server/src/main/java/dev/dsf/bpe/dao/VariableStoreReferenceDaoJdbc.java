@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads process engine tables, needs a {@link DataSource} for the engine database user.
+ */
+public class VariableStoreReferenceDaoJdbc extends AbstractDaoJdbc implements VariableStoreReferenceDao
+{
+	private static final Pattern PREFIX_PATTERN = Pattern.compile("[A-Za-z0-9:]+");
+
+	public VariableStoreReferenceDaoJdbc(DataSource engineDataSource)
+	{
+		super(engineDataSource);
+	}
+
+	@Override
+	public Set<String> readReferences(String prefix) throws SQLException
+	{
+		Objects.requireNonNull(prefix, "prefix");
+		if (!PREFIX_PATTERN.matcher(prefix).matches())
+			throw new IllegalArgumentException("prefix not matching " + PREFIX_PATTERN.pattern());
+
+		// literal pattern, matches the partial store reference indexes for prefix sha256:
+		String pattern = "'" + prefix + "%'";
+
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("SELECT text2_ FROM act_ru_variable WHERE text2_ LIKE " + pattern
+								+ " UNION SELECT text2_ FROM act_hi_varinst WHERE text2_ LIKE " + pattern
+								+ " UNION SELECT text2_ FROM act_hi_detail WHERE text2_ LIKE " + pattern);
+				ResultSet result = statement.executeQuery())
+		{
+			Set<String> references = new HashSet<>();
+			while (result.next())
+				references.add(result.getString(1));
+
+			return references;
+		}
+	}
+}
@@ -31,6 +31,17 @@ public interface DelegateProvider extends ProcessPluginConsumer
 
 	boolean isDefaultUserTaskListenerOrSuperClassOf(ProcessIdAndVersion processKeyAndVersion, String className);
 
+	/**
+	 * Resolves delegate class and bean lookup while parsing BPMN models, does nothing if the plugin for the given
+	 * process is not available.
+	 *
+	 * @param processIdAndVersion
+	 *            not <code>null</code>
+	 * @param className
+	 *            not <code>null</code>
+	 */
+	void prepareDelegate(ProcessIdAndVersion processIdAndVersion, String className);
+
 	JavaDelegate getMessageSendTask(ProcessIdAndVersion processIdAndVersion, String className,
 			List<FieldDeclaration> fieldDeclarations, VariableScope variableScope);
 
@@ -108,6 +108,12 @@ public class DelegateProviderImpl implements DelegateProvider, InitializingBean
 				.orElseThrow(handlePluginNotFound(processIdAndVersion));
 	}
 
+	@Override
+	public void prepareDelegate(ProcessIdAndVersion processIdAndVersion, String className)
+	{
+		getPlugin(processIdAndVersion).ifPresent(p -> p.prepareDelegate(className));
+	}
+
 	private Supplier<ProcessEngineException> handlePluginNotFound(ProcessIdAndVersion processIdAndVersion)
 	{
 		return () ->
@@ -66,6 +66,7 @@ public class MultiVersionBpmnParse extends BpmnParse
 			logger.debug("Modifying {} for {} in BPMN element with id '{}'",
 					activity.getActivityBehavior().getClass().getSimpleName(), className,
 					getElementId(serviceTaskElement));
+			delegateProvider.prepareDelegate(getProcessIdAndVersion(), className);
 			activity.setActivityBehavior(
 					new MultiVersionClassDelegateActivityBehavior(className, fieldDeclarations, delegateProvider));
 		}
@@ -96,6 +97,7 @@ public class MultiVersionBpmnParse extends BpmnParse
 					getElementId(taskListenerElement));
 
 			List<FieldDeclaration> fieldDeclarations = parseFieldDeclarations(taskListenerElement);
+			delegateProvider.prepareDelegate(processKeyAndVersion, defaultUserTaskListenerClass.getName());
 			TaskListener defaultUserTaskListener = new MultiVersionClassDelegateTaskListener(
 					defaultUserTaskListenerClass.getName(), fieldDeclarations, delegateProvider);
 			taskDefinition.addTaskListener(TaskListener.EVENTNAME_CREATE, defaultUserTaskListener);
@@ -128,6 +130,7 @@ public class MultiVersionBpmnParse extends BpmnParse
 			logger.debug("Modifying {} for {} in BPMN element with id '{}'",
 					MultiVersionClassDelegateTaskListener.class.getName(), className,
 					getElementId(taskListenerElement));
+			delegateProvider.prepareDelegate(getProcessIdAndVersion(), className);
 			return new MultiVersionClassDelegateTaskListener(className, fieldDeclarations, delegateProvider);
 		}
 		else
@@ -151,6 +154,7 @@ public class MultiVersionBpmnParse extends BpmnParse
 			logger.debug("Modifying {} for {} in BPMN element with id '{}'",
 					MultiVersionClassDelegateTaskListener.class.getName(), className,
 					getElementId(executionListenerElement));
+			delegateProvider.prepareDelegate(getProcessIdAndVersion(), className);
 			return new MultiVersionClassDelegateExecutionListener(className, fieldDeclarations, delegateProvider);
 		}
 		else
@@ -38,6 +38,7 @@ import dev.dsf.bpe.api.plugin.ProcessPluginApiBuilder;
 import dev.dsf.bpe.api.plugin.ProcessPluginFactory;
 import dev.dsf.bpe.api.service.BpeMailService;
 import dev.dsf.bpe.api.service.BpeOidcClientProvider;
+import dev.dsf.bpe.api.service.BpeVariableStore;
 import dev.dsf.bpe.api.service.BuildInfoProvider;
 
 public class ProcessPluginApiFactory implements InitializingBean
@@ -57,6 +58,7 @@ public class ProcessPluginApiFactory implements InitializingBean
 	private final BuildInfoProvider buildInfoProvider;
 	private final BpeMailService bpeMailService;
 	private final BpeOidcClientProvider bpeOidcClientProvider;
+	private final BpeVariableStore bpeVariableStore;
 	private final ProcessPluginApiClassLoaderFactory classLoaderFactory;
 	private final String serverBaseUrl;
 
@@ -64,7 +66,8 @@ public class ProcessPluginApiFactory implements InitializingBean
 			FhirClientConfigs fhirClientConfigs, BpeProxyConfig bpeProxyConfig,
 			FhirValidationConfig fhirValidationConfig, BuildInfoProvider buildInfoProvider,
 			BpeMailService bpeMailService, BpeOidcClientProvider bpeOidcClientProvider,
-			ProcessPluginApiClassLoaderFactory classLoaderFactory, String serverBaseUrl)
+			BpeVariableStore bpeVariableStore, ProcessPluginApiClassLoaderFactory classLoaderFactory,
+			String serverBaseUrl)
 	{
 		this.environment = environment;
 		this.dsfClientConfig = dsfClientConfig;
@@ -74,6 +77,7 @@ public class ProcessPluginApiFactory implements InitializingBean
 		this.buildInfoProvider = buildInfoProvider;
 		this.bpeMailService = bpeMailService;
 		this.bpeOidcClientProvider = bpeOidcClientProvider;
+		this.bpeVariableStore = bpeVariableStore;
 		this.classLoaderFactory = classLoaderFactory;
 		this.serverBaseUrl = serverBaseUrl;
 	}
@@ -89,6 +93,7 @@ public class ProcessPluginApiFactory implements InitializingBean
 		Objects.requireNonNull(buildInfoProvider, "buildInfoProvider");
 		Objects.requireNonNull(bpeMailService, "bpeMailService");
 		Objects.requireNonNull(bpeOidcClientProvider, "bpeOidcClientProvider");
+		Objects.requireNonNull(bpeVariableStore, "bpeVariableStore");
 		Objects.requireNonNull(classLoaderFactory, "classLoaderFactory");
 		Objects.requireNonNull(serverBaseUrl, "serverBaseUrl");
 	}
@@ -127,6 +132,7 @@ public class ProcessPluginApiFactory implements InitializingBean
 			factory.registerSingleton("buildInfoReader", buildInfoProvider);
 			factory.registerSingleton("bpeMailService", bpeMailService);
 			factory.registerSingleton("bpeOidcClientProvider", bpeOidcClientProvider);
+			factory.registerSingleton("bpeVariableStore", bpeVariableStore);
 
 			var context = new AnnotationConfigApplicationContext(factory);
 			context.setClassLoader(apiClassLoader);
@@ -46,6 +46,8 @@ public class DaoConfig
 		dataSource.setUsername(propertiesConfig.getDbUsername());
 		dataSource.setPassword(toString(propertiesConfig.getDbPassword()));
 		dataSource.setDefaultReadOnly(true);
+		dataSource.setMaxTotal(propertiesConfig.getDbPoolMaxTotal());
+		dataSource.setMaxWait(propertiesConfig.getDbPoolMaxWait());
 
 		dataSource.setTestOnBorrow(true);
 		dataSource.setValidationQuery("SELECT 1");
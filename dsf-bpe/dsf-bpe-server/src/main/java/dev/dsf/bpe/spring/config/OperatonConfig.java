@@ -36,6 +36,8 @@ import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import dev.dsf.bpe.api.plugin.ProcessPluginFactory;
+import dev.dsf.bpe.dao.VariableStoreReferenceDao;
+import dev.dsf.bpe.dao.VariableStoreReferenceDaoJdbc;
 import dev.dsf.bpe.engine.DelegateProvider;
 import dev.dsf.bpe.engine.DelegateProviderImpl;
 import dev.dsf.bpe.engine.FallbackSerializerFactory;
@@ -43,6 +45,7 @@ import dev.dsf.bpe.engine.FallbackSerializerFactoryImpl;
 import dev.dsf.bpe.engine.MultiVersionSpringProcessEngineConfiguration;
 import dev.dsf.bpe.listener.DebugLoggingBpmnParseListener;
 import dev.dsf.bpe.listener.DefaultBpmnParseListener;
+import dev.dsf.bpe.variables.VariableStoreCleaner;
 import dev.dsf.common.db.logging.DataSourceWithLogger;
 
 @Configuration
@@ -60,6 +63,9 @@ public class OperatonConfig
 	@Autowired
 	private DsfClientConfig dsfClientConfig;
 
+	@Autowired
+	private VariableStoreConfig variableStoreConfig;
+
 	@Bean
 	public PlatformTransactionManager transactionManager()
 	{
@@ -87,6 +93,19 @@ public class OperatonConfig
 		return propertiesConfig.getDebugLogMessageDbStatement() ? new DataSourceWithLogger(dataSource) : dataSource;
 	}
 
+	@Bean
+	public VariableStoreReferenceDao variableStoreReferenceDao()
+	{
+		return new VariableStoreReferenceDaoJdbc(engineDataSource());
+	}
+
+	@Bean
+	public VariableStoreCleaner variableStoreCleaner()
+	{
+		return new VariableStoreCleaner(variableStoreConfig.variableStore(), variableStoreReferenceDao(),
+				propertiesConfig.getProcessVariablesStoreCleanupInterval());
+	}
+
 	private String toString(char[] password)
 	{
 		return password == null ? null : String.valueOf(password);
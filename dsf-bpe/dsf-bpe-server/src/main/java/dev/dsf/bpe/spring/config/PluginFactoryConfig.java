@@ -58,6 +58,9 @@ public class PluginFactoryConfig
 	@Autowired
 	private MailConfig mailConfig;
 
+	@Autowired
+	private VariableStoreConfig variableStoreConfig;
+
 	@Autowired
 	private FhirClientConnectionsConfig fhirClientConnectionsConfig;
 
@@ -171,6 +174,12 @@ public class PluginFactoryConfig
 					{
 						return propertiesConfig.getDsfServerBaseUrl();
 					}
+
+					@Override
+					public Duration getResourceCacheCheckInterval()
+					{
+						return propertiesConfig.getDsfClientResourceCacheCheckIntervalLocal();
+					}
 				};
 			}
 
@@ -235,8 +244,8 @@ public class PluginFactoryConfig
 
 		return new ProcessPluginApiFactory((ConfigurableEnvironment) environment, clientConfig,
 				fhirClientConnectionsConfig.fhirClientConfigs(), proxyConfig, fhirValidationConfig, buildInfoProvider,
-				bpeMailService, oidcClientProviderConfig.bpeOidcClientProvider(), pluginApiClassLoaderFactory(),
-				propertiesConfig.getDsfServerBaseUrl());
+				bpeMailService, oidcClientProviderConfig.bpeOidcClientProvider(), variableStoreConfig.variableStore(),
+				pluginApiClassLoaderFactory(), propertiesConfig.getDsfServerBaseUrl());
 	}
 
 	@Bean
@@ -47,6 +47,8 @@ public class PostStartupConfig
 		operatonConfig.processEngineConfiguration().getJobExecutor().start();
 		logger.info("Starting process engine [Done]");
 
+		operatonConfig.variableStoreCleaner().start();
+
 		fhirConfig.fhirConnectorTask().connect();
 		fhirConfig.fhirConnectorQuestionnaireResponse().connect();
 		// websocket connect is an async operation
@@ -85,6 +85,14 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("${dev.dsf.bpe.db.user.engine.password}")
 	private char[] dbEnginePassword;
 
+	@Documentation(description = "Maximum number of concurrent connections to the database, used for the bpe server user", recommendation = "Limits concurrent database access if requests are executed on virtual threads, see *DEV_DSF_SERVER_VIRTUAL_THREADS*")
+	@Value("${dev.dsf.bpe.db.pool.max.total:8}")
+	private int dbPoolMaxTotal;
+
+	@Documentation(description = "Maximum time to wait for a free database connection before failing, ISO 8601 duration; previous versions waited indefinitely, negative values are not allowed")
+	@Value("${dev.dsf.bpe.db.pool.max.wait:PT60S}")
+	private String dbPoolMaxWait;
+
 	@Documentation(description = "UI theme parameter, adds a color indicator to the ui to distinguish `dev`, `test` and `prod` environments if configured; supported values: `dev`, `test` and `prod`")
 	@Value("${dev.dsf.bpe.server.ui.theme:}")
 	private String uiTheme;
@@ -141,6 +149,10 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("${dev.dsf.bpe.fhir.client.local.verbose:false}")
 	private boolean dsfClientVerboseLocal;
 
+	@Documentation(description = "Interval between checks for changed Organization, OrganizationAffiliation and Endpoint resources on the local DSF FHIR server; search results of the process API organization and endpoint providers are cached until a change is detected, set to `PT0S` to disable the cache")
+	@Value("${dev.dsf.bpe.fhir.client.local.cache.check.interval:PT30S}")
+	private String dsfClientResourceCacheCheckIntervalLocal;
+
 	@Documentation(required = true, description = "Base address of the local DSF FHIR server to read/store fhir resources", example = "https://foo.bar/fhir")
 	@Value("${dev.dsf.bpe.fhir.server.base.url}")
 	private String dsfServerBaseUrl;
@@ -213,6 +225,10 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("${dev.dsf.bpe.fhir.task.subscription.retry.sleep:PT5S}")
 	private String websocketRetrySleep;
 
+	@Documentation(description = "Number of resources requested per page when loading Task and QuestionnaireResponse resources created or updated while the websocket connection to the DSF FHIR server was not established")
+	@Value("${dev.dsf.bpe.fhir.subscription.existing.resources.page.size:200}")
+	private int subscriptionExistingResourcesPageSize;
+
 	@Documentation(description = "Directory containing the DSF BPE process plugins for deployment on startup of the DSF BPE server", recommendation = "Change only if you don't use the provided directory structure from the installation guide or made changes to tit")
 	@Value("${dev.dsf.bpe.process.plugin.directory:process}")
 	private String processPluginDirectory;
@@ -221,6 +237,22 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("#{'${dev.dsf.bpe.process.plugin.exploded:}'.trim().split('[,\\s]+')}")
 	private List<String> explodedPluginDirectories;
 
+	@Documentation(description = "Set to `true` to store serialized FHIR resource process variables larger than *DEV_DSF_BPE_PROCESS_VARIABLES_STORE_THRESHOLD* as files instead of the process engine database")
+	@Value("${dev.dsf.bpe.process.variables.store.enabled:false}")
+	private boolean processVariablesStoreEnabled;
+
+	@Documentation(description = "Directory for process variable values stored as files, must be persistent and is only accessed by this DSF BPE server", recommendation = "Change only if you don't use the provided directory structure from the installation guide")
+	@Value("${dev.dsf.bpe.process.variables.store.directory:variables}")
+	private String processVariablesStoreDirectory;
+
+	@Documentation(description = "Serialized process variable values larger than the given number of bytes are stored as files, if *DEV_DSF_BPE_PROCESS_VARIABLES_STORE_ENABLED* is `true`")
+	@Value("${dev.dsf.bpe.process.variables.store.threshold:1048576}")
+	private int processVariablesStoreThreshold;
+
+	@Documentation(description = "Interval for deleting process variable value files no longer referenced by runtime or history process variables, ISO 8601 duration; files younger than one interval are kept")
+	@Value("${dev.dsf.bpe.process.variables.store.cleanup.interval:PT1H}")
+	private String processVariablesStoreCleanupInterval;
+
 	@Documentation(description = "Directory containing the DSF BPE process plugin api jar files", recommendation = "Change only during development")
 	@Value("${dev.dsf.bpe.process.api.directory:api}")
 	private String apiClassPathBaseDirectory;
@@ -252,6 +284,10 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("${dev.dsf.bpe.process.threads:-1}")
 	private int processStartOrContinueThreads;
 
+	@Documentation(description = "Maximum number of Task / QuestionnaireResponse notifications waiting for or being handled by the process threads; further websocket notifications are not read until a notification was handled")
+	@Value("${dev.dsf.bpe.process.queue.size:1000}")
+	private int processStartOrContinueQueueSize;
+
 	@Documentation(description = "Process engine job executor core pool size")
 	@Value("${dev.dsf.bpe.process.engine.corePoolSize:4}")
 	private int processEngineJobExecutorCorePoolSize;
@@ -482,9 +518,10 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 					dsfServerBaseUrl);
 
 		logger.info(
-				"Concurrency config: {process-threads: {}, engine-core-pool: {}, engine-queue: {}, engine-max-pool: {}}",
-				getProcessStartOrContinueThreads(), processEngineJobExecutorCorePoolSize,
-				processEngineJobExecutorQueueSize, processEngineJobExecutorMaxPoolSize);
+				"Concurrency config: {process-threads: {}, process-queue: {}, engine-core-pool: {}, engine-queue: {}, engine-max-pool: {}}",
+				getProcessStartOrContinueThreads(), processStartOrContinueQueueSize,
+				processEngineJobExecutorCorePoolSize, processEngineJobExecutorQueueSize,
+				processEngineJobExecutorMaxPoolSize);
 
 		try
 		{
@@ -531,6 +568,16 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 		return dbEnginePassword;
 	}
 
+	public int getDbPoolMaxTotal()
+	{
+		return dbPoolMaxTotal;
+	}
+
+	public Duration getDbPoolMaxWait()
+	{
+		return assertPositive(Duration.parse(dbPoolMaxWait));
+	}
+
 	public Theme getUiTheme()
 	{
 		return Theme.fromString(uiTheme);
@@ -621,6 +668,11 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 		return Duration.parse(dsfClientConnectTimeoutLocal);
 	}
 
+	public Duration getDsfClientResourceCacheCheckIntervalLocal()
+	{
+		return Duration.parse(dsfClientResourceCacheCheckIntervalLocal);
+	}
+
 	public boolean getDsfClientVerboseLocal()
 	{
 		return dsfClientVerboseLocal;
@@ -721,6 +773,11 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 		return websocketMaxRetries;
 	}
 
+	public int getSubscriptionExistingResourcesPageSize()
+	{
+		return subscriptionExistingResourcesPageSize;
+	}
+
 	public Path getProcessPluginDirectory()
 	{
 		return Paths.get(processPluginDirectory);
@@ -736,6 +793,26 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 		return Paths.get(apiClassPathBaseDirectory);
 	}
 
+	public boolean getProcessVariablesStoreEnabled()
+	{
+		return processVariablesStoreEnabled;
+	}
+
+	public Path getProcessVariablesStoreDirectory()
+	{
+		return Paths.get(processVariablesStoreDirectory);
+	}
+
+	public int getProcessVariablesStoreThreshold()
+	{
+		return processVariablesStoreThreshold;
+	}
+
+	public Duration getProcessVariablesStoreCleanupInterval()
+	{
+		return assertPositive(Duration.parse(processVariablesStoreCleanupInterval));
+	}
+
 	public Map<Integer, Path> getApiAllowedBpeClasses()
 	{
 		return apiAllowedBpeClasses.entrySet().stream().filter(this::hasVersionKeyAndNotBlankValue)
@@ -801,6 +878,11 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 			return processStartOrContinueThreads;
 	}
 
+	public int getProcessStartOrContinueQueueSize()
+	{
+		return processStartOrContinueQueueSize;
+	}
+
 	public int getProcessEngineJobExecutorCorePoolSize()
 	{
 		return processEngineJobExecutorCorePoolSize;
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.spring.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import dev.dsf.bpe.variables.FileVariableStore;
+
+@Configuration
+public class VariableStoreConfig
+{
+	@Autowired
+	private PropertiesConfig propertiesConfig;
+
+	@Bean
+	public FileVariableStore variableStore()
+	{
+		return new FileVariableStore(propertiesConfig.getProcessVariablesStoreDirectory(),
+				propertiesConfig.getProcessVariablesStoreEnabled(), propertiesConfig.getProcessVariablesStoreThreshold());
+	}
+}
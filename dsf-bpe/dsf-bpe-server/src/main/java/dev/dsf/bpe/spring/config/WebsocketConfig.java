@@ -65,7 +65,9 @@ public class WebsocketConfig
 	public SubscriptionHandlerFactory<Task> taskSubscriptionHandlerFactory()
 	{
 		return new ConcurrentSubscriptionHandlerFactory<>(propertiesConfig.getProcessStartOrContinueThreads(),
-				new TaskSubscriptionHandlerFactory(taskHandler(), daoConfig.lastEventTimeDaoTask()));
+				propertiesConfig.getProcessStartOrContinueQueueSize(),
+				new TaskSubscriptionHandlerFactory(taskHandler(), daoConfig.lastEventTimeDaoTask(),
+						propertiesConfig.getSubscriptionExistingResourcesPageSize()));
 	}
 
 	@Bean
@@ -90,8 +92,10 @@ public class WebsocketConfig
 	public SubscriptionHandlerFactory<QuestionnaireResponse> questionnaireResponseSubscriptionHandlerFactory()
 	{
 		return new ConcurrentSubscriptionHandlerFactory<>(propertiesConfig.getProcessStartOrContinueThreads(),
+				propertiesConfig.getProcessStartOrContinueQueueSize(),
 				new QuestionnaireResponseSubscriptionHandlerFactory(questionnaireResponseHandler(),
-						daoConfig.lastEventTimeDaoQuestionnaireResponse()));
+						daoConfig.lastEventTimeDaoQuestionnaireResponse(),
+						propertiesConfig.getSubscriptionExistingResourcesPageSize()));
 	}
 
 	@Bean
@@ -15,25 +15,26 @@
  */
 package dev.dsf.bpe.subscription;
 
+import java.time.Duration;
 import java.util.Objects;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import org.hl7.fhir.r4.model.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
 import dev.dsf.bpe.client.dsf.WebserviceClient;
 
 public class ConcurrentSubscriptionHandlerFactory<R extends Resource>
-		implements SubscriptionHandlerFactory<R>, InitializingBean
+		implements SubscriptionHandlerFactory<R>, InitializingBean, DisposableBean
 {
 	private static final Logger logger = LoggerFactory.getLogger(ConcurrentSubscriptionHandlerFactory.class);
 
+	public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
 	private final SubscriptionHandlerFactory<R> delegate;
-	private final ThreadPoolExecutor executor;
+	private final KeyOrderedIntakeExecutor executor;
 
 	/**
 	 * @param corePoolSize
@@ -42,15 +43,33 @@ public class ConcurrentSubscriptionHandlerFactory<R extends Resource>
 	 *            not <code>null</code>
 	 */
 	public ConcurrentSubscriptionHandlerFactory(int corePoolSize, SubscriptionHandlerFactory<R> delegate)
+	{
+		this(corePoolSize, DEFAULT_QUEUE_CAPACITY, delegate);
+	}
+
+	/**
+	 * Resources with the same {@link SubscriptionHandlerFactory#getOrderingKey(Resource)} are handled in order, other
+	 * resources in parallel. If <b>queueCapacity</b> resources are waiting or being handled, reading further
+	 * notifications from the websocket blocks until a resource was handled.
+	 *
+	 * @param corePoolSize
+	 *            <code>&gt; 0</code>, number of resources handled in parallel
+	 * @param queueCapacity
+	 *            <code>&gt; 0</code>, maximum number of resources and pings waiting or being handled
+	 * @param delegate
+	 *            not <code>null</code>
+	 */
+	public ConcurrentSubscriptionHandlerFactory(int corePoolSize, int queueCapacity,
+			SubscriptionHandlerFactory<R> delegate)
 	{
 		if (corePoolSize <= 0)
 			throw new IllegalArgumentException("corePoolSize <= 0");
+		if (queueCapacity <= 0)
+			throw new IllegalArgumentException("queueCapacity <= 0");
 
 		this.delegate = delegate;
 
-		executor = new ThreadPoolExecutor(corePoolSize, corePoolSize, 30, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
-				(_, _) -> logger.error("Unable to handle Task - execution rejected"));
-		executor.allowCoreThreadTimeOut(true);
+		executor = new KeyOrderedIntakeExecutor("subscription-handler", corePoolSize, queueCapacity);
 	}
 
 	@Override
@@ -59,6 +78,12 @@ public class ConcurrentSubscriptionHandlerFactory<R extends Resource>
 		Objects.requireNonNull(delegate, "delegate");
 	}
 
+	@Override
+	public void destroy() throws Exception
+	{
+		executor.shutdown();
+	}
+
 	@Override
 	public ExistingResourceLoader<R> createExistingResourceLoader(WebserviceClient client)
 	{
@@ -69,10 +94,11 @@ public class ConcurrentSubscriptionHandlerFactory<R extends Resource>
 	public EventResourceHandler<R> createEventResourceHandler()
 	{
 		final EventResourceHandler<R> delegateHandler = delegate.createEventResourceHandler();
-		return resource -> executor.submit(() ->
+		return resource -> executor.execute(delegate.getOrderingKey(resource), () ->
 		{
-			logger.debug("executing onResource for {} with id: {}", resource.getResourceType().name(),
-					resource.getIdElement().getValue());
+			logger.debug("executing onResource for {} with id: {}, queue depth: {}, average wait: {}",
+					resource.getResourceType().name(), resource.getIdElement().getValue(), executor.getQueueDepth(),
+					executor.getAverageWaitTime());
 			delegateHandler.onResource(resource);
 		});
 	}
@@ -82,7 +108,36 @@ public class ConcurrentSubscriptionHandlerFactory<R extends Resource>
 	{
 		final PingEventResourceHandler<R> delegateHandler = delegate
 				.createPingEventResourceHandler(existingResourceLoader);
-		return (ping, subscriptionIdPart, searchCriteriaQueryParameters) -> executor
-				.submit(() -> delegateHandler.onPing(ping, subscriptionIdPart, searchCriteriaQueryParameters));
+
+		// pings of the same subscription handled in order, loading existing resources is not executed in parallel
+		return (ping, subscriptionIdPart, searchCriteriaQueryParameters) -> executor.execute(subscriptionIdPart,
+				() -> delegateHandler.onPing(ping, subscriptionIdPart, searchCriteriaQueryParameters));
+	}
+
+	@Override
+	public String getOrderingKey(R resource)
+	{
+		return delegate.getOrderingKey(resource);
+	}
+
+	/**
+	 * @return number of resources and pings waiting to be handled
+	 */
+	public int getQueueDepth()
+	{
+		return executor.getQueueDepth();
+	}
+
+	/**
+	 * @return average time resources and pings waited before being handled
+	 */
+	public Duration getAverageWaitTime()
+	{
+		return executor.getAverageWaitTime();
+	}
+
+	public Duration getMaxWaitTime()
+	{
+		return executor.getMaxWaitTime();
 	}
 }
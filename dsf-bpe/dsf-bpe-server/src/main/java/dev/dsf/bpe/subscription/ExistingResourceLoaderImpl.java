@@ -23,53 +23,87 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r4.model.Bundle.BundleLinkComponent;
 import org.hl7.fhir.r4.model.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import ca.uhn.fhir.model.api.annotation.ResourceDef;
 import dev.dsf.bpe.client.dsf.WebserviceClient;
 import dev.dsf.bpe.dao.LastEventTimeDao;
 import jakarta.ws.rs.core.UriBuilder;
 
+/**
+ * Loads resources created or updated since the last event time using keyset pagination (<code>_cursor</code>) sorted
+ * by <code>_lastUpdated</code>. The next page is requested while the resources of the current page are handled, the
+ * last event time is written once per page after all resources of the page have been handled in order.
+ *
+ * @param <R>
+ *            resource type
+ */
 public class ExistingResourceLoaderImpl<R extends Resource> implements ExistingResourceLoader<R>
 {
 	private static final Logger logger = LoggerFactory.getLogger(ExistingResourceLoaderImpl.class);
 
 	private static final String PARAM_LAST_UPDATED = "_lastUpdated";
 	private static final String PARAM_COUNT = "_count";
-	private static final String PARAM_PAGE = "_page";
+	private static final String PARAM_CURSOR = "_cursor";
 	private static final String PARAM_SORT = "_sort";
-	private static final int RESULT_PAGE_COUNT = 20;
+	private static final String PARAM_TOTAL = "_total";
+
+	public static final int DEFAULT_PAGE_SIZE = 200;
 
 	private final LastEventTimeDao lastEventTimeDao;
 	private final WebserviceClient webserviceClient;
 	private final ResourceHandler<R> handler;
 	private final String resourceName;
 	private final Class<R> resourceClass;
+	private final int pageSize;
 
 	public ExistingResourceLoaderImpl(LastEventTimeDao lastEventTimeDao, ResourceHandler<R> handler,
 			WebserviceClient webserviceClient, String resourceName, Class<R> resourceClass)
 	{
+		this(lastEventTimeDao, handler, webserviceClient, resourceName, resourceClass, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * @param lastEventTimeDao
+	 *            not <code>null</code>
+	 * @param handler
+	 *            not <code>null</code>
+	 * @param webserviceClient
+	 *            not <code>null</code>
+	 * @param resourceName
+	 *            not <code>null</code>
+	 * @param resourceClass
+	 *            not <code>null</code>
+	 * @param pageSize
+	 *            <code>&gt; 0</code>, number of resources requested per search
+	 */
+	public ExistingResourceLoaderImpl(LastEventTimeDao lastEventTimeDao, ResourceHandler<R> handler,
+			WebserviceClient webserviceClient, String resourceName, Class<R> resourceClass, int pageSize)
+	{
+		if (pageSize <= 0)
+			throw new IllegalArgumentException("pageSize <= 0");
+
 		this.lastEventTimeDao = lastEventTimeDao;
 		this.handler = handler;
 		this.webserviceClient = webserviceClient;
 		this.resourceName = resourceName;
 		this.resourceClass = resourceClass;
+		this.pageSize = pageSize;
 	}
 
 	@Override
 	public void readExistingResources(Map<String, List<String>> searchCriteriaQueryParameters)
-	{
-		// executing search until call results in no more found tasks
-		while (doReadExistingResources(searchCriteriaQueryParameters))
-			;
-	}
-
-	private boolean doReadExistingResources(Map<String, List<String>> searchCriteriaQueryParameters)
 	{
 		Map<String, List<String>> queryParams = new HashMap<>(searchCriteriaQueryParameters);
 		Optional<LocalDateTime> readLastEventTime = readLastEventTime();
@@ -77,22 +111,89 @@ public class ExistingResourceLoaderImpl<R extends Resource> implements ExistingR
 		readLastEventTime.ifPresent(lastEventTime -> queryParams.put(PARAM_LAST_UPDATED,
 				List.of("gt" + lastEventTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))));
 
-		queryParams.put(PARAM_COUNT, List.of(String.valueOf(RESULT_PAGE_COUNT)));
-		queryParams.put(PARAM_PAGE, List.of("1"));
+		queryParams.put(PARAM_COUNT, List.of(String.valueOf(pageSize)));
 		queryParams.put(PARAM_SORT, List.of(PARAM_LAST_UPDATED));
+		queryParams.put(PARAM_TOTAL, List.of("none"));
 
-		UriBuilder builder = UriBuilder.fromPath(resourceName);
-		queryParams.forEach((k, v) -> builder.replaceQueryParam(k, v.toArray()));
+		try (ExecutorService prefetchExecutor = Executors
+				.newThreadPerTaskExecutor(Thread.ofVirtual().name(resourceName + "-existing-resources-", 0).factory()))
+		{
+			Future<Bundle> nextPage = prefetchExecutor.submit(() -> search(queryParams, ""));
+			try
+			{
+				// executing search until there is no next page
+				while (nextPage != null)
+				{
+					Bundle bundle = getPage(nextPage);
+
+					Optional<String> nextCursor = getNextCursor(bundle);
+					nextPage = nextCursor.map(c -> prefetchExecutor.submit(() -> search(queryParams, c)))
+							.orElse(null);
 
-		logger.debug("Executing search {}", builder.toString());
-		Bundle bundle = webserviceClient.searchWithStrictHandling(resourceClass, queryParams);
+					handlePage(bundle);
+				}
+			}
+			finally
+			{
+				if (nextPage != null)
+					nextPage.cancel(true);
+			}
+		}
+	}
+
+	private Bundle search(Map<String, List<String>> queryParams, String cursor)
+	{
+		Map<String, List<String>> pageQueryParams = new HashMap<>(queryParams);
+		pageQueryParams.put(PARAM_CURSOR, List.of(cursor));
 
-		if (bundle.getTotal() <= 0)
+		if (logger.isDebugEnabled())
 		{
-			logger.debug("Result bundle.total <= 0");
-			return false;
+			UriBuilder builder = UriBuilder.fromPath(resourceName);
+			pageQueryParams.forEach((k, v) -> builder.replaceQueryParam(k, v.toArray()));
+			logger.debug("Executing search {}", builder.toString());
 		}
 
+		return webserviceClient.searchWithStrictHandling(resourceClass, pageQueryParams);
+	}
+
+	private Bundle getPage(Future<Bundle> page)
+	{
+		try
+		{
+			return page.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException r)
+				throw r;
+			else
+				throw new RuntimeException(e.getCause());
+		}
+	}
+
+	private Optional<String> getNextCursor(Bundle bundle)
+	{
+		if (bundle.getEntry().isEmpty())
+			return Optional.empty();
+
+		BundleLinkComponent next = bundle.getLink(Bundle.LINK_NEXT);
+		if (next == null || !next.hasUrl())
+			return Optional.empty();
+
+		String cursor = UriComponentsBuilder.fromUriString(next.getUrl()).build().getQueryParams()
+				.getFirst(PARAM_CURSOR);
+		return cursor == null || cursor.isBlank() ? Optional.empty() : Optional.of(cursor);
+	}
+
+	private void handlePage(Bundle bundle)
+	{
+		Date lastUpdated = null;
+
 		for (BundleEntryComponent entry : bundle.getEntry())
 		{
 			if (entry.hasResource())
@@ -102,7 +203,9 @@ public class ExistingResourceLoaderImpl<R extends Resource> implements ExistingR
 					@SuppressWarnings("unchecked")
 					R resource = (R) entry.getResource();
 					handler.onResource(resource);
-					writeLastEventTime(resource.getMeta().getLastUpdated());
+
+					if (resource.getMeta().getLastUpdated() != null)
+						lastUpdated = resource.getMeta().getLastUpdated();
 				}
 				else
 				{
@@ -116,7 +219,9 @@ public class ExistingResourceLoaderImpl<R extends Resource> implements ExistingR
 			}
 		}
 
-		return true;
+		// resources sorted by _lastUpdated, last handled resource has the latest last updated value of this page
+		if (lastUpdated != null)
+			writeLastEventTime(lastUpdated);
 	}
 
 	private Optional<LocalDateTime> readLastEventTime()
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.subscription;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes jobs on a fixed number of lanes, each lane running one job at a time. Jobs with the same key are always
+ * executed on the same lane in submission order, jobs without a key are executed on the least busy lane. Within a lane
+ * keyed jobs (e.g. messages for running process instances) are taken before jobs without a key.
+ * <p>
+ * The number of waiting and running jobs is bounded, {@link #execute(String, Runnable)} blocks the submitting thread
+ * while all permits are in use.
+ */
+final class KeyOrderedIntakeExecutor
+{
+	private static final Logger logger = LoggerFactory.getLogger(KeyOrderedIntakeExecutor.class);
+
+	private record Job(Runnable runnable, long submittedAtNanos)
+	{
+	}
+
+	private final class Lane implements Runnable
+	{
+		final Lock lock = new ReentrantLock();
+		final Condition notEmpty = lock.newCondition();
+		final Deque<Job> keyed = new ArrayDeque<>();
+		final Deque<Job> unkeyed = new ArrayDeque<>();
+
+		void add(Job job, boolean hasKey)
+		{
+			lock.lock();
+			try
+			{
+				(hasKey ? keyed : unkeyed).addLast(job);
+				notEmpty.signal();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		int size()
+		{
+			lock.lock();
+			try
+			{
+				return keyed.size() + unkeyed.size();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		private Job take() throws InterruptedException
+		{
+			lock.lock();
+			try
+			{
+				while (keyed.isEmpty() && unkeyed.isEmpty())
+				{
+					if (shutdown)
+						return null;
+
+					notEmpty.await();
+				}
+
+				return keyed.isEmpty() ? unkeyed.pollFirst() : keyed.pollFirst();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		private void shutdown()
+		{
+			lock.lock();
+			try
+			{
+				int discarded = keyed.size() + unkeyed.size();
+				if (discarded > 0)
+					logger.warn("Discarding {} waiting job{}", discarded, discarded != 1 ? "s" : "");
+
+				keyed.clear();
+				unkeyed.clear();
+				notEmpty.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void run()
+		{
+			while (true)
+			{
+				Job job;
+				try
+				{
+					job = take();
+				}
+				catch (InterruptedException e)
+				{
+					return;
+				}
+
+				if (job == null)
+					return;
+
+				long waitNanos = System.nanoTime() - job.submittedAtNanos();
+				totalWaitNanos.add(waitNanos);
+				maxWaitNanos.accumulate(waitNanos);
+				executed.increment();
+				depth.decrementAndGet();
+
+				try
+				{
+					job.runnable().run();
+				}
+				catch (Exception e)
+				{
+					logger.debug("Error while executing job", e);
+					logger.error("Error while executing job: {} - {}", e.getClass().getName(), e.getMessage());
+				}
+				finally
+				{
+					permits.release();
+				}
+			}
+		}
+	}
+
+	private final List<Lane> lanes = new ArrayList<>();
+	private final int capacity;
+	private final Semaphore permits;
+
+	private final AtomicInteger depth = new AtomicInteger();
+	private final LongAdder executed = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+	private volatile boolean shutdown;
+
+	/**
+	 * @param name
+	 *            not <code>null</code>, used as thread name prefix
+	 * @param laneCount
+	 *            <code>&gt; 0</code>, number of jobs executed in parallel
+	 * @param capacity
+	 *            <code>&gt; 0</code>, maximum number of waiting and running jobs
+	 */
+	KeyOrderedIntakeExecutor(String name, int laneCount, int capacity)
+	{
+		Objects.requireNonNull(name, "name");
+		if (laneCount <= 0)
+			throw new IllegalArgumentException("laneCount <= 0");
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity <= 0");
+
+		this.capacity = capacity;
+		this.permits = new Semaphore(capacity, true);
+
+		for (int i = 0; i < laneCount; i++)
+		{
+			Lane lane = new Lane();
+			lanes.add(lane);
+
+			Thread.ofPlatform().name(name + "-" + i).daemon(true).start(lane);
+		}
+	}
+
+	/**
+	 * Blocks while the maximum number of waiting and running jobs is reached.
+	 *
+	 * @param key
+	 *            may be <code>null</code>, jobs with equal keys are executed in order
+	 * @param runnable
+	 *            not <code>null</code>
+	 * @throws IllegalStateException
+	 *             if the executor was shut down
+	 */
+	void execute(String key, Runnable runnable)
+	{
+		Objects.requireNonNull(runnable, "runnable");
+
+		if (shutdown)
+			throw new IllegalStateException("Executor shut down");
+
+		try
+		{
+			if (!permits.tryAcquire())
+			{
+				logger.warn("Intake queue full ({} jobs), waiting for running jobs to finish", capacity);
+				permits.acquire();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for intake queue", e);
+		}
+
+		depth.incrementAndGet();
+		getLane(key).add(new Job(runnable, System.nanoTime()), key != null);
+	}
+
+	private Lane getLane(String key)
+	{
+		if (key != null)
+			return lanes.get(Math.floorMod(key.hashCode(), lanes.size()));
+
+		Lane leastBusy = lanes.get(0);
+		int leastBusySize = leastBusy.size();
+		for (int i = 1; i < lanes.size() && leastBusySize > 0; i++)
+		{
+			int size = lanes.get(i).size();
+			if (size < leastBusySize)
+			{
+				leastBusy = lanes.get(i);
+				leastBusySize = size;
+			}
+		}
+
+		return leastBusy;
+	}
+
+	/**
+	 * @return number of jobs waiting to be executed
+	 */
+	int getQueueDepth()
+	{
+		return depth.get();
+	}
+
+	/**
+	 * @return average time between submission and start of execution, {@link Duration#ZERO} if no job was executed
+	 */
+	Duration getAverageWaitTime()
+	{
+		long count = executed.sum();
+		return count == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos.sum() / count);
+	}
+
+	Duration getMaxWaitTime()
+	{
+		return Duration.ofNanos(maxWaitNanos.get());
+	}
+
+	/**
+	 * Discards waiting jobs, running jobs are not interrupted.
+	 */
+	void shutdown()
+	{
+		shutdown = true;
+		lanes.forEach(Lane::shutdown);
+	}
+}
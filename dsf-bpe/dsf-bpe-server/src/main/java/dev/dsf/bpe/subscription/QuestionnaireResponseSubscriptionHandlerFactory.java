@@ -18,8 +18,10 @@ package dev.dsf.bpe.subscription;
 import java.util.Objects;
 
 import org.hl7.fhir.r4.model.QuestionnaireResponse;
+import org.hl7.fhir.r4.model.StringType;
 import org.springframework.beans.factory.InitializingBean;
 
+import dev.dsf.bpe.api.Constants;
 import dev.dsf.bpe.client.dsf.WebserviceClient;
 import dev.dsf.bpe.dao.LastEventTimeDao;
 
@@ -28,12 +30,14 @@ public class QuestionnaireResponseSubscriptionHandlerFactory
 {
 	private final ResourceHandler<QuestionnaireResponse> resourceHandler;
 	private final LastEventTimeDao lastEventTimeDao;
+	private final int existingResourcesPageSize;
 
 	public QuestionnaireResponseSubscriptionHandlerFactory(ResourceHandler<QuestionnaireResponse> resourceHandler,
-			LastEventTimeDao lastEventTimeDao)
+			LastEventTimeDao lastEventTimeDao, int existingResourcesPageSize)
 	{
 		this.resourceHandler = resourceHandler;
 		this.lastEventTimeDao = lastEventTimeDao;
+		this.existingResourcesPageSize = existingResourcesPageSize;
 	}
 
 	@Override
@@ -41,13 +45,15 @@ public class QuestionnaireResponseSubscriptionHandlerFactory
 	{
 		Objects.requireNonNull(resourceHandler, "resourceHandler");
 		Objects.requireNonNull(lastEventTimeDao, "lastEventTimeDao");
+		if (existingResourcesPageSize <= 0)
+			throw new IllegalArgumentException("existingResourcesPageSize <= 0");
 	}
 
 	@Override
 	public ExistingResourceLoader<QuestionnaireResponse> createExistingResourceLoader(WebserviceClient client)
 	{
 		return new ExistingResourceLoaderImpl<>(lastEventTimeDao, resourceHandler, client, "QuestionnaireResponse",
-				QuestionnaireResponse.class);
+				QuestionnaireResponse.class, existingResourcesPageSize);
 	}
 
 	@Override
@@ -62,4 +68,16 @@ public class QuestionnaireResponseSubscriptionHandlerFactory
 	{
 		return new PingEventResourceHandlerImpl<>(existingResourceLoader);
 	}
+
+	/**
+	 * @return value of the business-key item, <code>null</code> if not present
+	 */
+	@Override
+	public String getOrderingKey(QuestionnaireResponse questionnaireResponse)
+	{
+		return questionnaireResponse.getItem().stream()
+				.filter(i -> Constants.ITEM_LINK_ID_BUSINESS_KEY.equals(i.getLinkId()))
+				.flatMap(i -> i.getAnswer().stream()).filter(a -> a.getValue() instanceof StringType)
+				.map(a -> ((StringType) a.getValue()).getValue()).findFirst().orElse(null);
+	}
 }
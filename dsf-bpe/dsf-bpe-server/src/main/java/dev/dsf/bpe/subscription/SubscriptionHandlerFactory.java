@@ -26,4 +26,15 @@ public interface SubscriptionHandlerFactory<R extends Resource>
 	EventResourceHandler<R> createEventResourceHandler();
 
 	PingEventResourceHandler<R> createPingEventResourceHandler(ExistingResourceLoader<R> existingResourceLoader);
+
+	/**
+	 * @param resource
+	 *            not <code>null</code>
+	 * @return key of resources that need to be handled in order, e.g. the business-key; <code>null</code> if the given
+	 *         resource can be handled in parallel to all other resources
+	 */
+	default String getOrderingKey(R resource)
+	{
+		return null;
+	}
 }
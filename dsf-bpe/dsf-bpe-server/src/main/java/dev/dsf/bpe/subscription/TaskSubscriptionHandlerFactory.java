@@ -17,9 +17,12 @@ package dev.dsf.bpe.subscription;
 
 import java.util.Objects;
 
+import org.hl7.fhir.r4.model.StringType;
 import org.hl7.fhir.r4.model.Task;
+import org.hl7.fhir.r4.model.Task.ParameterComponent;
 import org.springframework.beans.factory.InitializingBean;
 
+import dev.dsf.bpe.api.Constants;
 import dev.dsf.bpe.client.dsf.WebserviceClient;
 import dev.dsf.bpe.dao.LastEventTimeDao;
 
@@ -27,11 +30,14 @@ public class TaskSubscriptionHandlerFactory implements SubscriptionHandlerFactor
 {
 	private final ResourceHandler<Task> resourceHandler;
 	private final LastEventTimeDao lastEventTimeDao;
+	private final int existingResourcesPageSize;
 
-	public TaskSubscriptionHandlerFactory(ResourceHandler<Task> resourceHandler, LastEventTimeDao lastEventTimeDao)
+	public TaskSubscriptionHandlerFactory(ResourceHandler<Task> resourceHandler, LastEventTimeDao lastEventTimeDao,
+			int existingResourcesPageSize)
 	{
 		this.resourceHandler = resourceHandler;
 		this.lastEventTimeDao = lastEventTimeDao;
+		this.existingResourcesPageSize = existingResourcesPageSize;
 	}
 
 	@Override
@@ -39,12 +45,15 @@ public class TaskSubscriptionHandlerFactory implements SubscriptionHandlerFactor
 	{
 		Objects.requireNonNull(resourceHandler, "resourceHandler");
 		Objects.requireNonNull(lastEventTimeDao, "lastEventTimeDao");
+		if (existingResourcesPageSize <= 0)
+			throw new IllegalArgumentException("existingResourcesPageSize <= 0");
 	}
 
 	@Override
 	public ExistingResourceLoader<Task> createExistingResourceLoader(WebserviceClient client)
 	{
-		return new ExistingResourceLoaderImpl<>(lastEventTimeDao, resourceHandler, client, "Task", Task.class);
+		return new ExistingResourceLoaderImpl<>(lastEventTimeDao, resourceHandler, client, "Task", Task.class,
+				existingResourcesPageSize);
 	}
 
 	@Override
@@ -59,4 +68,19 @@ public class TaskSubscriptionHandlerFactory implements SubscriptionHandlerFactor
 	{
 		return new PingEventResourceHandlerImpl<>(existingResourceLoader);
 	}
+
+	/**
+	 * @return business-key input parameter, <code>null</code> for Tasks starting new process instances without a
+	 *         business-key
+	 */
+	@Override
+	public String getOrderingKey(Task task)
+	{
+		return task.getInput().stream().filter(ParameterComponent::hasType)
+				.filter(p -> p.getType().getCoding().stream()
+						.anyMatch(c -> Constants.BPMN_MESSAGE_URL.equals(c.getSystem())
+								&& Constants.BPMN_MESSAGE_BUSINESS_KEY.equals(c.getCode())))
+				.map(ParameterComponent::getValue).filter(v -> v instanceof StringType)
+				.map(v -> ((StringType) v).getValue()).findFirst().orElse(null);
+	}
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.variables;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+
+import dev.dsf.bpe.api.service.BpeVariableStore;
+
+/**
+ * Stores process variable values as files named by the SHA-256 hash of their content. Files are grouped in sub
+ * directories by the first two hex digits of the hash. Storing an existing value updates the last modified time of
+ * the file, protecting it from {@link #deleteUnreferenced(Set, Instant)} for values created before the reference is
+ * committed.
+ */
+public class FileVariableStore implements BpeVariableStore, InitializingBean
+{
+	private static final Logger logger = LoggerFactory.getLogger(FileVariableStore.class);
+
+	public static final String REFERENCE_PREFIX = "sha256:";
+
+	private static final int HASH_LENGTH = 64;
+	private static final HexFormat HEX = HexFormat.of();
+
+	private final Path directory;
+	private final boolean enabled;
+	private final int threshold;
+
+	/**
+	 * @param directory
+	 *            not <code>null</code>
+	 * @param enabled
+	 *            <code>false</code> to keep all values in the process engine database, existing references can still
+	 *            be loaded
+	 * @param threshold
+	 *            values larger than the given number of bytes are stored as files
+	 */
+	public FileVariableStore(Path directory, boolean enabled, int threshold)
+	{
+		this.directory = directory;
+		this.enabled = enabled;
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		Objects.requireNonNull(directory, "directory");
+
+		if (threshold < 0)
+			throw new IllegalArgumentException("threshold < 0");
+
+		if (enabled)
+		{
+			Files.createDirectories(directory);
+			logger.info("Storing process variable values larger than {} bytes in {}", threshold,
+					directory.toAbsolutePath().normalize());
+		}
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * @return <code>true</code> if enabled or values stored while enabled may still exist
+	 */
+	public boolean hasStoredValues()
+	{
+		return enabled || Files.isDirectory(directory);
+	}
+
+	@Override
+	public boolean isStoreExternal(int size)
+	{
+		return enabled && size > threshold;
+	}
+
+	@Override
+	public String store(byte[] value)
+	{
+		Objects.requireNonNull(value, "value");
+
+		String hash = hash(value);
+		Path file = toFile(hash);
+
+		try
+		{
+			if (Files.exists(file))
+				Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+			else
+				write(file, value);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+
+		logger.debug("Process variable value with {} bytes stored as {}", value.length, file);
+
+		return REFERENCE_PREFIX + hash;
+	}
+
+	private void write(Path file, byte[] value) throws IOException
+	{
+		Files.createDirectories(file.getParent());
+
+		Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+		try
+		{
+			Files.write(temp, value);
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (FileAlreadyExistsException e)
+		{
+			// same content stored concurrently
+			Files.deleteIfExists(temp);
+		}
+		catch (IOException e)
+		{
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+	}
+
+	private String hash(byte[] value)
+	{
+		try
+		{
+			return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Path toFile(String hash)
+	{
+		return directory.resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	@Override
+	public boolean isReference(String reference)
+	{
+		return reference != null && reference.length() == REFERENCE_PREFIX.length() + HASH_LENGTH
+				&& reference.startsWith(REFERENCE_PREFIX);
+	}
+
+	@Override
+	public byte[] load(String reference)
+	{
+		if (!isReference(reference))
+			throw new IllegalArgumentException("Not a process variable value reference: " + reference);
+
+		Path file = toFile(reference.substring(REFERENCE_PREFIX.length()));
+
+		try
+		{
+			return Files.readAllBytes(file);
+		}
+		catch (NoSuchFileException e)
+		{
+			throw new IllegalStateException("Process variable value " + reference + " not found at " + file);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param references
+	 *            not <code>null</code>, references still used by process variables
+	 * @param notModifiedSince
+	 *            not <code>null</code>, files modified at or after this time are kept
+	 * @return number of deleted files
+	 * @throws IOException
+	 *             if the directory could not be read
+	 */
+	public int deleteUnreferenced(Set<String> references, Instant notModifiedSince) throws IOException
+	{
+		Objects.requireNonNull(references, "references");
+		Objects.requireNonNull(notModifiedSince, "notModifiedSince");
+
+		if (!Files.isDirectory(directory))
+			return 0;
+
+		int deleted = 0;
+		try (Stream<Path> files = Files.walk(directory, 2))
+		{
+			for (Iterator<Path> it = files.filter(Files::isRegularFile).iterator(); it.hasNext();)
+			{
+				Path file = it.next();
+
+				if (!references.contains(REFERENCE_PREFIX + file.getFileName().toString())
+						&& Files.getLastModifiedTime(file).toInstant().isBefore(notModifiedSince))
+				{
+					Files.deleteIfExists(file);
+					deleted++;
+				}
+			}
+		}
+
+		return deleted;
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.variables;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import dev.dsf.bpe.dao.VariableStoreReferenceDao;
+
+/**
+ * Periodically deletes values from the {@link FileVariableStore} that are no longer referenced by runtime or history
+ * process variables, i.e. after the process instance ended and its history was removed. Values stored within the last
+ * interval are kept to not delete values of uncommitted transactions. Also runs if the store was disabled after values
+ * were stored, freeing them once no longer referenced.
+ */
+public class VariableStoreCleaner implements InitializingBean, DisposableBean
+{
+	private static final Logger logger = LoggerFactory.getLogger(VariableStoreCleaner.class);
+
+	private final FileVariableStore variableStore;
+	private final VariableStoreReferenceDao referenceDao;
+	private final Duration interval;
+
+	private final ScheduledExecutorService executor = Executors
+			.newSingleThreadScheduledExecutor(r -> new Thread(r, "variable-store-cleaner"));
+
+	public VariableStoreCleaner(FileVariableStore variableStore, VariableStoreReferenceDao referenceDao,
+			Duration interval)
+	{
+		this.variableStore = variableStore;
+		this.referenceDao = referenceDao;
+		this.interval = interval;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		Objects.requireNonNull(variableStore, "variableStore");
+		Objects.requireNonNull(referenceDao, "referenceDao");
+		Objects.requireNonNull(interval, "interval");
+
+		if (interval.isNegative() || interval.isZero())
+			throw new IllegalArgumentException("interval <= 0");
+	}
+
+	public void start()
+	{
+		if (!variableStore.hasStoredValues())
+			return;
+
+		executor.scheduleWithFixedDelay(this::deleteUnreferenced, interval.toMillis(), interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws Exception
+	{
+		executor.shutdownNow();
+	}
+
+	private void deleteUnreferenced()
+	{
+		try
+		{
+			// taken before reading references, values stored later are never deleted in this run
+			Instant notModifiedSince = Instant.now().minus(interval);
+			Set<String> references = referenceDao.readReferences(FileVariableStore.REFERENCE_PREFIX);
+
+			int deleted = variableStore.deleteUnreferenced(references, notModifiedSince);
+
+			if (deleted > 0)
+				logger.info("Deleted {} unreferenced process variable value{}", deleted, deleted == 1 ? "" : "s");
+			else
+				logger.debug("No unreferenced process variable values, {} values referenced", references.size());
+		}
+		catch (Exception e)
+		{
+			logger.debug("Unable to delete unreferenced process variable values", e);
+			logger.warn("Unable to delete unreferenced process variable values: {} - {}", e.getClass().getName(),
+					e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import dev.dsf.bpe.variables.FileVariableStore;
+
+public class VariableStoreReferenceDaoTest extends AbstractDaoTest
+{
+	private static final String REFERENCE_1 = FileVariableStore.REFERENCE_PREFIX + "1".repeat(64);
+	private static final String REFERENCE_2 = FileVariableStore.REFERENCE_PREFIX + "2".repeat(64);
+	private static final String REFERENCE_3 = FileVariableStore.REFERENCE_PREFIX + "3".repeat(64);
+
+	private final VariableStoreReferenceDao dao = new VariableStoreReferenceDaoJdbc(camundaDataSource);
+
+	private void insertVariables() throws Exception
+	{
+		try (Connection connection = camundaDataSource.getConnection())
+		{
+			connection.setReadOnly(false);
+
+			try (PreparedStatement statement = connection
+					.prepareStatement("INSERT INTO act_ru_variable (id_, type_, name_, text2_) VALUES (?, ?, ?, ?)"))
+			{
+				insert(statement, "fhirResource", REFERENCE_1);
+				insert(statement, "string", "org.hl7.fhir.r4.model.Task");
+				insert(statement, "string", null);
+			}
+
+			try (PreparedStatement statement = connection
+					.prepareStatement("INSERT INTO act_hi_varinst (id_, name_, text2_) VALUES (?, ?, ?)"))
+			{
+				statement.setString(1, UUID.randomUUID().toString());
+				statement.setString(2, "test");
+				statement.setString(3, REFERENCE_2);
+				statement.execute();
+			}
+
+			try (PreparedStatement statement = connection.prepareStatement(
+					"INSERT INTO act_hi_detail (id_, type_, name_, time_, text2_) VALUES (?, ?, ?, ?, ?)"))
+			{
+				statement.setString(1, UUID.randomUUID().toString());
+				statement.setString(2, "VariableUpdate");
+				statement.setString(3, "test");
+				statement.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+				statement.setString(5, REFERENCE_3);
+				statement.execute();
+			}
+		}
+	}
+
+	private void insert(PreparedStatement statement, String type, String text2) throws Exception
+	{
+		statement.setString(1, UUID.randomUUID().toString());
+		statement.setString(2, type);
+		statement.setString(3, "test-" + UUID.randomUUID().toString());
+		statement.setString(4, text2);
+		statement.execute();
+	}
+
+	@Test
+	public void testReadReferencesEmpty() throws Exception
+	{
+		assertTrue(dao.readReferences(FileVariableStore.REFERENCE_PREFIX).isEmpty());
+	}
+
+	@Test
+	public void testReadReferences() throws Exception
+	{
+		insertVariables();
+
+		assertEquals(Set.of(REFERENCE_1, REFERENCE_2, REFERENCE_3),
+				dao.readReferences(FileVariableStore.REFERENCE_PREFIX));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadReferencesInvalidPrefix() throws Exception
+	{
+		dao.readReferences("sha256'%");
+	}
+
+	@Test
+	public void testStoreReferenceIndexesExist() throws Exception
+	{
+		try (Connection connection = camundaDataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement(
+						"SELECT count(*) FROM pg_indexes WHERE indexname LIKE '%\\_store\\_reference\\_index'");
+				ResultSet result = statement.executeQuery())
+		{
+			assertTrue(result.next());
+			assertEquals(3, result.getInt(1));
+		}
+	}
+}
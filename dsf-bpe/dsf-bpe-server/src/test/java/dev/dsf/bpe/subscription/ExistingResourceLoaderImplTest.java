@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleType;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import dev.dsf.bpe.client.dsf.WebserviceClient;
+import dev.dsf.bpe.dao.LastEventTimeDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExistingResourceLoaderImplTest
+{
+	private static final String NEXT_CURSOR = "next-page-cursor";
+
+	@Mock
+	private LastEventTimeDao lastEventTimeDao;
+
+	@Mock
+	private WebserviceClient webserviceClient;
+
+	@Mock
+	private ResourceHandler<Task> handler;
+
+	private static Task task(long lastUpdated)
+	{
+		Task task = new Task();
+		task.setIdElement(new IdType("Task", UUID.randomUUID().toString(), "1"));
+		task.getMeta().setLastUpdated(new Date(lastUpdated));
+		return task;
+	}
+
+	private static Bundle page(String nextCursor, Task... tasks)
+	{
+		Bundle bundle = new Bundle().setType(BundleType.SEARCHSET);
+		for (Task task : tasks)
+			bundle.addEntry().setResource(task);
+
+		if (nextCursor != null)
+			bundle.addLink().setRelation(Bundle.LINK_NEXT)
+					.setUrl("https://localhost/fhir/Task?_count=2&_sort=_lastUpdated&_cursor=" + nextCursor);
+
+		return bundle;
+	}
+
+	@Test
+	public void testReadExistingResourcesPaged() throws Exception
+	{
+		Task task1 = task(1000), task2 = task(2000), task3 = task(3000);
+		Bundle page1 = page(NEXT_CURSOR, task1, task2);
+		Bundle page2 = page(null, task3);
+
+		List<Map<String, List<String>>> searches = Collections.synchronizedList(new ArrayList<>());
+		when(lastEventTimeDao.readLastEventTime()).thenReturn(Optional.empty());
+		when(webserviceClient.searchWithStrictHandling(eq(Task.class), anyMap())).thenAnswer(i ->
+		{
+			Map<String, List<String>> parameters = i.getArgument(1);
+			searches.add(parameters);
+			return parameters.get("_cursor").get(0).isEmpty() ? page1 : page2;
+		});
+
+		new ExistingResourceLoaderImpl<>(lastEventTimeDao, handler, webserviceClient, "Task", Task.class, 2)
+				.readExistingResources(Map.of("status", List.of("requested")));
+
+		assertEquals(2, searches.size());
+		for (Map<String, List<String>> search : searches)
+		{
+			assertEquals(List.of("2"), search.get("_count"));
+			assertEquals(List.of("_lastUpdated"), search.get("_sort"));
+			assertEquals(List.of("none"), search.get("_total"));
+			assertEquals(List.of("requested"), search.get("status"));
+		}
+		assertEquals(List.of(""), searches.get(0).get("_cursor"));
+		assertEquals(List.of(NEXT_CURSOR), searches.get(1).get("_cursor"));
+
+		InOrder inOrder = inOrder(handler, lastEventTimeDao);
+		inOrder.verify(handler).onResource(task1);
+		inOrder.verify(handler).onResource(task2);
+		inOrder.verify(lastEventTimeDao).writeLastEventTime(task2.getMeta().getLastUpdated());
+		inOrder.verify(handler).onResource(task3);
+		inOrder.verify(lastEventTimeDao).writeLastEventTime(task3.getMeta().getLastUpdated());
+		verify(lastEventTimeDao, times(2)).writeLastEventTime(any(Date.class));
+	}
+
+	@Test
+	public void testReadExistingResourcesEmptyResult() throws Exception
+	{
+		when(lastEventTimeDao.readLastEventTime()).thenReturn(Optional.empty());
+		when(webserviceClient.searchWithStrictHandling(eq(Task.class), anyMap())).thenReturn(page(NEXT_CURSOR));
+
+		new ExistingResourceLoaderImpl<>(lastEventTimeDao, handler, webserviceClient, "Task", Task.class, 2)
+				.readExistingResources(Map.of());
+
+		verify(webserviceClient, times(1)).searchWithStrictHandling(eq(Task.class), anyMap());
+		verify(lastEventTimeDao, never()).writeLastEventTime(any(Date.class));
+	}
+}
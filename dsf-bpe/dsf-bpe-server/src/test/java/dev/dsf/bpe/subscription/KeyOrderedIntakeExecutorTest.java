@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class KeyOrderedIntakeExecutorTest
+{
+	@Test
+	public void testSameKeyInOrder() throws Exception
+	{
+		KeyOrderedIntakeExecutor executor = new KeyOrderedIntakeExecutor("test", 4, 1000);
+		try
+		{
+			List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch done = new CountDownLatch(100);
+
+			for (int i = 0; i < 100; i++)
+			{
+				int value = i;
+				executor.execute("business-key", () ->
+				{
+					executed.add(value);
+					done.countDown();
+				});
+			}
+
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+			assertEquals(IntStream.range(0, 100).boxed().toList(), executed);
+			assertEquals(0, executor.getQueueDepth());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testBlocksIfFull() throws Exception
+	{
+		KeyOrderedIntakeExecutor executor = new KeyOrderedIntakeExecutor("test", 1, 1);
+		try
+		{
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch secondExecuted = new CountDownLatch(1);
+
+			executor.execute(null, () ->
+			{
+				try
+				{
+					release.await();
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+			});
+
+			Thread submitter = Thread.ofVirtual().start(() -> executor.execute(null, secondExecuted::countDown));
+
+			assertFalse(secondExecuted.await(200, TimeUnit.MILLISECONDS));
+			assertTrue(submitter.isAlive());
+
+			release.countDown();
+
+			assertTrue(secondExecuted.await(10, TimeUnit.SECONDS));
+			submitter.join(10_000);
+			assertFalse(submitter.isAlive());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+}
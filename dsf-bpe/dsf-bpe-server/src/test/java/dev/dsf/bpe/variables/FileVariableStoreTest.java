@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.bpe.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileVariableStoreTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private FileVariableStore createStore(boolean enabled) throws Exception
+	{
+		Path directory = folder.getRoot().toPath().resolve("variables");
+		FileVariableStore store = new FileVariableStore(directory, enabled, 10);
+		store.afterPropertiesSet();
+		return store;
+	}
+
+	@Test
+	public void testThreshold() throws Exception
+	{
+		FileVariableStore store = createStore(true);
+
+		assertFalse(store.isStoreExternal(10));
+		assertTrue(store.isStoreExternal(11));
+
+		assertFalse(createStore(false).isStoreExternal(11));
+	}
+
+	@Test
+	public void testHasStoredValues() throws Exception
+	{
+		assertFalse(createStore(false).hasStoredValues());
+
+		FileVariableStore enabled = createStore(true);
+		assertTrue(enabled.hasStoredValues());
+
+		// disabled after values were stored
+		assertTrue(createStore(false).hasStoredValues());
+	}
+
+	@Test
+	public void testStoreAndLoad() throws Exception
+	{
+		FileVariableStore store = createStore(true);
+		byte[] value = "{\"resourceType\":\"Bundle\"}".getBytes(StandardCharsets.UTF_8);
+
+		String reference = store.store(value);
+
+		assertTrue(store.isReference(reference));
+		assertEquals(reference, store.store(value));
+		assertArrayEquals(value, store.load(reference));
+	}
+
+	@Test
+	public void testIsReference() throws Exception
+	{
+		FileVariableStore store = createStore(true);
+
+		assertFalse(store.isReference(null));
+		assertFalse(store.isReference("org.hl7.fhir.r4.model.Bundle"));
+		assertFalse(store.isReference(FileVariableStore.REFERENCE_PREFIX + "abc"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLoadDeleted() throws Exception
+	{
+		FileVariableStore store = createStore(true);
+		String reference = store.store("value-to-delete".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(1, store.deleteUnreferenced(Set.of(), Instant.now().plusSeconds(1)));
+
+		store.load(reference);
+	}
+
+	@Test
+	public void testDeleteUnreferenced() throws Exception
+	{
+		FileVariableStore store = createStore(true);
+		String referenced = store.store("referenced-value".getBytes(StandardCharsets.UTF_8));
+		String unreferenced = store.store("unreferenced-value".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(0, store.deleteUnreferenced(Set.of(referenced), Instant.now().minusSeconds(60)));
+		assertEquals(1, store.deleteUnreferenced(Set.of(referenced), Instant.now().plusSeconds(1)));
+
+		assertArrayEquals("referenced-value".getBytes(StandardCharsets.UTF_8), store.load(referenced));
+
+		try
+		{
+			store.load(unreferenced);
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+	}
+}
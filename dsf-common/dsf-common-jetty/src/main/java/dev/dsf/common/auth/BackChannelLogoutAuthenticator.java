@@ -55,11 +55,27 @@ public class BackChannelLogoutAuthenticator implements Authenticator, HttpSessio
 
 	private final JwtVerifier jwtVerifier;
 	private final String ssoLogoutPath;
+	private final BearerTokenCache bearerTokenCache;
 
 	private final ConcurrentMap<String, HttpSession> sessionsBySub = new ConcurrentHashMap<>();
 	private final ConcurrentMap<String, HttpSession> sessionsBySid = new ConcurrentHashMap<>();
 
 	public BackChannelLogoutAuthenticator(JwtVerifier jwtVerifier, String ssoLogoutPath)
+	{
+		this(jwtVerifier, ssoLogoutPath, null);
+	}
+
+	/**
+	 * @param jwtVerifier
+	 *            not <code>null</code>
+	 * @param ssoLogoutPath
+	 *            not <code>null</code>
+	 * @param bearerTokenCache
+	 *            may be <code>null</code>, cached bearer tokens of logged out users are removed if not
+	 *            <code>null</code>
+	 */
+	public BackChannelLogoutAuthenticator(JwtVerifier jwtVerifier, String ssoLogoutPath,
+			BearerTokenCache bearerTokenCache)
 	{
 		this.jwtVerifier = Objects.requireNonNull(jwtVerifier, "jwtVerifier");
 
@@ -68,6 +84,8 @@ public class BackChannelLogoutAuthenticator implements Authenticator, HttpSessio
 			this.ssoLogoutPath = "/" + ssoLogoutPath;
 		else
 			this.ssoLogoutPath = ssoLogoutPath;
+
+		this.bearerTokenCache = bearerTokenCache;
 	}
 
 	@Override
@@ -139,6 +157,9 @@ public class BackChannelLogoutAuthenticator implements Authenticator, HttpSessio
 			if (sessionBySid != null)
 				sessionBySid.invalidate();
 
+			if (bearerTokenCache != null)
+				bearerTokenCache.remove(sub, sid);
+
 			response.setStatus(HttpStatus.OK_200);
 			response.write(true, null, callback);
 			return AuthenticationState.SEND_SUCCESS;
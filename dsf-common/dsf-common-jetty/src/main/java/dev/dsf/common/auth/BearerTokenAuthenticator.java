@@ -16,6 +16,7 @@
 package dev.dsf.common.auth;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
@@ -41,10 +42,23 @@ public class BearerTokenAuthenticator extends LoginAuthenticator
 	private static final Logger logger = LoggerFactory.getLogger(BearerTokenAuthenticator.class);
 
 	private final JwtVerifier jwtVerifier;
+	private final BearerTokenCache cache;
 
 	public BearerTokenAuthenticator(JwtVerifier jwtVerifier)
+	{
+		this(jwtVerifier, null);
+	}
+
+	/**
+	 * @param jwtVerifier
+	 *            not <code>null</code>
+	 * @param cache
+	 *            may be <code>null</code>, verified tokens not cached if <code>null</code>
+	 */
+	public BearerTokenAuthenticator(JwtVerifier jwtVerifier, BearerTokenCache cache)
 	{
 		this.jwtVerifier = Objects.requireNonNull(jwtVerifier, "jwtVerifier");
+		this.cache = cache;
 	}
 
 	@Override
@@ -71,6 +85,11 @@ public class BearerTokenAuthenticator extends LoginAuthenticator
 		try
 		{
 			String token = authorizationHeader.substring(7, authorizationHeader.length());
+
+			Optional<UserIdentity> cachedUser = cache == null ? Optional.empty() : cache.get(token);
+			if (cachedUser.isPresent())
+				return new UserAuthenticationSucceeded(getAuthenticationType(), cachedUser.get());
+
 			DecodedJWT jwt = jwtVerifier.verifyBearerToken(token);
 
 			if (!jwt.getClaims().containsKey("sub") && !jwt.getClaims().containsKey("sid"))
@@ -87,6 +106,9 @@ public class BearerTokenAuthenticator extends LoginAuthenticator
 				return AuthenticationState.SEND_FAILURE;
 			}
 
+			if (cache != null)
+				cache.put(token, jwt, user);
+
 			return new UserAuthenticationSucceeded(getAuthenticationType(), user);
 		}
 		catch (TokenExpiredException e)
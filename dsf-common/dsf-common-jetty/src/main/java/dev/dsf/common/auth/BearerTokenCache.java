@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.common.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jetty.security.UserIdentity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * Bounded cache of verified bearer tokens and the {@link UserIdentity} resolved for them, keyed by SHA-256 hash of the
+ * token. Entries are valid until the token expires and are removed by back-channel logout for the token's
+ * <code>sub</code> or <code>sid</code>. Tokens without <code>exp</code> claim are not cached. Expired entries are
+ * removed on access and by a sweep that runs at most once per sweep interval while tokens are added; if the cache is
+ * full new tokens are not cached until the next sweep frees space.
+ */
+public class BearerTokenCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(BearerTokenCache.class);
+
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+	public static final long DEFAULT_SWEEP_INTERVAL_MILLIS = 60_000;
+
+	private record Entry(DecodedJWT jwt, UserIdentity user)
+	{
+		boolean isExpired(Instant now)
+		{
+			return !jwt.getExpiresAtAsInstant().isAfter(now);
+		}
+
+		boolean matches(String sub, String sid)
+		{
+			return (sub != null && sub.equals(jwt.getSubject()))
+					|| (sid != null && sid.equals(jwt.getClaim("sid").asString()));
+		}
+	}
+
+	private final int maxSize;
+	private final long sweepIntervalMillis;
+	private final ConcurrentMap<String, Entry> entriesByTokenHash = new ConcurrentHashMap<>();
+	private final AtomicLong nextSweep = new AtomicLong();
+
+	public BearerTokenCache()
+	{
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param maxSize
+	 *            <code>&gt; 0</code>
+	 */
+	public BearerTokenCache(int maxSize)
+	{
+		this(maxSize, DEFAULT_SWEEP_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * @param maxSize
+	 *            <code>&gt; 0</code>
+	 * @param sweepIntervalMillis
+	 *            <code>&gt;= 0</code>, minimum time between two sweeps removing expired entries
+	 */
+	public BearerTokenCache(int maxSize, long sweepIntervalMillis)
+	{
+		if (maxSize <= 0)
+			throw new IllegalArgumentException("maxSize <= 0");
+		if (sweepIntervalMillis < 0)
+			throw new IllegalArgumentException("sweepIntervalMillis < 0");
+
+		this.maxSize = maxSize;
+		this.sweepIntervalMillis = sweepIntervalMillis;
+	}
+
+	/**
+	 * @param token
+	 *            not <code>null</code>
+	 * @return user identity of a verified, not expired token
+	 */
+	public Optional<UserIdentity> get(String token)
+	{
+		Objects.requireNonNull(token, "token");
+
+		String hash = hash(token);
+		Entry entry = entriesByTokenHash.get(hash);
+
+		if (entry == null)
+			return Optional.empty();
+		else if (entry.isExpired(Instant.now()))
+		{
+			entriesByTokenHash.remove(hash, entry);
+			return Optional.empty();
+		}
+		else
+			return Optional.of(entry.user());
+	}
+
+	/**
+	 * @param token
+	 *            not <code>null</code>
+	 * @param jwt
+	 *            not <code>null</code>, verified token
+	 * @param user
+	 *            not <code>null</code>, identity resolved for the token
+	 */
+	public void put(String token, DecodedJWT jwt, UserIdentity user)
+	{
+		Objects.requireNonNull(token, "token");
+		Objects.requireNonNull(jwt, "jwt");
+		Objects.requireNonNull(user, "user");
+
+		if (jwt.getExpiresAtAsInstant() == null)
+			return;
+
+		sweepExpired(Instant.now());
+
+		if (entriesByTokenHash.size() >= maxSize)
+		{
+			logger.debug("Bearer token cache full, not caching token");
+			return;
+		}
+
+		entriesByTokenHash.put(hash(token), new Entry(jwt, user));
+	}
+
+	private void sweepExpired(Instant now)
+	{
+		long next = nextSweep.get();
+		if (now.toEpochMilli() < next || !nextSweep.compareAndSet(next, now.toEpochMilli() + sweepIntervalMillis))
+			return;
+
+		entriesByTokenHash.values().removeIf(e -> e.isExpired(now));
+	}
+
+	/**
+	 * @return number of cached entries, including expired entries not yet removed
+	 */
+	public int size()
+	{
+		return entriesByTokenHash.size();
+	}
+
+	/**
+	 * Removes all entries for tokens with the given <code>sub</code> or <code>sid</code> claim.
+	 *
+	 * @param sub
+	 *            may be <code>null</code>
+	 * @param sid
+	 *            may be <code>null</code>
+	 */
+	public void remove(String sub, String sid)
+	{
+		if (sub == null && sid == null)
+			return;
+
+		entriesByTokenHash.values().removeIf(e -> e.matches(sub, sid));
+	}
+
+	private static String hash(String token)
+	{
+		try
+		{
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -74,6 +74,7 @@ import de.hsheilbronn.mi.utils.crypto.keystore.KeyStoreCreator;
 import de.hsheilbronn.mi.utils.crypto.keystore.KeyStoreFormatter;
 import dev.dsf.common.auth.BackChannelLogoutAuthenticator;
 import dev.dsf.common.auth.BearerTokenAuthenticator;
+import dev.dsf.common.auth.BearerTokenCache;
 import dev.dsf.common.auth.ClientCertificateAuthenticator;
 import dev.dsf.common.auth.DelegatingAuthenticator;
 import dev.dsf.common.auth.DsfLoginService;
@@ -120,6 +121,10 @@ public abstract class AbstractJettyConfig extends AbstractCertificateConfig
 	@Value("${dev.dsf.server.context.path}")
 	private String contextPath;
 
+	@Documentation(description = "Set to `true` to execute requests on virtual threads instead of the platform threads of the jetty thread pool", recommendation = "Bound concurrent database access via the database connection pool properties when enabling")
+	@Value("${dev.dsf.server.virtual.threads:false}")
+	private boolean virtualThreads;
+
 	@Documentation(description = "Name of HTTP header with client certificate from reverse proxy")
 	@Value("${dev.dsf.server.auth.client.certificate.header:X-ClientCert}")
 	private String clientCertificateHeaderName;
@@ -156,6 +161,10 @@ public abstract class AbstractJettyConfig extends AbstractCertificateConfig
 	@Value("${dev.dsf.server.auth.oidc.bearer.token.audience:#{null}}")
 	private String oidcBearerTokenAudience;
 
+	@Documentation(description = "Maximum number of verified OIDC bearer tokens cached until they expire, set to `0` to disable the cache", recommendation = "Requires *DEV_DSF_SERVER_AUTH_OIDC_BEARER_TOKEN* set to `true`")
+	@Value("${dev.dsf.server.auth.oidc.bearer.token.cache.size:10000}")
+	private int oidcBearerTokenCacheSize;
+
 	@Documentation(description = "OIDC provider realm base url", example = "https://keycloak.test.com:8443/realms/example-realm-name")
 	@Value("${dev.dsf.server.auth.oidc.provider.realm.base.url:#{null}}")
 	private String oidcProviderRealmBaseUrl;
@@ -308,7 +317,7 @@ public abstract class AbstractJettyConfig extends AbstractCertificateConfig
 						Collectors.toMap(e -> Objects.toString(e.getKey()), e -> Objects.toString(e.getValue())));
 
 		return new JettyServer(apiConnector(), statusConnector(), mavenServerModuleName(), contextPath,
-				servletContainerInitializers(), initParameters, this::configureSecurityHandler);
+				servletContainerInitializers(), initParameters, this::configureSecurityHandler, virtualThreads);
 	}
 
 	@Bean
@@ -336,6 +345,7 @@ public abstract class AbstractJettyConfig extends AbstractCertificateConfig
 		OpenIdAuthenticator openIdAuthenticator = null;
 		DsfOpenIdLoginService openIdLoginService = null;
 		BearerTokenAuthenticator bearerTokenAuthenticator = null;
+		BearerTokenCache bearerTokenCache = null;
 		BackChannelLogoutAuthenticator backChannelLogoutAuthenticator = null;
 
 		if (oidcAuthorizationCodeFlowEnabled || oidcBearerTokenEnabled || oidcBackChannelLogoutEnabled)
@@ -364,7 +374,9 @@ public abstract class AbstractJettyConfig extends AbstractCertificateConfig
 					throw propertyNotDefined("dev.dsf.server.auth.oidc.provider.realm.base.url");
 				else
 				{
-					bearerTokenAuthenticator = new BearerTokenAuthenticator(jwtVerifier());
+					bearerTokenCache = oidcBearerTokenCacheSize > 0 ? new BearerTokenCache(oidcBearerTokenCacheSize)
+							: null;
+					bearerTokenAuthenticator = new BearerTokenAuthenticator(jwtVerifier(), bearerTokenCache);
 					logger.info("OIDC bearer token enabled");
 				}
 			}
@@ -380,7 +392,7 @@ public abstract class AbstractJettyConfig extends AbstractCertificateConfig
 				else
 				{
 					backChannelLogoutAuthenticator = new BackChannelLogoutAuthenticator(jwtVerifier(),
-							oidcBackChannelPath);
+							oidcBackChannelPath, bearerTokenCache);
 					logger.info("OIDC back-channel logout enabled");
 				}
 			}
@@ -47,6 +47,7 @@ import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.ErrorHandler;
 import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.VirtualThreads;
 import org.eclipse.jetty.util.resource.PathResourceFactory;
 import org.eclipse.jetty.util.resource.Resource;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
@@ -288,7 +289,36 @@ public final class JettyServer
 			List<Class<? extends ServletContainerInitializer>> servletContainerInitializers,
 			Map<String, String> initParameters, BiConsumer<WebAppContext, Supplier<Integer>> securityHandlerConfigurer)
 	{
-		server = new Server(threadPool());
+		this(apiConnectorProvider, statusConnectorProvider, mavenServerModuleName, contextPath,
+				servletContainerInitializers, initParameters, securityHandlerConfigurer, false);
+	}
+
+	/**
+	 * @param apiConnectorProvider
+	 *            not <code>null</code>
+	 * @param statusConnectorProvider
+	 *            not <code>null</code>
+	 * @param mavenServerModuleName
+	 *            not <code>null</code>
+	 * @param contextPath
+	 *            not <code>null</code>
+	 * @param servletContainerInitializers
+	 *            not <code>null</code>
+	 * @param initParameters
+	 *            not <code>null</code>
+	 * @param securityHandlerConfigurer
+	 *            not <code>null</code>
+	 * @param virtualThreads
+	 *            <code>true</code> to execute requests on virtual threads, selectors and acceptors still use platform
+	 *            threads
+	 */
+	public JettyServer(Function<Server, ServerConnector> apiConnectorProvider,
+			Function<Server, ServerConnector> statusConnectorProvider, String mavenServerModuleName, String contextPath,
+			List<Class<? extends ServletContainerInitializer>> servletContainerInitializers,
+			Map<String, String> initParameters, BiConsumer<WebAppContext, Supplier<Integer>> securityHandlerConfigurer,
+			boolean virtualThreads)
+	{
+		server = new Server(threadPool(virtualThreads));
 		apiConnector = apiConnectorProvider.apply(server);
 		server.addConnector(apiConnector);
 		statusConnector = statusConnectorProvider.apply(server);
@@ -302,10 +332,17 @@ public final class JettyServer
 		server.setErrorHandler(statusCodeOnlyErrorHandler());
 	}
 
-	private QueuedThreadPool threadPool()
+	private QueuedThreadPool threadPool(boolean virtualThreads)
 	{
 		QueuedThreadPool threadPool = new QueuedThreadPool();
 		threadPool.setName("jetty-server");
+
+		if (virtualThreads)
+		{
+			logger.info("Executing requests on virtual threads");
+			threadPool.setVirtualThreadsExecutor(VirtualThreads.getNamedVirtualThreadsExecutor("jetty-server-virtual"));
+		}
+
 		return threadPool;
 	}
 
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.common.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import javax.security.auth.Subject;
+
+import org.eclipse.jetty.security.UserIdentity;
+import org.junit.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+public class BearerTokenCacheTest
+{
+	private static final Algorithm ALGORITHM = Algorithm.HMAC256("test-secret");
+
+	private static String token(String sub, String sid, Instant expiresAt)
+	{
+		return JWT.create().withSubject(sub).withClaim("sid", sid).withExpiresAt(expiresAt).sign(ALGORITHM);
+	}
+
+	private static Instant inOneHour()
+	{
+		return Instant.now().plus(1, ChronoUnit.HOURS);
+	}
+
+	private static Instant oneHourAgo()
+	{
+		return Instant.now().minus(1, ChronoUnit.HOURS);
+	}
+
+	private static UserIdentity user(String name)
+	{
+		return UserIdentity.from(new Subject(), () -> name);
+	}
+
+	private static void put(BearerTokenCache cache, String token, UserIdentity user)
+	{
+		cache.put(token, JWT.decode(token), user);
+	}
+
+	@Test
+	public void testPutGet() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache();
+		String token = token("sub", "sid", inOneHour());
+		UserIdentity user = user("user");
+
+		assertTrue(cache.get(token).isEmpty());
+
+		put(cache, token, user);
+
+		assertSame(user, cache.get(token).get());
+		assertTrue(cache.get(token("other", "sid", inOneHour())).isEmpty());
+	}
+
+	@Test
+	public void testTokenWithoutExpiryNotCached() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache();
+		String token = JWT.create().withSubject("sub").sign(ALGORITHM);
+
+		put(cache, token, user("user"));
+
+		assertTrue(cache.get(token).isEmpty());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testExpiredTokenNotReturned() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache();
+		String token = token("sub", "sid", oneHourAgo());
+
+		put(cache, token, user("user"));
+
+		assertTrue(cache.get(token).isEmpty());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testFullCacheSweepsExpired() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache(2, 0);
+		put(cache, token("expired1", "sid1", oneHourAgo()), user("expired1"));
+		put(cache, token("expired2", "sid2", oneHourAgo()), user("expired2"));
+
+		String token = token("sub", "sid", inOneHour());
+		UserIdentity user = user("user");
+		put(cache, token, user);
+
+		assertEquals(1, cache.size());
+		assertSame(user, cache.get(token).get());
+	}
+
+	@Test
+	public void testFullCacheNotSweptBeforeInterval() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache(2, BearerTokenCache.DEFAULT_SWEEP_INTERVAL_MILLIS);
+		put(cache, token("expired1", "sid1", oneHourAgo()), user("expired1"));
+		put(cache, token("expired2", "sid2", oneHourAgo()), user("expired2"));
+
+		String token = token("sub", "sid", inOneHour());
+		put(cache, token, user("user"));
+
+		assertEquals(2, cache.size());
+		assertTrue(cache.get(token).isEmpty());
+	}
+
+	@Test
+	public void testRemoveBySub() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache();
+		String token1 = token("sub1", "sid1", inOneHour());
+		String token2 = token("sub1", "sid2", inOneHour());
+		String token3 = token("sub2", "sid3", inOneHour());
+		put(cache, token1, user("user1"));
+		put(cache, token2, user("user1"));
+		put(cache, token3, user("user2"));
+
+		cache.remove("sub1", null);
+
+		assertTrue(cache.get(token1).isEmpty());
+		assertTrue(cache.get(token2).isEmpty());
+		assertFalse(cache.get(token3).isEmpty());
+	}
+
+	@Test
+	public void testRemoveBySid() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache();
+		String token1 = token("sub1", "sid1", inOneHour());
+		String token2 = token("sub1", "sid2", inOneHour());
+		put(cache, token1, user("user1"));
+		put(cache, token2, user("user1"));
+
+		cache.remove(null, "sid1");
+
+		assertTrue(cache.get(token1).isEmpty());
+		assertFalse(cache.get(token2).isEmpty());
+	}
+
+	@Test
+	public void testRemoveWithoutSubAndSid() throws Exception
+	{
+		BearerTokenCache cache = new BearerTokenCache();
+		String token = token("sub", "sid", inOneHour());
+		put(cache, token, user("user"));
+
+		cache.remove(null, null);
+
+		assertFalse(cache.get(token).isEmpty());
+	}
+}
@@ -16,12 +16,17 @@
 package dev.dsf.fhir.authentication;
 
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hl7.fhir.r4.model.Endpoint;
 import org.hl7.fhir.r4.model.Organization;
+import org.hl7.fhir.r4.model.OrganizationAffiliation;
 import org.hl7.fhir.r4.model.Practitioner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,24 +39,65 @@ import dev.dsf.common.auth.conf.OrganizationIdentityImpl;
 import dev.dsf.common.auth.conf.PractitionerIdentityImpl;
 import dev.dsf.common.auth.conf.RoleConfig;
 import dev.dsf.common.auth.conf.X509CertificateWrapper;
-
+import dev.dsf.fhir.event.Event;
+import dev.dsf.fhir.event.EventHandler;
+
+/**
+ * Client certificate identities are cached by certificate thumbprint. The cache is cleared if an {@link Organization},
+ * {@link Endpoint} or {@link OrganizationAffiliation} is created, updated or deleted, entries expire after the
+ * configured time to live as a safety net for changes not signaled via events. The cache is also cleared if events from
+ * other server instances may have been lost.
+ */
 public class IdentityProviderImpl extends AbstractIdentityProvider<FhirServerRole>
-		implements IdentityProvider, InitializingBean
+		implements IdentityProvider, EventHandler, InitializingBean
 {
 	private static final Logger logger = LoggerFactory.getLogger(IdentityProviderImpl.class);
 
+	private record CacheEntry(Identity identity, long expiresAtNanos)
+	{
+		boolean isExpired(long nowNanos)
+		{
+			return nowNanos - expiresAtNanos >= 0;
+		}
+	}
+
 	private final OrganizationProvider organizationProvider;
 	private final EndpointProvider endpointProvider;
 	private final String localOrganizationIdentifierValue;
+	private final Duration cacheTimeToLive;
+
+	private final ConcurrentMap<String, CacheEntry> identitiesByThumbprint = new ConcurrentHashMap<>();
+	private final AtomicLong cacheGeneration = new AtomicLong();
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
 
 	public IdentityProviderImpl(RoleConfig<FhirServerRole> roleConfig, OrganizationProvider organizationProvider,
 			EndpointProvider endpointProvider, String localOrganizationIdentifierValue)
+	{
+		this(roleConfig, organizationProvider, endpointProvider, localOrganizationIdentifierValue, Duration.ZERO);
+	}
+
+	/**
+	 * @param roleConfig
+	 *            not <code>null</code>
+	 * @param organizationProvider
+	 *            not <code>null</code>
+	 * @param endpointProvider
+	 *            not <code>null</code>
+	 * @param localOrganizationIdentifierValue
+	 *            not <code>null</code>
+	 * @param cacheTimeToLive
+	 *            not <code>null</code>, {@link Duration#ZERO} to disable the identity cache
+	 */
+	public IdentityProviderImpl(RoleConfig<FhirServerRole> roleConfig, OrganizationProvider organizationProvider,
+			EndpointProvider endpointProvider, String localOrganizationIdentifierValue, Duration cacheTimeToLive)
 	{
 		super(roleConfig);
 
 		this.organizationProvider = organizationProvider;
 		this.endpointProvider = endpointProvider;
 		this.localOrganizationIdentifierValue = localOrganizationIdentifierValue;
+		this.cacheTimeToLive = cacheTimeToLive;
 	}
 
 	@Override
@@ -60,6 +106,51 @@ public class IdentityProviderImpl extends AbstractIdentityProvider<FhirServerRol
 		Objects.requireNonNull(organizationProvider, "organizationProvider");
 		Objects.requireNonNull(endpointProvider, "endpointProvider");
 		Objects.requireNonNull(localOrganizationIdentifierValue, "localOrganizationIdentifierValue");
+		Objects.requireNonNull(cacheTimeToLive, "cacheTimeToLive");
+
+		if (cacheTimeToLive.isNegative())
+			throw new IllegalArgumentException("cacheTimeToLive negative");
+	}
+
+	@Override
+	public void handleEvent(Event event)
+	{
+		if (event != null && (Organization.class.equals(event.getResourceType())
+				|| Endpoint.class.equals(event.getResourceType())
+				|| OrganizationAffiliation.class.equals(event.getResourceType())))
+		{
+			cacheGeneration.incrementAndGet();
+			identitiesByThumbprint.clear();
+
+			logger.debug("Identity cache cleared after {} {} event, hits: {}, misses: {}",
+					event.getResourceType().getSimpleName(), event.getId(), cacheHits.get(), cacheMisses.get());
+		}
+	}
+
+	@Override
+	public void handleEventsLost()
+	{
+		cacheGeneration.incrementAndGet();
+		identitiesByThumbprint.clear();
+
+		logger.debug("Identity cache cleared after lost events, hits: {}, misses: {}", cacheHits.get(),
+				cacheMisses.get());
+	}
+
+	/**
+	 * @return number of client certificate identities served from the cache
+	 */
+	public long getCacheHits()
+	{
+		return cacheHits.get();
+	}
+
+	/**
+	 * @return number of client certificate identities not found in the cache
+	 */
+	public long getCacheMisses()
+	{
+		return cacheMisses.get();
 	}
 
 	@Override
@@ -82,6 +173,38 @@ public class IdentityProviderImpl extends AbstractIdentityProvider<FhirServerRol
 
 		X509CertificateWrapper certWrapper = new X509CertificateWrapper(certificates[0]);
 
+		if (cacheTimeToLive.isZero())
+			return createIdentity(certWrapper);
+
+		String thumbprint = certWrapper.getThumbprint();
+		long now = System.nanoTime();
+
+		CacheEntry cached = identitiesByThumbprint.get(thumbprint);
+		if (cached != null && !cached.isExpired(now))
+		{
+			cacheHits.incrementAndGet();
+			return cached.identity();
+		}
+
+		cacheMisses.incrementAndGet();
+
+		long generation = cacheGeneration.get();
+		Identity identity = createIdentity(certWrapper);
+
+		// unknown certificates are not cached, entries created concurrently with an invalidating event are dropped
+		if (identity != null)
+		{
+			identitiesByThumbprint.put(thumbprint, new CacheEntry(identity, now + cacheTimeToLive.toNanos()));
+
+			if (generation != cacheGeneration.get())
+				identitiesByThumbprint.remove(thumbprint);
+		}
+
+		return identity;
+	}
+
+	private Identity createIdentity(X509CertificateWrapper certWrapper)
+	{
 		Optional<Organization> organization = organizationProvider.getOrganization(certWrapper.getThumbprint());
 		if (organization.isPresent())
 		{
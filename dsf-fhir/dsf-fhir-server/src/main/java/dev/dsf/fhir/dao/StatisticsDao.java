@@ -31,4 +31,13 @@ public interface StatisticsDao
 	}
 
 	Statistics getStatistics() throws SQLException;
+
+	/**
+	 * Sums counter changes recorded since the last call into the counter tables and removes hourly counts older than
+	 * 31 days. Returns immediately if executed concurrently by another connection.
+	 *
+	 * @throws SQLException
+	 *             if a database access error occurs
+	 */
+	void compact() throws SQLException;
 }
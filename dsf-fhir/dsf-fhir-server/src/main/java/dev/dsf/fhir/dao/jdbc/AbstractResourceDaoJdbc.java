@@ -30,11 +30,12 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
-import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Binary;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Resource;
@@ -43,9 +44,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.model.api.annotation.ResourceDef;
@@ -56,6 +54,7 @@ import dev.dsf.fhir.dao.exception.ResourceNotFoundException;
 import dev.dsf.fhir.dao.exception.ResourceNotMarkedDeletedException;
 import dev.dsf.fhir.dao.exception.ResourceVersionNoMatchException;
 import dev.dsf.fhir.search.DbSearchQuery;
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
 import dev.dsf.fhir.search.PageAndCount;
 import dev.dsf.fhir.search.PartialResult;
 import dev.dsf.fhir.search.SearchQuery;
@@ -74,6 +73,8 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 {
 	private static final Logger logger = LoggerFactory.getLogger(AbstractResourceDaoJdbc.class);
 
+	private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile(" rows=([0-9]+) ");
+
 	protected static <R extends Resource> SearchQueryParameterFactory<R> factory(String parameterName,
 			Supplier<SearchQueryParameter<R>> supplier)
 	{
@@ -877,23 +878,26 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 		Objects.requireNonNull(connection, "connection");
 		Objects.requireNonNull(query, "query");
 
-		int total = 0;
-		try (PreparedStatement statement = connection.prepareStatement(query.getCountSql()))
+		TotalMode totalMode = query.getTotalMode();
+		int total = switch (totalMode)
 		{
-			query.modifyStatement(statement, connection::createArrayOf);
+			case ACCURATE -> count(connection, query);
+			case ESTIMATE -> estimate(connection, query);
+			case NONE -> 0;
+		};
 
-			try (ResultSet result = statement.executeQuery())
-			{
-				if (result.next())
-					total = result.getInt(1);
-			}
-		}
+		// page beyond estimated or unknown total might still contain resources
+		boolean countOnly = TotalMode.ACCURATE.equals(totalMode) ? query.getPageAndCount().isCountOnly(total)
+				: query.getPageAndCount().isCountOnly(Integer.MAX_VALUE);
 
 		List<R> partialResult = new ArrayList<>();
 		List<Resource> includes = new ArrayList<>();
 
-		if (!query.getPageAndCount().isCountOnly(total))
+		if (!countOnly)
 		{
+			IncludeResourcesDecoder includeDecoder = new IncludeResourcesDecoder(
+					preparedStatementFactory.getJsonParser());
+
 			try (PreparedStatement statement = connection.prepareStatement(query.getSearchSql()))
 			{
 				query.modifyStatement(statement, connection::createArrayOf);
@@ -908,7 +912,7 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 						partialResult.add(resource);
 
 						for (int columnIndex = 2; columnIndex <= metaData.getColumnCount(); columnIndex++)
-							getResources(result, columnIndex, includes, connection, query);
+							getResources(result, columnIndex, includeDecoder, includes, connection, query);
 					}
 				}
 			}
@@ -918,7 +922,66 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 		includes = includes.stream().map(r -> new ResourceDistinctById(r.getIdElement(), r)).distinct()
 				.map(ResourceDistinctById::getResource).collect(Collectors.toList());
 
-		return new PartialResult<>(total, query.getPageAndCount(), partialResult, includes);
+		if (TotalMode.ESTIMATE.equals(totalMode))
+			total = Math.max(total, query.getPageAndCount().getOffset() + partialResult.size());
+
+		return new PartialResult<>(total, totalMode, query.getPageAndCount(), partialResult, includes,
+				query.getNextCursor(partialResult));
+	}
+
+	private int count(Connection connection, DbSearchQuery query) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement(query.getCountSql()))
+		{
+			query.modifyCountStatement(statement, connection::createArrayOf);
+
+			try (ResultSet result = statement.executeQuery())
+			{
+				return result.next() ? result.getInt(1) : 0;
+			}
+		}
+	}
+
+	private int estimate(Connection connection, DbSearchQuery query) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement(query.getEstimateSql()))
+		{
+			query.modifyCountStatement(statement, connection::createArrayOf);
+
+			try (ResultSet result = statement.executeQuery())
+			{
+				Optional<Integer> estimate = result.next() ? parseRowEstimate(result.getString(1)) : Optional.empty();
+				if (estimate.isEmpty())
+					logger.warn("Unable to parse planner row estimate, returning 0");
+
+				return estimate.orElse(0);
+			}
+		}
+	}
+
+	/**
+	 * @param planLine
+	 *            first line of an <code>EXPLAIN</code> result, may be <code>null</code>
+	 * @return planner row estimate, at most {@link Integer#MAX_VALUE}, empty if not parsable
+	 */
+	static Optional<Integer> parseRowEstimate(String planLine)
+	{
+		if (planLine == null)
+			return Optional.empty();
+
+		Matcher matcher = PLAN_ROWS_PATTERN.matcher(planLine);
+		if (!matcher.find())
+			return Optional.empty();
+
+		try
+		{
+			return Optional.of((int) Math.min(Long.parseLong(matcher.group(1)), Integer.MAX_VALUE));
+		}
+		catch (NumberFormatException e)
+		{
+			// more digits than fit into a long
+			return Optional.of(Integer.MAX_VALUE);
+		}
 	}
 
 	/**
@@ -937,18 +1000,11 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 	{
 	}
 
-	private void getResources(ResultSet result, int columnIndex, List<? super Resource> includeResources,
-			Connection connection, DbSearchQuery query) throws SQLException
+	private void getResources(ResultSet result, int columnIndex, IncludeResourcesDecoder includeDecoder,
+			List<? super Resource> includeResources, Connection connection, DbSearchQuery query) throws SQLException
 	{
-		String json = result.getString(columnIndex);
-
-		if (json == null)
-			return;
-
-		JsonArray array = (JsonArray) JsonParser.parseString(json);
-		for (JsonElement jsonElement : array)
+		includeDecoder.decode(result.getCharacterStream(columnIndex), resource ->
 		{
-			IBaseResource resource = preparedStatementFactory.getJsonParser().parseResource(jsonElement.toString());
 			if (resource instanceof Resource r)
 			{
 				query.modifyIncludeResource(r, columnIndex, connection);
@@ -957,7 +1013,7 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 			else
 				logger.warn("parsed resource of type {} not instance of {}, ignoring include resource",
 						resource.getClass().getName(), Resource.class.getName());
-		}
+		});
 	}
 
 	@Override
@@ -979,7 +1035,7 @@ abstract class AbstractResourceDaoJdbc<R extends Resource> implements ResourceDa
 		Objects.requireNonNull(pageAndCount, "pageAndCount");
 
 		var builder = SearchQueryBuilder.create(preparedStatementFactory, resourceType, getResourceTable(),
-				getResourceColumn(), pageAndCount);
+				getResourceColumn(), getResourceIdColumn(), pageAndCount);
 
 		if (identity != null)
 			builder = builder.with(identityFilter.apply(identity));
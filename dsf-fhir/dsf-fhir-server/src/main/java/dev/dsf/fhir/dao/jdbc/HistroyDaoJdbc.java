@@ -180,7 +180,7 @@ public class HistroyDaoJdbc implements HistoryDao, InitializingBean
 	private String createCountSql(boolean forId, boolean forResource, List<HistoryIdentityFilter> filter,
 			List<AtParameter> atParameter, SinceParameter sinceParameter)
 	{
-		String selectSql = "SELECT count(*) FROM history WHERE ";
+		String selectSql = "SELECT count(*) FROM " + getHistorySource(atParameter, sinceParameter) + " WHERE ";
 
 		return createSql(forId, forResource, filter, atParameter, sinceParameter, selectSql, "");
 	}
@@ -188,11 +188,25 @@ public class HistroyDaoJdbc implements HistoryDao, InitializingBean
 	private String createReadSql(boolean forId, boolean forResource, List<HistoryIdentityFilter> filter,
 			List<AtParameter> atParameter, SinceParameter sinceParameter, PageAndCount pageAndCount)
 	{
-		String selectSql = "SELECT id, version, type, method, last_updated, resource FROM history WHERE ";
+		String selectSql = "SELECT id, version, type, method, last_updated, resource FROM "
+				+ getHistorySource(atParameter, sinceParameter) + " WHERE ";
 
 		return createSql(forId, forResource, filter, atParameter, sinceParameter, selectSql, pageAndCount.getSql());
 	}
 
+	/**
+	 * Time restricted history requests are served from the trigger maintained <code>history_log</code> table via its
+	 * <code>last_updated</code> index, aliased as <code>history</code> for the identity filters. Unrestricted requests
+	 * use the <code>history</code> view.
+	 */
+	private String getHistorySource(List<AtParameter> atParameters, SinceParameter sinceParameter)
+	{
+		if (sinceParameter.isDefined() || atParameters.stream().anyMatch(AtParameter::isDefined))
+			return "history_log_resources AS " + HistoryIdentityFilter.RESOURCE_TABLE;
+		else
+			return HistoryIdentityFilter.RESOURCE_TABLE;
+	}
+
 	private String createSql(boolean forId, boolean forResource, List<HistoryIdentityFilter> filter,
 			List<AtParameter> atParameters, SinceParameter sinceParameter, String selectSql, String limitOffsetSql)
 	{
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.dao.jdbc;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.IParser;
+
+/**
+ * Decodes the jsonb array of resources returned by _include and _revinclude sub-queries. Array elements are handed to
+ * the HAPI json parser one by one as bounded {@link Reader}s, without building an intermediate json tree or
+ * re-serializing elements to strings.
+ * <p>
+ * Not thread safe, create one instance per search.
+ */
+final class IncludeResourcesDecoder
+{
+	@FunctionalInterface
+	interface ResourceConsumer
+	{
+		void accept(IBaseResource resource) throws SQLException;
+	}
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final IParser parser;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private Reader in;
+	private int position;
+	private int limit;
+
+	/**
+	 * @param parser
+	 *            not <code>null</code>, reused for all elements
+	 */
+	IncludeResourcesDecoder(IParser parser)
+	{
+		this.parser = Objects.requireNonNull(parser, "parser");
+	}
+
+	/**
+	 * @param json
+	 *            may be <code>null</code>
+	 * @param consumer
+	 *            not <code>null</code>
+	 * @throws SQLException
+	 *             if the json is not an array of objects or a resource could not be parsed
+	 */
+	void decode(Reader json, ResourceConsumer consumer) throws SQLException
+	{
+		Objects.requireNonNull(consumer, "consumer");
+
+		if (json == null)
+			return;
+
+		in = json;
+		position = 0;
+		limit = 0;
+
+		try
+		{
+			int c = nextNonWhitespace();
+			if (c == -1)
+				return;
+			else if (c != '[')
+				throw new SQLException("Include resources not a json array, found '" + (char) c + "'");
+
+			c = nextNonWhitespace();
+			if (c == ']')
+				return;
+
+			while (true)
+			{
+				if (c != '{')
+					throw new SQLException("Include resources array element not a json object, found "
+							+ (c == -1 ? "end of input" : "'" + (char) c + "'"));
+
+				position--; // element reader starts at '{'
+
+				ElementReader element = new ElementReader();
+				IBaseResource resource = parseResource(element);
+				element.skipRemaining();
+
+				consumer.accept(resource);
+
+				c = nextNonWhitespace();
+				if (c == ']')
+					return;
+				else if (c != ',')
+					throw new SQLException("Include resources array elements not separated by ',', found "
+							+ (c == -1 ? "end of input" : "'" + (char) c + "'"));
+
+				c = nextNonWhitespace();
+			}
+		}
+		catch (IOException e)
+		{
+			throw new SQLException(e);
+		}
+		finally
+		{
+			in = null;
+		}
+	}
+
+	private IBaseResource parseResource(Reader element) throws SQLException
+	{
+		try
+		{
+			return parser.parseResource(element);
+		}
+		catch (DataFormatException e)
+		{
+			throw new SQLException(e);
+		}
+	}
+
+	private boolean fill() throws IOException
+	{
+		if (position < limit)
+			return true;
+
+		int read = in.read(buffer, 0, buffer.length);
+		while (read == 0)
+			read = in.read(buffer, 0, buffer.length);
+
+		position = 0;
+		limit = Math.max(read, 0);
+
+		return read > 0;
+	}
+
+	private int nextNonWhitespace() throws IOException
+	{
+		while (fill())
+		{
+			char c = buffer[position++];
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+				return c;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Reads a single json object from the shared buffer, signaling end of input after the closing '}'.
+	 */
+	private final class ElementReader extends Reader
+	{
+		private int depth;
+		private boolean inString;
+		private boolean escaped;
+		private boolean done;
+
+		@Override
+		public int read(char[] target, int offset, int length) throws IOException
+		{
+			if (done)
+				return -1;
+			if (length == 0)
+				return 0;
+			if (!fill())
+				throw new IOException("Unexpected end of input within include resource");
+
+			int count = 0;
+			while (count < length && position < limit && !done)
+			{
+				char c = buffer[position++];
+				target[offset + count++] = c;
+
+				if (inString)
+				{
+					if (escaped)
+						escaped = false;
+					else if (c == '\\')
+						escaped = true;
+					else if (c == '"')
+						inString = false;
+				}
+				else if (c == '"')
+					inString = true;
+				else if (c == '{' || c == '[')
+					depth++;
+				else if ((c == '}' || c == ']') && --depth == 0)
+					done = true;
+			}
+
+			return count;
+		}
+
+		void skipRemaining() throws IOException
+		{
+			char[] skip = new char[256];
+			while (read(skip, 0, skip.length) != -1)
+				;
+		}
+
+		@Override
+		public void close()
+		{
+			// underlying reader closed by caller
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.dao.jdbc;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import dev.dsf.fhir.dao.StatisticsDao;
+
+/**
+ * Periodically calls {@link StatisticsDao#compact()} to keep the number of not yet summed counter changes small.
+ */
+public class StatisticsCompactor implements InitializingBean, DisposableBean
+{
+	private static final Logger logger = LoggerFactory.getLogger(StatisticsCompactor.class);
+
+	public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(5);
+
+	private final StatisticsDao statisticsDao;
+	private final Duration interval;
+
+	private final ScheduledExecutorService executor = Executors
+			.newSingleThreadScheduledExecutor(r -> new Thread(r, "statistics-compactor"));
+
+	public StatisticsCompactor(StatisticsDao statisticsDao, Duration interval)
+	{
+		this.statisticsDao = statisticsDao;
+		this.interval = interval;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		Objects.requireNonNull(statisticsDao, "statisticsDao");
+		Objects.requireNonNull(interval, "interval");
+
+		if (interval.isNegative() || interval.isZero())
+			throw new IllegalArgumentException("interval <= 0");
+
+		executor.scheduleWithFixedDelay(this::compact, interval.toMillis(), interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws Exception
+	{
+		executor.shutdownNow();
+	}
+
+	private void compact()
+	{
+		try
+		{
+			statisticsDao.compact();
+		}
+		catch (Exception e)
+		{
+			logger.debug("Unable to compact statistics counters", e);
+			logger.warn("Unable to compact statistics counters: {} - {}", e.getClass().getName(), e.getMessage());
+		}
+	}
+}
@@ -19,7 +19,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.ToLongFunction;
 
 import javax.sql.DataSource;
 
@@ -29,36 +32,26 @@ import dev.dsf.fhir.dao.StatisticsDao;
 
 public class StatisticsDaoJdbc implements StatisticsDao, InitializingBean
 {
+	/**
+	 * Counter changes are appended to <code>statistics_deltas</code> by the <code>on_resources_statistics</code>
+	 * trigger, values are summed from the compacted counter tables and not yet compacted deltas; 24h and 30d values are
+	 * summed from hourly buckets
+	 */
 	private static final String QUERY = """
-			SELECT
-			  (SELECT count(*) FROM current_organizations WHERE (organization->>'active')::boolean AND organization->'meta'->'profile' ?? 'http://dsf.dev/fhir/StructureDefinition/organization') AS organizations_member
-			, (SELECT count(*) FROM current_organizations WHERE (organization->>'active')::boolean AND organization->'meta'->'profile' ?? 'http://dsf.dev/fhir/StructureDefinition/organization-parent') AS organizations_parent
-			, (SELECT count(*) FROM current_endpoints WHERE endpoint->>'status' = 'active') AS endpoints
-			, (SELECT count(*) FROM current_organization_affiliations WHERE (organization_affiliation->>'active')::boolean) AS organization_affiliations
-			, (SELECT count(*) FROM current_activity_definitions) AS activity_definitions
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'draft') AS tasks_draft
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'in-progress' AND (task->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '1 day' AND NOW()) AS tasks_in_progress_24h
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'in-progress' AND (task->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '30 day' AND NOW()) AS tasks_in_progress_30d
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'in-progress') AS tasks_in_progress
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'completed' AND (task->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '1 day' AND NOW()) AS tasks_completed_24h
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'completed' AND (task->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '30 day' AND NOW()) AS tasks_completed_30d
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'completed') AS tasks_completed
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'failed' AND (task->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '1 day' AND NOW()) AS tasks_failed_24h
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'failed' AND (task->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '30 day' AND NOW()) AS tasks_failed_30d
-			, (SELECT count(*) FROM current_tasks WHERE task->>'status' = 'failed') AS tasks_failed
-			, (SELECT count(*) FROM current_questionnaire_responses WHERE questionnaire_response->>'status' = 'in-progress' AND (questionnaire_response->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '1 day' AND NOW()) AS questionnaire_responses_in_progress_24h
-			, (SELECT count(*) FROM current_questionnaire_responses WHERE questionnaire_response->>'status' = 'in-progress' AND (questionnaire_response->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '30 day' AND NOW()) AS questionnaire_responses_in_progress_30d
-			, (SELECT count(*) FROM current_questionnaire_responses WHERE questionnaire_response->>'status' = 'in-progress') AS questionnaire_responses_in_progress
-			, (SELECT count(*) FROM current_questionnaire_responses WHERE questionnaire_response->>'status' = 'amended' AND (questionnaire_response->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '1 day' AND NOW()) AS questionnaire_responses_amended_24h
-			, (SELECT count(*) FROM current_questionnaire_responses WHERE questionnaire_response->>'status' = 'amended' AND (questionnaire_response->'meta'->>'lastUpdated')::timestamptz BETWEEN NOW() - INTERVAL '30 day' AND NOW()) AS questionnaire_responses_amended_30d
-			, (SELECT count(*) FROM current_questionnaire_responses WHERE questionnaire_response->>'status' = 'amended') AS questionnaire_responses_amended
-			, (SELECT count(*) FROM current_binaries) AS binaries
-			, (SELECT count(*) FROM current_document_references) AS document_references
-			, (SELECT count(*) FROM current_measure_reports WHERE measure_report->>'status' = 'complete') AS measure_reports
-			, (SELECT count(*) FROM current_measures WHERE measure->>'status' = 'active') AS measures
-			, (SELECT count(*) FROM current_libraries WHERE library->>'status' = 'active') AS libraries
-			, (SELECT pg_database_size(current_database())) AS database_size
-			, (SELECT SUM(binary_size) FROM binaries) AS binaries_size
+			WITH hourly AS (
+				SELECT name, hour, count FROM statistics_hourly_counts WHERE hour >= date_trunc('hour', NOW() - INTERVAL '30 day')
+				UNION ALL
+				SELECT name, hour, count FROM statistics_deltas WHERE hour >= date_trunc('hour', NOW() - INTERVAL '30 day'))
+			SELECT name, SUM(count) FROM (
+				SELECT name, count FROM statistics_counts
+				UNION ALL
+				SELECT name, count FROM statistics_deltas WHERE hour IS NULL) AS counts GROUP BY name
+			UNION ALL
+			SELECT name || '_24h', SUM(count) FROM hourly WHERE hour >= date_trunc('hour', NOW() - INTERVAL '1 day') GROUP BY name
+			UNION ALL
+			SELECT name || '_30d', SUM(count) FROM hourly GROUP BY name
+			UNION ALL
+			SELECT 'database_size', pg_database_size(current_database())
 			""";
 
 	private final DataSource dataSource;
@@ -81,36 +74,40 @@ public class StatisticsDaoJdbc implements StatisticsDao, InitializingBean
 				PreparedStatement statement = connection.prepareStatement(QUERY);
 				ResultSet result = statement.executeQuery())
 		{
-			result.next();
+			Map<String, Long> counts = new HashMap<>();
+			while (result.next())
+				counts.put(result.getString(1), result.getLong(2));
 
-			long organizationsMember = result.getLong(1);
-			long organizationsParent = result.getLong(2);
-			long endpoints = result.getLong(3);
-			long organizationAffiliations = result.getLong(4);
-			long activityDefinitions = result.getLong(5);
-			long tasksDraft = result.getLong(6);
-			long tasksInProgress24h = result.getLong(7);
-			long tasksInProgress30d = result.getLong(8);
-			long tasksInProgress = result.getLong(9);
-			long tasksCompleted24h = result.getLong(10);
-			long tasksCompleted30d = result.getLong(11);
-			long tasksCompleted = result.getLong(12);
-			long tasksFailed24h = result.getLong(13);
-			long tasksFailed30d = result.getLong(14);
-			long tasksFailed = result.getLong(15);
-			long questionnaireResponsesInProgress24h = result.getLong(16);
-			long questionnaireResponsesInProgress30d = result.getLong(17);
-			long questionnaireResponsesInProgress = result.getLong(18);
-			long questionnaireResponsesAmended24h = result.getLong(19);
-			long questionnaireResponsesAmended30d = result.getLong(20);
-			long questionnaireResponsesAmended = result.getLong(21);
-			long binaries = result.getLong(22);
-			long documentReferences = result.getLong(23);
-			long measureReports = result.getLong(24);
-			long measures = result.getLong(25);
-			long libraries = result.getLong(26);
-			long databaseSize = result.getLong(27);
-			long binariesSize = result.getLong(28);
+			ToLongFunction<String> count = name -> counts.getOrDefault(name, 0L);
+
+			long organizationsMember = count.applyAsLong("organizations_member");
+			long organizationsParent = count.applyAsLong("organizations_parent");
+			long endpoints = count.applyAsLong("endpoints");
+			long organizationAffiliations = count.applyAsLong("organization_affiliations");
+			long activityDefinitions = count.applyAsLong("activity_definitions");
+			long tasksDraft = count.applyAsLong("tasks_draft");
+			long tasksInProgress24h = count.applyAsLong("tasks_in_progress_24h");
+			long tasksInProgress30d = count.applyAsLong("tasks_in_progress_30d");
+			long tasksInProgress = count.applyAsLong("tasks_in_progress");
+			long tasksCompleted24h = count.applyAsLong("tasks_completed_24h");
+			long tasksCompleted30d = count.applyAsLong("tasks_completed_30d");
+			long tasksCompleted = count.applyAsLong("tasks_completed");
+			long tasksFailed24h = count.applyAsLong("tasks_failed_24h");
+			long tasksFailed30d = count.applyAsLong("tasks_failed_30d");
+			long tasksFailed = count.applyAsLong("tasks_failed");
+			long questionnaireResponsesInProgress24h = count.applyAsLong("questionnaire_responses_in_progress_24h");
+			long questionnaireResponsesInProgress30d = count.applyAsLong("questionnaire_responses_in_progress_30d");
+			long questionnaireResponsesInProgress = count.applyAsLong("questionnaire_responses_in_progress");
+			long questionnaireResponsesAmended24h = count.applyAsLong("questionnaire_responses_amended_24h");
+			long questionnaireResponsesAmended30d = count.applyAsLong("questionnaire_responses_amended_30d");
+			long questionnaireResponsesAmended = count.applyAsLong("questionnaire_responses_amended");
+			long binaries = count.applyAsLong("binaries");
+			long documentReferences = count.applyAsLong("document_references");
+			long measureReports = count.applyAsLong("measure_reports");
+			long measures = count.applyAsLong("measures");
+			long libraries = count.applyAsLong("libraries");
+			long databaseSize = count.applyAsLong("database_size");
+			long binariesSize = count.applyAsLong("binaries_size");
 
 			return new Statistics(organizationsMember, organizationsParent, endpoints, organizationAffiliations,
 					activityDefinitions, tasksDraft, tasksInProgress24h, tasksInProgress30d, tasksInProgress,
@@ -121,4 +118,14 @@ public class StatisticsDaoJdbc implements StatisticsDao, InitializingBean
 					measureReports, measures, libraries, databaseSize, binariesSize);
 		}
 	}
+
+	@Override
+	public void compact() throws SQLException
+	{
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement("SELECT compact_statistics()"))
+		{
+			statement.execute();
+		}
+	}
 }
@@ -25,4 +25,13 @@ public interface EventHandler
 	{
 		events.stream().forEach(this::handleEvent);
 	}
+
+	/**
+	 * Called if events published by other server instances may have been lost, e.g. after a dropped or failed publish
+	 * on the other server instance or a lost connection. Handlers caching resources should invalidate all cached
+	 * entries.
+	 */
+	default void handleEventsLost()
+	{
+	}
 }
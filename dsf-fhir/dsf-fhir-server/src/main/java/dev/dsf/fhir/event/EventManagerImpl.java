@@ -23,24 +23,72 @@ import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 
-public class EventManagerImpl implements EventManager
+public class EventManagerImpl implements EventManager, InitializingBean
 {
 	private static final Logger logger = LoggerFactory.getLogger(EventManagerImpl.class);
 
 	private final List<EventHandler> eventHandlers = Collections.synchronizedList(new ArrayList<>());
+	private final EventTransport transport;
 
 	public EventManagerImpl(Collection<? extends EventHandler> eventHandlers)
+	{
+		this(eventHandlers, null);
+	}
+
+	/**
+	 * @param eventHandlers
+	 *            may be <code>null</code>
+	 * @param transport
+	 *            may be <code>null</code>, events are only handled within this server instance if <code>null</code>
+	 */
+	public EventManagerImpl(Collection<? extends EventHandler> eventHandlers, EventTransport transport)
 	{
 		if (eventHandlers != null)
 			this.eventHandlers.addAll(eventHandlers);
+
+		this.transport = transport;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		if (transport != null)
+			transport.start(new EventHandler()
+			{
+				@Override
+				public void handleEvent(Event event)
+				{
+					if (event != null)
+						eventHandlers.forEach(doHandleEvent(event));
+				}
+
+				@Override
+				public void handleEvents(List<Event> events)
+				{
+					if (events != null)
+						eventHandlers.forEach(doHandleEvents(events));
+				}
+
+				@Override
+				public void handleEventsLost()
+				{
+					eventHandlers.forEach(doHandleEventsLost());
+				}
+			});
 	}
 
 	@Override
 	public void handleEvent(Event event)
 	{
 		if (event != null)
+		{
 			eventHandlers.forEach(doHandleEvent(event));
+
+			if (transport != null)
+				transport.publish(List.of(event));
+		}
 	}
 
 	private Consumer<? super EventHandler> doHandleEvent(Event event)
@@ -65,7 +113,12 @@ public class EventManagerImpl implements EventManager
 	public void handleEvents(List<Event> events)
 	{
 		if (events != null)
+		{
 			eventHandlers.forEach(doHandleEvents(events));
+
+			if (transport != null && !events.isEmpty())
+				transport.publish(events);
+		}
 	}
 
 	private Consumer<? super EventHandler> doHandleEvents(List<Event> events)
@@ -87,6 +140,23 @@ public class EventManagerImpl implements EventManager
 		};
 	}
 
+	private Consumer<? super EventHandler> doHandleEventsLost()
+	{
+		return e ->
+		{
+			try
+			{
+				e.handleEventsLost();
+			}
+			catch (Exception ex)
+			{
+				logger.debug("Error while handling lost events with {}", e.getClass().getName(), ex);
+				logger.warn("Error while handling lost events with {}: {} - {}", e.getClass().getName(),
+						ex.getClass().getName(), ex.getMessage());
+			}
+		};
+	}
+
 	@Override
 	public Runnable addHandler(EventHandler eventHandler)
 	{
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.event;
+
+import java.util.List;
+
+/**
+ * Distributes events between FHIR server instances sharing the same database.
+ */
+public interface EventTransport
+{
+	/**
+	 * Starts receiving events published by other server instances.
+	 *
+	 * @param remoteEventHandler
+	 *            not <code>null</code>, called with events published by other server instances
+	 */
+	void start(EventHandler remoteEventHandler);
+
+	/**
+	 * Publishes events created by this server instance, may return before the events have been delivered.
+	 *
+	 * @param events
+	 *            not <code>null</code>
+	 */
+	void publish(List<Event> events);
+}
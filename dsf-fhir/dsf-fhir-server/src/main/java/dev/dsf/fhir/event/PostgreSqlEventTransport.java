@@ -0,0 +1,428 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.event;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.hl7.fhir.r4.model.Resource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import ca.uhn.fhir.model.api.annotation.ResourceDef;
+import dev.dsf.fhir.dao.ResourceDao;
+import dev.dsf.fhir.dao.exception.ResourceDeletedException;
+import dev.dsf.fhir.dao.provider.DaoProvider;
+
+/**
+ * {@link EventTransport} using PostgreSQL <code>LISTEN/NOTIFY</code>. Notifications only contain event type, resource
+ * type, id and version; receiving server instances read the resource from the database. Events are published in
+ * batches by a background thread from a bounded queue. Publishing never blocks the calling, typically committing,
+ * thread; events are dropped and logged if the queue is full.
+ * <p>
+ * If events are dropped or could not be sent, an events lost marker is sent to the other server instances before the
+ * next batch; receiving server instances call {@link EventHandler#handleEventsLost()}. The same is done locally after
+ * the <code>LISTEN</code> connection was reestablished, since notifications sent while not connected are not
+ * delivered.
+ */
+public class PostgreSqlEventTransport implements EventTransport, InitializingBean, DisposableBean
+{
+	private static final Logger logger = LoggerFactory.getLogger(PostgreSqlEventTransport.class);
+
+	public static final String DEFAULT_CHANNEL = "dsf_fhir_events";
+
+	private static final int QUEUE_CAPACITY = 10_000;
+	private static final int MAX_BATCH_SIZE = 200;
+	private static final int MAX_PAYLOAD_BYTES = 7_900; // NOTIFY payload limit 8000 bytes
+	private static final int LISTEN_TIMEOUT_MILLIS = 1_000;
+	private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+	private static final char CREATED = 'C';
+	private static final char UPDATED = 'U';
+	private static final char DELETED = 'D';
+	private static final String EVENTS_LOST = "L";
+	private static final String SEPARATOR = "|";
+
+	private final String instanceId = UUID.randomUUID().toString();
+
+	private final DataSource dataSource;
+	private final DaoProvider daoProvider;
+	private final String channel;
+
+	private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+	private final AtomicBoolean running = new AtomicBoolean();
+	private final AtomicLong droppedEvents = new AtomicLong();
+	private final AtomicBoolean eventsLost = new AtomicBoolean();
+
+	/**
+	 * @param dataSource
+	 *            not <code>null</code>, one connection is used permanently for <code>LISTEN</code>, one to publish
+	 * @param daoProvider
+	 *            not <code>null</code>
+	 * @param channel
+	 *            not <code>null</code>, valid PostgreSQL identifier
+	 */
+	public PostgreSqlEventTransport(DataSource dataSource, DaoProvider daoProvider, String channel)
+	{
+		this.dataSource = dataSource;
+		this.daoProvider = daoProvider;
+		this.channel = channel;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		Objects.requireNonNull(dataSource, "dataSource");
+		Objects.requireNonNull(daoProvider, "daoProvider");
+		Objects.requireNonNull(channel, "channel");
+
+		if (!channel.matches("[a-z_][a-z0-9_]*"))
+			throw new IllegalArgumentException("channel '" + channel + "' not a valid identifier");
+	}
+
+	@Override
+	public void start(EventHandler remoteEventHandler)
+	{
+		Objects.requireNonNull(remoteEventHandler, "remoteEventHandler");
+
+		if (running.compareAndSet(false, true))
+		{
+			executor.execute(() -> listen(remoteEventHandler));
+			executor.execute(this::publishQueued);
+
+			logger.info("Distributing events via PostgreSQL channel {}, instance id {}", channel, instanceId);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception
+	{
+		running.set(false);
+
+		executor.shutdownNow();
+		try
+		{
+			if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+				logger.warn("EventTransport executor did not terminate");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void publish(List<Event> events)
+	{
+		if (!running.get())
+			return;
+
+		int dropped = 0;
+		for (Event event : events)
+		{
+			if (!queue.offer(event))
+				dropped++;
+		}
+
+		if (dropped > 0)
+		{
+			eventsLost.set(true);
+
+			long droppedTotal = droppedEvents.addAndGet(dropped);
+			logger.warn("Event queue full, not publishing {} of {} event{} to other instances, {} dropped in total",
+					dropped, events.size(), events.size() != 1 ? "s" : "", droppedTotal);
+		}
+	}
+
+	long getDroppedEventCount()
+	{
+		return droppedEvents.get();
+	}
+
+	private void publishQueued()
+	{
+		List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+		while (running.get())
+		{
+			boolean sendEventsLost = false;
+
+			try
+			{
+				Event first = queue.poll(LISTEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (first != null)
+				{
+					batch.add(first);
+					queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+				}
+
+				sendEventsLost = eventsLost.getAndSet(false);
+				if (!sendEventsLost && batch.isEmpty())
+					continue;
+
+				List<String> payloads = new ArrayList<>();
+				if (sendEventsLost)
+					payloads.add(instanceId + "\n" + EVENTS_LOST);
+				payloads.addAll(toPayloads(batch));
+
+				notify(payloads);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (SQLException e)
+			{
+				if (sendEventsLost || !batch.isEmpty())
+					eventsLost.set(true);
+
+				logger.debug("Error while publishing {} event{}", batch.size(), batch.size() != 1 ? "s" : "", e);
+				logger.warn("Error while publishing {} event{}: {} - {}", batch.size(), batch.size() != 1 ? "s" : "",
+						e.getClass().getName(), e.getMessage());
+			}
+			finally
+			{
+				batch.clear();
+			}
+		}
+	}
+
+	private List<String> toPayloads(List<Event> events)
+	{
+		List<String> payloads = new ArrayList<>();
+		StringBuilder payload = new StringBuilder(instanceId);
+		int payloadBytes = instanceId.length();
+
+		for (Event event : events)
+		{
+			String line = toLine(event);
+			if (line == null)
+				continue;
+
+			int lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+			if (payloadBytes > instanceId.length() && payloadBytes + lineBytes > MAX_PAYLOAD_BYTES)
+			{
+				payloads.add(payload.toString());
+				payload = new StringBuilder(instanceId);
+				payloadBytes = instanceId.length();
+			}
+
+			payload.append('\n').append(line);
+			payloadBytes += lineBytes;
+		}
+
+		if (payloadBytes > instanceId.length())
+			payloads.add(payload.toString());
+
+		return payloads;
+	}
+
+	private String toLine(Event event)
+	{
+		String type = getResourceTypeName(event.getResourceType());
+
+		if (event instanceof ResourceCreatedEvent || event instanceof ResourceUpdatedEvent)
+		{
+			String version = event.getResource().getIdElement().getVersionIdPart();
+			if (version == null)
+				return null;
+
+			return (event instanceof ResourceCreatedEvent ? CREATED : UPDATED) + SEPARATOR + type + SEPARATOR
+					+ event.getId() + SEPARATOR + version;
+		}
+		else if (event instanceof ResourceDeletedEvent)
+			return DELETED + SEPARATOR + type + SEPARATOR + event.getId();
+		else
+			return null;
+	}
+
+	private String getResourceTypeName(Class<? extends Resource> type)
+	{
+		return type.getAnnotation(ResourceDef.class).name();
+	}
+
+	private void notify(List<String> payloads) throws SQLException
+	{
+		try (Connection connection = dataSource.getConnection())
+		{
+			connection.setReadOnly(false);
+
+			try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)"))
+			{
+				for (String payload : payloads)
+				{
+					statement.setString(1, channel);
+					statement.setString(2, payload);
+					statement.execute();
+				}
+			}
+		}
+	}
+
+	private void listen(EventHandler remoteEventHandler)
+	{
+		boolean reconnect = false;
+
+		while (running.get())
+		{
+			try (Connection connection = dataSource.getConnection())
+			{
+				try (Statement statement = connection.createStatement())
+				{
+					statement.execute("LISTEN " + channel);
+				}
+
+				if (reconnect)
+				{
+					logger.info("Listening for events again, events published while not connected may have been lost");
+					remoteEventHandler.handleEventsLost();
+				}
+				reconnect = true;
+
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+				while (running.get())
+				{
+					PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MILLIS);
+					if (notifications == null)
+						continue;
+
+					for (PGNotification notification : notifications)
+					{
+						List<Event> events = toEvents(notification.getParameter(), remoteEventHandler);
+						if (!events.isEmpty())
+							remoteEventHandler.handleEvents(events);
+					}
+				}
+			}
+			catch (SQLException e)
+			{
+				if (!running.get())
+					return;
+
+				logger.debug("Error while listening for events, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, e);
+				logger.warn("Error while listening for events, reconnecting in {} ms: {} - {}", RECONNECT_DELAY_MILLIS,
+						e.getClass().getName(), e.getMessage());
+
+				try
+				{
+					Thread.sleep(RECONNECT_DELAY_MILLIS);
+				}
+				catch (InterruptedException ie)
+				{
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private List<Event> toEvents(String payload, EventHandler remoteEventHandler)
+	{
+		if (payload == null || payload.startsWith(instanceId))
+			return List.of();
+
+		String[] lines = payload.split("\n");
+		List<Event> events = new ArrayList<>(lines.length - 1);
+
+		// first line: instance id of publisher
+		for (int i = 1; i < lines.length; i++)
+		{
+			if (EVENTS_LOST.equals(lines[i]))
+			{
+				logger.warn("Events published by other server instance lost");
+				remoteEventHandler.handleEventsLost();
+				continue;
+			}
+
+			try
+			{
+				toEvent(lines[i]).ifPresent(events::add);
+			}
+			catch (SQLException | RuntimeException e)
+			{
+				logger.debug("Unable to read resource for event '{}'", lines[i], e);
+				logger.warn("Unable to read resource for event '{}': {} - {}", lines[i], e.getClass().getName(),
+						e.getMessage());
+			}
+		}
+
+		return events;
+	}
+
+	private Optional<Event> toEvent(String line) throws SQLException
+	{
+		String[] parts = line.split("\\" + SEPARATOR);
+		if (parts.length < 3 || parts[0].length() != 1)
+			return Optional.empty();
+
+		Optional<ResourceDao<?>> dao = daoProvider.getDao(parts[1]);
+		if (dao.isEmpty())
+			return Optional.empty();
+
+		Class<? extends Resource> type = dao.get().getResourceType();
+
+		return switch (parts[0].charAt(0))
+		{
+			case CREATED, UPDATED -> {
+				if (parts.length != 4)
+					yield Optional.empty();
+
+				Optional<? extends Resource> resource = readVersion(dao.get(), parts[2], parts[3]);
+				yield resource.<Event> map(r -> parts[0].charAt(0) == CREATED ? new ResourceCreatedEvent(type, r)
+						: new ResourceUpdatedEvent(type, r));
+			}
+			case DELETED -> Optional.of(new ResourceDeletedEvent(type, parts[2]));
+			default -> Optional.empty();
+		};
+	}
+
+	private Optional<? extends Resource> readVersion(ResourceDao<?> dao, String id, String version)
+			throws SQLException
+	{
+		try
+		{
+			return dao.readVersion(UUID.fromString(id), Long.parseLong(version));
+		}
+		catch (ResourceDeletedException e)
+		{
+			return Optional.empty();
+		}
+	}
+}
@@ -47,7 +47,9 @@ import dev.dsf.common.auth.conf.Identity;
 import dev.dsf.fhir.history.History;
 import dev.dsf.fhir.history.HistoryEntry;
 import dev.dsf.fhir.prefer.PreferReturnType;
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
 import dev.dsf.fhir.search.PageAndCount;
+import dev.dsf.fhir.search.PageCursor;
 import dev.dsf.fhir.search.PartialResult;
 import dev.dsf.fhir.search.SearchQueryParameterError;
 import dev.dsf.fhir.service.ResourceReference;
@@ -224,9 +226,17 @@ public class ResponseGenerator
 		if (!errors.isEmpty())
 			bundle.addEntry(toBundleEntryComponent(toOperationOutcomeWarning(errors), SearchEntryMode.OUTCOME));
 
-		bundle.setTotal(result.getTotal());
+		if (!TotalMode.NONE.equals(result.getTotalMode()))
+			bundle.setTotal(result.getTotal());
 
-		setLinks(result.getPageAndCount(), bundleUri, format, pretty, summaryMode, bundle, result.getTotal());
+		if (result.getPageAndCount().isCursorMode())
+			setCursorLinks(result.getPageAndCount(), result.getNextCursor(), bundleUri, format, pretty, summaryMode,
+					bundle);
+		else if (!TotalMode.ACCURATE.equals(result.getTotalMode()))
+			setLinksWithoutTotal(result.getPageAndCount(), result.hasNextPage(), bundleUri, format, pretty,
+					summaryMode, bundle);
+		else
+			setLinks(result.getPageAndCount(), bundleUri, format, pretty, summaryMode, bundle, result.getTotal());
 
 		return bundle;
 	}
@@ -345,6 +355,67 @@ public class ResponseGenerator
 		}
 	}
 
+	private void setLinksWithoutTotal(PageAndCount pageAndCount, boolean hasNextPage, UriBuilder bundleUri,
+			String format, String pretty, SummaryMode summaryMode, Bundle bundle)
+	{
+		if (format != null)
+			bundleUri = bundleUri.replaceQueryParam("_format", format);
+		if (pretty != null)
+			bundleUri = bundleUri.replaceQueryParam("_pretty", pretty);
+		if (summaryMode != null)
+			bundleUri = bundleUri.replaceQueryParam("_summary", summaryMode.toString());
+
+		bundleUri = bundleUri.replaceQueryParam("_count", pageAndCount.getCount());
+		bundleUri = bundleUri.replaceQueryParam("_page", pageAndCount.getPage());
+		bundle.addLink().setRelation("self").setUrlElement(new UriType(bundleUri.build()));
+
+		if (pageAndCount.getCount() > 0 && pageAndCount.getPage() > 0)
+		{
+			bundleUri = bundleUri.replaceQueryParam("_page", 1);
+			bundle.addLink().setRelation("first").setUrlElement(new UriType(bundleUri.build()));
+
+			if (pageAndCount.getPage() > 1)
+			{
+				bundleUri = bundleUri.replaceQueryParam("_page", pageAndCount.getPage() - 1);
+				bundle.addLink().setRelation("previous").setUrlElement(new UriType(bundleUri.build()));
+			}
+			if (hasNextPage)
+			{
+				bundleUri = bundleUri.replaceQueryParam("_page", pageAndCount.getPage() + 1);
+				bundle.addLink().setRelation("next").setUrlElement(new UriType(bundleUri.build()));
+			}
+		}
+	}
+
+	private void setCursorLinks(PageAndCount pageAndCount, PageCursor nextCursor, UriBuilder bundleUri, String format,
+			String pretty, SummaryMode summaryMode, Bundle bundle)
+	{
+		if (format != null)
+			bundleUri = bundleUri.replaceQueryParam("_format", format);
+		if (pretty != null)
+			bundleUri = bundleUri.replaceQueryParam("_pretty", pretty);
+		if (summaryMode != null)
+			bundleUri = bundleUri.replaceQueryParam("_summary", summaryMode.toString());
+
+		bundleUri = bundleUri.replaceQueryParam("_page");
+		bundleUri = bundleUri.replaceQueryParam("_count", pageAndCount.getCount());
+
+		// _cursor of current page set by SearchQuery#configureBundleUri
+		bundle.addLink().setRelation("self").setUrlElement(new UriType(bundleUri.build()));
+
+		if (pageAndCount.getCount() > 0)
+		{
+			bundleUri = bundleUri.replaceQueryParam("_cursor", "");
+			bundle.addLink().setRelation("first").setUrlElement(new UriType(bundleUri.build()));
+
+			if (nextCursor != null)
+			{
+				bundleUri = bundleUri.replaceQueryParam("_cursor", nextCursor.encode());
+				bundle.addLink().setRelation("next").setUrlElement(new UriType(bundleUri.build()));
+			}
+		}
+	}
+
 	public OperationOutcome toOperationOutcomeWarning(List<SearchQueryParameterError> errors)
 	{
 		return toOperationOutcome(errors, IssueSeverity.WARNING);
@@ -19,6 +19,8 @@ import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
 
 import org.hl7.fhir.r4.model.Resource;
 
@@ -26,14 +28,72 @@ import dev.dsf.fhir.function.BiFunctionWithSqlException;
 
 public interface DbSearchQuery
 {
+	enum TotalMode
+	{
+		/**
+		 * No count query, <code>Bundle.total</code> not set
+		 */
+		NONE("none"),
+
+		/**
+		 * Row estimate of the query planner, no exact count
+		 */
+		ESTIMATE("estimate"),
+
+		/**
+		 * Exact count via <code>SELECT count(*)</code>
+		 */
+		ACCURATE("accurate");
+
+		private final String value;
+
+		TotalMode(String value)
+		{
+			this.value = value;
+		}
+
+		public String getValue()
+		{
+			return value;
+		}
+
+		public static Optional<TotalMode> fromString(String value)
+		{
+			for (TotalMode mode : values())
+				if (mode.value.equals(value))
+					return Optional.of(mode);
+
+			return Optional.empty();
+		}
+	}
+
 	String getCountSql();
 
+	/**
+	 * @return sql returning the query plan for the search filter, the first line contains the planner row estimate
+	 * @see TotalMode#ESTIMATE
+	 */
+	String getEstimateSql();
+
 	String getSearchSql();
 
+	void modifyCountStatement(PreparedStatement statement,
+			BiFunctionWithSqlException<String, Object[], Array> arrayCreator) throws SQLException;
+
 	void modifyStatement(PreparedStatement statement, BiFunctionWithSqlException<String, Object[], Array> arrayCreator)
 			throws SQLException;
 
 	PageAndCount getPageAndCount();
 
+	TotalMode getTotalMode();
+
+	/**
+	 * @param page
+	 *            resources returned by the search sql, may be <code>null</code>
+	 * @return position of the last resource for keyset pagination, <code>null</code> if not in cursor mode or no next
+	 *         page exists
+	 */
+	PageCursor getNextCursor(List<? extends Resource> page);
+
 	void modifyIncludeResource(Resource resource, int columnIndex, Connection connection) throws SQLException;
 }
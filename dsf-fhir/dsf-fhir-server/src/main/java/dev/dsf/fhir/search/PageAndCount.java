@@ -17,6 +17,7 @@ package dev.dsf.fhir.search;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class PageAndCount
 {
@@ -38,6 +39,17 @@ public class PageAndCount
 		Integer page = getFirstInt(queryParameters, SearchQuery.PARAMETER_PAGE);
 		Integer count = getFirstInt(queryParameters, SearchQuery.PARAMETER_COUNT);
 
+		List<String> cursorValues = queryParameters.get(SearchQuery.PARAMETER_CURSOR);
+		if (cursorValues != null)
+		{
+			// _page ignored in cursor mode, only empty cursor values start at the first page
+			String token = cursorValues.isEmpty() ? null : cursorValues.get(0);
+			Optional<PageCursor> cursor = PageCursor.decode(token);
+			String invalidCursor = cursor.isEmpty() && token != null && !token.isBlank() ? token : null;
+
+			return new PageAndCount(1, count, defaultPageCount, true, cursor.orElse(null), invalidCursor);
+		}
+
 		return new PageAndCount(page, count, defaultPageCount);
 	}
 
@@ -78,8 +90,17 @@ public class PageAndCount
 
 	private final int page;
 	private final int count;
+	private final boolean cursorMode;
+	private final PageCursor cursor;
+	private final String invalidCursor;
 
 	private PageAndCount(Integer page, Integer count, int defaultPageCount)
+	{
+		this(page, count, defaultPageCount, false, null, null);
+	}
+
+	private PageAndCount(Integer page, Integer count, int defaultPageCount, boolean cursorMode, PageCursor cursor,
+			String invalidCursor)
 	{
 		int effectivePage = page == null ? 1 : page < 0 ? 0 : page;
 		int effectiveCount = count == null ? defaultPageCount : count < 0 ? 0 : count;
@@ -94,16 +115,47 @@ public class PageAndCount
 
 		this.page = effectivePage;
 		this.count = effectiveCount;
+		this.cursorMode = cursorMode;
+		this.cursor = cursor;
+		this.invalidCursor = invalidCursor;
 	}
 
 	public String getSql()
 	{
-		return " LIMIT " + count + (page > 1 ? " OFFSET " + getOffset() : "");
+		return " LIMIT " + count + (getOffset() > 0 ? " OFFSET " + getOffset() : "");
+	}
+
+	/**
+	 * @return <code>true</code> if keyset pagination via the <code>_cursor</code> parameter was requested
+	 */
+	public boolean isCursorMode()
+	{
+		return cursorMode;
 	}
 
-	private int getOffset()
+	/**
+	 * @return position of the last resource from the previous page, {@link Optional#empty()} if not in cursor mode or
+	 *         for the first page
+	 */
+	public Optional<PageCursor> getCursor()
+	{
+		return Optional.ofNullable(cursor);
+	}
+
+	/**
+	 * @return the given <code>_cursor</code> value if not empty and not decodable, {@link Optional#empty()} otherwise
+	 */
+	public Optional<String> getInvalidCursor()
+	{
+		return Optional.ofNullable(invalidCursor);
+	}
+
+	/**
+	 * @return number of resources skipped before the current page, <code>0</code> in cursor mode
+	 */
+	public int getOffset()
 	{
-		return (page - 1) * count;
+		return page > 1 && !cursorMode ? (page - 1) * count : 0;
 	}
 
 	public boolean isCountOnly(int total)
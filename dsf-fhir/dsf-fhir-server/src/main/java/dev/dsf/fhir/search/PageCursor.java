@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Position of the last resource returned by a keyset paginated search, encoded as an opaque url-safe token. Contains
+ * the resource id and, if the search is sorted by <code>_lastUpdated</code>, the last updated value as stored in the
+ * database.
+ */
+public record PageCursor(String lastUpdated, UUID id)
+{
+	private static final char SEPARATOR = '|';
+
+	public PageCursor
+	{
+		Objects.requireNonNull(id, "id");
+	}
+
+	public boolean hasLastUpdated()
+	{
+		return lastUpdated != null && !lastUpdated.isBlank();
+	}
+
+	public String encode()
+	{
+		String value = (hasLastUpdated() ? lastUpdated : "") + SEPARATOR + id.toString();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param token
+	 *            may be <code>null</code>
+	 * @return {@link Optional#empty()} if the given token is <code>null</code>, blank or not a valid cursor
+	 */
+	public static Optional<PageCursor> decode(String token)
+	{
+		if (token == null || token.isBlank())
+			return Optional.empty();
+
+		try
+		{
+			String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = value.lastIndexOf(SEPARATOR);
+			if (separator < 0)
+				return Optional.empty();
+
+			String lastUpdated = value.substring(0, separator);
+			UUID id = UUID.fromString(value.substring(separator + 1));
+
+			return Optional.of(new PageCursor(lastUpdated.isEmpty() ? null : lastUpdated, id));
+		}
+		catch (IllegalArgumentException e)
+		{
+			return Optional.empty();
+		}
+	}
+}
@@ -20,26 +20,73 @@ import java.util.List;
 
 import org.hl7.fhir.r4.model.Resource;
 
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
+
 public class PartialResult<R extends Resource>
 {
 	private final int total;
+	private final TotalMode totalMode;
 	private final PageAndCount pageAndCount;
 	private final List<R> partialResult;
 	private final List<Resource> includes;
+	private final PageCursor nextCursor;
 
 	public PartialResult(int total, PageAndCount pageAndCount, List<R> partialResult, List<Resource> includes)
+	{
+		this(total, TotalMode.ACCURATE, pageAndCount, partialResult, includes, null);
+	}
+
+	/**
+	 * @param total
+	 *            ignored if <b>totalMode</b> is {@link TotalMode#NONE}
+	 * @param totalMode
+	 *            not <code>null</code>
+	 * @param pageAndCount
+	 *            not <code>null</code>
+	 * @param partialResult
+	 *            not <code>null</code>
+	 * @param includes
+	 *            not <code>null</code>
+	 * @param nextCursor
+	 *            may be <code>null</code>
+	 */
+	public PartialResult(int total, TotalMode totalMode, PageAndCount pageAndCount, List<R> partialResult,
+			List<Resource> includes, PageCursor nextCursor)
 	{
 		this.total = total;
+		this.totalMode = totalMode;
 		this.pageAndCount = pageAndCount;
 		this.partialResult = partialResult;
 		this.includes = includes;
+		this.nextCursor = nextCursor;
 	}
 
+	/**
+	 * @return exact number of matching resources if {@link #getTotalMode()} is {@link TotalMode#ACCURATE}, an estimate
+	 *         if {@link TotalMode#ESTIMATE}, undefined if {@link TotalMode#NONE}
+	 */
 	public int getTotal()
 	{
 		return total;
 	}
 
+	public TotalMode getTotalMode()
+	{
+		return totalMode;
+	}
+
+	/**
+	 * @return <code>true</code> if a next page exists, decided by the size of the partial result if the total is not
+	 *         accurate
+	 */
+	public boolean hasNextPage()
+	{
+		if (TotalMode.ACCURATE.equals(totalMode))
+			return !pageAndCount.isLastPage(total);
+		else
+			return pageAndCount.getCount() > 0 && partialResult.size() >= pageAndCount.getCount();
+	}
+
 	public PageAndCount getPageAndCount()
 	{
 		return pageAndCount;
@@ -54,4 +101,12 @@ public class PartialResult<R extends Resource>
 	{
 		return Collections.unmodifiableList(includes);
 	}
+
+	/**
+	 * @return <code>null</code> if not in cursor mode or no next page exists
+	 */
+	public PageCursor getNextCursor()
+	{
+		return nextCursor;
+	}
 }
@@ -28,7 +28,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,7 +41,11 @@ import org.slf4j.LoggerFactory;
 import dev.dsf.fhir.dao.jdbc.PgObjectFactory;
 import dev.dsf.fhir.dao.provider.DaoProvider;
 import dev.dsf.fhir.function.BiFunctionWithSqlException;
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
 import dev.dsf.fhir.search.SearchQueryParameterError.SearchQueryParameterErrorType;
+import dev.dsf.fhir.search.SearchQuerySortParameterConfiguration.SortDirection;
+import dev.dsf.fhir.search.parameters.ResourceId;
+import dev.dsf.fhir.search.parameters.ResourceLastUpdated;
 import jakarta.ws.rs.core.UriBuilder;
 
 public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
@@ -49,23 +55,28 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 
 	public static final String PARAMETER_SORT = "_sort";
 	public static final String PARAMETER_PAGE = "_page";
+	public static final String PARAMETER_CURSOR = "_cursor";
 	public static final String PARAMETER_COUNT = "_count";
+	public static final String PARAMETER_TOTAL = "_total";
 	public static final String PARAMETER_FORMAT = "_format";
 	public static final String PARAMETER_PRETTY = "_pretty";
 	public static final String PARAMETER_SUMMARY = "_summary";
 
 	public static final String[] STANDARD_PARAMETERS = { PARAMETER_SORT, PARAMETER_INCLUDE, PARAMETER_REVINCLUDE,
-			PARAMETER_PAGE, PARAMETER_COUNT, PARAMETER_FORMAT, PARAMETER_PRETTY, PARAMETER_SUMMARY };
+			PARAMETER_PAGE, PARAMETER_CURSOR, PARAMETER_COUNT, PARAMETER_TOTAL, PARAMETER_FORMAT, PARAMETER_PRETTY,
+			PARAMETER_SUMMARY };
 
-	private static final String[] SINGLE_VALUE_PARAMETERS = { PARAMETER_SORT, PARAMETER_PAGE, PARAMETER_COUNT,
-			PARAMETER_FORMAT, PARAMETER_PRETTY, PARAMETER_SUMMARY };
+	private static final String[] SINGLE_VALUE_PARAMETERS = { PARAMETER_SORT, PARAMETER_PAGE, PARAMETER_CURSOR,
+			PARAMETER_COUNT, PARAMETER_TOTAL, PARAMETER_FORMAT, PARAMETER_PRETTY, PARAMETER_SUMMARY };
 
 	public static class SearchQueryBuilder<R extends Resource>
 	{
 		public static <R extends Resource> SearchQueryBuilder<R> create(PgObjectFactory pgObjectFactory,
-				Class<R> resourceType, String resourceTable, String resourceColumn, PageAndCount pageAndCount)
+				Class<R> resourceType, String resourceTable, String resourceColumn, String resourceIdColumn,
+				PageAndCount pageAndCount)
 		{
-			return new SearchQueryBuilder<>(pgObjectFactory, resourceType, resourceTable, resourceColumn, pageAndCount);
+			return new SearchQueryBuilder<>(pgObjectFactory, resourceType, resourceTable, resourceColumn,
+					resourceIdColumn, pageAndCount);
 		}
 
 		private final PgObjectFactory pgObjectFactory;
@@ -73,6 +84,7 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 		private final Class<R> resourceType;
 		private final String resourceTable;
 		private final String resourceColumn;
+		private final String resourceIdColumn;
 
 		private final PageAndCount pageAndCount;
 
@@ -82,13 +94,14 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 		private SearchQueryIdentityFilter identityFilter; // may be null
 
 		private SearchQueryBuilder(PgObjectFactory pgObjectFactory, Class<R> resourceType, String resourceTable,
-				String resourceColumn, PageAndCount pageAndCount)
+				String resourceColumn, String resourceIdColumn, PageAndCount pageAndCount)
 		{
 			this.pgObjectFactory = pgObjectFactory;
 
 			this.resourceType = resourceType;
 			this.resourceTable = resourceTable;
 			this.resourceColumn = resourceColumn;
+			this.resourceIdColumn = resourceIdColumn;
 
 			this.pageAndCount = pageAndCount;
 		}
@@ -130,8 +143,8 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 
 		public SearchQuery<R> build()
 		{
-			return new SearchQuery<>(pgObjectFactory, resourceType, resourceTable, resourceColumn, identityFilter,
-					pageAndCount, searchParameters, revIncludeParameters);
+			return new SearchQuery<>(pgObjectFactory, resourceType, resourceTable, resourceColumn, resourceIdColumn,
+					identityFilter, pageAndCount, searchParameters, revIncludeParameters);
 		}
 	}
 
@@ -142,6 +155,7 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 	private final Class<R> resourceType;
 	private final String resourceColumn;
 	private final String resourceTable;
+	private final String resourceIdColumn;
 
 	private final SearchQueryIdentityFilter identityFilter;
 
@@ -163,8 +177,15 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 	private String includeSql;
 	private String revIncludeSql;
 
+	private TotalMode totalMode = TotalMode.ACCURATE;
+
+	private boolean seekByLastUpdated;
+	private PageCursor seekCursor; // null if not in cursor mode or first page
+	private String invalidCursor; // null if no invalid cursor given
+	private String seekFilterQuery = "";
+
 	SearchQuery(PgObjectFactory pgObjectFactory, Class<R> resourceType, String resourceTable, String resourceColumn,
-			SearchQueryIdentityFilter identityFilter, PageAndCount pageAndCount,
+			String resourceIdColumn, SearchQueryIdentityFilter identityFilter, PageAndCount pageAndCount,
 			List<SearchQueryParameterFactory<R>> searchParameterFactories,
 			List<SearchQueryRevIncludeParameterFactory> searchRevIncludeParameterFactories)
 	{
@@ -173,6 +194,7 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 		this.resourceType = resourceType;
 		this.resourceTable = resourceTable;
 		this.resourceColumn = resourceColumn;
+		this.resourceIdColumn = resourceIdColumn;
 
 		this.identityFilter = identityFilter;
 
@@ -237,14 +259,77 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 
 		filterQuery = createFilterQuery(queryParameters);
 
+		totalMode = createTotalMode(queryParameters.getOrDefault(PARAMETER_TOTAL, List.of()));
+
 		includeSql = createIncludeSql(queryParameters.getOrDefault(PARAMETER_INCLUDE, List.of()));
 		revIncludeSql = createRevIncludeSql(queryParameters.getOrDefault(PARAMETER_REVINCLUDE, List.of()));
 
 		sortSql = createSortSql(queryParameters.getOrDefault(PARAMETER_SORT, List.of()));
 
+		if (pageAndCount.isCursorMode())
+			configureSeek();
+
 		return this;
 	}
 
+	/**
+	 * Keyset pagination: Orders by the sort key plus the resource id and replaces the offset with a filter on the
+	 * position of the last resource from the previous page. Only <code>_id</code> and <code>_lastUpdated</code> are
+	 * supported as sort keys, other sort parameters are ignored in cursor mode.
+	 */
+	private void configureSeek()
+	{
+		SearchQuerySortParameterConfiguration sort = sortParameters.isEmpty() ? null : sortParameters.get(0);
+
+		if (sortParameters.size() > 1 || (sort != null && !ResourceId.PARAMETER_NAME.equals(sort.getParameterName())
+				&& !ResourceLastUpdated.PARAMETER_NAME.equals(sort.getParameterName())))
+		{
+			errors.add(new SearchQueryParameterError(SearchQueryParameterErrorType.UNSUPPORTED_PARAMETER,
+					PARAMETER_SORT, null,
+					PARAMETER_SORT + " query parameter values other than " + ResourceId.PARAMETER_NAME + " or "
+							+ ResourceLastUpdated.PARAMETER_NAME + " not supported with " + PARAMETER_CURSOR
+							+ ", sorting by " + ResourceId.PARAMETER_NAME));
+
+			sortParameters.clear();
+			sort = null;
+		}
+
+		SortDirection direction = sort == null ? SortDirection.ASC : sort.getDirection();
+		seekByLastUpdated = sort != null && ResourceLastUpdated.PARAMETER_NAME.equals(sort.getParameterName());
+
+		String lastUpdatedSql = "fhir_timestamptz(" + resourceColumn + "->'meta'->>'lastUpdated')";
+		sortSql = " ORDER BY " + (seekByLastUpdated ? lastUpdatedSql + direction.getSqlModifierWithSpacePrefix() + ", "
+				: "") + resourceIdColumn + direction.getSqlModifierWithSpacePrefix();
+
+		Optional<PageCursor> cursor = pageAndCount.getCursor();
+		if (pageAndCount.getInvalidCursor().isPresent())
+		{
+			invalidCursor = pageAndCount.getInvalidCursor().get();
+			errors.add(new SearchQueryParameterError(SearchQueryParameterErrorType.UNPARSABLE_VALUE, PARAMETER_CURSOR,
+					invalidCursor, PARAMETER_CURSOR + " query parameter value not a valid cursor"));
+		}
+		else if (cursor.isPresent() && cursor.get().hasLastUpdated() != seekByLastUpdated)
+		{
+			invalidCursor = cursor.get().encode();
+			errors.add(new SearchQueryParameterError(SearchQueryParameterErrorType.UNPARSABLE_VALUE, PARAMETER_CURSOR,
+					invalidCursor, PARAMETER_CURSOR + " query parameter value not created for sort by "
+							+ (seekByLastUpdated ? ResourceLastUpdated.PARAMETER_NAME : ResourceId.PARAMETER_NAME)));
+		}
+		else
+			seekCursor = cursor.orElse(null);
+
+		// no results if lenient, restarting at the first page could let clients follow next links forever
+		if (invalidCursor != null)
+			seekFilterQuery = "FALSE";
+		else if (seekCursor != null)
+		{
+			String operator = SortDirection.DESC.equals(direction) ? " < " : " > ";
+			seekFilterQuery = seekByLastUpdated
+					? "(" + lastUpdatedSql + ", " + resourceIdColumn + ")" + operator + "(?::timestamptz, ?)"
+					: resourceIdColumn + operator + "?";
+		}
+	}
+
 	private void checkSingleValueParameters(Map<String, List<String>> queryParameters)
 	{
 		Arrays.stream(SINGLE_VALUE_PARAMETERS).forEach(parameter ->
@@ -287,6 +372,25 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 		return elements.collect(Collectors.joining(" AND "));
 	}
 
+	private TotalMode createTotalMode(List<String> totalParameterValues)
+	{
+		if (totalParameterValues.isEmpty() || totalParameterValues.get(0) == null
+				|| totalParameterValues.get(0).isBlank())
+			// keyset pages are requested one after the other, counting all matches for every page is wasted work
+			return pageAndCount.isCursorMode() ? TotalMode.NONE : TotalMode.ACCURATE;
+
+		String value = totalParameterValues.get(0);
+		return TotalMode.fromString(value).orElseGet(() ->
+		{
+			String supportedValues = Arrays.stream(TotalMode.values()).map(TotalMode::getValue)
+					.collect(Collectors.joining(", "));
+			errors.add(new SearchQueryParameterError(SearchQueryParameterErrorType.UNPARSABLE_VALUE, PARAMETER_TOTAL,
+					null, PARAMETER_TOTAL + " query parameter value `" + value + "` not supported, expected one of "
+							+ supportedValues));
+			return TotalMode.ACCURATE;
+		});
+	}
+
 	public List<SearchQueryParameterError> getUnsupportedQueryParameters()
 	{
 		return errors;
@@ -421,19 +525,42 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 		return countQueryMain + (!filterQuery.isEmpty() ? " WHERE " + filterQuery : "");
 	}
 
+	@Override
+	public String getEstimateSql()
+	{
+		String estimateQueryMain = "EXPLAIN SELECT 1 FROM current_" + resourceTable;
+
+		return estimateQueryMain + (!filterQuery.isEmpty() ? " WHERE " + filterQuery : "");
+	}
+
 	@Override
 	public String getSearchSql()
 	{
 		String searchQueryMain = "SELECT " + resourceColumn + includeSql + revIncludeSql + " FROM current_"
 				+ resourceTable;
 
-		return searchQueryMain + (!filterQuery.isEmpty() ? " WHERE " + filterQuery : "") + sortSql
-				+ pageAndCount.getSql();
+		String filter = Stream.of(filterQuery, seekFilterQuery).filter(f -> !f.isEmpty())
+				.collect(Collectors.joining(" AND "));
+
+		return searchQueryMain + (!filter.isEmpty() ? " WHERE " + filter : "") + sortSql + pageAndCount.getSql();
+	}
+
+	@Override
+	public void modifyCountStatement(PreparedStatement statement,
+			BiFunctionWithSqlException<String, Object[], Array> arrayCreator) throws SQLException
+	{
+		modifyStatement(statement, arrayCreator, false);
 	}
 
 	@Override
 	public void modifyStatement(PreparedStatement statement,
 			BiFunctionWithSqlException<String, Object[], Array> arrayCreator) throws SQLException
+	{
+		modifyStatement(statement, arrayCreator, true);
+	}
+
+	private void modifyStatement(PreparedStatement statement,
+			BiFunctionWithSqlException<String, Object[], Array> arrayCreator, boolean withSeek) throws SQLException
 	{
 		try
 		{
@@ -453,6 +580,14 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 			for (SearchQueryParameter<?> q : filtered)
 				for (int i = 0; i < q.getSqlParameterCount(); i++)
 					q.modifyStatement(++index, i + 1, statement, arrayCreator, pgObjectFactory);
+
+			if (withSeek && seekCursor != null)
+			{
+				if (seekByLastUpdated)
+					statement.setString(++index, seekCursor.lastUpdated());
+
+				statement.setObject(++index, pgObjectFactory.uuidToPgObject(seekCursor.id()));
+			}
 		}
 		catch (SQLException e)
 		{
@@ -467,6 +602,24 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 		return pageAndCount;
 	}
 
+	@Override
+	public TotalMode getTotalMode()
+	{
+		return totalMode;
+	}
+
+	@Override
+	public PageCursor getNextCursor(List<? extends Resource> page)
+	{
+		if (!pageAndCount.isCursorMode() || page == null || page.isEmpty() || page.size() < pageAndCount.getCount())
+			return null;
+
+		Resource last = page.get(page.size() - 1);
+		String lastUpdated = seekByLastUpdated ? last.getMeta().getLastUpdatedElement().getValueAsString() : null;
+
+		return new PageCursor(lastUpdated, UUID.fromString(last.getIdElement().getIdPart()));
+	}
+
 	public UriBuilder configureBundleUri(UriBuilder bundleUri)
 	{
 		Objects.requireNonNull(bundleUri, "bundleUri");
@@ -501,6 +654,11 @@ public class SearchQuery<R extends Resource> implements DbSearchQuery, Matcher
 					.map(SearchQueryIncludeParameterConfiguration::getBundleUriQueryParameterValues).toArray();
 			bundleUri.replaceQueryParam(PARAMETER_REVINCLUDE, values);
 		}
+		if (!TotalMode.ACCURATE.equals(totalMode))
+			bundleUri.replaceQueryParam(PARAMETER_TOTAL, totalMode.getValue());
+		if (pageAndCount.isCursorMode())
+			bundleUri.replaceQueryParam(PARAMETER_CURSOR,
+					seekCursor != null ? seekCursor.encode() : invalidCursor != null ? invalidCursor : "");
 
 		return bundleUri;
 	}
@@ -42,17 +42,24 @@ abstract class AbstractMetaTagAuthorizationRoleIdentityFilter extends AbstractId
 	public String getFilterQuery()
 	{
 		if (identity.isLocalIdentity() && identity.hasDsfRole(operationRole) && identity.hasDsfRole(readRole))
-			return "(SELECT count(*) FROM read_access WHERE read_access.resource_id = " + resourceTable + "."
-					+ resourceIdColumn + " AND read_access.resource_version = " + resourceTable + ".version"
-					+ " AND (read_access.organization_id = ? OR read_access.access_type = 'ALL' OR read_access.access_type = 'LOCAL')) > 0";
+			return readAccessExists("'ALL', 'LOCAL'");
 		else if (identity.hasDsfRole(operationRole) && identity.hasDsfRole(readRole))
-			return "(SELECT count(*) FROM read_access WHERE read_access.resource_id = " + resourceTable + "."
-					+ resourceIdColumn + " AND read_access.resource_version = " + resourceTable + ".version"
-					+ " AND (read_access.organization_id = ? OR read_access.access_type = 'ALL')) > 0";
+			return readAccessExists("'ALL'");
 		else
 			return "FALSE";
 	}
 
+	/**
+	 * Semi-join on read_access, answered by the covering index on <code>(resource_id, resource_version, access_type,
+	 * organization_id)</code>.
+	 */
+	private String readAccessExists(String allowedAccessTypes)
+	{
+		return "EXISTS (SELECT 1 FROM read_access WHERE read_access.resource_id = " + resourceTable + "."
+				+ resourceIdColumn + " AND read_access.resource_version = " + resourceTable + ".version"
+				+ " AND (read_access.access_type IN (" + allowedAccessTypes + ") OR read_access.organization_id = ?))";
+	}
+
 	@Override
 	public int getSqlParameterCount()
 	{
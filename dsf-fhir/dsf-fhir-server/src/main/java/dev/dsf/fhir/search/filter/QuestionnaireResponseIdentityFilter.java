@@ -65,10 +65,10 @@ public class QuestionnaireResponseIdentityFilter extends AbstractIdentityFilter
 						+ "WHERE authExt->>'url' = 'http://dsf.dev/fhir/StructureDefinition/extension-questionnaire-authorization' "
 						+ "AND EXISTS (SELECT 1 FROM jsonb_array_elements(authExt->'extension') AS ext "
 						+ "WHERE ((ext->>'url' = 'practitioner' AND ext->'valueIdentifier'->>'value' = ?) "
-						+ "OR (ext->>'url' = 'practitioner-role' AND ("
-						+ "SELECT COUNT(*) FROM jsonb_array_elements(?) AS allowed_roles "
+						+ "OR (ext->>'url' = 'practitioner-role' AND EXISTS ("
+						+ "SELECT 1 FROM jsonb_array_elements(?) AS allowed_roles "
 						+ "WHERE allowed_roles->>'system' = ext->'valueCoding'->>'system' AND allowed_roles->>'code' = ext->'valueCoding'->>'code'"
-						+ ") > 0))))";
+						+ ")))))";
 		}
 
 		return "FALSE";
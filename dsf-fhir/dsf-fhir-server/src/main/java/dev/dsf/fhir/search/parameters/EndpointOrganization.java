@@ -55,8 +55,10 @@ public class EndpointOrganization extends AbstractReferenceParameter<Endpoint>
 				RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + TARGET_RESOURCE_TYPE_NAME);
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT organization->'identifier' FROM current_organizations"
-			+ " WHERE ('Organization/' || (organization->>'id')) = endpoint->'managingOrganization'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"endpoint->'managingOrganization'->>'reference'", "Organization");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"endpoint->'managingOrganization'->>'reference'", "Organization");
 
 	public EndpointOrganization()
 	{
@@ -73,10 +75,9 @@ public class EndpointOrganization extends AbstractReferenceParameter<Endpoint>
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_SUBQUERY + " @> ?";
+				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_QUERY;
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "(SELECT count(*) FROM jsonb_array_elements(" + IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+				case CODE_AND_NO_SYSTEM_PROPERTY -> IDENTIFIERS_NO_SYSTEM_QUERY;
 			};
 		};
 	}
@@ -124,6 +125,9 @@ public class EndpointOrganization extends AbstractReferenceParameter<Endpoint>
 	{
 		OrganizationDao dao = daoProvider.getOrganizationDao();
 		Reference reference = resource.getManagingOrganization();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		try
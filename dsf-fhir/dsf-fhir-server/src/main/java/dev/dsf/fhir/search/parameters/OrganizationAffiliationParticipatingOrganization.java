@@ -56,8 +56,10 @@ public class OrganizationAffiliationParticipatingOrganization
 				RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + TARGET_RESOURCE_TYPE_NAME);
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT organization->'identifier' FROM current_organizations"
-			+ " WHERE ('Organization/' || (organization->>'id')) = organization_affiliation->'participatingOrganization'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"organization_affiliation->'participatingOrganization'->>'reference'", "Organization");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"organization_affiliation->'participatingOrganization'->>'reference'", "Organization");
 
 	public OrganizationAffiliationParticipatingOrganization()
 	{
@@ -74,10 +76,9 @@ public class OrganizationAffiliationParticipatingOrganization
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_SUBQUERY + " @> ?";
+				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_QUERY;
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "(SELECT count(*) FROM jsonb_array_elements(" + IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+				case CODE_AND_NO_SYSTEM_PROPERTY -> IDENTIFIERS_NO_SYSTEM_QUERY;
 			};
 		};
 	}
@@ -126,6 +127,9 @@ public class OrganizationAffiliationParticipatingOrganization
 	{
 		OrganizationDao dao = daoProvider.getOrganizationDao();
 		Reference reference = resource.getParticipatingOrganization();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		try
@@ -55,8 +55,10 @@ public class OrganizationAffiliationPrimaryOrganization extends AbstractReferenc
 				RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + TARGET_RESOURCE_TYPE_NAME);
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT organization->'identifier' FROM current_organizations"
-			+ " WHERE ('Organization/' || (organization->>'id')) = organization_affiliation->'organization'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"organization_affiliation->'organization'->>'reference'", "Organization");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"organization_affiliation->'organization'->>'reference'", "Organization");
 
 	public OrganizationAffiliationPrimaryOrganization()
 	{
@@ -73,10 +75,9 @@ public class OrganizationAffiliationPrimaryOrganization extends AbstractReferenc
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_SUBQUERY + " @> ?";
+				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_QUERY;
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "(SELECT count(*) FROM jsonb_array_elements(" + IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+				case CODE_AND_NO_SYSTEM_PROPERTY -> IDENTIFIERS_NO_SYSTEM_QUERY;
 			};
 		};
 	}
@@ -125,6 +126,9 @@ public class OrganizationAffiliationPrimaryOrganization extends AbstractReferenc
 	{
 		OrganizationDao dao = daoProvider.getOrganizationDao();
 		Reference reference = resource.getOrganization();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		try
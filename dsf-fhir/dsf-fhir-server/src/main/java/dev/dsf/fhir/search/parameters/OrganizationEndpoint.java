@@ -71,13 +71,9 @@ public class OrganizationEndpoint extends AbstractReferenceParameter<Organizatio
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
 				case CODE, CODE_AND_SYSTEM, SYSTEM ->
-					"(SELECT jsonb_agg(identifier) FROM (SELECT identifier FROM current_endpoints, jsonb_array_elements(endpoint->'identifier') identifier"
-							+ " WHERE ('Endpoint/' || (endpoint->>'id')) IN (SELECT reference->>'reference' FROM jsonb_array_elements(organization->'endpoint') reference)"
-							+ " ) AS identifiers) @> ?";
+					referenceArrayIdentifierQuery("organization->'endpoint'", TARGET_RESOURCE_TYPE_NAME);
 				case CODE_AND_NO_SYSTEM_PROPERTY ->
-					"(SELECT count(*) FROM (SELECT identifier FROM current_endpoints, jsonb_array_elements(endpoint->'identifier') identifier"
-							+ " WHERE ('Endpoint/' || (endpoint->>'id')) IN (SELECT reference->>'reference' FROM jsonb_array_elements(organization->'endpoint') reference)"
-							+ " ) AS identifiers WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+					referenceArrayIdentifierNoSystemQuery("organization->'endpoint'", TARGET_RESOURCE_TYPE_NAME);
 			};
 		};
 	}
@@ -126,6 +122,9 @@ public class OrganizationEndpoint extends AbstractReferenceParameter<Organizatio
 		EndpointDao dao = daoProvider.getEndpointDao();
 		for (Reference reference : resource.getEndpoint())
 		{
+			if (reference.getResource() != null)
+				continue;
+
 			IIdType idType = reference.getReferenceElement();
 
 			try
@@ -55,8 +55,10 @@ public class PractitionerRolePractitioner extends AbstractReferenceParameter<Pra
 				RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + TARGET_RESOURCE_TYPE_NAME);
 	}
 
-	private static final String PRACTITIONER_IDENTIFIERS_SUBQUERY = "(SELECT practitioner->'identifier' FROM current_practitioners"
-			+ " WHERE ('Practitioner/' || (practitioner->>'id')) = practitioner_role->'practitioner'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"practitioner_role->'practitioner'->>'reference'", "Practitioner");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"practitioner_role->'practitioner'->>'reference'", "Practitioner");
 
 	public PractitionerRolePractitioner()
 	{
@@ -73,11 +75,9 @@ public class PractitionerRolePractitioner extends AbstractReferenceParameter<Pra
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE, CODE_AND_SYSTEM, SYSTEM -> PRACTITIONER_IDENTIFIERS_SUBQUERY + " @> ?";
+				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_QUERY;
 
-				case CODE_AND_NO_SYSTEM_PROPERTY ->
-					"(SELECT count(*) FROM jsonb_array_elements(" + PRACTITIONER_IDENTIFIERS_SUBQUERY
-							+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+				case CODE_AND_NO_SYSTEM_PROPERTY -> IDENTIFIERS_NO_SYSTEM_QUERY;
 			};
 		};
 	}
@@ -126,6 +126,9 @@ public class PractitionerRolePractitioner extends AbstractReferenceParameter<Pra
 	{
 		PractitionerDao dao = daoProvider.getPractitionerDao();
 		Reference reference = resource.getPractitioner();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		try
@@ -62,14 +62,12 @@ public class QuestionnaireResponseAuthor extends AbstractReferenceParameter<Ques
 				.map(target -> RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + target).toList();
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT practitioner->'identifier' FROM current_practitioners "
-			+ "WHERE ('Practitioner/' || (practitioner->>'id')) = questionnaire_response->'author'->>'reference' "
-			+ "UNION SELECT organization->'identifier' FROM current_organizations "
-			+ "WHERE ('Organization/' || (organization->>'id')) = questionnaire_response->'author'->>'reference' "
-			+ "UNION SELECT patient->'identifier' FROM current_patients "
-			+ "WHERE ('Patient/' || (patient->>'id')) = questionnaire_response->'author'->>'reference' "
-			+ "UNION SELECT practitioner_role->'identifier' FROM current_practitioner_roles "
-			+ "WHERE ('PractitionerRole/' || (practitioner_role->>'id')) = questionnaire_response->'author'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"questionnaire_response->'author'->>'reference'", "Practitioner", "Organization", "Patient",
+			"PractitionerRole");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"questionnaire_response->'author'->>'reference'", "Practitioner", "Organization", "Patient",
+			"PractitionerRole");
 
 	public QuestionnaireResponseAuthor()
 	{
@@ -89,18 +87,16 @@ public class QuestionnaireResponseAuthor extends AbstractReferenceParameter<Ques
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE -> "(" + IDENTIFIERS_SUBQUERY
-						+ " @> ? OR questionnaire_response->'author'->'identifier'->>'value' = ?)";
+				case CODE -> "(" + IDENTIFIERS_QUERY
+						+ " OR questionnaire_response->'author'->'identifier'->>'value' = ?)";
 
-				case CODE_AND_SYSTEM -> "(" + IDENTIFIERS_SUBQUERY
-						+ " @> ? OR (questionnaire_response->'author'->'identifier'->>'system' = ? AND questionnaire_response->'author'->'identifier'->>'value' = ?))";
+				case CODE_AND_SYSTEM -> "(" + IDENTIFIERS_QUERY
+						+ " OR (questionnaire_response->'author'->'identifier'->>'system' = ? AND questionnaire_response->'author'->'identifier'->>'value' = ?))";
 
-				case SYSTEM -> "(" + IDENTIFIERS_SUBQUERY
-						+ " @> ? OR questionnaire_response->'author'->'identifier'->>'system' = ?)";
+				case SYSTEM -> "(" + IDENTIFIERS_QUERY
+						+ " OR questionnaire_response->'author'->'identifier'->>'system' = ?)";
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "((SELECT count(*) FROM jsonb_array_elements("
-						+ IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0"
+				case CODE_AND_NO_SYSTEM_PROPERTY -> "(" + IDENTIFIERS_NO_SYSTEM_QUERY
 						+ " OR (questionnaire_response->'author'->'identifier'->>'system' = NULL AND questionnaire_response->'author'->'identifier'->>'value' = ?))";
 			};
 		};
@@ -183,6 +179,9 @@ public class QuestionnaireResponseAuthor extends AbstractReferenceParameter<Ques
 		Reference reference = resource.getAuthor();
 		if (reference != null)
 		{
+			if (reference.getResource() != null)
+				return;
+
 			IIdType idType = reference.getReferenceElement();
 
 			if (idType.hasResourceType())
@@ -61,12 +61,10 @@ public class QuestionnaireResponseSubject extends AbstractReferenceParameter<Que
 				.map(target -> RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + target).toList();
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT practitioner->'identifier' FROM current_practitioners "
-			+ "WHERE ('Practitioner/' || (practitioner->>'id')) = questionnaire_response->'subject'->>'reference' "
-			+ "UNION SELECT organization->'identifier' FROM current_organizations "
-			+ "WHERE ('Organization/' || (organization->>'id')) = questionnaire_response->'subject'->>'reference' "
-			+ "UNION SELECT practitioner_role->'identifier' FROM current_practitioner_roles "
-			+ "WHERE ('PractitionerRole/' || (practitioner_role->>'id')) = questionnaire_response->'subject'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"questionnaire_response->'subject'->>'reference'", "Practitioner", "Organization", "PractitionerRole");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"questionnaire_response->'subject'->>'reference'", "Practitioner", "Organization", "PractitionerRole");
 
 	public QuestionnaireResponseSubject()
 	{
@@ -86,10 +84,9 @@ public class QuestionnaireResponseSubject extends AbstractReferenceParameter<Que
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_SUBQUERY + " @> ?";
+				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_QUERY;
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "(SELECT count(*) FROM jsonb_array_elements(" + IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+				case CODE_AND_NO_SYSTEM_PROPERTY -> IDENTIFIERS_NO_SYSTEM_QUERY;
 			};
 		};
 	}
@@ -140,6 +137,9 @@ public class QuestionnaireResponseSubject extends AbstractReferenceParameter<Que
 			throws SQLException
 	{
 		Reference reference = resource.getSubject();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		if (idType.hasResourceType())
@@ -71,13 +71,9 @@ public class ResearchStudyEnrollment extends AbstractReferenceParameter<Research
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
 				case CODE, CODE_AND_SYSTEM, SYSTEM ->
-					"(SELECT jsonb_agg(identifier) FROM (SELECT identifier FROM current_groups, jsonb_array_elements(group_json->'identifier') identifier"
-							+ " WHERE ('Group/' || (group_json->>'id')) IN (SELECT reference->>'reference' FROM jsonb_array_elements(research_study->'enrollment') reference)"
-							+ " ) AS identifiers) @> ?";
+					referenceArrayIdentifierQuery("research_study->'enrollment'", TARGET_RESOURCE_TYPE_NAME);
 				case CODE_AND_NO_SYSTEM_PROPERTY ->
-					"(SELECT count(*) FROM (SELECT identifier FROM current_groups, jsonb_array_elements(group_json->'identifier') identifier"
-							+ " WHERE ('Group/' || (group_json->>'id')) IN (SELECT reference->>'reference' FROM jsonb_array_elements(research_study->'enrollment') reference)"
-							+ " ) AS identifiers WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+					referenceArrayIdentifierNoSystemQuery("research_study->'enrollment'", TARGET_RESOURCE_TYPE_NAME);
 			};
 		};
 	}
@@ -126,6 +122,9 @@ public class ResearchStudyEnrollment extends AbstractReferenceParameter<Research
 		GroupDao dao = daoProvider.getGroupDao();
 		for (Reference reference : resource.getEnrollment())
 		{
+			if (reference.getResource() != null)
+				continue;
+
 			IIdType idType = reference.getReferenceElement();
 
 			try
@@ -58,10 +58,10 @@ public class ResearchStudyPrincipalInvestigator extends AbstractReferenceParamet
 				.map(target -> RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + target).toList();
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT practitioner->'identifier' FROM current_practitioners "
-			+ "WHERE ('Practitioner/' || (practitioner->>'id')) = research_study->'principalInvestigator'->>'reference' "
-			+ "UNION SELECT practitioner_role->'identifier' FROM current_practitioner_roles "
-			+ "WHERE ('PractitionerRole/' || (practitioner_role->>'id')) = research_study->'principalInvestigator'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery(
+			"research_study->'principalInvestigator'->>'reference'", "Practitioner", "PractitionerRole");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"research_study->'principalInvestigator'->>'reference'", "Practitioner", "PractitionerRole");
 
 	public ResearchStudyPrincipalInvestigator()
 	{
@@ -80,10 +80,9 @@ public class ResearchStudyPrincipalInvestigator extends AbstractReferenceParamet
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_SUBQUERY + " @> ?";
+				case CODE, CODE_AND_SYSTEM, SYSTEM -> IDENTIFIERS_QUERY;
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "(SELECT count(*) FROM jsonb_array_elements(" + IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0";
+				case CODE_AND_NO_SYSTEM_PROPERTY -> IDENTIFIERS_NO_SYSTEM_QUERY;
 			};
 		};
 	}
@@ -133,6 +132,9 @@ public class ResearchStudyPrincipalInvestigator extends AbstractReferenceParamet
 	protected void doResolveReferencesForMatching(ResearchStudy resource, DaoProvider daoProvider) throws SQLException
 	{
 		Reference reference = resource.getPrincipalInvestigator();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		if (idType.hasResourceType())
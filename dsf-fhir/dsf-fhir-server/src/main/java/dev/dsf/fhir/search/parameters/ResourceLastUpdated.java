@@ -15,8 +15,12 @@
  */
 package dev.dsf.fhir.search.parameters;
 
+import java.util.Set;
+
+import org.hl7.fhir.r4.model.Binary;
 import org.hl7.fhir.r4.model.Enumerations.SearchParamType;
 import org.hl7.fhir.r4.model.Resource;
+import org.hl7.fhir.r4.model.Task;
 
 import dev.dsf.fhir.search.SearchQueryParameter.SearchParameterDefinition;
 import dev.dsf.fhir.search.parameters.basic.AbstractDateTimeParameter;
@@ -26,9 +30,14 @@ public class ResourceLastUpdated<R extends Resource> extends AbstractDateTimePar
 {
 	public static final String PARAMETER_NAME = "_lastUpdated";
 
+	// resource tables with a fhir_timestamptz(meta.lastUpdated) expression index
+	private static final Set<Class<? extends Resource>> TIMESTAMP_INDEXED = Set.of(Task.class, Binary.class);
+
 	public ResourceLastUpdated(Class<R> resourceType, String resourceColumn)
 	{
-		super(resourceType, PARAMETER_NAME, resourceColumn + "->'meta'->>'lastUpdated'", fromInstant(
-				r -> r.hasMeta() && r.getMeta().hasLastUpdatedElement(), r -> r.getMeta().getLastUpdatedElement()));
+		super(resourceType, PARAMETER_NAME, resourceColumn + "->'meta'->>'lastUpdated'",
+				TIMESTAMP_INDEXED.contains(resourceType),
+				fromInstant(r -> r.hasMeta() && r.getMeta().hasLastUpdatedElement(),
+						r -> r.getMeta().getLastUpdatedElement()));
 	}
 }
@@ -28,7 +28,7 @@ public class TaskAuthoredOn extends AbstractDateTimeParameter<Task>
 
 	public TaskAuthoredOn()
 	{
-		super(Task.class, PARAMETER_NAME, "task->>'authoredOn'",
+		super(Task.class, PARAMETER_NAME, "task->>'authoredOn'", true,
 				fromDateTime(Task::hasAuthoredOnElement, Task::getAuthoredOnElement));
 	}
 }
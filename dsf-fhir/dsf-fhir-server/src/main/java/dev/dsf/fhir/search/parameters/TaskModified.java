@@ -28,7 +28,7 @@ public class TaskModified extends AbstractDateTimeParameter<Task>
 
 	public TaskModified()
 	{
-		super(Task.class, PARAMETER_NAME, "task->>'lastModified'",
+		super(Task.class, PARAMETER_NAME, "task->>'lastModified'", true,
 				fromDateTime(Task::hasLastModifiedElement, Task::getLastModifiedElement));
 	}
 }
@@ -62,14 +62,10 @@ public class TaskRequester extends AbstractReferenceParameter<Task>
 				.map(target -> RESOURCE_TYPE_NAME + ":" + PARAMETER_NAME + ":" + target).toList();
 	}
 
-	private static final String IDENTIFIERS_SUBQUERY = "(SELECT practitioner->'identifier' FROM current_practitioners "
-			+ "WHERE ('Practitioner/' || (practitioner->>'id')) = task->'requester'->>'reference' "
-			+ "UNION SELECT organization->'identifier' FROM current_organizations "
-			+ "WHERE ('Organization/' || (organization->>'id')) = task->'requester'->>'reference' "
-			+ "UNION SELECT patient->'identifier' FROM current_patients "
-			+ "WHERE ('Patient/' || (patient->>'id')) = task->'requester'->>'reference' "
-			+ "UNION SELECT practitioner_role->'identifier' FROM current_practitioner_roles "
-			+ "WHERE ('PractitionerRole/' || (practitioner_role->>'id')) = task->'requester'->>'reference')";
+	private static final String IDENTIFIERS_QUERY = referenceIdentifierQuery("task->'requester'->>'reference'",
+			"Practitioner", "Organization", "Patient", "PractitionerRole");
+	private static final String IDENTIFIERS_NO_SYSTEM_QUERY = referenceIdentifierNoSystemQuery(
+			"task->'requester'->>'reference'", "Practitioner", "Organization", "Patient", "PractitionerRole");
 
 	public TaskRequester()
 	{
@@ -89,16 +85,14 @@ public class TaskRequester extends AbstractReferenceParameter<Task>
 
 			case IDENTIFIER -> switch (valueAndType.identifier.type)
 			{
-				case CODE -> "(" + IDENTIFIERS_SUBQUERY + " @> ? OR task->'requester'->'identifier'->>'value' = ?)";
+				case CODE -> "(" + IDENTIFIERS_QUERY + " OR task->'requester'->'identifier'->>'value' = ?)";
 
-				case CODE_AND_SYSTEM -> "(" + IDENTIFIERS_SUBQUERY
-						+ " @> ? OR (task->'requester'->'identifier'->>'system' = ? AND task->'requester'->'identifier'->>'value' = ?))";
+				case CODE_AND_SYSTEM -> "(" + IDENTIFIERS_QUERY
+						+ " OR (task->'requester'->'identifier'->>'system' = ? AND task->'requester'->'identifier'->>'value' = ?))";
 
-				case SYSTEM -> "(" + IDENTIFIERS_SUBQUERY + " @> ? OR task->'requester'->'identifier'->>'system' = ?)";
+				case SYSTEM -> "(" + IDENTIFIERS_QUERY + " OR task->'requester'->'identifier'->>'system' = ?)";
 
-				case CODE_AND_NO_SYSTEM_PROPERTY -> "((SELECT count(*) FROM jsonb_array_elements("
-						+ IDENTIFIERS_SUBQUERY
-						+ ") identifier WHERE identifier->>'value' = ? AND NOT (identifier ?? 'system')) > 0"
+				case CODE_AND_NO_SYSTEM_PROPERTY -> "(" + IDENTIFIERS_NO_SYSTEM_QUERY
 						+ " OR (task->'requester'->'identifier'->>'system' = NULL AND task->'requester'->'identifier'->>'value' = ?))";
 			};
 		};
@@ -182,6 +176,9 @@ public class TaskRequester extends AbstractReferenceParameter<Task>
 	protected void doResolveReferencesForMatching(Task resource, DaoProvider daoProvider) throws SQLException
 	{
 		Reference reference = resource.getRequester();
+		if (reference.getResource() != null)
+			return;
+
 		IIdType idType = reference.getReferenceElement();
 
 		if (idType.hasResourceType())
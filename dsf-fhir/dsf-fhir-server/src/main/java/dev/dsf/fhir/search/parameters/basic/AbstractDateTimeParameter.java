@@ -100,17 +100,39 @@ public abstract class AbstractDateTimeParameter<R extends Resource> extends Abst
 	private static final DateTimeFormatter YEAR_FORMAT = DateTimeFormatter.ofPattern("yyyy");
 	private static final DateTimeFormatter YEAR_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
 
-	private final String timestampColumn;
+	protected final String timestampColumn;
+	private final boolean timestampIndexed;
 	private final Function<R, Optional<java.util.Date>> getDate;
 
 	protected DateTimeValueAndTypeAndSearchType valueAndType;
 
 	public AbstractDateTimeParameter(Class<R> resourceType, String parameterName, String timestampColumn,
 			Function<R, Optional<java.util.Date>> getDate)
+	{
+		this(resourceType, parameterName, timestampColumn, false, getDate);
+	}
+
+	/**
+	 * @param resourceType
+	 *            not <code>null</code>
+	 * @param parameterName
+	 *            not <code>null</code>
+	 * @param timestampColumn
+	 *            not <code>null</code>
+	 * @param timestampIndexed
+	 *            <code>true</code> if an expression index on <code>fhir_timestamptz(timestampColumn)</code> exists,
+	 *            filter and sort sql use the immutable database function instead of a <code>::timestamptz</code> cast
+	 *            to match the index
+	 * @param getDate
+	 *            not <code>null</code>
+	 */
+	public AbstractDateTimeParameter(Class<R> resourceType, String parameterName, String timestampColumn,
+			boolean timestampIndexed, Function<R, Optional<java.util.Date>> getDate)
 	{
 		super(resourceType, parameterName);
 
 		this.timestampColumn = timestampColumn;
+		this.timestampIndexed = timestampIndexed;
 		this.getDate = getDate;
 	}
 
@@ -270,7 +292,18 @@ public abstract class AbstractDateTimeParameter<R extends Resource> extends Abst
 
 	private String getDateTimeQuery(String operator)
 	{
-		return "(" + timestampColumn + ")::timestamptz " + operator + " ?";
+		return getTimestampSql() + " " + operator + " ?";
+	}
+
+	/**
+	 * @return sql expression converting the timestamp column to <code>timestamptz</code>
+	 */
+	protected String getTimestampSql()
+	{
+		if (timestampIndexed)
+			return "fhir_timestamptz(" + timestampColumn + ")";
+		else
+			return "(" + timestampColumn + ")::timestamptz";
 	}
 
 	private String getDateQuery(String operator)
@@ -375,6 +408,6 @@ public abstract class AbstractDateTimeParameter<R extends Resource> extends Abst
 	@Override
 	protected String getSortSql(String sortDirectionWithSpacePrefix)
 	{
-		return "(" + timestampColumn + ")::timestamptz" + sortDirectionWithSpacePrefix;
+		return getTimestampSql() + sortDirectionWithSpacePrefix;
 	}
 }
@@ -19,6 +19,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.hl7.fhir.r4.model.Binary;
 import org.hl7.fhir.r4.model.DomainResource;
@@ -41,6 +43,72 @@ public abstract class AbstractReferenceParameter<R extends DomainResource> exten
 		return List.of(PARAMETER_NAME_IDENTIFIER_MODIFIER);
 	}
 
+	/**
+	 * Identifiers of referenced resources are looked up in the trigger maintained <code>reference_identifier</code>
+	 * table, keyed by <code>Type/id</code>.
+	 *
+	 * @param referenceSql
+	 *            sql expression of the literal reference, not <code>null</code>
+	 * @param referenceTypeNames
+	 *            resource types of the reference target, not <code>null</code>, not empty
+	 * @return sql with one jsonb identifier array parameter
+	 */
+	protected static String referenceIdentifierQuery(String referenceSql, String... referenceTypeNames)
+	{
+		return referenceSql + " IN (SELECT reference FROM reference_identifier WHERE type IN ("
+				+ typeNamesSql(referenceTypeNames) + ") AND identifiers @> ?)";
+	}
+
+	/**
+	 * @param referenceSql
+	 *            sql expression of the literal reference, not <code>null</code>
+	 * @param referenceTypeNames
+	 *            resource types of the reference target, not <code>null</code>, not empty
+	 * @return sql with one identifier value parameter, matching identifiers without system property
+	 * @see #referenceIdentifierQuery(String, String...)
+	 */
+	protected static String referenceIdentifierNoSystemQuery(String referenceSql, String... referenceTypeNames)
+	{
+		return referenceSql
+				+ " IN (SELECT reference FROM reference_identifier, jsonb_array_elements(identifiers) identifier WHERE type IN ("
+				+ typeNamesSql(referenceTypeNames)
+				+ ") AND identifier->>'value' = ? AND NOT (identifier ?? 'system'))";
+	}
+
+	/**
+	 * @param referenceArraySql
+	 *            sql expression of a jsonb array of references, not <code>null</code>
+	 * @param referenceTypeNames
+	 *            resource types of the reference targets, not <code>null</code>, not empty
+	 * @return sql with one jsonb identifier array parameter
+	 * @see #referenceIdentifierQuery(String, String...)
+	 */
+	protected static String referenceArrayIdentifierQuery(String referenceArraySql, String... referenceTypeNames)
+	{
+		return "EXISTS (SELECT 1 FROM jsonb_array_elements(" + referenceArraySql + ") array_reference WHERE "
+				+ referenceIdentifierQuery("array_reference->>'reference'", referenceTypeNames) + ")";
+	}
+
+	/**
+	 * @param referenceArraySql
+	 *            sql expression of a jsonb array of references, not <code>null</code>
+	 * @param referenceTypeNames
+	 *            resource types of the reference targets, not <code>null</code>, not empty
+	 * @return sql with one identifier value parameter, matching identifiers without system property
+	 * @see #referenceIdentifierNoSystemQuery(String, String...)
+	 */
+	protected static String referenceArrayIdentifierNoSystemQuery(String referenceArraySql,
+			String... referenceTypeNames)
+	{
+		return "EXISTS (SELECT 1 FROM jsonb_array_elements(" + referenceArraySql + ") array_reference WHERE "
+				+ referenceIdentifierNoSystemQuery("array_reference->>'reference'", referenceTypeNames) + ")";
+	}
+
+	private static String typeNamesSql(String... referenceTypeNames)
+	{
+		return Stream.of(referenceTypeNames).map(t -> "'" + t + "'").collect(Collectors.joining(", "));
+	}
+
 	protected enum ReferenceSearchType
 	{
 		ID, TYPE_AND_ID, RESOURCE_NAME_AND_ID, TYPE_AND_RESOURCE_NAME_AND_ID, URL, IDENTIFIER
@@ -241,13 +309,28 @@ public abstract class AbstractReferenceParameter<R extends DomainResource> exten
 		};
 	}
 
+	/**
+	 * References are only resolved for <code>:identifier</code> searches, only these match against the referenced
+	 * resource.
+	 */
 	@Override
 	public void resolveReferencesForMatching(Resource resource, DaoProvider daoProvider) throws SQLException
 	{
-		if (resourceType.isInstance(resource))
+		if (resourceType.isInstance(resource) && ReferenceSearchType.IDENTIFIER.equals(valueAndType.type))
 			doResolveReferencesForMatching(resourceType.cast(resource), daoProvider);
 	}
 
+	/**
+	 * Resolved resources are set on the {@link org.hl7.fhir.r4.model.Reference} of the given resource. Implementations
+	 * should skip references already resolved, the same resource instance is matched against multiple subscriptions.
+	 *
+	 * @param resource
+	 *            not <code>null</code>
+	 * @param daoProvider
+	 *            not <code>null</code>
+	 * @throws SQLException
+	 *             if reading a referenced resource fails
+	 */
 	protected abstract void doResolveReferencesForMatching(R resource, DaoProvider daoProvider) throws SQLException;
 
 	@Override
@@ -45,4 +45,10 @@ public class ValidationSupportWithCacheAndEventHandler extends ValidationSupport
 		else if (event instanceof ResourceUpdatedEvent && resourceSupported(event.getResource()))
 			update(event.getResource());
 	}
+
+	@Override
+	public void handleEventsLost()
+	{
+		invalidateCaches();
+	}
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.CodeSystem;
+import org.hl7.fhir.r4.model.Resource;
+import org.hl7.fhir.r4.model.StructureDefinition;
+import org.hl7.fhir.r4.model.ValueSet;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.support.ConceptValidationOptions;
+import ca.uhn.fhir.context.support.IValidationSupport;
+import ca.uhn.fhir.context.support.LookupCodeRequest;
+import ca.uhn.fhir.context.support.ValidationSupportContext;
+import ca.uhn.fhir.context.support.ValueSetExpansionOptions;
+import dev.dsf.fhir.event.Event;
+import dev.dsf.fhir.event.EventHandler;
+import dev.dsf.fhir.event.ResourceCreatedEvent;
+import dev.dsf.fhir.event.ResourceDeletedEvent;
+import dev.dsf.fhir.event.ResourceUpdatedEvent;
+import dev.dsf.fhir.validation.ValidationSupportWithCache;
+
+/**
+ * Copy-on-write view of the shared {@link ValidationSupportWithCache} for a single batch or transaction bundle.
+ * StructureDefinitions, CodeSystems and ValueSets created, updated or deleted within the transaction are kept in a
+ * local overlay, all other lookups are answered by the shared cache. Deleted or replaced resources are fetched from
+ * the database using the transaction's connection.
+ */
+public class ValidationSupportWithTransactionOverlay implements IValidationSupport, EventHandler
+{
+	private static final class Overlay<R extends Resource>
+	{
+		final Class<R> type;
+		final Function<R, String> toUrl;
+		final Function<R, String> toVersion;
+
+		final Map<String, R> resourcesByUrl = new ConcurrentHashMap<>();
+		final Set<String> removedUrls = ConcurrentHashMap.newKeySet();
+		final Map<String, List<String>> urlsById = new ConcurrentHashMap<>();
+
+		Overlay(Class<R> type, Function<R, String> toUrl, Function<R, String> toVersion)
+		{
+			this.type = type;
+			this.toUrl = toUrl;
+			this.toVersion = toVersion;
+		}
+
+		List<String> urls(R resource)
+		{
+			String url = toUrl.apply(resource);
+			String version = toVersion.apply(resource);
+
+			return version == null ? List.of(url) : List.of(url, url + "|" + version);
+		}
+
+		boolean contains(String url)
+		{
+			return resourcesByUrl.containsKey(url) || removedUrls.contains(url);
+		}
+
+		boolean overlays(IBaseResource resource)
+		{
+			return type.isInstance(resource) && urls(type.cast(resource)).stream().anyMatch(this::contains);
+		}
+
+		void put(R resource, String sharedUrlAndVersion)
+		{
+			String id = resource.getIdElement().getIdPart();
+			remove(id, sharedUrlAndVersion);
+
+			List<String> urls = urls(resource);
+			urls.forEach(url ->
+			{
+				removedUrls.remove(url);
+				resourcesByUrl.put(url, resource);
+			});
+
+			if (id != null)
+				urlsById.put(id, urls);
+		}
+
+		void remove(String id, String sharedUrlAndVersion)
+		{
+			if (id == null)
+				return;
+
+			List<String> urls = urlsById.remove(id);
+			if (urls == null && sharedUrlAndVersion != null)
+			{
+				String[] split = sharedUrlAndVersion.split("\\|");
+				String url = split.length > 0 ? split[0] : "";
+				String version = split.length > 1 ? split[1] : "";
+
+				urls = List.of(url, url + "|" + version);
+			}
+
+			if (urls != null)
+			{
+				urls.forEach(url ->
+				{
+					resourcesByUrl.remove(url);
+					removedUrls.add(url);
+				});
+			}
+		}
+
+		IBaseResource fetch(String url, Function<String, IBaseResource> shared, Function<String, IBaseResource> db)
+		{
+			if (url == null || url.isBlank())
+				return null;
+
+			R resource = resourcesByUrl.get(url);
+			if (resource != null)
+				return resource;
+			else if (removedUrls.contains(url))
+				return db.apply(url);
+			else
+				return shared.apply(url);
+		}
+
+		Stream<R> resources()
+		{
+			return resourcesByUrl.values().stream().distinct();
+		}
+
+		void clear()
+		{
+			resourcesByUrl.clear();
+			removedUrls.clear();
+			urlsById.clear();
+		}
+	}
+
+	private final ValidationSupportWithCache shared;
+	private final IValidationSupport transactionDelegate;
+
+	private final Overlay<StructureDefinition> structureDefinitions = new Overlay<>(StructureDefinition.class,
+			StructureDefinition::getUrl, StructureDefinition::getVersion);
+	private final Overlay<CodeSystem> codeSystems = new Overlay<>(CodeSystem.class, CodeSystem::getUrl,
+			CodeSystem::getVersion);
+	private final Overlay<ValueSet> valueSets = new Overlay<>(ValueSet.class, ValueSet::getUrl, ValueSet::getVersion);
+
+	/**
+	 * @param shared
+	 *            not <code>null</code>, warm cache shared by all requests
+	 * @param transactionDelegate
+	 *            not <code>null</code>, fetches resources using the transaction's connection
+	 */
+	public ValidationSupportWithTransactionOverlay(ValidationSupportWithCache shared,
+			IValidationSupport transactionDelegate)
+	{
+		this.shared = Objects.requireNonNull(shared, "shared");
+		this.transactionDelegate = Objects.requireNonNull(transactionDelegate, "transactionDelegate");
+	}
+
+	@Override
+	public FhirContext getFhirContext()
+	{
+		return shared.getFhirContext();
+	}
+
+	@Override
+	public void handleEvent(Event event)
+	{
+		if (event == null)
+			return;
+
+		if (event instanceof ResourceCreatedEvent || event instanceof ResourceUpdatedEvent)
+		{
+			if (event.getResource() instanceof StructureDefinition s)
+				structureDefinitions.put(s, shared.getUrlAndVersion(event.getId()));
+			else if (event.getResource() instanceof CodeSystem c)
+				codeSystems.put(c, shared.getUrlAndVersion(event.getId()));
+			else if (event.getResource() instanceof ValueSet v)
+				valueSets.put(v, shared.getUrlAndVersion(event.getId()));
+		}
+		else if (event instanceof ResourceDeletedEvent)
+		{
+			if (StructureDefinition.class.equals(event.getResourceType()))
+				structureDefinitions.remove(event.getId(), shared.getUrlAndVersion(event.getId()));
+			else if (CodeSystem.class.equals(event.getResourceType()))
+				codeSystems.remove(event.getId(), shared.getUrlAndVersion(event.getId()));
+			else if (ValueSet.class.equals(event.getResourceType()))
+				valueSets.remove(event.getId(), shared.getUrlAndVersion(event.getId()));
+		}
+	}
+
+	@Override
+	public List<IBaseResource> fetchAllConformanceResources()
+	{
+		List<IBaseResource> all = new ArrayList<>(shared.fetchAllConformanceResources().stream()
+				.filter(r -> !structureDefinitions.overlays(r) && !codeSystems.overlays(r) && !valueSets.overlays(r))
+				.toList());
+
+		codeSystems.resources().forEach(all::add);
+		structureDefinitions.resources().forEach(all::add);
+		valueSets.resources().forEach(all::add);
+
+		return all;
+	}
+
+	@Override
+	public <T extends IBaseResource> List<T> fetchAllStructureDefinitions()
+	{
+		@SuppressWarnings("unchecked")
+		List<T> all = (List<T>) Stream.concat(
+				shared.<IBaseResource> fetchAllStructureDefinitions().stream()
+						.filter(r -> !structureDefinitions.overlays(r)),
+				structureDefinitions.resources()).collect(Collectors.toList());
+		return all;
+	}
+
+	@Override
+	public IBaseResource fetchStructureDefinition(String url)
+	{
+		return structureDefinitions.fetch(url, shared::fetchStructureDefinition,
+				transactionDelegate::fetchStructureDefinition);
+	}
+
+	@Override
+	public boolean isCodeSystemSupported(ValidationSupportContext theRootValidationSupport, String url)
+	{
+		return fetchCodeSystem(url) != null;
+	}
+
+	@Override
+	public IBaseResource fetchCodeSystem(String url)
+	{
+		return codeSystems.fetch(url, shared::fetchCodeSystem, transactionDelegate::fetchCodeSystem);
+	}
+
+	@Override
+	public boolean isValueSetSupported(ValidationSupportContext theRootValidationSupport, String url)
+	{
+		return fetchValueSet(url) != null;
+	}
+
+	@Override
+	public IBaseResource fetchValueSet(String url)
+	{
+		return valueSets.fetch(url, shared::fetchValueSet, transactionDelegate::fetchValueSet);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends IBaseResource> T fetchResource(Class<T> theClass, String theUri)
+	{
+		if (StructureDefinition.class.equals(theClass))
+			return (T) fetchStructureDefinition(theUri);
+		else if (CodeSystem.class.equals(theClass))
+			return (T) fetchCodeSystem(theUri);
+		else if (ValueSet.class.equals(theClass))
+			return (T) fetchValueSet(theUri);
+		else
+		{
+			// not cached, e.g. Measure or Questionnaire resources created within the transaction
+			T resource = transactionDelegate.fetchResource(theClass, theUri);
+			return resource != null ? resource : shared.fetchResource(theClass, theUri);
+		}
+	}
+
+	@Override
+	public ValueSetExpansionOutcome expandValueSet(ValidationSupportContext theRootValidationSupport,
+			ValueSetExpansionOptions theExpansionOptions, IBaseResource theValueSetToExpand)
+	{
+		return shared.expandValueSet(theRootValidationSupport, theExpansionOptions, theValueSetToExpand);
+	}
+
+	@Override
+	public CodeValidationResult validateCode(ValidationSupportContext theRootValidationSupport,
+			ConceptValidationOptions theOptions, String theCodeSystem, String theCode, String theDisplay,
+			String theValueSetUrl)
+	{
+		return shared.validateCode(theRootValidationSupport, theOptions, theCodeSystem, theCode, theDisplay,
+				theValueSetUrl);
+	}
+
+	@Override
+	public CodeValidationResult validateCodeInValueSet(ValidationSupportContext theRootValidationSupport,
+			ConceptValidationOptions theOptions, String theCodeSystem, String theCode, String theDisplay,
+			IBaseResource theValueSet)
+	{
+		return shared.validateCodeInValueSet(theRootValidationSupport, theOptions, theCodeSystem, theCode, theDisplay,
+				theValueSet);
+	}
+
+	@Deprecated
+	@Override
+	public LookupCodeResult lookupCode(ValidationSupportContext theRootValidationSupport, String theSystem,
+			String theCode)
+	{
+		return shared.lookupCode(theRootValidationSupport, theSystem, theCode);
+	}
+
+	@Override
+	public LookupCodeResult lookupCode(ValidationSupportContext theValidationSupportContext,
+			LookupCodeRequest theLookupCodeRequest)
+	{
+		return shared.lookupCode(theValidationSupportContext, theLookupCodeRequest);
+	}
+
+	@Override
+	public IBaseResource generateSnapshot(ValidationSupportContext theRootValidationSupport, IBaseResource theInput,
+			String theUrl, String theWebUrl, String theProfileName)
+	{
+		return shared.generateSnapshot(theRootValidationSupport, theInput, theUrl, theWebUrl, theProfileName);
+	}
+
+	/**
+	 * Only clears the transaction overlay, the shared cache is invalidated via committed events.
+	 */
+	@Override
+	public void invalidateCaches()
+	{
+		structureDefinitions.clear();
+		codeSystems.clear();
+		valueSets.clear();
+	}
+}
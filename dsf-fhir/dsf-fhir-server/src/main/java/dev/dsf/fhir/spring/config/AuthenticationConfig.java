@@ -22,7 +22,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import dev.dsf.common.auth.conf.IdentityProvider;
 import dev.dsf.common.auth.conf.RoleConfig;
 import dev.dsf.common.auth.conf.RoleConfigReader;
 import dev.dsf.fhir.authentication.EndpointProvider;
@@ -62,10 +61,10 @@ public class AuthenticationConfig
 	}
 
 	@Bean
-	public IdentityProvider identityProvider()
+	public IdentityProviderImpl identityProvider()
 	{
 		return new IdentityProviderImpl(roleConfig(), organizationProvider(), endpointProvider(),
-				propertiesConfig.getOrganizationIdentifierValue());
+				propertiesConfig.getOrganizationIdentifierValue(), propertiesConfig.getIdentityCacheTimeToLive());
 	}
 
 	@Bean
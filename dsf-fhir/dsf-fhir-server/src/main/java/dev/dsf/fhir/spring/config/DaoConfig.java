@@ -23,6 +23,7 @@ import org.postgresql.Driver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import dev.dsf.common.db.logging.DataSourceWithLogger;
 import dev.dsf.fhir.dao.ActivityDefinitionDao;
@@ -82,6 +83,7 @@ import dev.dsf.fhir.dao.jdbc.QuestionnaireResponseDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.ReadAccessDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.ReadByUrlDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.ResearchStudyDaoJdbc;
+import dev.dsf.fhir.dao.jdbc.StatisticsCompactor;
 import dev.dsf.fhir.dao.jdbc.StatisticsDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.StructureDefinitionDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.StructureDefinitionSnapshotDaoJdbc;
@@ -112,6 +114,8 @@ public class DaoConfig
 		dataSource.setUsername(propertiesConfig.getDbUsername());
 		dataSource.setPassword(toString(propertiesConfig.getDbPassword()));
 		dataSource.setDefaultReadOnly(true);
+		dataSource.setMaxTotal(propertiesConfig.getDbPoolMaxTotal());
+		dataSource.setMaxWait(propertiesConfig.getDbPoolMaxWait());
 
 		dataSource.setTestOnBorrow(true);
 		dataSource.setValidationQuery("SELECT 1");
@@ -135,6 +139,28 @@ public class DaoConfig
 		return propertiesConfig.getDebugLogMessageDbStatement() ? new DataSourceWithLogger(dataSource) : dataSource;
 	}
 
+	/**
+	 * Not wrapped with {@link DataSourceWithLogger}, connections are unwrapped to access PostgreSQL notifications.
+	 *
+	 * @return data source with two connections, one permanently used to listen for events, one to publish events
+	 */
+	@Bean
+	@Lazy
+	public DataSource eventTransportDataSource()
+	{
+		BasicDataSource dataSource = new BasicDataSource();
+		dataSource.setDriverClassName(Driver.class.getName());
+		dataSource.setUrl(propertiesConfig.getDbUrl());
+		dataSource.setUsername(propertiesConfig.getDbUsername());
+		dataSource.setPassword(toString(propertiesConfig.getDbPassword()));
+		dataSource.setMaxTotal(2);
+
+		dataSource.setTestOnBorrow(true);
+		dataSource.setValidationQuery("SELECT 1");
+
+		return dataSource;
+	}
+
 	private String toString(char[] password)
 	{
 		return password == null ? null : String.valueOf(password);
@@ -372,4 +398,10 @@ public class DaoConfig
 	{
 		return new StatisticsDaoJdbc(dataSource());
 	}
+
+	@Bean
+	public StatisticsCompactor statisticsCompactor()
+	{
+		return new StatisticsCompactor(statisticsDao(), StatisticsCompactor.DEFAULT_INTERVAL);
+	}
 }
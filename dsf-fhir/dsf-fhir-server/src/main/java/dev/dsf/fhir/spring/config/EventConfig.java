@@ -25,12 +25,15 @@ import org.hl7.fhir.r4.model.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import dev.dsf.fhir.dao.ResourceDao;
 import dev.dsf.fhir.event.EventGenerator;
 import dev.dsf.fhir.event.EventHandler;
 import dev.dsf.fhir.event.EventManager;
 import dev.dsf.fhir.event.EventManagerImpl;
+import dev.dsf.fhir.event.EventTransport;
+import dev.dsf.fhir.event.PostgreSqlEventTransport;
 import dev.dsf.fhir.subscription.MatcherFactory;
 import dev.dsf.fhir.subscription.WebSocketSubscriptionManager;
 import dev.dsf.fhir.subscription.WebSocketSubscriptionManagerImpl;
@@ -53,6 +56,12 @@ public class EventConfig
 	@Autowired
 	private ValidationConfig validationConfig;
 
+	@Autowired
+	private AuthenticationConfig authenticationConfig;
+
+	@Autowired
+	private PropertiesConfig propertiesConfig;
+
 	@Bean
 	public MatcherFactory matcherFactory()
 	{
@@ -97,17 +106,28 @@ public class EventConfig
 	public EventManager eventManager()
 	{
 		List<EventHandler> eventHandlers = Stream
-				.of(validationConfig.validationSupport(), webSocketSubscriptionManager())
+				.of(validationConfig.validationSupport(), webSocketSubscriptionManager(),
+						authenticationConfig.identityProvider())
 				.filter(o -> o instanceof EventHandler).map(o -> (EventHandler) o).collect(Collectors.toList());
 
-		return new EventManagerImpl(eventHandlers);
+		return new EventManagerImpl(eventHandlers,
+				propertiesConfig.getEventTransportPostgreSqlEnabled() ? eventTransport() : null);
+	}
+
+	@Bean
+	@Lazy
+	public EventTransport eventTransport()
+	{
+		return new PostgreSqlEventTransport(daoConfig.eventTransportDataSource(), daoConfig.daoProvider(),
+				PostgreSqlEventTransport.DEFAULT_CHANNEL);
 	}
 
 	@Bean
 	public WebSocketSubscriptionManager webSocketSubscriptionManager()
 	{
 		return new WebSocketSubscriptionManagerImpl(daoConfig.daoProvider(), helperConfig.exceptionHandler(),
-				matcherFactory(), fhirConfig.fhirContext(), authorizationConfig.authorizationRuleProvider());
+				matcherFactory(), fhirConfig.fhirContext(), authorizationConfig.authorizationRuleProvider(),
+				propertiesConfig.getWebsocketSendQueueSize(), propertiesConfig.getWebsocketSendQueueCoalescePing());
 	}
 
 	@Bean
@@ -84,6 +84,14 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("${dev.dsf.fhir.db.user.permanent.delete.password}")
 	private char[] dbPermanentDeletePassword;
 
+	@Documentation(description = "Maximum number of concurrent connections to the database, used for the fhir server user", recommendation = "Limits concurrent database access if requests are executed on virtual threads, see *DEV_DSF_SERVER_VIRTUAL_THREADS*")
+	@Value("${dev.dsf.fhir.db.pool.max.total:8}")
+	private int dbPoolMaxTotal;
+
+	@Documentation(description = "Maximum time to wait for a free database connection before failing the request, ISO 8601 duration; previous versions waited indefinitely, negative values are not allowed")
+	@Value("${dev.dsf.fhir.db.pool.max.wait:PT60S}")
+	private String dbPoolMaxWait;
+
 	@Documentation(required = true, description = "Base address of this DSF FHIR server to read/store fhir resources", example = "https://foo.bar/fhir")
 	@Value("${dev.dsf.fhir.server.base.url}")
 	private String serverBaseUrl;
@@ -140,6 +148,22 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 	@Value("${dev.dsf.fhir.server.static.resource.cache:true}")
 	private boolean staticResourceCacheEnabled;
 
+	@Documentation(description = "Maximum time client certificate identities are cached, cached identities are also removed if Organization, Endpoint or OrganizationAffiliation resources change; set to `PT0S` to disable the cache")
+	@Value("${dev.dsf.fhir.server.identity.cache.ttl:PT5M}")
+	private String identityCacheTimeToLive;
+
+	@Documentation(description = "To distribute resource events (websocket subscriptions, cache invalidation) between multiple DSF FHIR server instances using the same database via PostgreSQL `LISTEN/NOTIFY`, set to `true`", recommendation = "Only required if more than one DSF FHIR server instance is connected to the database")
+	@Value("${dev.dsf.fhir.server.event.transport.postgresql:false}")
+	private boolean eventTransportPostgreSqlEnabled;
+
+	@Documentation(description = "Maximum number of subscription notifications waiting to be sent per websocket session; if full, waiting `ping` notifications are discarded first, otherwise the session is closed with code 1013 (try again later) and the client has to reconnect")
+	@Value("${dev.dsf.fhir.server.websocket.send.queue.size:100}")
+	private int websocketSendQueueSize;
+
+	@Documentation(description = "To not queue another `ping` notification for a subscription while the same notification is still waiting to be sent, set to `true`")
+	@Value("${dev.dsf.fhir.server.websocket.send.queue.coalesce.ping:true}")
+	private boolean websocketSendQueueCoalescePing;
+
 	@Documentation(description = "To enable logging of webservices requests set to `true`", recommendation = "This debug function should only be activated during development; WARNING: Confidential information may be leaked via the debug log!")
 	@Value("${dev.dsf.fhir.debug.log.message.webserviceRequest:false}")
 	private boolean debugLogMessageWebserviceRequest;
@@ -319,6 +343,24 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 		return dbPermanentDeletePassword;
 	}
 
+	public int getDbPoolMaxTotal()
+	{
+		return dbPoolMaxTotal;
+	}
+
+	private Duration assertPositive(Duration duration)
+	{
+		if (duration != null && duration.isNegative())
+			throw new IllegalArgumentException("configured duration is negative");
+		else
+			return duration;
+	}
+
+	public Duration getDbPoolMaxWait()
+	{
+		return assertPositive(Duration.parse(dbPoolMaxWait));
+	}
+
 	public String getDsfServerBaseUrl()
 	{
 		return serverBaseUrl.endsWith("/") ? serverBaseUrl.substring(serverBaseUrl.length() - 1) : serverBaseUrl;
@@ -402,6 +444,26 @@ public class PropertiesConfig extends AbstractCertificateConfig implements Initi
 		return staticResourceCacheEnabled;
 	}
 
+	public Duration getIdentityCacheTimeToLive()
+	{
+		return Duration.parse(identityCacheTimeToLive);
+	}
+
+	public boolean getEventTransportPostgreSqlEnabled()
+	{
+		return eventTransportPostgreSqlEnabled;
+	}
+
+	public int getWebsocketSendQueueSize()
+	{
+		return websocketSendQueueSize;
+	}
+
+	public boolean getWebsocketSendQueueCoalescePing()
+	{
+		return websocketSendQueueCoalescePing;
+	}
+
 	public int getJettyStatusConnectorPort()
 	{
 		return jettyStatusConnectorPort;
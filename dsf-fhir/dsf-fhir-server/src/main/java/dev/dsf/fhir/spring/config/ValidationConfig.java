@@ -34,6 +34,7 @@ import dev.dsf.fhir.service.DefaultProfileProviderImpl;
 import dev.dsf.fhir.service.ValidationSupportWithCacheAndEventHandler;
 import dev.dsf.fhir.service.ValidationSupportWithFetchFromDb;
 import dev.dsf.fhir.service.ValidationSupportWithFetchFromDbWithTransaction;
+import dev.dsf.fhir.service.ValidationSupportWithTransactionOverlay;
 import dev.dsf.fhir.validation.ResourceValidator;
 import dev.dsf.fhir.validation.ResourceValidatorImpl;
 import dev.dsf.fhir.validation.SimpleValidationSupportChain;
@@ -55,7 +56,7 @@ public class ValidationConfig
 	private PropertiesConfig propertiesConfig;
 
 	@Bean
-	public IValidationSupport validationSupport()
+	public ValidationSupportWithCacheAndEventHandler validationSupport()
 	{
 		return new ValidationSupportWithCacheAndEventHandler(fhirConfig.fhirContext(),
 				validationSupportChain(new ValidationSupportWithFetchFromDb(fhirConfig.fhirContext(),
@@ -96,14 +97,11 @@ public class ValidationConfig
 	@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 	public IValidationSupport validationSupportWithTransaction(Connection connection)
 	{
-		ValidationSupportWithCacheAndEventHandler validationSupport = new ValidationSupportWithCacheAndEventHandler(
-				fhirConfig.fhirContext(),
-				validationSupportChain(new ValidationSupportWithFetchFromDbWithTransaction(fhirConfig.fhirContext(),
+		return new ValidationSupportWithTransactionOverlay(validationSupport(),
+				new ValidationSupportWithFetchFromDbWithTransaction(fhirConfig.fhirContext(),
 						daoConfig.structureDefinitionDao(), daoConfig.structureDefinitionSnapshotDao(),
 						daoConfig.codeSystemDao(), daoConfig.valueSetDao(), daoConfig.measureDao(),
-						daoConfig.questionnaireDao(), connection)));
-
-		return validationSupport.populateCache(validationSupport().fetchAllConformanceResources());
+						daoConfig.questionnaireDao(), connection));
 	}
 
 	@Bean
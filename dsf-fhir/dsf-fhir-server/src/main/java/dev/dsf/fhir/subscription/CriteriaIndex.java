@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.subscription;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.r4.model.PrimitiveType;
+import org.hl7.fhir.r4.model.Property;
+import org.hl7.fhir.r4.model.QuestionnaireResponse;
+import org.hl7.fhir.r4.model.Resource;
+import org.hl7.fhir.r4.model.Task;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Discrimination tree over subscription criteria of a single resource type. Criteria with a single exact
+ * <code>status</code> or <code>_profile</code> value are stored below the corresponding key, all other criteria below a
+ * wildcard node. Looking up a resource returns every entry that could match, the returned candidates still need to be
+ * evaluated with their full criteria.
+ *
+ * @param <T>
+ *            entry type
+ */
+final class CriteriaIndex<T>
+{
+	private record Discriminator(String parameterName, Set<Class<? extends Resource>> resourceTypes,
+			Predicate<String> isExactValue, Function<Resource, Set<String>> resourceKeys)
+	{
+		/**
+		 * @return <code>null</code> if the criteria do not constrain this discriminator to a single exact value or the
+		 *         value can not be compared to resource keys, e.g. <code>system|code</code> tokens or percent-encoded
+		 *         values
+		 */
+		String criteriaKey(Class<? extends Resource> resourceType, MultiValueMap<String, String> queryParameters)
+		{
+			if (!resourceTypes.contains(resourceType))
+				return null;
+
+			List<String> values = queryParameters.get(parameterName);
+			if (values == null || values.size() != 1)
+				return null;
+
+			String value = values.get(0);
+			return value == null || value.isBlank() || value.contains(",") || !isExactValue.test(value) ? null : value;
+		}
+
+		Set<String> resourceKeys(Class<? extends Resource> resourceType, Resource resource)
+		{
+			return resourceTypes.contains(resourceType) ? resourceKeys.apply(resource) : Collections.emptySet();
+		}
+	}
+
+	private static final Pattern STATUS_CODE = Pattern.compile("[A-Za-z0-9-]+");
+
+	private static final List<Discriminator> DISCRIMINATORS = List.of(
+			new Discriminator("status", Set.of(Task.class, QuestionnaireResponse.class),
+					v -> STATUS_CODE.matcher(v).matches(), CriteriaIndex::status),
+			new Discriminator("_profile", Set.of(Task.class, QuestionnaireResponse.class), v -> !v.contains("%"),
+					CriteriaIndex::profiles));
+
+	private static Set<String> status(Resource resource)
+	{
+		Property status = resource.getNamedProperty("status");
+		if (status == null || !status.hasValues())
+			return Collections.emptySet();
+
+		return status.getValues().stream().filter(v -> v instanceof PrimitiveType<?>)
+				.map(v -> ((PrimitiveType<?>) v).getValueAsString()).filter(v -> v != null)
+				.collect(Collectors.toSet());
+	}
+
+	private static Set<String> profiles(Resource resource)
+	{
+		if (!resource.hasMeta())
+			return Collections.emptySet();
+
+		return resource.getMeta().getProfile().stream().map(PrimitiveType::getValue).filter(v -> v != null)
+				.collect(Collectors.toSet());
+	}
+
+	private static final class Node<T>
+	{
+		final Map<String, Node<T>> byKey = new HashMap<>();
+		final List<T> entries = new ArrayList<>();
+		Node<T> wildcard;
+
+		Node<T> child(String key)
+		{
+			if (key == null)
+				return wildcard == null ? wildcard = new Node<>() : wildcard;
+			else
+				return byKey.computeIfAbsent(key, k -> new Node<>());
+		}
+	}
+
+	private final Class<? extends Resource> resourceType;
+	private final Node<T> root = new Node<>();
+	private int size;
+
+	CriteriaIndex(Class<? extends Resource> resourceType)
+	{
+		this.resourceType = resourceType;
+	}
+
+	/**
+	 * @param criteria
+	 *            subscription criteria, e.g. <code>Task?status=requested&amp;_profile=...</code>
+	 * @param entry
+	 *            not <code>null</code>
+	 */
+	void add(String criteria, T entry)
+	{
+		MultiValueMap<String, String> queryParameters = UriComponentsBuilder.fromUriString(criteria).build()
+				.getQueryParams();
+
+		Node<T> node = root;
+		for (Discriminator discriminator : DISCRIMINATORS)
+			node = node.child(discriminator.criteriaKey(resourceType, queryParameters));
+
+		node.entries.add(entry);
+		size++;
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @param resource
+	 *            may be <code>null</code>
+	 * @return entries whose criteria could match the given resource, each entry at most once, empty list if the given
+	 *         resource is <code>null</code>
+	 */
+	List<T> getCandidates(Resource resource)
+	{
+		List<T> candidates = new ArrayList<>();
+		if (resource == null)
+			return candidates;
+
+		List<Set<String>> resourceKeys = DISCRIMINATORS.stream().map(d -> d.resourceKeys(resourceType, resource))
+				.toList();
+		collect(root, 0, resourceKeys, candidates);
+
+		return candidates;
+	}
+
+	private void collect(Node<T> node, int level, List<Set<String>> resourceKeys, Collection<T> candidates)
+	{
+		if (node == null)
+			return;
+
+		if (level == DISCRIMINATORS.size())
+		{
+			candidates.addAll(node.entries);
+			return;
+		}
+
+		collect(node.wildcard, level + 1, resourceKeys, candidates);
+
+		for (String key : resourceKeys.get(level))
+			collect(node.byKey.get(key), level + 1, resourceKeys, candidates);
+	}
+}
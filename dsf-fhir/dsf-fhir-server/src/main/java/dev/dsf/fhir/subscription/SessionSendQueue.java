@@ -0,0 +1,274 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.subscription;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.CloseReason.CloseCodes;
+import jakarta.websocket.Session;
+
+/**
+ * Bounded outbound message queue of a single websocket session. Messages are sent one at a time in order by a drain
+ * task running on the given executor, the drain task is only active while messages are queued. A slow or unresponsive
+ * client therefore blocks at most one (virtual) thread and never holds more than <code>capacity</code> messages.
+ * <p>
+ * Resource payload messages are never dropped. If the queue is full, a waiting ping message is discarded to make room
+ * or, if there is none, the session is closed with {@link CloseCodes#TRY_AGAIN_LATER}. Clients are expected to
+ * reconnect and load missed resources via search. New ping messages are discarded if the queue is full.
+ */
+public final class SessionSendQueue
+{
+	private static final Logger logger = LoggerFactory.getLogger(SessionSendQueue.class);
+
+	private record Message(String text, boolean ping, long queuedAtNanos)
+	{
+	}
+
+	private final Session session;
+	private final Executor executor;
+	private final int capacity;
+	private final boolean coalescePings;
+	private final SessionSendQueueMetrics metrics;
+
+	private final Lock lock = new ReentrantLock();
+	private final Deque<Message> queue = new ArrayDeque<>();
+	private boolean draining;
+	private boolean closed;
+
+	/**
+	 * @param session
+	 *            not <code>null</code>
+	 * @param executor
+	 *            not <code>null</code>, should create virtual threads since sending blocks until the client accepted
+	 *            the message
+	 * @param capacity
+	 *            &gt; 0
+	 * @param coalescePings
+	 *            <code>true</code> to not queue a ping if the same ping is already waiting to be sent
+	 * @param metrics
+	 *            not <code>null</code>
+	 */
+	SessionSendQueue(Session session, Executor executor, int capacity, boolean coalescePings,
+			SessionSendQueueMetrics metrics)
+	{
+		this.session = Objects.requireNonNull(session, "session");
+		this.executor = Objects.requireNonNull(executor, "executor");
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity <= 0");
+		this.capacity = capacity;
+		this.coalescePings = coalescePings;
+		this.metrics = Objects.requireNonNull(metrics, "metrics");
+	}
+
+	/**
+	 * @param text
+	 *            not <code>null</code>
+	 */
+	void send(String text)
+	{
+		offer(text, false);
+	}
+
+	/**
+	 * @param text
+	 *            not <code>null</code>, identical ping texts are coalesced if configured
+	 */
+	void sendPing(String text)
+	{
+		offer(text, true);
+	}
+
+	private void offer(String text, boolean ping)
+	{
+		Objects.requireNonNull(text, "text");
+
+		boolean startDrain = false;
+		boolean closeSession = false;
+
+		lock.lock();
+		try
+		{
+			if (closed)
+				return;
+
+			if (ping && coalescePings && queue.stream().anyMatch(m -> m.ping() && m.text().equals(text)))
+			{
+				metrics.coalesced();
+				return;
+			}
+
+			if (queue.size() >= capacity)
+			{
+				if (ping)
+				{
+					metrics.dropped();
+					logger.warn("Send queue of websocket session {} full ({} messages), dropping new ping message",
+							session.getId(), capacity);
+					return;
+				}
+				else if (removeOldestPing())
+				{
+					metrics.dropped();
+					logger.warn("Send queue of websocket session {} full ({} messages), dropped oldest ping message",
+							session.getId(), capacity);
+				}
+				else
+				{
+					metrics.closedOnOverflow();
+					logger.warn("Send queue of websocket session {} full ({} messages), closing session",
+							session.getId(), capacity);
+
+					closeQueue();
+					closeSession = true;
+				}
+			}
+
+			if (!closeSession)
+			{
+				queue.addLast(new Message(text, ping, System.nanoTime()));
+				metrics.queued();
+
+				if (!draining)
+					draining = startDrain = true;
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		if (closeSession)
+			executor.execute(this::closeSessionTryAgainLater);
+		else if (startDrain)
+			executor.execute(this::drain);
+	}
+
+	private boolean removeOldestPing()
+	{
+		for (Iterator<Message> it = queue.iterator(); it.hasNext();)
+		{
+			if (it.next().ping())
+			{
+				it.remove();
+				metrics.dequeued();
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void closeSessionTryAgainLater()
+	{
+		try
+		{
+			session.close(new CloseReason(CloseCodes.TRY_AGAIN_LATER, "Send queue full"));
+		}
+		catch (IOException e)
+		{
+			logger.debug("Error while closing websocket, session {}", session.getId(), e);
+			logger.warn("Error while closing websocket, session {}: {} - {}", session.getId(),
+					e.getClass().getName(), e.getMessage());
+		}
+	}
+
+	private void drain()
+	{
+		while (true)
+		{
+			Message message;
+
+			lock.lock();
+			try
+			{
+				message = queue.pollFirst();
+				if (message == null)
+				{
+					draining = false;
+					return;
+				}
+
+				metrics.dequeued();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+
+			try
+			{
+				long start = System.nanoTime();
+				session.getBasicRemote().sendText(message.text());
+				long end = System.nanoTime();
+
+				metrics.sent(end - message.queuedAtNanos(), end - start);
+			}
+			catch (Exception e)
+			{
+				logger.debug("Error while sending event to remote with session id {}", session.getId(), e);
+				logger.warn("Error while sending event to remote with session id {}: {} - {}", session.getId(),
+						e.getClass().getName(), e.getMessage());
+			}
+		}
+	}
+
+	int size()
+	{
+		lock.lock();
+		try
+		{
+			return queue.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Discards all queued messages, messages offered after closing are ignored
+	 */
+	void close()
+	{
+		lock.lock();
+		try
+		{
+			closeQueue();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private void closeQueue()
+	{
+		closed = true;
+		queue.forEach(m -> metrics.dequeued());
+		queue.clear();
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.subscription;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated counters of all websocket {@link SessionSendQueue}s
+ */
+public final class SessionSendQueueMetrics
+{
+	private final LongAdder queueDepth = new LongAdder();
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder closedOnOverflow = new LongAdder();
+	private final LongAdder totalLatencyNanos = new LongAdder();
+	private final LongAdder totalSendNanos = new LongAdder();
+	private final LongAccumulator maxSendNanos = new LongAccumulator(Math::max, 0);
+
+	void queued()
+	{
+		queueDepth.increment();
+	}
+
+	void dequeued()
+	{
+		queueDepth.decrement();
+	}
+
+	void sent(long latencyNanos, long sendNanos)
+	{
+		sent.increment();
+		totalLatencyNanos.add(latencyNanos);
+		totalSendNanos.add(sendNanos);
+		maxSendNanos.accumulate(sendNanos);
+	}
+
+	void dropped()
+	{
+		dropped.increment();
+	}
+
+	void coalesced()
+	{
+		coalesced.increment();
+	}
+
+	void closedOnOverflow()
+	{
+		closedOnOverflow.increment();
+	}
+
+	/**
+	 * @return number of messages currently waiting in all send queues
+	 */
+	public long getQueueDepth()
+	{
+		return queueDepth.sum();
+	}
+
+	public long getSentCount()
+	{
+		return sent.sum();
+	}
+
+	public long getDroppedCount()
+	{
+		return dropped.sum();
+	}
+
+	public long getCoalescedCount()
+	{
+		return coalesced.sum();
+	}
+
+	/**
+	 * @return number of sessions closed because a resource payload message did not fit into the send queue
+	 */
+	public long getClosedOnOverflowCount()
+	{
+		return closedOnOverflow.sum();
+	}
+
+	/**
+	 * @return average time between queuing and a completed send, {@link Duration#ZERO} if nothing was sent yet
+	 */
+	public Duration getAverageLatency()
+	{
+		long count = sent.sum();
+		return count == 0 ? Duration.ZERO : Duration.ofNanos(totalLatencyNanos.sum() / count);
+	}
+
+	/**
+	 * @return average time spent sending a message to the client, {@link Duration#ZERO} if nothing was sent yet
+	 */
+	public Duration getAverageSendTime()
+	{
+		long count = sent.sum();
+		return count == 0 ? Duration.ZERO : Duration.ofNanos(totalSendNanos.sum() / count);
+	}
+
+	public Duration getMaxSendTime()
+	{
+		return Duration.ofNanos(maxSendNanos.get());
+	}
+
+	@Override
+	public String toString()
+	{
+		return "queueDepth: " + getQueueDepth() + ", sent: " + getSentCount() + ", dropped: " + getDroppedCount()
+				+ ", coalesced: " + getCoalescedCount() + ", closedOnOverflow: " + getClosedOnOverflowCount()
+				+ ", averageLatency: " + getAverageLatency()
+				+ ", averageSendTime: " + getAverageSendTime() + ", maxSendTime: " + getMaxSendTime();
+	}
+}
@@ -27,6 +27,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -55,7 +59,6 @@ import dev.dsf.fhir.help.ExceptionHandler;
 import dev.dsf.fhir.search.Matcher;
 import jakarta.websocket.CloseReason;
 import jakarta.websocket.CloseReason.CloseCodes;
-import jakarta.websocket.RemoteEndpoint.Async;
 import jakarta.websocket.Session;
 
 public class WebSocketSubscriptionManagerImpl
@@ -89,31 +92,22 @@ public class WebSocketSubscriptionManagerImpl
 		}
 	}
 
-	private static class SessionIdAndRemoteAsync
+	private static class SessionIdAndSendQueue
 	{
 		final String sessionId;
 
 		final Identity identity;
 		final Session session;
 
-		final Async remoteAsync;
+		final SessionSendQueue sendQueue;
 
-		SessionIdAndRemoteAsync(String sessionId)
-		{
-			this.sessionId = sessionId;
-
-			identity = null;
-			session = null;
-			remoteAsync = null;
-		}
-
-		SessionIdAndRemoteAsync(Identity identity, Session session)
+		SessionIdAndSendQueue(Identity identity, Session session, SessionSendQueue sendQueue)
 		{
 			this.sessionId = session.getId();
 
 			this.identity = identity;
 			this.session = session;
-			this.remoteAsync = session.getAsyncRemote();
+			this.sendQueue = sendQueue;
 		}
 
 		@Override
@@ -129,16 +123,17 @@ public class WebSocketSubscriptionManagerImpl
 				return true;
 			if (obj == null || getClass() != obj.getClass())
 				return false;
-			SessionIdAndRemoteAsync other = (SessionIdAndRemoteAsync) obj;
+			SessionIdAndSendQueue other = (SessionIdAndSendQueue) obj;
 			return Objects.equals(sessionId, other.sessionId);
 		}
 
 		void closeCredentialsExpired()
 		{
+			sendQueue.close();
+
 			try
 			{
-				if (session != null)
-					session.close(new CloseReason(CloseCodes.VIOLATED_POLICY, "Credentials expired"));
+				session.close(new CloseReason(CloseCodes.VIOLATED_POLICY, "Credentials expired"));
 			}
 			catch (IOException e)
 			{
@@ -149,7 +144,33 @@ public class WebSocketSubscriptionManagerImpl
 		}
 	}
 
-	private final ExecutorService executor = Executors.newCachedThreadPool();
+	public static final int DEFAULT_SEND_QUEUE_CAPACITY = 100;
+	public static final int EVENT_QUEUE_CAPACITY = 10_000;
+
+	// blocks the publishing thread until the dispatcher has room, running events on the caller would break event order
+	private static final RejectedExecutionHandler BLOCK_UNTIL_QUEUED = (runnable, executor) ->
+	{
+		if (executor.isShutdown())
+			throw new RejectedExecutionException("Event executor shut down");
+
+		try
+		{
+			executor.getQueue().put(runnable);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted while waiting for event queue", e);
+		}
+	};
+
+	// single dispatcher keeps event order
+	private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<>(EVENT_QUEUE_CAPACITY),
+			Thread.ofVirtual().name("websocket-subscription-events-", 0).factory(), BLOCK_UNTIL_QUEUED);
+	private final ExecutorService sendExecutor = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("websocket-send-", 0).factory());
+	private final SessionSendQueueMetrics sendQueueMetrics = new SessionSendQueueMetrics();
 
 	private final DaoProvider daoProvider;
 	private final SubscriptionDao subscriptionDao;
@@ -157,14 +178,41 @@ public class WebSocketSubscriptionManagerImpl
 	private final MatcherFactory matcherFactory;
 	private final FhirContext fhirContext;
 	private final AuthorizationRuleProvider authorizationRuleProvider;
+	private final int sendQueueCapacity;
+	private final boolean coalescePings;
 
 	private final AtomicBoolean firstCall = new AtomicBoolean(true);
 	private final ReadWriteMap<String, Subscription> subscriptionsByIdPart = new ReadWriteMap<>();
-	private final ReadWriteMap<Class<? extends Resource>, List<SubscriptionAndMatcher>> matchersByResource = new ReadWriteMap<>();
-	private final ReadWriteMap<String, Set<SessionIdAndRemoteAsync>> asyncRemotesBySubscriptionIdPart = new ReadWriteMap<>();
+	private final ReadWriteMap<Class<? extends Resource>, CriteriaIndex<SubscriptionAndMatcher>> matchersByResource = new ReadWriteMap<>();
+	private final ReadWriteMap<String, Set<SessionIdAndSendQueue>> sendQueuesBySubscriptionIdPart = new ReadWriteMap<>();
 
 	public WebSocketSubscriptionManagerImpl(DaoProvider daoProvider, ExceptionHandler exceptionHandler,
 			MatcherFactory matcherFactory, FhirContext fhirContext, AuthorizationRuleProvider authorizationRuleProvider)
+	{
+		this(daoProvider, exceptionHandler, matcherFactory, fhirContext, authorizationRuleProvider,
+				DEFAULT_SEND_QUEUE_CAPACITY, true);
+	}
+
+	/**
+	 * @param daoProvider
+	 *            not <code>null</code>
+	 * @param exceptionHandler
+	 *            not <code>null</code>
+	 * @param matcherFactory
+	 *            not <code>null</code>
+	 * @param fhirContext
+	 *            not <code>null</code>
+	 * @param authorizationRuleProvider
+	 *            not <code>null</code>
+	 * @param sendQueueCapacity
+	 *            &gt; 0, maximum number of messages waiting to be sent per websocket session, sessions are closed if
+	 *            a resource payload message does not fit
+	 * @param coalescePings
+	 *            <code>true</code> to not queue a ping for a subscription if the same ping is still waiting to be sent
+	 */
+	public WebSocketSubscriptionManagerImpl(DaoProvider daoProvider, ExceptionHandler exceptionHandler,
+			MatcherFactory matcherFactory, FhirContext fhirContext, AuthorizationRuleProvider authorizationRuleProvider,
+			int sendQueueCapacity, boolean coalescePings)
 	{
 		this.daoProvider = daoProvider;
 		this.subscriptionDao = daoProvider.getSubscriptionDao();
@@ -172,6 +220,8 @@ public class WebSocketSubscriptionManagerImpl
 		this.matcherFactory = matcherFactory;
 		this.fhirContext = fhirContext;
 		this.authorizationRuleProvider = authorizationRuleProvider;
+		this.sendQueueCapacity = sendQueueCapacity;
+		this.coalescePings = coalescePings;
 	}
 
 	@Override
@@ -183,6 +233,13 @@ public class WebSocketSubscriptionManagerImpl
 		Objects.requireNonNull(matcherFactory, "matcherFactory");
 		Objects.requireNonNull(fhirContext, "fhirContext");
 		Objects.requireNonNull(authorizationRuleProvider, "authorizationRuleProvider");
+		if (sendQueueCapacity <= 0)
+			throw new IllegalArgumentException("sendQueueCapacity <= 0");
+	}
+
+	public SessionSendQueueMetrics getSendQueueMetrics()
+	{
+		return sendQueueMetrics;
 	}
 
 	private void refreshMatchers()
@@ -193,22 +250,14 @@ public class WebSocketSubscriptionManagerImpl
 		try
 		{
 			List<Subscription> subscriptions = subscriptionDao.readByStatus(SubscriptionStatus.ACTIVE);
-			Map<Class<? extends Resource>, List<SubscriptionAndMatcher>> matchers = new HashMap<>();
+			Map<Class<? extends Resource>, CriteriaIndex<SubscriptionAndMatcher>> matchers = new HashMap<>();
 			for (Subscription subscription : subscriptions)
 			{
 				Optional<Matcher> matcher = matcherFactory.createMatcher(subscription.getCriteria());
 				if (matcher.isPresent())
 				{
-					if (matchers.containsKey(matcher.get().getResourceType()))
-					{
-						matchers.get(matcher.get().getResourceType())
-								.add(new SubscriptionAndMatcher(subscription, matcher.get()));
-					}
-					else
-					{
-						matchers.put(matcher.get().getResourceType(),
-								new ArrayList<>(List.of(new SubscriptionAndMatcher(subscription, matcher.get()))));
-					}
+					matchers.computeIfAbsent(matcher.get().getResourceType(), CriteriaIndex::new)
+							.add(subscription.getCriteria(), new SubscriptionAndMatcher(subscription, matcher.get()));
 				}
 			}
 			matchersByResource.replaceAll(matchers);
@@ -226,6 +275,12 @@ public class WebSocketSubscriptionManagerImpl
 
 	@Override
 	public void destroy() throws Exception
+	{
+		shutdown(executor, "event");
+		shutdown(sendExecutor, "send");
+	}
+
+	private void shutdown(ExecutorService executor, String name)
 	{
 		executor.shutdown();
 		try
@@ -234,7 +289,7 @@ public class WebSocketSubscriptionManagerImpl
 			{
 				executor.shutdownNow();
 				if (!executor.awaitTermination(60, TimeUnit.SECONDS))
-					logger.warn("EventManager executor did not terminate");
+					logger.warn("WebSocketSubscriptionManager {} executor did not terminate", name);
 			}
 		}
 		catch (InterruptedException ie)
@@ -264,6 +319,13 @@ public class WebSocketSubscriptionManagerImpl
 		executor.execute(() -> doHandleEventAndRefreshMatchers(event));
 	}
 
+	@Override
+	public void handleEventsLost()
+	{
+		// Subscription changes of other server instances may have been missed
+		executor.execute(this::refreshMatchers);
+	}
+
 	private void doHandleEventAndRefreshMatchers(Event event)
 	{
 		if (event.getResource() instanceof Subscription || firstCall.get())
@@ -277,7 +339,8 @@ public class WebSocketSubscriptionManagerImpl
 		logger.debug("handling event {} for resource of type {} with id {}", event.getClass().getSimpleName(),
 				event.getResourceType().getAnnotation(ResourceDef.class).name(), event.getId());
 
-		Optional<List<SubscriptionAndMatcher>> optMatchers = matchersByResource.get(event.getResourceType());
+		Optional<CriteriaIndex<SubscriptionAndMatcher>> optMatchers = matchersByResource
+				.get(event.getResourceType());
 		if (optMatchers.isEmpty())
 		{
 			logger.debug("No subscriptions for event {} for resource of type {} with id {}",
@@ -286,7 +349,15 @@ public class WebSocketSubscriptionManagerImpl
 			return;
 		}
 
-		List<SubscriptionAndMatcher> matchingSubscriptions = optMatchers.get().stream()
+		List<SubscriptionAndMatcher> candidates = optMatchers.get().getCandidates(event.getResource());
+
+		logger.debug("{} of {} subscription{} for resource of type {} are candidates for event {} with id {}",
+				candidates.size(), optMatchers.get().size(), optMatchers.get().size() != 1 ? "s" : "",
+				event.getResourceType().getAnnotation(ResourceDef.class).name(), event.getClass().getSimpleName(),
+				event.getId());
+
+		// referenced resources resolved by one matcher are set on the event resource and reused by all other matchers
+		List<SubscriptionAndMatcher> matchingSubscriptions = candidates.stream()
 				.filter(sAndM -> sAndM.matches(event.getResource(), daoProvider)).collect(Collectors.toList());
 
 		if (matchingSubscriptions.isEmpty())
@@ -297,12 +368,16 @@ public class WebSocketSubscriptionManagerImpl
 			return;
 		}
 
-		matchingSubscriptions.forEach(sAndM -> doHandleEventWithSubscription(sAndM.subscription, event));
+		// resource encoded at most once per payload type, shared by all subscriptions and sessions of this event
+		Map<String, String> encodedResourcesByPayloadType = new HashMap<>();
+		matchingSubscriptions.forEach(
+				sAndM -> doHandleEventWithSubscription(sAndM.subscription, event, encodedResourcesByPayloadType));
 	}
 
-	private void doHandleEventWithSubscription(Subscription s, Event event)
+	private void doHandleEventWithSubscription(Subscription s, Event event,
+			Map<String, String> encodedResourcesByPayloadType)
 	{
-		Optional<Set<SessionIdAndRemoteAsync>> optRemotes = asyncRemotesBySubscriptionIdPart
+		Optional<Set<SessionIdAndSendQueue>> optRemotes = sendQueuesBySubscriptionIdPart
 				.get(s.getIdElement().getIdPart());
 
 		if (optRemotes.isEmpty())
@@ -312,19 +387,39 @@ public class WebSocketSubscriptionManagerImpl
 		}
 
 		final String text;
+		final boolean ping;
 		if (Constants.CT_FHIR_JSON_NEW.equals(s.getChannel().getPayload()))
-			text = newJsonParser().encodeResourceToString(event.getResource());
+		{
+			text = encodedResourcesByPayloadType.computeIfAbsent(Constants.CT_FHIR_JSON_NEW,
+					t -> newJsonParser().encodeResourceToString(event.getResource()));
+			ping = false;
+		}
 		else if (Constants.CT_FHIR_XML_NEW.contentEquals(s.getChannel().getPayload()))
-			text = newXmlParser().encodeResourceToString(event.getResource());
+		{
+			text = encodedResourcesByPayloadType.computeIfAbsent(Constants.CT_FHIR_XML_NEW,
+					t -> newXmlParser().encodeResourceToString(event.getResource()));
+			ping = false;
+		}
 		else
+		{
 			text = "ping " + s.getIdElement().getIdPart();
+			ping = true;
+		}
 
 		logger.debug("Calling {} remote{} connected to subscription with id {}", optRemotes.get().size(),
 				optRemotes.get().size() != 1 ? "s" : "", s.getIdElement().getIdPart());
 
 		// defensive copy because list could be changed by other threads while we are reading
-		List<SessionIdAndRemoteAsync> remotes = new ArrayList<>(optRemotes.get());
-		remotes.stream().filter(r -> userHasReadAndWebsocketAccess(r, event)).forEach(r -> send(r, text));
+		List<SessionIdAndSendQueue> remotes = new ArrayList<>(optRemotes.get());
+		remotes.stream().filter(r -> userHasReadAndWebsocketAccess(r, event)).forEach(r ->
+		{
+			if (ping)
+				r.sendQueue.sendPing(text);
+			else
+				r.sendQueue.send(text);
+		});
+
+		logger.debug("Websocket send queues: {}", sendQueueMetrics);
 	}
 
 	private IParser newXmlParser()
@@ -344,7 +439,7 @@ public class WebSocketSubscriptionManagerImpl
 		return p;
 	}
 
-	private boolean userHasReadAndWebsocketAccess(SessionIdAndRemoteAsync sessionAndRemote, Event event)
+	private boolean userHasReadAndWebsocketAccess(SessionIdAndSendQueue sessionAndRemote, Event event)
 	{
 		if (sessionAndRemote.identity.isNotExpired())
 		{
@@ -394,20 +489,6 @@ public class WebSocketSubscriptionManagerImpl
 		}
 	}
 
-	private void send(SessionIdAndRemoteAsync sessionAndRemote, String text)
-	{
-		try
-		{
-			sessionAndRemote.remoteAsync.sendText(text);
-		}
-		catch (Exception e)
-		{
-			logger.debug("Error while sending event to remote with session id {}", sessionAndRemote.sessionId, e);
-			logger.warn("Error while sending event to remote with session id {}: {} - {}", sessionAndRemote.sessionId,
-					e.getClass().getName(), e.getMessage());
-		}
-	}
-
 	@Override
 	public void bind(Identity identity, Session session, String subscriptionIdPart)
 	{
@@ -417,21 +498,24 @@ public class WebSocketSubscriptionManagerImpl
 		if (subscriptionsByIdPart.containsKey(subscriptionIdPart))
 		{
 			logger.debug("Binding websocket session {} to subscription {}", session.getId(), subscriptionIdPart);
-			asyncRemotesBySubscriptionIdPart.replace(subscriptionIdPart, set ->
+			SessionSendQueue sendQueue = new SessionSendQueue(session, sendExecutor, sendQueueCapacity, coalescePings,
+					sendQueueMetrics);
+			sendQueue.send("bound " + subscriptionIdPart);
+
+			sendQueuesBySubscriptionIdPart.replace(subscriptionIdPart, set ->
 			{
 				if (set == null)
 				{
-					Set<SessionIdAndRemoteAsync> newSet = new HashSet<>();
-					newSet.add(new SessionIdAndRemoteAsync(identity, session));
+					Set<SessionIdAndSendQueue> newSet = new HashSet<>();
+					newSet.add(new SessionIdAndSendQueue(identity, session, sendQueue));
 					return newSet;
 				}
 				else
 				{
-					set.add(new SessionIdAndRemoteAsync(identity, session));
+					set.add(new SessionIdAndSendQueue(identity, session, sendQueue));
 					return set;
 				}
 			});
-			session.getAsyncRemote().sendText("bound " + subscriptionIdPart);
 		}
 		else
 		{
@@ -461,7 +545,15 @@ public class WebSocketSubscriptionManagerImpl
 	public void close(String sessionId)
 	{
 		logger.debug("Removing websocket session {}", sessionId);
-		asyncRemotesBySubscriptionIdPart.removeWhereValueMatches(Set::isEmpty,
-				s -> s.remove(new SessionIdAndRemoteAsync(sessionId)));
+		sendQueuesBySubscriptionIdPart.removeWhereValueMatches(Set::isEmpty, s -> s.removeIf(r ->
+		{
+			if (r.sessionId.equals(sessionId))
+			{
+				r.sendQueue.close();
+				return true;
+			}
+			else
+				return false;
+		}));
 	}
 }
@@ -738,7 +738,8 @@ public abstract class AbstractResourceServiceImpl<D extends ResourceDao<R>, R ex
 	private PartialResult<R> filterIncludeResources(PartialResult<R> result)
 	{
 		List<Resource> includes = filterIncludeResources(result.getIncludes());
-		return new PartialResult<>(result.getTotal(), result.getPageAndCount(), result.getPartialResult(), includes);
+		return new PartialResult<>(result.getTotal(), result.getTotalMode(), result.getPageAndCount(),
+				result.getPartialResult(), includes, result.getNextCursor());
 	}
 
 	private List<Resource> filterIncludeResources(List<Resource> includes)
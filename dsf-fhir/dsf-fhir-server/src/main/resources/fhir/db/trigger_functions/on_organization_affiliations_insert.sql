@@ -66,15 +66,16 @@ BEGIN
 					SELECT
 						id
 						, version
-						, resource
-					FROM all_read_access_resources
+						, meta_tag
+					FROM resource_registry
+					WHERE id <> NEW.organization_affiliation_id AND type NOT IN ('QuestionnaireResponse', 'Task')
 				) AS r
-				ON r.resource->'meta'->'tag' @> 
+				ON r.meta_tag @> 
 					('[{"extension":[{"url":"http://dsf.dev/fhir/StructureDefinition/extension-read-access-parent-organization-role","extension":[{"url":"parent-organization","valueIdentifier":{"system":"http://dsf.dev/sid/organization-identifier","value":"'
 					|| parent_organization_identifier || '"}},{"url":"organization-role","valueCoding":{"system":"'
 					|| c.system || '","code":"'
 					|| c.code || '"}}]}],"system":"http://dsf.dev/fhir/CodeSystem/read-access-tag","code":"ROLE"}]')::jsonb
-				WHERE r.resource IS NOT NULL;
+				WHERE r.meta_tag IS NOT NULL;
 
 			GET DIAGNOSTICS insert_count = ROW_COUNT;
 			RAISE NOTICE 'Rows inserted into read_access: %', insert_count;
@@ -54,10 +54,11 @@ BEGIN
 		
 		INSERT INTO read_access
 			SELECT id, version, 'ORGANIZATION', NEW.organization_id, NULL
-			FROM all_read_access_resources
-			WHERE jsonb_path_exists(resource,('$.meta.tag[*] ? (@.code == "ORGANIZATION" && @.system == "http://dsf.dev/fhir/CodeSystem/read-access-tag")
-					.extension[*]?(@.url == "http://dsf.dev/fhir/StructureDefinition/extension-read-access-organization")
-					.valueIdentifier[*]?(@.system == "http://dsf.dev/sid/organization-identifier" && @.value == "' || organization_identifier || '")')::jsonpath);
+			FROM resource_registry
+			WHERE id <> NEW.organization_id AND type NOT IN ('QuestionnaireResponse', 'Task')
+			AND meta_tag @> jsonb_build_array(jsonb_build_object('system', 'http://dsf.dev/fhir/CodeSystem/read-access-tag', 'code', 'ORGANIZATION',
+				'extension', jsonb_build_array(jsonb_build_object('url', 'http://dsf.dev/fhir/StructureDefinition/extension-read-access-organization',
+					'valueIdentifier', jsonb_build_object('system', 'http://dsf.dev/sid/organization-identifier', 'value', organization_identifier)))));
 
 		GET DIAGNOSTICS organization_insert_count = ROW_COUNT;
 
@@ -94,14 +95,14 @@ BEGIN
 				WHERE parent_organization_organization_id = NEW.organization_id OR member_organization_id = NEW.organization_id
 				) AS oa
 				LEFT JOIN (
-					SELECT id, version, resource FROM all_read_access_resources
+					SELECT id, version, meta_tag FROM resource_registry WHERE id <> NEW.organization_id AND type NOT IN ('QuestionnaireResponse', 'Task')
 				) AS r
-				ON r.resource->'meta'->'tag' @> 
+				ON r.meta_tag @> 
 					('[{"extension":[{"url":"http://dsf.dev/fhir/StructureDefinition/extension-read-access-parent-organization-role","extension":[{"url":"parent-organization","valueIdentifier":{"system":"http://dsf.dev/sid/organization-identifier","value":"'
 					|| parent_organization_identifier || '"}},{"url":"organization-role","valueCoding":{"system":"'
 					|| coding_system || '","code":"'
 					|| coding_code || '"}}]}],"system":"http://dsf.dev/fhir/CodeSystem/read-access-tag","code":"ROLE"}]')::jsonb
-				WHERE r.resource IS NOT NULL
+				WHERE r.meta_tag IS NOT NULL
 		RETURNING resource_id
 		)
 		SELECT array_agg(resource_id) FROM temp_role_ids INTO role_ids;
@@ -0,0 +1,47 @@
+--
+-- Copyright 2018-2025 Heilbronn University of Applied Sciences
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+CREATE OR REPLACE FUNCTION on_reference_identifier() RETURNS TRIGGER AS $$
+DECLARE
+	resource_type TEXT := TG_ARGV[0];
+	id_column TEXT := TG_ARGV[1];
+	resource_column TEXT := TG_ARGV[2];
+	row_id UUID;
+	row_identifiers JSONB;
+BEGIN
+	IF (TG_OP = 'INSERT') THEN
+		EXECUTE format('SELECT ($1).%I, ($1).%I->''identifier''', id_column, resource_column)
+			INTO row_id, row_identifiers USING NEW;
+		IF (row_identifiers IS NULL OR jsonb_typeof(row_identifiers) <> 'array' OR jsonb_array_length(row_identifiers) = 0) THEN
+			DELETE FROM reference_identifier WHERE reference = resource_type || '/' || row_id AND version < NEW.version;
+		ELSE
+			INSERT INTO reference_identifier (reference, type, version, identifiers)
+				VALUES (resource_type || '/' || row_id, resource_type, NEW.version, row_identifiers)
+				ON CONFLICT (reference) DO UPDATE SET version = EXCLUDED.version, identifiers = EXCLUDED.identifiers
+				WHERE reference_identifier.version < EXCLUDED.version;
+		END IF;
+		RETURN NEW;
+	ELSIF (TG_OP = 'UPDATE') THEN
+		EXECUTE format('SELECT ($1).%I', id_column) INTO row_id USING NEW;
+		DELETE FROM reference_identifier WHERE reference = resource_type || '/' || row_id AND version <= NEW.version;
+		RETURN NEW;
+	ELSE
+		EXECUTE format('SELECT ($1).%I', id_column) INTO row_id USING OLD;
+		DELETE FROM reference_identifier WHERE reference = resource_type || '/' || row_id AND version <= OLD.version;
+		RETURN OLD;
+	END IF;
+END;
+$$ LANGUAGE PLPGSQL
\ No newline at end of file
@@ -0,0 +1,42 @@
+--
+-- Copyright 2018-2025 Heilbronn University of Applied Sciences
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+CREATE OR REPLACE FUNCTION on_resources_history_log() RETURNS TRIGGER AS $$
+DECLARE
+	resource_type TEXT := TG_ARGV[0];
+	id_column TEXT := TG_ARGV[1];
+	resource_column TEXT := TG_ARGV[2];
+	row_id UUID;
+	row_last_updated TIMESTAMPTZ;
+BEGIN
+	IF (TG_OP = 'INSERT') THEN
+		EXECUTE format('SELECT ($1).%I, (($1).%I->''meta''->>''lastUpdated'')::TIMESTAMPTZ', id_column, resource_column)
+			INTO row_id, row_last_updated USING NEW;
+		INSERT INTO history_log (last_updated, type, id, version, method)
+			VALUES (row_last_updated, resource_type, row_id, NEW.version, CASE WHEN NEW.version = 1 THEN 'POST' ELSE 'PUT' END);
+		RETURN NEW;
+	ELSIF (TG_OP = 'UPDATE') THEN
+		EXECUTE format('SELECT ($1).%I', id_column) INTO row_id USING NEW;
+		INSERT INTO history_log (last_updated, type, id, version, method)
+			VALUES (NEW.deleted::TIMESTAMPTZ, resource_type, row_id, NEW.version + 1, 'DELETE');
+		RETURN NEW;
+	ELSE
+		EXECUTE format('SELECT ($1).%I', id_column) INTO row_id USING OLD;
+		DELETE FROM history_log WHERE id = row_id AND version IN (OLD.version, OLD.version + 1) AND type = resource_type;
+		RETURN OLD;
+	END IF;
+END;
+$$ LANGUAGE PLPGSQL
\ No newline at end of file
@@ -0,0 +1,43 @@
+--
+-- Copyright 2018-2025 Heilbronn University of Applied Sciences
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+CREATE OR REPLACE FUNCTION on_resources_registry() RETURNS TRIGGER AS $$
+DECLARE
+	resource_type TEXT := TG_ARGV[0];
+	id_column TEXT := TG_ARGV[1];
+	resource_column TEXT := TG_ARGV[2];
+	row_id UUID;
+	row_meta_tag JSONB;
+BEGIN
+	IF (TG_OP = 'INSERT') THEN
+		EXECUTE format('SELECT ($1).%I, ($1).%I->''meta''->''tag''', id_column, resource_column)
+			INTO row_id, row_meta_tag USING NEW;
+		INSERT INTO resource_registry (id, version, type, meta_tag)
+			VALUES (row_id, NEW.version, resource_type, row_meta_tag)
+			ON CONFLICT (id) DO UPDATE SET version = EXCLUDED.version, type = EXCLUDED.type, meta_tag = EXCLUDED.meta_tag
+			WHERE resource_registry.version < EXCLUDED.version;
+		RETURN NEW;
+	ELSIF (TG_OP = 'UPDATE') THEN
+		EXECUTE format('SELECT ($1).%I', id_column) INTO row_id USING NEW;
+		DELETE FROM resource_registry WHERE id = row_id AND version <= NEW.version;
+		RETURN NEW;
+	ELSE
+		EXECUTE format('SELECT ($1).%I', id_column) INTO row_id USING OLD;
+		DELETE FROM resource_registry WHERE id = row_id AND version <= OLD.version;
+		RETURN OLD;
+	END IF;
+END;
+$$ LANGUAGE PLPGSQL
\ No newline at end of file
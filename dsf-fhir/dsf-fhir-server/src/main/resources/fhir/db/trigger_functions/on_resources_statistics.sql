@@ -0,0 +1,85 @@
+--
+-- Copyright 2018-2025 Heilbronn University of Applied Sciences
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+CREATE OR REPLACE FUNCTION on_resources_statistics() RETURNS TRIGGER AS $$
+DECLARE
+	resource_column TEXT := TG_ARGV[0];
+	delta BIGINT;
+	resource JSONB;
+	counters TEXT[];
+	counter TEXT;
+BEGIN
+	-- append only, concurrent writers never wait on each other; rows are summed into statistics_counts and
+	-- statistics_hourly_counts by compact_statistics()
+	IF (TG_TABLE_NAME = 'binaries' AND TG_OP = 'INSERT') THEN
+		INSERT INTO statistics_deltas (name, hour, count) VALUES ('binaries_size', NULL, NEW.binary_size);
+	ELSIF (TG_TABLE_NAME = 'binaries' AND TG_OP = 'DELETE') THEN
+		INSERT INTO statistics_deltas (name, hour, count) VALUES ('binaries_size', NULL, -OLD.binary_size);
+	END IF;
+
+	-- -1 for the row leaving the current, non-deleted state, +1 for the row entering it
+	FOREACH delta IN ARRAY ARRAY[-1, 1] LOOP
+		resource := NULL;
+
+		IF (delta = -1 AND TG_OP <> 'INSERT') THEN
+			IF (OLD.current AND OLD.deleted IS NULL) THEN
+				EXECUTE format('SELECT ($1).%I', resource_column) INTO resource USING OLD;
+			END IF;
+		ELSIF (delta = 1 AND TG_OP <> 'DELETE') THEN
+			IF (NEW.current AND NEW.deleted IS NULL) THEN
+				EXECUTE format('SELECT ($1).%I', resource_column) INTO resource USING NEW;
+			END IF;
+		END IF;
+
+		CONTINUE WHEN resource IS NULL;
+
+		counters := array_remove(CASE resource->>'resourceType'
+			WHEN 'Organization' THEN ARRAY[
+				CASE WHEN resource->>'active' = 'true' AND resource->'meta'->'profile' @> '["http://dsf.dev/fhir/StructureDefinition/organization"]' THEN 'organizations_member' END,
+				CASE WHEN resource->>'active' = 'true' AND resource->'meta'->'profile' @> '["http://dsf.dev/fhir/StructureDefinition/organization-parent"]' THEN 'organizations_parent' END]
+			WHEN 'Endpoint' THEN ARRAY[CASE WHEN resource->>'status' = 'active' THEN 'endpoints' END]
+			WHEN 'OrganizationAffiliation' THEN ARRAY[CASE WHEN resource->>'active' = 'true' THEN 'organization_affiliations' END]
+			WHEN 'ActivityDefinition' THEN ARRAY['activity_definitions']
+			WHEN 'Task' THEN ARRAY[CASE resource->>'status'
+				WHEN 'draft' THEN 'tasks_draft' WHEN 'in-progress' THEN 'tasks_in_progress'
+				WHEN 'completed' THEN 'tasks_completed' WHEN 'failed' THEN 'tasks_failed' END]
+			WHEN 'QuestionnaireResponse' THEN ARRAY[CASE resource->>'status'
+				WHEN 'in-progress' THEN 'questionnaire_responses_in_progress' WHEN 'amended' THEN 'questionnaire_responses_amended' END]
+			WHEN 'Binary' THEN ARRAY['binaries']
+			WHEN 'DocumentReference' THEN ARRAY['document_references']
+			WHEN 'MeasureReport' THEN ARRAY[CASE WHEN resource->>'status' = 'complete' THEN 'measure_reports' END]
+			WHEN 'Measure' THEN ARRAY[CASE WHEN resource->>'status' = 'active' THEN 'measures' END]
+			WHEN 'Library' THEN ARRAY[CASE WHEN resource->>'status' = 'active' THEN 'libraries' END]
+			ELSE ARRAY[]::TEXT[]
+		END, NULL);
+
+		FOREACH counter IN ARRAY counters LOOP
+			INSERT INTO statistics_deltas (name, hour, count) VALUES (counter, NULL, delta);
+
+			IF (counter IN ('tasks_in_progress', 'tasks_completed', 'tasks_failed', 'questionnaire_responses_in_progress', 'questionnaire_responses_amended')) THEN
+				INSERT INTO statistics_deltas (name, hour, count)
+					VALUES (counter, date_trunc('hour', (resource->'meta'->>'lastUpdated')::TIMESTAMPTZ), delta);
+			END IF;
+		END LOOP;
+	END LOOP;
+
+	IF (TG_OP = 'DELETE') THEN
+		RETURN OLD;
+	ELSE
+		RETURN NEW;
+	END IF;
+END;
+$$ LANGUAGE PLPGSQL
\ No newline at end of file
@@ -17,7 +17,9 @@ package dev.dsf.fhir.authentication;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -29,6 +31,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.time.Period;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +59,7 @@ import dev.dsf.common.auth.conf.RoleConfig;
 import dev.dsf.common.auth.conf.RoleConfig.Mapping;
 import dev.dsf.common.auth.conf.X509CertificateWrapper;
 import dev.dsf.fhir.authentication.FhirServerRoleImpl.Operation;
+import dev.dsf.fhir.event.ResourceUpdatedEvent;
 
 public class IdentityProviderTest
 {
@@ -270,6 +274,47 @@ public class IdentityProviderTest
 		assertEquals(REMOTE_ORGANIZATION_CERTIFICATE_THUMBPRINT, getEndpArg2.getValue());
 	}
 
+	@Test
+	public void testGetOrganizationIdentityByX509CertificateCached() throws Exception
+	{
+		when(roleConfig.getEntries()).thenReturn(List.of());
+		IdentityProviderImpl provider = new IdentityProviderImpl(roleConfig, organizationProvider, endpointProvider,
+				LOCAL_ORGANIZATION_IDENTIFIER_VALUE, Duration.ofMinutes(5));
+		verify(roleConfig).getEntries();
+
+		when(organizationProvider.getOrganization(REMOTE_ORGANIZATION_CERTIFICATE_THUMBPRINT))
+				.thenReturn(Optional.of(REMOTE_ORGANIZATION));
+		when(endpointProvider.getEndpoint(REMOTE_ORGANIZATION, REMOTE_ORGANIZATION_CERTIFICATE_THUMBPRINT))
+				.thenReturn(Optional.of(REMOTE_ENDPOINT));
+
+		Identity i1 = provider.getIdentity(new X509Certificate[] { REMOTE_ORGANIZATION_CERTIFICATE });
+		Identity i2 = provider.getIdentity(new X509Certificate[] { REMOTE_ORGANIZATION_CERTIFICATE });
+		assertNotNull(i1);
+		assertSame(i1, i2);
+		assertEquals(1, provider.getCacheHits());
+		assertEquals(1, provider.getCacheMisses());
+
+		provider.handleEvent(new ResourceUpdatedEvent(Organization.class, REMOTE_ORGANIZATION));
+
+		Identity i3 = provider.getIdentity(new X509Certificate[] { REMOTE_ORGANIZATION_CERTIFICATE });
+		assertNotNull(i3);
+		assertNotSame(i1, i3);
+		assertEquals(1, provider.getCacheHits());
+		assertEquals(2, provider.getCacheMisses());
+
+		provider.handleEventsLost();
+
+		Identity i4 = provider.getIdentity(new X509Certificate[] { REMOTE_ORGANIZATION_CERTIFICATE });
+		assertNotNull(i4);
+		assertNotSame(i3, i4);
+		assertEquals(1, provider.getCacheHits());
+		assertEquals(3, provider.getCacheMisses());
+
+		verify(organizationProvider, times(3)).getOrganization(REMOTE_ORGANIZATION_CERTIFICATE_THUMBPRINT);
+		verify(endpointProvider, times(3)).getEndpoint(REMOTE_ORGANIZATION,
+				REMOTE_ORGANIZATION_CERTIFICATE_THUMBPRINT);
+	}
+
 	@Test
 	public void testGetOrganizationIdentityByX509CertificateUnknownOrganization() throws Exception
 	{
@@ -193,6 +193,78 @@ public abstract class AbstractReadAccessDaoTest<D extends Resource, C extends Re
 		assertReadAccessEntryCount(2, 1, createdD, READ_ACCESS_TAG_VALUE_ORGANIZATION, createdOrg);
 	}
 
+	@Test
+	public void testReadAccessTriggerOrganizationResourceFirstUpdated() throws Exception
+	{
+		final String orgIdentifier = "org.com";
+
+		D d = createResource();
+		readAccessHelper.addOrganization(d, orgIdentifier);
+
+		D v1 = getDao().create(d);
+		D v2 = getDao().update(v1);
+		assertEquals(2L, (long) v2.getIdElement().getVersionIdPartAsLong());
+
+		assertReadAccessEntryCount(2, 1, v1, READ_ACCESS_TAG_VALUE_LOCAL);
+		assertReadAccessEntryCount(2, 1, v2, READ_ACCESS_TAG_VALUE_LOCAL);
+
+		Organization org = new Organization();
+		org.setActive(true);
+		org.addIdentifier().setSystem(ORGANIZATION_IDENTIFIER_SYSTEM).setValue(orgIdentifier);
+		Organization createdOrg = new OrganizationDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext,
+				objectMapper).create(org);
+
+		assertReadAccessEntryCount(3, 0, v1, READ_ACCESS_TAG_VALUE_ORGANIZATION, createdOrg);
+		assertReadAccessEntryCount(3, 1, v2, READ_ACCESS_TAG_VALUE_ORGANIZATION, createdOrg);
+	}
+
+	@Test
+	public void testReadAccessTriggerOrganizationResourceFirstDeleted() throws Exception
+	{
+		final String orgIdentifier = "org.com";
+
+		D d = createResource();
+		readAccessHelper.addOrganization(d, orgIdentifier);
+
+		D createdD = getDao().create(d);
+		assertTrue(getDao().delete(UUID.fromString(createdD.getIdElement().getIdPart())));
+
+		assertReadAccessEntryCount(1, 1, createdD, READ_ACCESS_TAG_VALUE_LOCAL);
+
+		Organization org = new Organization();
+		org.setActive(true);
+		org.addIdentifier().setSystem(ORGANIZATION_IDENTIFIER_SYSTEM).setValue(orgIdentifier);
+		Organization createdOrg = new OrganizationDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext,
+				objectMapper).create(org);
+
+		assertReadAccessEntryCount(1, 1, createdD, READ_ACCESS_TAG_VALUE_LOCAL);
+		assertReadAccessEntryCount(1, 0, createdD, READ_ACCESS_TAG_VALUE_ORGANIZATION, createdOrg);
+	}
+
+	@Test
+	public void testReadAccessTriggerOrganizationResourceFirstDeletedPermanently() throws Exception
+	{
+		final String orgIdentifier = "org.com";
+
+		D d = createResource();
+		readAccessHelper.addOrganization(d, orgIdentifier);
+
+		D createdD = getDao().create(d);
+		UUID uuid = UUID.fromString(createdD.getIdElement().getIdPart());
+		assertTrue(getDao().delete(uuid));
+		getDao().deletePermanently(uuid);
+
+		assertReadAccessEntryCount(0, 0, createdD, READ_ACCESS_TAG_VALUE_LOCAL);
+
+		Organization org = new Organization();
+		org.setActive(true);
+		org.addIdentifier().setSystem(ORGANIZATION_IDENTIFIER_SYSTEM).setValue(orgIdentifier);
+		Organization createdOrg = new OrganizationDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext,
+				objectMapper).create(org);
+
+		assertReadAccessEntryCount(0, 0, createdD, READ_ACCESS_TAG_VALUE_ORGANIZATION, createdOrg);
+	}
+
 	@Test
 	public void testReadAccessTriggerOrganization2Organizations1Matching() throws Exception
 	{
@@ -319,6 +391,86 @@ public abstract class AbstractReadAccessDaoTest<D extends Resource, C extends Re
 		assertReadAccessEntryCount(2, 1, createdD, READ_ACCESS_TAG_VALUE_ROLE, createdMemberOrg, createdAff);
 	}
 
+	private OrganizationAffiliation createParentMemberAffiliation(Organization createdParentOrg,
+			Organization createdMemberOrg) throws Exception
+	{
+		OrganizationAffiliation aff = new OrganizationAffiliation();
+		aff.setActive(true);
+		aff.getCodeFirstRep().getCodingFirstRep().setSystem("http://dsf.dev/fhir/CodeSystem/organization-role")
+				.setCode("DIC");
+		aff.getOrganization().setReference("Organization/" + createdParentOrg.getIdElement().getIdPart());
+		aff.getParticipatingOrganization().setReference("Organization/" + createdMemberOrg.getIdElement().getIdPart());
+
+		return new OrganizationAffiliationDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext,
+				objectMapper).create(aff);
+	}
+
+	private Organization createOrganization(String identifier) throws Exception
+	{
+		Organization org = new Organization();
+		org.setActive(true);
+		org.addIdentifier().setSystem(ORGANIZATION_IDENTIFIER_SYSTEM).setValue(identifier);
+
+		return new OrganizationDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext, objectMapper)
+				.create(org);
+	}
+
+	@Test
+	public void testReadAccessTriggerRoleResourceFirstUpdated() throws Exception
+	{
+		D d = createResource();
+		readAccessHelper.addRole(d, "parent.com", "http://dsf.dev/fhir/CodeSystem/organization-role", "DIC");
+
+		D v1 = getDao().create(d);
+		D v2 = getDao().update(v1);
+		assertEquals(2L, (long) v2.getIdElement().getVersionIdPartAsLong());
+
+		assertReadAccessEntryCount(2, 1, v1, READ_ACCESS_TAG_VALUE_LOCAL);
+		assertReadAccessEntryCount(2, 1, v2, READ_ACCESS_TAG_VALUE_LOCAL);
+
+		Organization createdParentOrg = createOrganization("parent.com");
+		Organization createdMemberOrg = createOrganization("member.com");
+		OrganizationAffiliation createdAff = createParentMemberAffiliation(createdParentOrg, createdMemberOrg);
+
+		assertReadAccessEntryCount(3, 0, v1, READ_ACCESS_TAG_VALUE_ROLE, createdMemberOrg, createdAff);
+		assertReadAccessEntryCount(3, 1, v2, READ_ACCESS_TAG_VALUE_ROLE, createdMemberOrg, createdAff);
+	}
+
+	@Test
+	public void testReadAccessTriggerRoleResourceFirstDeleted() throws Exception
+	{
+		D d = createResource();
+		readAccessHelper.addRole(d, "parent.com", "http://dsf.dev/fhir/CodeSystem/organization-role", "DIC");
+
+		D createdD = getDao().create(d);
+		assertTrue(getDao().delete(UUID.fromString(createdD.getIdElement().getIdPart())));
+
+		Organization createdParentOrg = createOrganization("parent.com");
+		Organization createdMemberOrg = createOrganization("member.com");
+		OrganizationAffiliation createdAff = createParentMemberAffiliation(createdParentOrg, createdMemberOrg);
+
+		assertReadAccessEntryCount(1, 1, createdD, READ_ACCESS_TAG_VALUE_LOCAL);
+		assertReadAccessEntryCount(1, 0, createdD, READ_ACCESS_TAG_VALUE_ROLE, createdMemberOrg, createdAff);
+	}
+
+	@Test
+	public void testReadAccessTriggerRoleResourceFirstDeletedPermanently() throws Exception
+	{
+		D d = createResource();
+		readAccessHelper.addRole(d, "parent.com", "http://dsf.dev/fhir/CodeSystem/organization-role", "DIC");
+
+		D createdD = getDao().create(d);
+		UUID uuid = UUID.fromString(createdD.getIdElement().getIdPart());
+		assertTrue(getDao().delete(uuid));
+		getDao().deletePermanently(uuid);
+
+		Organization createdParentOrg = createOrganization("parent.com");
+		Organization createdMemberOrg = createOrganization("member.com");
+		OrganizationAffiliation createdAff = createParentMemberAffiliation(createdParentOrg, createdMemberOrg);
+
+		assertReadAccessEntryCount(0, 0, createdD, READ_ACCESS_TAG_VALUE_ROLE, createdMemberOrg, createdAff);
+	}
+
 	@Test
 	public void testReadAccessTriggerRole2Organizations1Matching() throws Exception
 	{
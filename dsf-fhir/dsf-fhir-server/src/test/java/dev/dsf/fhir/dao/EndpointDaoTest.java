@@ -20,6 +20,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -228,4 +234,114 @@ public class EndpointDaoTest extends AbstractReadAccessDaoTest<Endpoint, Endpoin
 		assertNotNull(readE);
 		assertTrue(readE.isEmpty());
 	}
+
+	private long countReferenceIdentifier(String reference, long version, String identifierValue) throws Exception
+	{
+		try (Connection connection = defaultDataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement(
+						"SELECT count(*) FROM reference_identifier WHERE reference = ? AND type = 'Endpoint' AND version = ? AND identifiers @> ?::jsonb"))
+		{
+			statement.setString(1, reference);
+			statement.setLong(2, version);
+			statement.setString(3, "[{\"value\":\"" + identifierValue + "\"}]");
+
+			try (ResultSet result = statement.executeQuery())
+			{
+				assertTrue(result.next());
+				return result.getLong(1);
+			}
+		}
+	}
+
+	private long countReferenceIdentifier(String reference) throws Exception
+	{
+		try (Connection connection = defaultDataSource.getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("SELECT count(*) FROM reference_identifier WHERE reference = ?"))
+		{
+			statement.setString(1, reference);
+
+			try (ResultSet result = statement.executeQuery())
+			{
+				assertTrue(result.next());
+				return result.getLong(1);
+			}
+		}
+	}
+
+	@Test
+	public void testReferenceIdentifierTrigger() throws Exception
+	{
+		Endpoint e = createResource();
+		e.addIdentifier().setSystem("http://dsf.dev/sid/endpoint-identifier").setValue("endpoint.v1");
+
+		Endpoint created = dao.create(e);
+		UUID id = UUID.fromString(created.getIdElement().getIdPart());
+		String reference = "Endpoint/" + id;
+		assertEquals(1, countReferenceIdentifier(reference, 1, "endpoint.v1"));
+
+		created.getIdentifierFirstRep().setValue("endpoint.v2");
+		Endpoint updated = dao.update(created);
+		assertEquals(0, countReferenceIdentifier(reference, 1, "endpoint.v1"));
+		assertEquals(1, countReferenceIdentifier(reference, 2, "endpoint.v2"));
+
+		updated.setIdentifier(null);
+		Endpoint withoutIdentifier = dao.update(updated);
+		assertEquals(0, countReferenceIdentifier(reference));
+
+		withoutIdentifier.addIdentifier().setSystem("http://dsf.dev/sid/endpoint-identifier").setValue("endpoint.v4");
+		dao.update(withoutIdentifier);
+		assertEquals(1, countReferenceIdentifier(reference, 4, "endpoint.v4"));
+
+		dao.delete(id);
+		assertEquals(0, countReferenceIdentifier(reference));
+
+		dao.deletePermanently(id);
+		assertEquals(0, countReferenceIdentifier(reference));
+	}
+
+	private List<String> readReferenceIdentifierRows() throws Exception
+	{
+		try (Connection connection = defaultDataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet result = statement.executeQuery(
+						"SELECT reference, type, version, identifiers FROM reference_identifier ORDER BY reference"))
+		{
+			List<String> rows = new ArrayList<>();
+			while (result.next())
+				rows.add(result.getString(1) + " " + result.getString(2) + " " + result.getLong(3) + " "
+						+ result.getString(4));
+			return rows;
+		}
+	}
+
+	@Test
+	public void testReferenceIdentifierBackfillMatchesTrigger() throws Exception
+	{
+		Endpoint withIdentifier = createResource();
+		withIdentifier.addIdentifier().setSystem("http://dsf.dev/sid/endpoint-identifier").setValue("endpoint.1");
+		Endpoint updated = dao.create(withIdentifier);
+		updated.getIdentifierFirstRep().setValue("endpoint.1.updated");
+		dao.update(updated);
+
+		dao.create(createResource());
+
+		Endpoint deleted = createResource();
+		deleted.addIdentifier().setSystem("http://dsf.dev/sid/endpoint-identifier").setValue("endpoint.deleted");
+		dao.delete(UUID.fromString(dao.create(deleted).getIdElement().getIdPart()));
+
+		List<String> maintainedByTrigger = readReferenceIdentifierRows();
+		assertEquals(1, maintainedByTrigger.size());
+
+		// same statement as in db.reference_identifier.changelog-2.1.0.xml
+		try (Connection connection = defaultDataSource.getConnection();
+				Statement statement = connection.createStatement())
+		{
+			statement.execute("DELETE FROM reference_identifier");
+			statement.execute(
+					"INSERT INTO reference_identifier (reference, type, version, identifiers) SELECT 'Endpoint/' || endpoint_id, 'Endpoint', version, endpoint->'identifier' FROM current_endpoints WHERE jsonb_typeof(endpoint->'identifier') = 'array' AND jsonb_array_length(endpoint->'identifier') > 0");
+		}
+
+		assertEquals(maintainedByTrigger, readReferenceIdentifierRows());
+	}
 }
@@ -17,7 +17,9 @@ package dev.dsf.fhir.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -52,6 +54,7 @@ import dev.dsf.fhir.history.SinceParameter;
 import dev.dsf.fhir.history.filter.HistoryIdentityFilterFactory;
 import dev.dsf.fhir.history.filter.HistoryIdentityFilterFactoryImpl;
 import dev.dsf.fhir.search.PageAndCount;
+import dev.dsf.fhir.search.SearchQueryParameterError;
 
 public class HistoryDaoTest extends AbstractDbTest
 {
@@ -155,4 +158,36 @@ public class HistoryDaoTest extends AbstractDbTest
 		assertNotNull(history.getEntries());
 		assertEquals(1, history.getEntries().size());
 	}
+
+	@Test
+	public void testReadHistoryOrganizationSinceWithDelete() throws Exception
+	{
+		Organization organization = new Organization();
+		organization.getMeta().addTag("http://dsf.dev/fhir/CodeSystem/read-access-tag", "ALL", null);
+		organization.setName("Test Organization");
+		organization.addIdentifier().setSystem("http://dsf.dev/sid/organization-identifier").setValue("test.org");
+		Organization createdOrganization = orgDao.create(organization);
+		UUID id = UUID.fromString(createdOrganization.getIdElement().getIdPart());
+
+		assertTrue(orgDao.delete(id));
+
+		List<SearchQueryParameterError> errors = new ArrayList<>();
+		SinceParameter since = new SinceParameter();
+		since.configure(errors, SinceParameter.PARAMETER_NAME, "2000-01-01T00:00:00Z");
+		assertTrue(errors.isEmpty());
+
+		History history = dao.readHistory(
+				filterFactory.getIdentityFilter(TestOrganizationIdentity.local(createdOrganization),
+						Organization.class),
+				PageAndCount.from(1, 1000), List.of(new AtParameter()), since, Organization.class, id);
+
+		assertNotNull(history);
+		assertEquals(2, history.getTotal());
+		assertNotNull(history.getEntries());
+		assertEquals(2, history.getEntries().size());
+		assertTrue(history.getEntries().stream()
+				.anyMatch(e -> "POST".equals(e.getMethod()) && e.getResource() != null));
+		assertTrue(history.getEntries().stream()
+				.anyMatch(e -> "DELETE".equals(e.getMethod()) && e.getResource() == null));
+	}
 }
@@ -26,12 +26,15 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.codec.binary.Hex;
 import org.hl7.fhir.r4.model.Binary;
 import org.hl7.fhir.r4.model.CodeSystem;
+import org.hl7.fhir.r4.model.Endpoint;
 import org.hl7.fhir.r4.model.Organization;
 import org.hl7.fhir.r4.model.StringType;
 import org.junit.Test;
@@ -45,7 +48,12 @@ import dev.dsf.fhir.authorization.read.ReadAccessHelper;
 import dev.dsf.fhir.authorization.read.ReadAccessHelperImpl;
 import dev.dsf.fhir.dao.jdbc.BinaryDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.CodeSystemDaoJdbc;
+import dev.dsf.fhir.dao.jdbc.EndpointDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.OrganizationDaoJdbc;
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
+import dev.dsf.fhir.search.PageAndCount;
+import dev.dsf.fhir.search.PartialResult;
+import dev.dsf.fhir.search.SearchQuery;
 
 public class OrganizationDaoTest extends AbstractReadAccessDaoTest<Organization, OrganizationDao>
 {
@@ -463,4 +471,133 @@ public class OrganizationDaoTest extends AbstractReadAccessDaoTest<Organization,
 			assertFalse(exists);
 		}
 	}
+
+	private Organization createOrganizationsWithReadAccessAll(int count) throws Exception
+	{
+		for (int i = 0; i < count; i++)
+			dao.create(new ReadAccessHelperImpl().addAll(createResource()));
+
+		Organization identityOrg = new Organization();
+		identityOrg.addIdentifier().setSystem(ReadAccessHelper.ORGANIZATION_IDENTIFIER_SYSTEM).setValue("org.com");
+		return identityOrg;
+	}
+
+	private PartialResult<Organization> search(Organization identityOrg, int page, String total) throws Exception
+	{
+		SearchQuery<Organization> query = dao
+				.createSearchQuery(TestOrganizationIdentity.local(identityOrg), PageAndCount.from(page, 2))
+				.configureParameters(total == null ? Map.of() : Map.of(SearchQuery.PARAMETER_TOTAL, List.of(total)));
+		assertTrue(query.getUnsupportedQueryParameters().isEmpty());
+
+		return dao.search(query);
+	}
+
+	@Test
+	public void testSearchTotalAccurate() throws Exception
+	{
+		Organization identityOrg = createOrganizationsWithReadAccessAll(3);
+
+		for (String total : new String[] { null, "accurate" })
+		{
+			PartialResult<Organization> page1 = search(identityOrg, 1, total);
+			assertEquals(TotalMode.ACCURATE, page1.getTotalMode());
+			assertEquals(3, page1.getTotal());
+			assertEquals(2, page1.getPartialResult().size());
+			assertTrue(page1.hasNextPage());
+
+			PartialResult<Organization> page2 = search(identityOrg, 2, total);
+			assertEquals(3, page2.getTotal());
+			assertEquals(1, page2.getPartialResult().size());
+			assertFalse(page2.hasNextPage());
+		}
+	}
+
+	@Test
+	public void testSearchTotalNone() throws Exception
+	{
+		Organization identityOrg = createOrganizationsWithReadAccessAll(3);
+
+		PartialResult<Organization> page1 = search(identityOrg, 1, "none");
+		assertEquals(TotalMode.NONE, page1.getTotalMode());
+		assertEquals(2, page1.getPartialResult().size());
+		assertTrue(page1.hasNextPage());
+
+		PartialResult<Organization> page2 = search(identityOrg, 2, "none");
+		assertEquals(1, page2.getPartialResult().size());
+		assertFalse(page2.hasNextPage());
+
+		PartialResult<Organization> page3 = search(identityOrg, 3, "none");
+		assertTrue(page3.getPartialResult().isEmpty());
+		assertFalse(page3.hasNextPage());
+	}
+
+	@Test
+	public void testSearchTotalEstimate() throws Exception
+	{
+		Organization identityOrg = createOrganizationsWithReadAccessAll(3);
+
+		PartialResult<Organization> page1 = search(identityOrg, 1, "estimate");
+		assertEquals(TotalMode.ESTIMATE, page1.getTotalMode());
+		assertTrue(page1.getTotal() >= 2);
+		assertEquals(2, page1.getPartialResult().size());
+		assertTrue(page1.hasNextPage());
+
+		// estimate raised to number of resources seen up to the current page
+		PartialResult<Organization> page2 = search(identityOrg, 2, "estimate");
+		assertTrue(page2.getTotal() >= 3);
+		assertEquals(1, page2.getPartialResult().size());
+		assertFalse(page2.hasNextPage());
+	}
+
+	private List<Organization> searchByEndpointIdentifier(Organization identityOrg, String identifier)
+			throws Exception
+	{
+		SearchQuery<Organization> query = dao
+				.createSearchQuery(TestOrganizationIdentity.local(identityOrg), PageAndCount.from(1, 10))
+				.configureParameters(Map.of("endpoint:identifier", List.of(identifier)));
+		assertTrue(query.getUnsupportedQueryParameters().isEmpty());
+
+		return dao.search(query).getPartialResult();
+	}
+
+	@Test
+	public void testSearchByEndpointIdentifier() throws Exception
+	{
+		EndpointDao endpointDao = new EndpointDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext,
+				objectMapper);
+
+		Endpoint e1 = new Endpoint();
+		e1.addIdentifier().setSystem("http://dsf.dev/sid/endpoint-identifier").setValue("endpoint.1");
+		Endpoint createdE1 = endpointDao.create(e1);
+
+		Endpoint e2 = new Endpoint();
+		e2.addIdentifier().setValue("endpoint.2");
+		Endpoint createdE2 = endpointDao.create(e2);
+
+		Organization o1 = new ReadAccessHelperImpl().addAll(createResource());
+		o1.addEndpoint().setReference("Endpoint/" + createdE1.getIdElement().getIdPart());
+		o1.addEndpoint().setReference("Endpoint/" + createdE2.getIdElement().getIdPart());
+		Organization createdO1 = dao.create(o1);
+
+		Organization o2 = new ReadAccessHelperImpl().addAll(createResource());
+		o2.addEndpoint().setReference("Endpoint/" + createdE2.getIdElement().getIdPart());
+		dao.create(o2);
+
+		Organization identityOrg = new Organization();
+		identityOrg.addIdentifier().setSystem(ReadAccessHelper.ORGANIZATION_IDENTIFIER_SYSTEM).setValue("org.com");
+
+		List<Organization> bySystemAndValue = searchByEndpointIdentifier(identityOrg,
+				"http://dsf.dev/sid/endpoint-identifier|endpoint.1");
+		assertEquals(1, bySystemAndValue.size());
+		assertEquals(createdO1.getIdElement().getIdPart(), bySystemAndValue.get(0).getIdElement().getIdPart());
+
+		assertEquals(2, searchByEndpointIdentifier(identityOrg, "endpoint.2").size());
+		assertEquals(2, searchByEndpointIdentifier(identityOrg, "|endpoint.2").size());
+		assertTrue(searchByEndpointIdentifier(identityOrg, "|endpoint.1").isEmpty());
+
+		endpointDao.delete(UUID.fromString(createdE1.getIdElement().getIdPart()));
+		assertTrue(searchByEndpointIdentifier(identityOrg, "http://dsf.dev/sid/endpoint-identifier|endpoint.1")
+				.isEmpty());
+		assertEquals(2, searchByEndpointIdentifier(identityOrg, "|endpoint.2").size());
+	}
 }
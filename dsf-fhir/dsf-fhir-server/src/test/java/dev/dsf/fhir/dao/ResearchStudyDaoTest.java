@@ -16,14 +16,25 @@
 package dev.dsf.fhir.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
 
+import org.hl7.fhir.r4.model.Group;
+import org.hl7.fhir.r4.model.Organization;
 import org.hl7.fhir.r4.model.Period;
 import org.hl7.fhir.r4.model.ResearchStudy;
+import org.junit.Test;
 
+import dev.dsf.fhir.authorization.read.ReadAccessHelper;
+import dev.dsf.fhir.authorization.read.ReadAccessHelperImpl;
+import dev.dsf.fhir.dao.jdbc.GroupDaoJdbc;
 import dev.dsf.fhir.dao.jdbc.ResearchStudyDaoJdbc;
+import dev.dsf.fhir.search.PageAndCount;
+import dev.dsf.fhir.search.SearchQuery;
 
 public class ResearchStudyDaoTest extends AbstractReadAccessDaoTest<ResearchStudy, ResearchStudyDao>
 {
@@ -63,4 +74,46 @@ public class ResearchStudyDaoTest extends AbstractReadAccessDaoTest<ResearchStud
 		assertEquals(periodStart, resource.getPeriod().getStart());
 		assertEquals(periodEnd, resource.getPeriod().getEnd());
 	}
+
+	private List<ResearchStudy> searchByEnrollmentIdentifier(String identifier) throws Exception
+	{
+		Organization identityOrg = new Organization();
+		identityOrg.addIdentifier().setSystem(ReadAccessHelper.ORGANIZATION_IDENTIFIER_SYSTEM).setValue("org.com");
+
+		SearchQuery<ResearchStudy> query = dao
+				.createSearchQuery(TestOrganizationIdentity.local(identityOrg), PageAndCount.from(1, 10))
+				.configureParameters(Map.of("enrollment:identifier", List.of(identifier)));
+		assertTrue(query.getUnsupportedQueryParameters().isEmpty());
+
+		return dao.search(query).getPartialResult();
+	}
+
+	@Test
+	public void testSearchByEnrollmentIdentifier() throws Exception
+	{
+		GroupDao groupDao = new GroupDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext, objectMapper);
+
+		Group group = new Group();
+		group.addIdentifier().setSystem("http://dsf.dev/sid/group-identifier").setValue("group.1");
+		Group createdGroup = groupDao.create(group);
+
+		ResearchStudy study = new ReadAccessHelperImpl().addAll(createResource());
+		study.addEnrollment().setReference("Group/" + createdGroup.getIdElement().getIdPart());
+		ResearchStudy createdStudy = dao.create(study);
+
+		dao.create(new ReadAccessHelperImpl().addAll(createResource()));
+
+		List<ResearchStudy> found = searchByEnrollmentIdentifier("http://dsf.dev/sid/group-identifier|group.1");
+		assertEquals(1, found.size());
+		assertEquals(createdStudy.getIdElement().getIdPart(), found.get(0).getIdElement().getIdPart());
+
+		assertTrue(searchByEnrollmentIdentifier("http://dsf.dev/sid/group-identifier|group.2").isEmpty());
+		assertTrue(searchByEnrollmentIdentifier("|group.1").isEmpty());
+
+		createdGroup.getIdentifierFirstRep().setValue("group.2");
+		groupDao.update(createdGroup);
+
+		assertTrue(searchByEnrollmentIdentifier("http://dsf.dev/sid/group-identifier|group.1").isEmpty());
+		assertEquals(1, searchByEnrollmentIdentifier("http://dsf.dev/sid/group-identifier|group.2").size());
+	}
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.hl7.fhir.r4.model.Endpoint;
+import org.hl7.fhir.r4.model.Endpoint.EndpointStatus;
+import org.hl7.fhir.r4.model.Task;
+import org.hl7.fhir.r4.model.Task.TaskStatus;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonGenerator.Feature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import ca.uhn.fhir.context.FhirContext;
+import de.hsheilbronn.mi.utils.test.PostgreSqlContainerLiquibaseTemplateClassRule;
+import de.hsheilbronn.mi.utils.test.PostgresTemplateRule;
+import dev.dsf.fhir.dao.StatisticsDao.Statistics;
+import dev.dsf.fhir.dao.jdbc.EndpointDaoJdbc;
+import dev.dsf.fhir.dao.jdbc.StatisticsDaoJdbc;
+import dev.dsf.fhir.dao.jdbc.TaskDaoJdbc;
+
+public class StatisticsDaoTest extends AbstractDbTest
+{
+	private static DataSource defaultDataSource;
+	private static DataSource permanentDeleteDataSource;
+
+	@ClassRule
+	public static final PostgreSqlContainerLiquibaseTemplateClassRule liquibaseRule = new PostgreSqlContainerLiquibaseTemplateClassRule(
+			DockerImageName.parse("postgres:18"), ROOT_USER, "fhir", "fhir_template", CHANGE_LOG_FILE,
+			CHANGE_LOG_PARAMETERS, true);
+
+	@Rule
+	public final PostgresTemplateRule templateRule = new PostgresTemplateRule(liquibaseRule);
+
+	@BeforeClass
+	public static void beforeClass() throws Exception
+	{
+		defaultDataSource = createDefaultDataSource(liquibaseRule.getHost(), liquibaseRule.getMappedPort(5432),
+				liquibaseRule.getDatabaseName());
+		defaultDataSource.unwrap(BasicDataSource.class).start();
+
+		permanentDeleteDataSource = createPermanentDeleteDataSource(liquibaseRule.getHost(),
+				liquibaseRule.getMappedPort(5432), liquibaseRule.getDatabaseName());
+		permanentDeleteDataSource.unwrap(BasicDataSource.class).start();
+	}
+
+	@AfterClass
+	public static void afterClass() throws Exception
+	{
+		defaultDataSource.unwrap(BasicDataSource.class).close();
+		permanentDeleteDataSource.unwrap(BasicDataSource.class).close();
+	}
+
+	private final FhirContext fhirContext = FhirContext.forR4();
+	private final ObjectMapper objectMapper = JsonMapper.builder().disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+			.defaultPropertyInclusion(JsonInclude.Value.construct(Include.NON_NULL, Include.NON_NULL))
+			.defaultPropertyInclusion(JsonInclude.Value.construct(Include.NON_EMPTY, Include.NON_EMPTY))
+			.disable(Feature.AUTO_CLOSE_TARGET).build();
+	private final TaskDao taskDao = new TaskDaoJdbc(defaultDataSource, permanentDeleteDataSource, fhirContext,
+			objectMapper);
+	private final EndpointDao endpointDao = new EndpointDaoJdbc(defaultDataSource, permanentDeleteDataSource,
+			fhirContext, objectMapper);
+	private final StatisticsDao dao = new StatisticsDaoJdbc(defaultDataSource);
+
+	private Task createTask(TaskStatus status) throws Exception
+	{
+		Task task = new Task();
+		task.setStatus(status);
+		return taskDao.create(task);
+	}
+
+	private long countDeltas() throws Exception
+	{
+		try (Connection connection = defaultDataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet result = statement.executeQuery("SELECT count(*) FROM statistics_deltas"))
+		{
+			assertTrue(result.next());
+			return result.getLong(1);
+		}
+	}
+
+	private List<String> readCounterTables() throws Exception
+	{
+		try (Connection connection = defaultDataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet result = statement.executeQuery(
+						"SELECT name, NULL, count FROM statistics_counts UNION ALL SELECT name, hour::text, count FROM statistics_hourly_counts ORDER BY 1, 2"))
+		{
+			List<String> rows = new ArrayList<>();
+			while (result.next())
+				rows.add(result.getString(1) + " " + result.getString(2) + " " + result.getLong(3));
+			return rows;
+		}
+	}
+
+	private void assertTaskCounts(long draft, long inProgress, long inProgress24h, long completed) throws Exception
+	{
+		Statistics statistics = dao.getStatistics();
+		assertEquals("tasksDraft", draft, statistics.tasksDraft());
+		assertEquals("tasksInProgress", inProgress, statistics.tasksInProgress());
+		assertEquals("tasksInProgress24h", inProgress24h, statistics.tasksInProgress24h());
+		assertEquals("tasksInProgress30d", inProgress24h, statistics.tasksInProgress30d());
+		assertEquals("tasksCompleted", completed, statistics.tasksCompleted());
+	}
+
+	@Test
+	public void testInsertUpdateDelete() throws Exception
+	{
+		Task task = createTask(TaskStatus.DRAFT);
+		UUID id = UUID.fromString(task.getIdElement().getIdPart());
+		assertTaskCounts(1, 0, 0, 0);
+
+		task.setStatus(TaskStatus.INPROGRESS);
+		task = taskDao.update(task);
+		assertTaskCounts(0, 1, 1, 0);
+
+		task.setStatus(TaskStatus.COMPLETED);
+		taskDao.update(task);
+		assertTaskCounts(0, 0, 0, 1);
+
+		taskDao.delete(id);
+		assertTaskCounts(0, 0, 0, 0);
+
+		taskDao.deletePermanently(id);
+		assertTaskCounts(0, 0, 0, 0);
+
+		dao.compact();
+		assertTaskCounts(0, 0, 0, 0);
+	}
+
+	@Test
+	public void testUpdateToNotCounted() throws Exception
+	{
+		Endpoint endpoint = new Endpoint();
+		endpoint.setStatus(EndpointStatus.ACTIVE);
+		Endpoint created = endpointDao.create(endpoint);
+		assertEquals(1, dao.getStatistics().endpoints());
+
+		created.setStatus(EndpointStatus.OFF);
+		Endpoint updated = endpointDao.update(created);
+		assertEquals(0, dao.getStatistics().endpoints());
+
+		updated.setStatus(EndpointStatus.ACTIVE);
+		endpointDao.update(updated);
+		assertEquals(1, dao.getStatistics().endpoints());
+
+		dao.compact();
+		assertEquals(1, dao.getStatistics().endpoints());
+	}
+
+	@Test
+	public void testSumsCompactedAndPending() throws Exception
+	{
+		createTask(TaskStatus.INPROGRESS);
+		createTask(TaskStatus.INPROGRESS);
+		dao.compact();
+		assertEquals(0, countDeltas());
+
+		createTask(TaskStatus.INPROGRESS);
+		assertTrue(countDeltas() > 0);
+
+		assertTaskCounts(0, 3, 3, 0);
+	}
+
+	@Test
+	public void testCompactIdempotent() throws Exception
+	{
+		createTask(TaskStatus.DRAFT);
+		createTask(TaskStatus.INPROGRESS);
+		createTask(TaskStatus.COMPLETED);
+
+		dao.compact();
+		List<String> compacted = readCounterTables();
+		assertEquals(0, countDeltas());
+
+		dao.compact();
+		assertEquals(compacted, readCounterTables());
+		assertTaskCounts(1, 1, 1, 1);
+	}
+
+	@Test
+	public void testCompactSkippedWhileLocked() throws Exception
+	{
+		createTask(TaskStatus.DRAFT);
+		long deltas = countDeltas();
+		assertTrue(deltas > 0);
+
+		try (Connection connection = defaultDataSource.getConnection())
+		{
+			connection.setAutoCommit(false);
+
+			try (PreparedStatement statement = connection
+					.prepareStatement("SELECT pg_advisory_xact_lock(hashtext('compact_statistics'))"))
+			{
+				statement.execute();
+			}
+
+			dao.compact();
+			assertEquals(deltas, countDeltas());
+
+			connection.rollback();
+			connection.setAutoCommit(true);
+		}
+
+		dao.compact();
+		assertEquals(0, countDeltas());
+		assertTaskCounts(1, 0, 0, 0);
+	}
+
+	@Test
+	public void testCompactConcurrent() throws Exception
+	{
+		final int taskCount = 50;
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<?>> compactions = new ArrayList<>();
+			for (int i = 0; i < 4; i++)
+				compactions.add(executor.submit(() ->
+				{
+					for (int j = 0; j < 20; j++)
+						dao.compact();
+
+					return null;
+				}));
+
+			for (int i = 0; i < taskCount; i++)
+				createTask(TaskStatus.INPROGRESS);
+
+			for (Future<?> compaction : compactions)
+				compaction.get();
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertTaskCounts(0, taskCount, taskCount, 0);
+
+		dao.compact();
+		assertEquals(0, countDeltas());
+		assertTaskCounts(0, taskCount, taskCount, 0);
+	}
+}
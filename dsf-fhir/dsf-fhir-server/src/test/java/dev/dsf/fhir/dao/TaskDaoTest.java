@@ -16,9 +16,20 @@
 package dev.dsf.fhir.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
 
 import org.hl7.fhir.r4.model.Task;
 import org.hl7.fhir.r4.model.Task.TaskStatus;
+import org.junit.Test;
 
 import dev.dsf.fhir.dao.jdbc.TaskDaoJdbc;
 
@@ -58,4 +69,82 @@ public class TaskDaoTest extends AbstractResourceDaoTest<Task, TaskDao>
 	{
 		assertEquals(description, resource.getDescription());
 	}
+
+	private Instant selectInstant(String sessionTimeZone, String expression, String value) throws Exception
+	{
+		try (Connection connection = defaultDataSource.getConnection())
+		{
+			connection.setAutoCommit(false);
+			try
+			{
+				try (Statement statement = connection.createStatement())
+				{
+					statement.execute("SET LOCAL TIME ZONE '" + sessionTimeZone + "'");
+				}
+
+				try (PreparedStatement statement = connection.prepareStatement("SELECT " + expression))
+				{
+					statement.setString(1, value);
+
+					try (ResultSet result = statement.executeQuery())
+					{
+						assertTrue(result.next());
+						return result.getObject(1, OffsetDateTime.class).toInstant();
+					}
+				}
+			}
+			finally
+			{
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
+	private Instant fhirTimestamptz(String sessionTimeZone, String value) throws Exception
+	{
+		return selectInstant(sessionTimeZone, "fhir_timestamptz(?)", value);
+	}
+
+	private Instant castTimestamptz(String sessionTimeZone, String value) throws Exception
+	{
+		return selectInstant(sessionTimeZone, "(?::text)::timestamptz", value);
+	}
+
+	@Test
+	public void testFhirTimestamptzWithOffsetMatchesCast() throws Exception
+	{
+		for (String value : List.of("2025-01-01T10:00:00.123+01:00", "2025-06-30T23:59:59Z",
+				"2025-03-30T02:30:00-05:00"))
+		{
+			for (String timeZone : List.of("UTC", "Europe/Berlin", "America/New_York"))
+				assertEquals(value + " in " + timeZone, castTimestamptz(timeZone, value),
+						fhirTimestamptz(timeZone, value));
+		}
+	}
+
+	@Test
+	public void testFhirTimestamptzWithoutOffsetIsUtc() throws Exception
+	{
+		String value = "2025-01-01T10:00:00";
+		Instant utc = Instant.parse("2025-01-01T10:00:00Z");
+
+		// old cast only matches if the session time zone is UTC
+		assertEquals(utc, castTimestamptz("UTC", value));
+		assertNotEquals(utc, castTimestamptz("Europe/Berlin", value));
+
+		assertEquals(utc, fhirTimestamptz("UTC", value));
+		assertEquals(utc, fhirTimestamptz("Europe/Berlin", value));
+		assertEquals(utc, fhirTimestamptz("America/New_York", value));
+	}
+
+	@Test
+	public void testFhirTimestamptzPartialDateTime() throws Exception
+	{
+		assertEquals(Instant.parse("2025-01-01T00:00:00Z"), fhirTimestamptz("Europe/Berlin", "2025"));
+		assertEquals(Instant.parse("2025-03-01T00:00:00Z"), fhirTimestamptz("Europe/Berlin", "2025-03"));
+		assertEquals(Instant.parse("2025-03-04T00:00:00Z"), fhirTimestamptz("Europe/Berlin", "2025-03-04"));
+
+		assertEquals(castTimestamptz("UTC", "2025-03-04"), fhirTimestamptz("Europe/Berlin", "2025-03-04"));
+	}
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.dao.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class AbstractResourceDaoJdbcTest
+{
+	@Test
+	public void testParseRowEstimate() throws Exception
+	{
+		assertEquals(Optional.of(1234), AbstractResourceDaoJdbc
+				.parseRowEstimate("Seq Scan on current_tasks  (cost=0.00..35.50 rows=1234 width=4)"));
+		assertEquals(Optional.of(1), AbstractResourceDaoJdbc.parseRowEstimate(
+				"Index Scan using tasks_index on tasks  (cost=0.42..8.44 rows=1 width=4)"));
+		assertEquals(Optional.of(0), AbstractResourceDaoJdbc
+				.parseRowEstimate("Result  (cost=0.00..0.00 rows=0 width=0)"));
+	}
+
+	@Test
+	public void testParseRowEstimateCapped() throws Exception
+	{
+		assertEquals(Optional.of(Integer.MAX_VALUE), AbstractResourceDaoJdbc
+				.parseRowEstimate("Seq Scan on current_tasks  (cost=0.00..35.50 rows=3000000000 width=4)"));
+		assertEquals(Optional.of(Integer.MAX_VALUE), AbstractResourceDaoJdbc
+				.parseRowEstimate("Seq Scan on current_tasks  (cost=0.00..35.50 rows=99999999999999999999 width=4)"));
+	}
+
+	@Test
+	public void testParseRowEstimateNotParsable() throws Exception
+	{
+		assertTrue(AbstractResourceDaoJdbc.parseRowEstimate(null).isEmpty());
+		assertTrue(AbstractResourceDaoJdbc.parseRowEstimate("").isEmpty());
+		assertTrue(AbstractResourceDaoJdbc.parseRowEstimate("Seq Scan on current_tasks").isEmpty());
+		assertTrue(AbstractResourceDaoJdbc.parseRowEstimate("Seq Scan on current_tasks  (rows=abc width=4)").isEmpty());
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.dao.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Organization;
+import org.hl7.fhir.r4.model.Practitioner;
+import org.junit.Test;
+
+import ca.uhn.fhir.context.FhirContext;
+
+public class IncludeResourcesDecoderTest
+{
+	private static final FhirContext fhirContext = FhirContext.forR4();
+
+	private List<IBaseResource> decode(String json) throws SQLException
+	{
+		List<IBaseResource> resources = new ArrayList<>();
+		new IncludeResourcesDecoder(fhirContext.newJsonParser()).decode(json == null ? null : new StringReader(json),
+				resources::add);
+		return resources;
+	}
+
+	@Test
+	public void testNull() throws Exception
+	{
+		assertTrue(decode(null).isEmpty());
+	}
+
+	@Test
+	public void testEmptyArray() throws Exception
+	{
+		assertTrue(decode("[]").isEmpty());
+		assertTrue(decode(" [ ] ").isEmpty());
+	}
+
+	@Test
+	public void testMultipleResources() throws Exception
+	{
+		List<IBaseResource> resources = decode(
+				"[{\"resourceType\": \"Organization\", \"id\": \"1\", \"name\": \"Test {\\\"Org\\\"} [1]\"},"
+						+ " {\"resourceType\": \"Practitioner\", \"id\": \"2\", \"name\": [{\"family\": \"}]\"}]}]");
+
+		assertEquals(2, resources.size());
+		assertTrue(resources.get(0) instanceof Organization);
+		assertEquals("Test {\"Org\"} [1]", ((Organization) resources.get(0)).getName());
+		assertTrue(resources.get(1) instanceof Practitioner);
+		assertEquals("}]", ((Practitioner) resources.get(1)).getNameFirstRep().getFamily());
+	}
+
+	@Test
+	public void testLargeResourceSpanningBuffers() throws Exception
+	{
+		String name = "x".repeat(50_000);
+		List<IBaseResource> resources = decode("[{\"resourceType\":\"Organization\",\"name\":\"" + name
+				+ "\"},{\"resourceType\":\"Organization\",\"name\":\"" + name + "\"}]");
+
+		assertEquals(2, resources.size());
+		assertEquals(name, ((Organization) resources.get(1)).getName());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testNotAnArray() throws Exception
+	{
+		decode("{\"resourceType\":\"Organization\"}");
+	}
+
+	@Test(expected = SQLException.class)
+	public void testTruncated() throws Exception
+	{
+		decode("[{\"resourceType\":\"Organization\"}");
+	}
+}
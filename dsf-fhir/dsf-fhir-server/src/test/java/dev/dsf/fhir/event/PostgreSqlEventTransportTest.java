@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Task;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import dev.dsf.fhir.dao.ResourceDao;
+import dev.dsf.fhir.dao.provider.DaoProvider;
+
+public class PostgreSqlEventTransportTest
+{
+	private final DataSource dataSource = mock(DataSource.class);
+	private final DaoProvider daoProvider = mock(DaoProvider.class);
+	private final Connection connection = mock(Connection.class);
+	private final PGConnection pgConnection = mock(PGConnection.class);
+	private final PreparedStatement notifyStatement = mock(PreparedStatement.class);
+	private final EventHandler remoteEventHandler = mock(EventHandler.class);
+
+	private PostgreSqlEventTransport transport;
+
+	private PostgreSqlEventTransport createTransport() throws Exception
+	{
+		transport = new PostgreSqlEventTransport(dataSource, daoProvider,
+				PostgreSqlEventTransport.DEFAULT_CHANNEL);
+		transport.afterPropertiesSet();
+		return transport;
+	}
+
+	private void mockConnection(PGNotification... notifications) throws Exception
+	{
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(mock(Statement.class));
+		when(connection.prepareStatement("SELECT pg_notify(?, ?)")).thenReturn(notifyStatement);
+		when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+		when(pgConnection.getNotifications(anyInt())).thenReturn(notifications).thenAnswer(_ ->
+		{
+			Thread.sleep(10);
+			return null;
+		});
+	}
+
+	@After
+	public void after() throws Exception
+	{
+		if (transport != null)
+			transport.destroy();
+	}
+
+	private static Task task(String id, String version)
+	{
+		Task task = new Task();
+		task.setIdElement(new IdType("Task", id, version));
+		return task;
+	}
+
+	@Test
+	public void testPublishBeforeStartIgnored() throws Exception
+	{
+		createTransport().publish(List.of(new ResourceCreatedEvent(Task.class, task(UUID.randomUUID().toString(), "1"))));
+
+		verify(dataSource, after(100).never()).getConnection();
+		assertEquals(0, transport.getDroppedEventCount());
+	}
+
+	@Test
+	public void testPublish() throws Exception
+	{
+		mockConnection();
+		createTransport().start(remoteEventHandler);
+
+		String id = UUID.randomUUID().toString();
+		transport.publish(List.of(new ResourceCreatedEvent(Task.class, task(id, "1")),
+				new ResourceUpdatedEvent(Task.class, task(id, "2")), new ResourceDeletedEvent(Task.class, id)));
+
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		verify(notifyStatement, timeout(1000)).execute();
+		verify(notifyStatement).setString(1, PostgreSqlEventTransport.DEFAULT_CHANNEL);
+		verify(notifyStatement).setString(eq(2), payload.capture());
+
+		String[] lines = payload.getValue().split("\n");
+		assertEquals(4, lines.length);
+		assertEquals("C|Task|" + id + "|1", lines[1]);
+		assertEquals("U|Task|" + id + "|2", lines[2]);
+		assertEquals("D|Task|" + id, lines[3]);
+	}
+
+	@Test
+	public void testPublishDoesNotBlockIfQueueFull() throws Exception
+	{
+		// listener and publisher thread block while requesting a connection, publisher holding the first event
+		CountDownLatch connectionsRequested = new CountDownLatch(2);
+		CountDownLatch neverReleased = new CountDownLatch(1);
+		when(dataSource.getConnection()).thenAnswer(_ ->
+		{
+			connectionsRequested.countDown();
+			try
+			{
+				neverReleased.await();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+
+			throw new SQLException("closed");
+		});
+
+		createTransport().start(remoteEventHandler);
+		transport.publish(List.of(new ResourceDeletedEvent(Task.class, UUID.randomUUID().toString())));
+		assertTrue(connectionsRequested.await(5, TimeUnit.SECONDS));
+
+		List<Event> events = new ArrayList<>();
+		IntStream.range(0, 10_500).forEach(
+				_ -> events.add(new ResourceDeletedEvent(Task.class, UUID.randomUUID().toString())));
+
+		long start = System.currentTimeMillis();
+		transport.publish(events);
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue("publish took " + duration + " ms", duration < 1_000);
+		assertEquals(500, transport.getDroppedEventCount());
+	}
+
+	@Test
+	public void testEventsLostSentAfterFailedPublish() throws Exception
+	{
+		mockConnection();
+		when(notifyStatement.execute()).thenThrow(new SQLException("failed")).thenReturn(true);
+		createTransport().start(remoteEventHandler);
+
+		String id1 = UUID.randomUUID().toString();
+		transport.publish(List.of(new ResourceDeletedEvent(Task.class, id1)));
+		verify(notifyStatement, timeout(1000)).execute();
+
+		String id2 = UUID.randomUUID().toString();
+		transport.publish(List.of(new ResourceDeletedEvent(Task.class, id2)));
+		verify(notifyStatement, timeout(1000).times(3)).execute();
+
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		verify(notifyStatement, times(3)).setString(eq(2), payload.capture());
+
+		assertEquals("D|Task|" + id1, payload.getAllValues().get(0).split("\n")[1]);
+		assertEquals("L", payload.getAllValues().get(1).split("\n")[1]);
+		assertEquals("D|Task|" + id2, payload.getAllValues().get(2).split("\n")[1]);
+	}
+
+	@Test
+	public void testRemoteEventsLost() throws Exception
+	{
+		PGNotification remote = mock(PGNotification.class);
+		when(remote.getParameter()).thenReturn(UUID.randomUUID().toString() + "\nL");
+
+		mockConnection(remote);
+		createTransport().start(remoteEventHandler);
+
+		verify(remoteEventHandler, timeout(1000)).handleEventsLost();
+		verify(remoteEventHandler, never()).handleEvents(anyList());
+	}
+
+	@Test
+	public void testEventsLostAfterReconnect() throws Exception
+	{
+		mockConnection();
+		when(connection.unwrap(PGConnection.class)).thenThrow(new SQLException("closed")).thenReturn(pgConnection);
+		createTransport().start(remoteEventHandler);
+
+		// reconnect after RECONNECT_DELAY_MILLIS
+		verify(remoteEventHandler, timeout(10_000)).handleEventsLost();
+	}
+
+	@Test
+	public void testRemoteEvents() throws Exception
+	{
+		ResourceDao<?> dao = mock(ResourceDao.class);
+		doReturn(Task.class).when(dao).getResourceType();
+		when(daoProvider.getDao("Task")).thenReturn(Optional.of(dao));
+
+		String id = UUID.randomUUID().toString();
+		PGNotification remote = mock(PGNotification.class);
+		when(remote.getParameter()).thenReturn(UUID.randomUUID().toString() + "\nD|Task|" + id + "\nX|Unknown|" + id);
+
+		mockConnection(remote);
+		createTransport().start(remoteEventHandler);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Event>> events = ArgumentCaptor.forClass(List.class);
+		verify(remoteEventHandler, timeout(1000)).handleEvents(events.capture());
+
+		assertEquals(1, events.getValue().size());
+		assertTrue(events.getValue().get(0) instanceof ResourceDeletedEvent);
+		assertEquals(id, events.getValue().get(0).getId());
+		assertEquals(Task.class, events.getValue().get(0).getResourceType());
+	}
+}
@@ -22,6 +22,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.junit.Test;
 
@@ -242,6 +244,54 @@ public class PageAndCountTest
 		assertPageAndCount(pC_1_s, 2, DEFAULT_PAGE_COUNT);
 	}
 
+	@Test
+	public void testCursor() throws Exception
+	{
+		PageAndCount pC_start = PageAndCount.from(Map.of("_cursor", List.of(""), "_page", List.of("3")),
+				DEFAULT_PAGE_COUNT);
+		assertPageAndCount(pC_start, 1, DEFAULT_PAGE_COUNT);
+		assertTrue(pC_start.isCursorMode());
+		assertTrue(pC_start.getCursor().isEmpty());
+		assertEquals(" LIMIT " + DEFAULT_PAGE_COUNT, pC_start.getSql());
+
+		PageCursor cursor = new PageCursor("2025-01-01T10:00:00.123+01:00", UUID.randomUUID());
+		PageAndCount pC_next = PageAndCount.from(Map.of("_cursor", List.of(cursor.encode()), "_count", List.of("50")),
+				DEFAULT_PAGE_COUNT);
+		assertPageAndCount(pC_next, 1, 50);
+		assertTrue(pC_next.isCursorMode());
+		assertEquals(Optional.of(cursor), pC_next.getCursor());
+		assertEquals(" LIMIT 50", pC_next.getSql());
+
+		assertTrue(pC_start.getInvalidCursor().isEmpty());
+		assertTrue(pC_next.getInvalidCursor().isEmpty());
+
+		PageAndCount pC_invalid = PageAndCount.from(Map.of("_cursor", List.of("not-a-cursor")), DEFAULT_PAGE_COUNT);
+		assertTrue(pC_invalid.isCursorMode());
+		assertTrue(pC_invalid.getCursor().isEmpty());
+		assertEquals(Optional.of("not-a-cursor"), pC_invalid.getInvalidCursor());
+
+		PageAndCount pC_blank = PageAndCount.from(Map.of("_cursor", List.of(" ")), DEFAULT_PAGE_COUNT);
+		assertTrue(pC_blank.getCursor().isEmpty());
+		assertTrue(pC_blank.getInvalidCursor().isEmpty());
+
+		assertFalse(PageAndCount.from(Map.of("_page", List.of("2")), DEFAULT_PAGE_COUNT).isCursorMode());
+	}
+
+	@Test
+	public void testCursorEncodeDecode() throws Exception
+	{
+		PageCursor withLastUpdated = new PageCursor("2025-01-01T10:00:00.123+01:00", UUID.randomUUID());
+		assertEquals(Optional.of(withLastUpdated), PageCursor.decode(withLastUpdated.encode()));
+
+		PageCursor idOnly = new PageCursor(null, UUID.randomUUID());
+		assertEquals(Optional.of(idOnly), PageCursor.decode(idOnly.encode()));
+		assertFalse(idOnly.hasLastUpdated());
+
+		assertTrue(PageCursor.decode(null).isEmpty());
+		assertTrue(PageCursor.decode("").isEmpty());
+		assertTrue(PageCursor.decode("%%%").isEmpty());
+	}
+
 	private void assertPageAndCount(PageAndCount pC, int expectedPage, int expectedCount)
 	{
 		assertNotNull(pC);
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Test;
+
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
+import dev.dsf.fhir.search.SearchQueryParameterError.SearchQueryParameterErrorType;
+import dev.dsf.fhir.search.parameters.ResourceId;
+import dev.dsf.fhir.search.parameters.ResourceLastUpdated;
+
+public class SearchQueryCursorTest
+{
+	private SearchQuery<Task> createQuery(Map<String, List<String>> queryParameters)
+	{
+		return SearchQuery.SearchQueryBuilder
+				.create(null, Task.class, "tasks", "task", "task_id", PageAndCount.from(queryParameters, 20))
+				.with(new SearchQueryParameterFactory<>(ResourceId.PARAMETER_NAME,
+						() -> new ResourceId<>(Task.class, "task_id")))
+				.with(new SearchQueryParameterFactory<>(ResourceLastUpdated.PARAMETER_NAME,
+						() -> new ResourceLastUpdated<>(Task.class, "task")))
+				.build().configureParameters(queryParameters);
+	}
+
+	private void assertCursorError(SearchQuery<Task> query)
+	{
+		List<SearchQueryParameterError> errors = query.getUnsupportedQueryParameters();
+		assertEquals(1, errors.size());
+		assertEquals(SearchQueryParameterErrorType.UNPARSABLE_VALUE, errors.get(0).getType());
+		assertEquals(SearchQuery.PARAMETER_CURSOR, errors.get(0).getParameterName());
+		assertTrue(query.getSearchSql().contains("WHERE FALSE"));
+	}
+
+	@Test
+	public void testFirstPage() throws Exception
+	{
+		SearchQuery<Task> query = createQuery(Map.of("_cursor", List.of(""), "_sort", List.of("_lastUpdated")));
+
+		assertTrue(query.getUnsupportedQueryParameters().isEmpty());
+		assertFalse(query.getSearchSql().contains("WHERE"));
+	}
+
+	@Test
+	public void testValidCursor() throws Exception
+	{
+		PageCursor cursor = new PageCursor("2025-01-01T10:00:00.123+01:00", UUID.randomUUID());
+		SearchQuery<Task> query = createQuery(
+				Map.of("_cursor", List.of(cursor.encode()), "_sort", List.of("-_lastUpdated")));
+
+		assertTrue(query.getUnsupportedQueryParameters().isEmpty());
+		assertTrue(query.getSearchSql().contains(" < (?::timestamptz, ?)"));
+	}
+
+	@Test
+	public void testMalformedCursor() throws Exception
+	{
+		assertCursorError(createQuery(Map.of("_cursor", List.of("not-a-cursor"))));
+	}
+
+	@Test
+	public void testCursorForDifferentSort() throws Exception
+	{
+		PageCursor idCursor = new PageCursor(null, UUID.randomUUID());
+		assertCursorError(
+				createQuery(Map.of("_cursor", List.of(idCursor.encode()), "_sort", List.of("_lastUpdated"))));
+
+		PageCursor lastUpdatedCursor = new PageCursor("2025-01-01T10:00:00.123+01:00", UUID.randomUUID());
+		assertCursorError(createQuery(Map.of("_cursor", List.of(lastUpdatedCursor.encode()))));
+	}
+
+	@Test
+	public void testCursorDefaultsToNoTotal() throws Exception
+	{
+		assertEquals(TotalMode.NONE, createQuery(Map.of("_cursor", List.of(""))).getTotalMode());
+		assertEquals(TotalMode.ACCURATE,
+				createQuery(Map.of("_cursor", List.of(""), "_total", List.of("accurate"))).getTotalMode());
+		assertEquals(TotalMode.ACCURATE, createQuery(Map.of()).getTotalMode());
+	}
+}
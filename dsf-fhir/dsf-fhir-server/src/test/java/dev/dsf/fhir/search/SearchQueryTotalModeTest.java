@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hl7.fhir.r4.model.Task;
+import org.junit.Test;
+
+import dev.dsf.fhir.search.DbSearchQuery.TotalMode;
+import dev.dsf.fhir.search.SearchQueryParameterError.SearchQueryParameterErrorType;
+
+public class SearchQueryTotalModeTest
+{
+	private SearchQuery<Task> createQuery(Map<String, List<String>> queryParameters)
+	{
+		return SearchQuery.SearchQueryBuilder
+				.create(null, Task.class, "tasks", "task", "task_id", PageAndCount.from(queryParameters, 20)).build()
+				.configureParameters(queryParameters);
+	}
+
+	private void assertTotalMode(TotalMode expected, Map<String, List<String>> queryParameters)
+	{
+		SearchQuery<Task> query = createQuery(queryParameters);
+
+		assertTrue(query.getUnsupportedQueryParameters().isEmpty());
+		assertEquals(expected, query.getTotalMode());
+	}
+
+	@Test
+	public void testDefaultAccurate() throws Exception
+	{
+		assertTotalMode(TotalMode.ACCURATE, Map.of());
+		assertTotalMode(TotalMode.ACCURATE, Map.of(SearchQuery.PARAMETER_TOTAL, List.of("")));
+	}
+
+	@Test
+	public void testAccurate() throws Exception
+	{
+		assertTotalMode(TotalMode.ACCURATE, Map.of(SearchQuery.PARAMETER_TOTAL, List.of("accurate")));
+	}
+
+	@Test
+	public void testNone() throws Exception
+	{
+		assertTotalMode(TotalMode.NONE, Map.of(SearchQuery.PARAMETER_TOTAL, List.of("none")));
+	}
+
+	@Test
+	public void testEstimate() throws Exception
+	{
+		assertTotalMode(TotalMode.ESTIMATE, Map.of(SearchQuery.PARAMETER_TOTAL, List.of("estimate")));
+
+		SearchQuery<Task> query = createQuery(Map.of(SearchQuery.PARAMETER_TOTAL, List.of("estimate")));
+		assertEquals("EXPLAIN SELECT 1 FROM current_tasks", query.getEstimateSql());
+	}
+
+	@Test
+	public void testUnsupportedValue() throws Exception
+	{
+		SearchQuery<Task> query = createQuery(Map.of(SearchQuery.PARAMETER_TOTAL, List.of("exact")));
+
+		assertEquals(TotalMode.ACCURATE, query.getTotalMode());
+
+		List<SearchQueryParameterError> errors = query.getUnsupportedQueryParameters();
+		assertEquals(1, errors.size());
+		assertEquals(SearchQueryParameterErrorType.UNPARSABLE_VALUE, errors.get(0).getType());
+		assertEquals(SearchQuery.PARAMETER_TOTAL, errors.get(0).getParameterName());
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.CodeSystem;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Measure;
+import org.hl7.fhir.r4.model.StructureDefinition;
+import org.hl7.fhir.r4.model.ValueSet;
+import org.junit.Test;
+
+import ca.uhn.fhir.context.support.IValidationSupport;
+import dev.dsf.fhir.event.ResourceCreatedEvent;
+import dev.dsf.fhir.event.ResourceDeletedEvent;
+import dev.dsf.fhir.event.ResourceUpdatedEvent;
+import dev.dsf.fhir.validation.ValidationSupportWithCache;
+
+public class ValidationSupportWithTransactionOverlayTest
+{
+	private static final String URL = "http://dsf.dev/fhir/StructureDefinition/test";
+	private static final String URL_2 = "http://dsf.dev/fhir/StructureDefinition/test-2";
+	private static final String VERSION = "1.0";
+
+	private final ValidationSupportWithCache shared = mock(ValidationSupportWithCache.class);
+	private final IValidationSupport transactionDelegate = mock(IValidationSupport.class);
+
+	private static StructureDefinition structureDefinition(String id, String url)
+	{
+		StructureDefinition s = new StructureDefinition().setUrl(url).setVersion(VERSION);
+		s.setIdElement(new IdType("StructureDefinition", id, "1"));
+		return s;
+	}
+
+	private ValidationSupportWithTransactionOverlay createOverlay()
+	{
+		return new ValidationSupportWithTransactionOverlay(shared, transactionDelegate);
+	}
+
+	@Test
+	public void testSharedIfNotInTransaction() throws Exception
+	{
+		StructureDefinition sharedResource = structureDefinition(UUID.randomUUID().toString(), URL);
+		when(shared.fetchStructureDefinition(URL)).thenReturn(sharedResource);
+
+		assertSame(sharedResource, createOverlay().fetchStructureDefinition(URL));
+		verify(transactionDelegate, never()).fetchStructureDefinition(URL);
+	}
+
+	@Test
+	public void testCreatedShadowsShared() throws Exception
+	{
+		StructureDefinition sharedResource = structureDefinition(UUID.randomUUID().toString(), URL);
+		when(shared.fetchStructureDefinition(URL)).thenReturn(sharedResource);
+		when(shared.<IBaseResource> fetchAllStructureDefinitions()).thenReturn(List.of(sharedResource));
+
+		ValidationSupportWithTransactionOverlay overlay = createOverlay();
+		StructureDefinition created = structureDefinition(UUID.randomUUID().toString(), URL);
+		overlay.handleEvent(new ResourceCreatedEvent(StructureDefinition.class, created));
+
+		assertSame(created, overlay.fetchStructureDefinition(URL));
+		assertSame(created, overlay.fetchStructureDefinition(URL + "|" + VERSION));
+		assertSame(created, overlay.fetchResource(StructureDefinition.class, URL));
+
+		List<IBaseResource> all = overlay.fetchAllStructureDefinitions();
+		assertEquals(1, all.size());
+		assertSame(created, all.get(0));
+	}
+
+	@Test
+	public void testUpdatedWithNewUrl() throws Exception
+	{
+		String id = UUID.randomUUID().toString();
+		when(shared.getUrlAndVersion(id)).thenReturn(URL + "|" + VERSION);
+		when(shared.fetchStructureDefinition(URL)).thenReturn(structureDefinition(id, URL));
+
+		ValidationSupportWithTransactionOverlay overlay = createOverlay();
+		StructureDefinition updated = structureDefinition(id, URL_2);
+		overlay.handleEvent(new ResourceUpdatedEvent(StructureDefinition.class, updated));
+
+		assertSame(updated, overlay.fetchStructureDefinition(URL_2));
+
+		// old url no longer valid within the transaction, looked up using the transaction's connection
+		assertNull(overlay.fetchStructureDefinition(URL));
+		verify(transactionDelegate).fetchStructureDefinition(URL);
+		verify(shared, never()).fetchStructureDefinition(URL);
+	}
+
+	@Test
+	public void testDeleted() throws Exception
+	{
+		String id = UUID.randomUUID().toString();
+		when(shared.getUrlAndVersion(id)).thenReturn(URL + "|" + VERSION);
+		when(shared.fetchStructureDefinition(URL)).thenReturn(structureDefinition(id, URL));
+
+		ValidationSupportWithTransactionOverlay overlay = createOverlay();
+		overlay.handleEvent(new ResourceDeletedEvent(StructureDefinition.class, id));
+
+		assertNull(overlay.fetchStructureDefinition(URL));
+		assertNull(overlay.fetchStructureDefinition(URL + "|" + VERSION));
+		verify(shared, never()).fetchStructureDefinition(URL);
+	}
+
+	@Test
+	public void testCodeSystemAndValueSet() throws Exception
+	{
+		CodeSystem codeSystem = new CodeSystem().setUrl(URL).setVersion(VERSION);
+		codeSystem.setIdElement(new IdType("CodeSystem", UUID.randomUUID().toString(), "1"));
+		ValueSet valueSet = new ValueSet().setUrl(URL).setVersion(VERSION);
+		valueSet.setIdElement(new IdType("ValueSet", UUID.randomUUID().toString(), "1"));
+
+		ValidationSupportWithTransactionOverlay overlay = createOverlay();
+		overlay.handleEvent(new ResourceCreatedEvent(CodeSystem.class, codeSystem));
+		overlay.handleEvent(new ResourceCreatedEvent(ValueSet.class, valueSet));
+
+		assertSame(codeSystem, overlay.fetchCodeSystem(URL));
+		assertSame(valueSet, overlay.fetchValueSet(URL));
+		assertTrue(overlay.isCodeSystemSupported(null, URL));
+		assertTrue(overlay.isValueSetSupported(null, URL));
+		assertNull(overlay.fetchStructureDefinition(URL));
+
+		List<IBaseResource> all = overlay.fetchAllConformanceResources();
+		assertEquals(2, all.size());
+		assertTrue(all.contains(codeSystem));
+		assertTrue(all.contains(valueSet));
+	}
+
+	@Test
+	public void testOtherResourcesFromTransactionFirst() throws Exception
+	{
+		Measure inTransaction = new Measure().setUrl(URL);
+		Measure sharedMeasure = new Measure().setUrl(URL);
+		when(transactionDelegate.fetchResource(Measure.class, URL)).thenReturn(inTransaction);
+		when(shared.fetchResource(Measure.class, URL)).thenReturn(sharedMeasure);
+		when(shared.fetchResource(Measure.class, URL_2)).thenReturn(sharedMeasure);
+
+		ValidationSupportWithTransactionOverlay overlay = createOverlay();
+		assertSame(inTransaction, overlay.fetchResource(Measure.class, URL));
+		assertSame(sharedMeasure, overlay.fetchResource(Measure.class, URL_2));
+	}
+
+	@Test
+	public void testOverlayDiscardedAfterTransaction() throws Exception
+	{
+		StructureDefinition sharedResource = structureDefinition(UUID.randomUUID().toString(), URL);
+		when(shared.fetchStructureDefinition(URL)).thenReturn(sharedResource);
+
+		ValidationSupportWithTransactionOverlay overlay = createOverlay();
+		StructureDefinition created = structureDefinition(UUID.randomUUID().toString(), URL);
+		overlay.handleEvent(new ResourceCreatedEvent(StructureDefinition.class, created));
+		assertSame(created, overlay.fetchStructureDefinition(URL));
+
+		// next transaction uses a new overlay on the same shared cache
+		assertSame(sharedResource, createOverlay().fetchStructureDefinition(URL));
+
+		overlay.invalidateCaches();
+		assertSame(sharedResource, overlay.fetchStructureDefinition(URL));
+	}
+}
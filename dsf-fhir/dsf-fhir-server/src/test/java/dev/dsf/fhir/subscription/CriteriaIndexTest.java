@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.hl7.fhir.r4.model.Organization;
+import org.hl7.fhir.r4.model.Task;
+import org.hl7.fhir.r4.model.Task.TaskStatus;
+import org.junit.Test;
+
+public class CriteriaIndexTest
+{
+	private static final String PROFILE = "http://dsf.dev/fhir/StructureDefinition/task-test|1.0";
+
+	private static Task task(TaskStatus status, String profile)
+	{
+		Task task = new Task();
+		task.setStatus(status);
+		if (profile != null)
+			task.getMeta().addProfile(profile);
+		return task;
+	}
+
+	@Test
+	public void testTaskCandidates() throws Exception
+	{
+		CriteriaIndex<String> index = new CriteriaIndex<>(Task.class);
+		index.add("Task?status=requested", "requested");
+		index.add("Task?status=completed", "completed");
+		index.add("Task?status=requested&_profile=" + PROFILE, "requested-profile");
+		index.add("Task?_profile=" + PROFILE, "profile");
+		index.add("Task?status:not=requested", "not-requested");
+		index.add("Task?status=requested,completed", "requested-or-completed");
+		index.add("Task", "all");
+
+		assertEquals(7, index.size());
+
+		assertEquals(List.of("not-requested", "requested-or-completed", "all", "requested"),
+				index.getCandidates(task(TaskStatus.REQUESTED, null)));
+		assertEquals(List.of("not-requested", "requested-or-completed", "all", "profile", "requested",
+				"requested-profile"), index.getCandidates(task(TaskStatus.REQUESTED, PROFILE)));
+		assertEquals(List.of("not-requested", "requested-or-completed", "all", "profile"),
+				index.getCandidates(task(TaskStatus.INPROGRESS, PROFILE)));
+		assertEquals(List.of("not-requested", "requested-or-completed", "all"), index.getCandidates(new Task()));
+		assertTrue(index.getCandidates(null).isEmpty());
+	}
+
+	@Test
+	public void testCriteriaValuesNotComparableToResourceKeys() throws Exception
+	{
+		CriteriaIndex<String> index = new CriteriaIndex<>(Task.class);
+		index.add("Task?status=http://hl7.org/fhir/task-status|requested", "system-requested");
+		index.add("Task?status=|requested", "no-system-requested");
+		index.add("Task?_profile=http%3A%2F%2Fdsf.dev%2Ffhir%2FStructureDefinition%2Ftask-test%7C1.0", "encoded-profile");
+
+		assertEquals(List.of("system-requested", "no-system-requested", "encoded-profile"),
+				index.getCandidates(task(TaskStatus.REQUESTED, PROFILE)));
+	}
+
+	@Test
+	public void testNotIndexedResourceType() throws Exception
+	{
+		CriteriaIndex<String> index = new CriteriaIndex<>(Organization.class);
+		index.add("Organization?active=true", "active");
+		index.add("Organization?_profile=" + PROFILE, "profile");
+
+		assertEquals(List.of("active", "profile"), index.getCandidates(new Organization()));
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018-2025 Heilbronn University of Applied Sciences
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.dsf.fhir.subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.CloseReason.CloseCodes;
+import jakarta.websocket.RemoteEndpoint.Basic;
+import jakarta.websocket.Session;
+
+public class SessionSendQueueTest
+{
+	private final List<Runnable> tasks = new ArrayList<>();
+	private final SessionSendQueueMetrics metrics = new SessionSendQueueMetrics();
+	private final Session session = mock(Session.class);
+	private final Basic basic = mock(Basic.class);
+
+	private SessionSendQueue createQueue()
+	{
+		when(session.getId()).thenReturn("test-session");
+		when(session.getBasicRemote()).thenReturn(basic);
+
+		return new SessionSendQueue(session, tasks::add, 2, true, metrics);
+	}
+
+	@Test
+	public void testSendInOrder() throws Exception
+	{
+		SessionSendQueue queue = createQueue();
+		queue.send("a");
+		queue.send("b");
+
+		assertEquals(1, tasks.size());
+		assertEquals(2, metrics.getQueueDepth());
+
+		tasks.get(0).run();
+
+		InOrder order = inOrder(basic);
+		order.verify(basic).sendText("a");
+		order.verify(basic).sendText("b");
+		assertEquals(0, queue.size());
+		assertEquals(0, metrics.getQueueDepth());
+		assertEquals(2, metrics.getSentCount());
+	}
+
+	@Test
+	public void testOverflowDropsNewPing() throws Exception
+	{
+		SessionSendQueue queue = createQueue();
+		queue.send("a");
+		queue.send("b");
+		queue.sendPing("ping 1");
+
+		assertEquals(1, metrics.getDroppedCount());
+
+		tasks.get(0).run();
+
+		InOrder order = inOrder(basic);
+		order.verify(basic).sendText("a");
+		order.verify(basic).sendText("b");
+		order.verifyNoMoreInteractions();
+	}
+
+	@Test
+	public void testOverflowDropsQueuedPingForPayload() throws Exception
+	{
+		SessionSendQueue queue = createQueue();
+		queue.sendPing("ping 1");
+		queue.send("a");
+		queue.send("b");
+
+		assertEquals(1, metrics.getDroppedCount());
+		assertEquals(0, metrics.getClosedOnOverflowCount());
+
+		tasks.get(0).run();
+
+		InOrder order = inOrder(basic);
+		order.verify(basic).sendText("a");
+		order.verify(basic).sendText("b");
+		order.verifyNoMoreInteractions();
+		verify(session, never()).close(any());
+	}
+
+	@Test
+	public void testOverflowClosesSession() throws Exception
+	{
+		SessionSendQueue queue = createQueue();
+		queue.send("a");
+		queue.send("b");
+		queue.send("c");
+
+		assertEquals(0, metrics.getDroppedCount());
+		assertEquals(1, metrics.getClosedOnOverflowCount());
+		assertEquals(0, queue.size());
+		assertEquals(0, metrics.getQueueDepth());
+		assertEquals(2, tasks.size());
+
+		tasks.forEach(Runnable::run);
+
+		verifyNoInteractions(basic);
+
+		ArgumentCaptor<CloseReason> reason = ArgumentCaptor.forClass(CloseReason.class);
+		verify(session).close(reason.capture());
+		assertEquals(CloseCodes.TRY_AGAIN_LATER, reason.getValue().getCloseCode());
+
+		queue.send("d");
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	public void testCoalescePings() throws Exception
+	{
+		SessionSendQueue queue = createQueue();
+		queue.sendPing("ping 1");
+		queue.sendPing("ping 1");
+
+		assertEquals(1, queue.size());
+		assertEquals(1, metrics.getCoalescedCount());
+	}
+
+	@Test
+	public void testClose() throws Exception
+	{
+		SessionSendQueue queue = createQueue();
+		queue.send("a");
+		queue.close();
+		queue.send("b");
+
+		tasks.get(0).run();
+
+		verifyNoInteractions(basic);
+		assertEquals(0, metrics.getQueueDepth());
+	}
+}
@@ -197,6 +197,16 @@ public class ValidationSupportWithCache implements IValidationSupport
 		}
 	}
 
+	/**
+	 * @param resourceId
+	 *            may be <code>null</code>
+	 * @return <code>url|version</code> of the cached resource with the given id, <code>null</code> if not known
+	 */
+	public String getUrlAndVersion(String resourceId)
+	{
+		return resourceId == null ? null : urlAndVersionsById.get(resourceId);
+	}
+
 	@Override
 	public List<IBaseResource> fetchAllConformanceResources()
 	{